@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Runs all benchmarks with 1, 4 and N threads, where N is the number of available processors.
+ * <p>
+ * If any arguments are given, those are passed directly to the JMH command line runner.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        if (args.length > 0) {
+            Main.main(args);
+            return;
+        }
+        int processors = Runtime.getRuntime().availableProcessors();
+        int[] threadCounts = Arrays.stream(new int[]{1, 4, processors}).distinct().toArray();
+        for (int threads : threadCounts) {
+            Options options = new OptionsBuilder()
+                    .include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark")
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("benchmarks-" + threads + "-threads.json")
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.metrics.core.Counter;
+import org.wso2.carbon.metrics.core.Level;
+import org.wso2.carbon.metrics.core.config.model.CounterConfig;
+import org.wso2.carbon.metrics.core.impl.counter.CounterType;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Counter} implementations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CounterBenchmark extends MetricServiceState {
+
+    // No values are specified. Therefore JMH will run the benchmarks for all counter types.
+    @Param
+    public CounterType counterType;
+
+    // The batch size is only used by the STRIPED counter type
+    @Param({"1", "64"})
+    public int batchSize;
+
+    private Counter counter;
+
+    private Counter counterCollection;
+
+    private com.codahale.metrics.Counter baseline;
+
+    @Override
+    protected CounterConfig getCounterConfig() {
+        CounterConfig counterConfig = new CounterConfig();
+        counterConfig.setType(counterType);
+        counterConfig.setBatchSize(batchSize);
+        return counterConfig;
+    }
+
+    @Override
+    protected void createMetrics() {
+        counter = metricService.counter("org.wso2.carbon.metrics.benchmark.counter", Level.INFO);
+        counterCollection = metricService.counter("org.wso2.carbon.metrics.benchmark[+].collection.counter",
+                Level.INFO, Level.INFO);
+        baseline = metricRegistry.counter("org.wso2.carbon.metrics.benchmark.baseline.counter");
+    }
+
+    @Benchmark
+    public void inc() {
+        counter.inc();
+    }
+
+    @Benchmark
+    public void incCollection() {
+        counterCollection.inc();
+    }
+
+    /**
+     * Dropwizard counter without the wrapper to measure the cost of the wrapper layer.
+     */
+    @Benchmark
+    public void incBaseline() {
+        baseline.inc();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.metrics.core.Level;
+import org.wso2.carbon.metrics.core.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for looking up existing metrics by name, as done by code resolving the metrics for each request.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark extends MetricServiceState {
+
+    private static final String NAME = "org.wso2.carbon.metrics.benchmark.lookup.timer";
+
+    private static final String PREFIX = "org.wso2.carbon.metrics.benchmark.lookup.";
+
+    private String suffix = "timer";
+
+    @Override
+    protected void createMetrics() {
+        metricService.timer(NAME, Level.INFO);
+        metricRegistry.timer(NAME + ".baseline");
+    }
+
+    @Benchmark
+    public Timer lookup() {
+        return metricService.timer(NAME, Level.INFO);
+    }
+
+    /**
+     * Look up with a name built for each call. The hash code of the name is not cached.
+     */
+    @Benchmark
+    public Timer lookupDynamicName() {
+        return metricService.timer(PREFIX + suffix, Level.INFO);
+    }
+
+    /**
+     * Dropwizard registry lookup to measure the cost of the wrapper layer.
+     */
+    @Benchmark
+    public com.codahale.metrics.Timer lookupBaseline() {
+        return metricRegistry.timer(NAME + ".baseline");
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.metrics.core.Level;
+import org.wso2.carbon.metrics.core.Meter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Meter} implementations.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MeterBenchmark extends MetricServiceState {
+
+    private Meter meter;
+
+    private Meter meterCollection;
+
+    private com.codahale.metrics.Meter baseline;
+
+    @Override
+    protected void createMetrics() {
+        meter = metricService.meter("org.wso2.carbon.metrics.benchmark.meter", Level.INFO);
+        meterCollection = metricService.meter("org.wso2.carbon.metrics.benchmark[+].collection.meter",
+                Level.INFO, Level.INFO);
+        baseline = metricRegistry.meter("org.wso2.carbon.metrics.benchmark.baseline.meter");
+    }
+
+    @Benchmark
+    public void mark() {
+        meter.mark();
+    }
+
+    @Benchmark
+    public void markCollection() {
+        meterCollection.mark();
+    }
+
+    /**
+     * Dropwizard meter without the wrapper to measure the cost of the wrapper layer.
+     */
+    @Benchmark
+    public void markBaseline() {
+        baseline.mark();
+    }
+}
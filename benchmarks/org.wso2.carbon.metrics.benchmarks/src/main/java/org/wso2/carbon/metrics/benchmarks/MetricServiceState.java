@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.benchmarks;
+
+import com.codahale.metrics.MetricRegistry;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.wso2.carbon.metrics.core.MetricService;
+import org.wso2.carbon.metrics.core.config.model.CounterConfig;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
+import org.wso2.carbon.metrics.core.config.model.TimerConfig;
+import org.wso2.carbon.metrics.core.impl.MetricManager;
+import org.wso2.carbon.metrics.core.impl.MetricServiceImpl;
+import org.wso2.carbon.metrics.core.impl.reservoir.ReservoirType;
+
+/**
+ * Base state for all benchmarks. Creates a {@link MetricService} backed by a fresh {@link MetricRegistry} for each
+ * trial and runs it in both enabled and disabled states.
+ */
+@State(Scope.Benchmark)
+public abstract class MetricServiceState {
+
+    @Param({"true", "false"})
+    public boolean enabled;
+
+    protected MetricRegistry metricRegistry;
+
+    protected MetricService metricService;
+
+    @Setup(org.openjdk.jmh.annotations.Level.Trial)
+    public void setUp() {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        metricsConfig.getReservoir().setType(getReservoirType());
+        metricsConfig.setCounter(getCounterConfig());
+        metricsConfig.setTimer(getTimerConfig());
+        metricRegistry = new MetricRegistry();
+        MetricManager metricManager = new MetricManager(metricRegistry, metricsConfig);
+        metricService = new MetricServiceImpl(metricManager);
+        createMetrics();
+        // Toggle after creating metrics to make sure the existing metrics are notified
+        if (enabled) {
+            metricManager.enable();
+        } else {
+            metricManager.disable();
+        }
+    }
+
+    /**
+     * Get the reservoir type used for Timers and Histograms.
+     *
+     * @return The {@link ReservoirType}
+     */
+    protected ReservoirType getReservoirType() {
+        return ReservoirType.EXPONENTIALLY_DECAYING;
+    }
+
+    /**
+     * Get the configuration used for Counters.
+     *
+     * @return The {@link CounterConfig}
+     */
+    protected CounterConfig getCounterConfig() {
+        return new CounterConfig();
+    }
+
+    /**
+     * Get the configuration used for Timers.
+     *
+     * @return The {@link TimerConfig}
+     */
+    protected TimerConfig getTimerConfig() {
+        return new TimerConfig();
+    }
+
+    /**
+     * Create the metrics used in the benchmark methods.
+     */
+    protected abstract void createMetrics();
+}
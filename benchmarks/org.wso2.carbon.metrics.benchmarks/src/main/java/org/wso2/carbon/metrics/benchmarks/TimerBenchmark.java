@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.metrics.core.Level;
+import org.wso2.carbon.metrics.core.Timer;
+import org.wso2.carbon.metrics.core.config.model.TimerConfig;
+import org.wso2.carbon.metrics.core.impl.reservoir.ReservoirType;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for {@link Timer} implementations with each {@link ReservoirType}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimerBenchmark extends MetricServiceState {
+
+    // No values are specified. Therefore JMH will run the benchmarks for all reservoir types.
+    @Param
+    public ReservoirType reservoirType;
+
+    @Param({"false", "true"})
+    public boolean recycleContexts;
+
+    private Timer timer;
+
+    private com.codahale.metrics.Timer baseline;
+
+    @Override
+    protected ReservoirType getReservoirType() {
+        return reservoirType;
+    }
+
+    @Override
+    protected TimerConfig getTimerConfig() {
+        TimerConfig timerConfig = new TimerConfig();
+        timerConfig.setRecycleContexts(recycleContexts);
+        return timerConfig;
+    }
+
+    @Override
+    protected void createMetrics() {
+        timer = metricService.timer("org.wso2.carbon.metrics.benchmark.timer", Level.INFO);
+        // The baseline uses the default reservoir in Dropwizard Metrics
+        baseline = metricRegistry.timer("org.wso2.carbon.metrics.benchmark.baseline.timer");
+    }
+
+    @Benchmark
+    public long startStop() {
+        Timer.Context context = timer.start();
+        return context.stop();
+    }
+
+    @Benchmark
+    public void startClose() {
+        try (Timer.Context context = timer.start()) {
+            // Only the timer overhead is measured
+        }
+    }
+
+    @Benchmark
+    public long startStopNanos() {
+        return timer.stopNanos(timer.startNanos());
+    }
+
+    @Benchmark
+    public void update() {
+        timer.update(ThreadLocalRandom.current().nextLong(1, 1_000_000), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Dropwizard timer without the wrapper to measure the cost of the wrapper layer.
+     */
+    @Benchmark
+    public long startStopBaseline() {
+        com.codahale.metrics.Timer.Context context = baseline.time();
+        return context.stop();
+    }
+}
@@ -81,6 +81,21 @@ public interface MetricService {
      */
     Meter meter(String name, Level level, Level... levels);
 
+    /**
+     * <p>Get or create a {@link Meter} instance with the given tags.</p> <p>The tagged metric is registered with the
+     * name followed by the tags. eg. org.wso2.endpoint.requests{endpoint=/orders,tenant=carbon.super}. The level
+     * configured for the name applies to all tagged metrics with the name. After the maximum number of tag
+     * combinations is reached for the name, the {@link Meter} tagged with {@link Tags#OVERFLOW} is returned for any
+     * new tags.</p>
+     *
+     * @param name  The name of the metric (This name cannot be annotated)
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Meter} instance
+     * @see #meter(String)
+     */
+    Meter meter(String name, Level level, Tags tags);
+
     /**
      * <p>Get an existing {@link Counter} instance or {@link Counter}s bundle registered under a given name.</p>
      *
@@ -113,6 +128,21 @@ public interface MetricService {
      */
     Counter counter(String name, Level level, Level... levels);
 
+    /**
+     * <p>Get or create a {@link Counter} instance with the given tags.</p> <p>The tagged metric is registered with the
+     * name followed by the tags. eg. org.wso2.endpoint.requests{endpoint=/orders,tenant=carbon.super}. The level
+     * configured for the name applies to all tagged metrics with the name. After the maximum number of tag
+     * combinations is reached for the name, the {@link Counter} tagged with {@link Tags#OVERFLOW} is returned for any
+     * new tags.</p>
+     *
+     * @param name  The name of the metric (This name cannot be annotated)
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Counter} instance
+     * @see #counter(String)
+     */
+    Counter counter(String name, Level level, Tags tags);
+
     /**
      * <p>Get the {@link Timer} instance registered under given name.</p>
      *
@@ -133,6 +163,21 @@ public interface MetricService {
      */
     Timer timer(String name, Level level);
 
+    /**
+     * <p>Get or create a {@link Timer} instance with the given tags.</p> <p>The tagged metric is registered with the
+     * name followed by the tags. eg. org.wso2.endpoint.requests{endpoint=/orders,tenant=carbon.super}. The level
+     * configured for the name applies to all tagged metrics with the name. After the maximum number of tag
+     * combinations is reached for the name, the {@link Timer} tagged with {@link Tags#OVERFLOW} is returned for any
+     * new tags.</p>
+     *
+     * @param name  The name of the metric (This name cannot be annotated)
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Timer} instance
+     * @see #timer(String)
+     */
+    Timer timer(String name, Level level, Tags tags);
+
     /**
      * <p>Get an existing {@link Histogram} instance or {@link Histogram}s bundle registered under a given name.</p>
      *
@@ -165,6 +210,21 @@ public interface MetricService {
      */
     Histogram histogram(String name, Level level, Level... levels);
 
+    /**
+     * <p>Get or create a {@link Histogram} instance with the given tags.</p> <p>The tagged metric is registered with the
+     * name followed by the tags. eg. org.wso2.endpoint.requests{endpoint=/orders,tenant=carbon.super}. The level
+     * configured for the name applies to all tagged metrics with the name. After the maximum number of tag
+     * combinations is reached for the name, the {@link Histogram} tagged with {@link Tags#OVERFLOW} is returned for any
+     * new tags.</p>
+     *
+     * @param name  The name of the metric (This name cannot be annotated)
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Histogram} instance
+     * @see #histogram(String)
+     */
+    Histogram histogram(String name, Level level, Tags tags);
+
     /**
      * Register a {@link Gauge} instance under given name.
      *
@@ -22,8 +22,6 @@ import org.wso2.carbon.config.ConfigurationException;
 import org.wso2.carbon.config.provider.ConfigProvider;
 import org.wso2.carbon.metrics.core.config.model.JmxConfig;
 import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
-import org.wso2.carbon.metrics.core.config.model.MetricsLevelConfig;
-import org.wso2.carbon.metrics.core.config.model.ReservoirConfig;
 import org.wso2.carbon.metrics.core.impl.MetricManagementServiceImpl;
 import org.wso2.carbon.metrics.core.impl.MetricManager;
 import org.wso2.carbon.metrics.core.impl.MetricServiceImpl;
@@ -86,10 +84,7 @@ public class Metrics {
             logger.error("Error loading Metrics Configuration", e);
             metricsConfig = new MetricsConfig();
         }
-        MetricsLevelConfig metricsLevelConfig = metricsConfig.getLevels();
-        ReservoirConfig reservoirConfig = metricsConfig.getReservoir();
-
-        MetricManager metricManager = new MetricManager(metricRegistry, metricsLevelConfig, reservoirConfig);
+        MetricManager metricManager = new MetricManager(metricRegistry, metricsConfig);
 
         metricService = new MetricServiceImpl(metricManager);
         metricManagementService = new MetricManagementServiceImpl(metricManager);
@@ -159,7 +154,7 @@ public class Metrics {
             metricManagementService.enable();
         }
         if (registerMBean) {
-            MetricsMXBean metricsMXBean = new MetricsMXBeanImpl(metricManagementService);
+            MetricsMXBean metricsMXBean = new MetricsMXBeanImpl(metricManagementService, metricService);
             registerMXBean(metricsMXBean);
         }
         if (!Utils.isCarbonEnvironment()) {
@@ -15,6 +15,15 @@
  */
 package org.wso2.carbon.metrics.core;
 
+import org.HdrHistogram.Histogram;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
 /**
  * A statistical snapshot of a {@link Snapshot}.
  */
@@ -29,9 +38,10 @@ public interface Snapshot {
     double getValue(double quantile);
 
     /**
-     * Returns the entire set of values in the snapshot.
+     * Returns the entire set of values in the snapshot. Snapshots of HdrHistogram reservoirs return a sample of the
+     * values when there are too many values to copy.
      *
-     * @return the entire set of values
+     * @return the entire set of values, or a sample of them
      */
     long[] getValues();
 
@@ -112,4 +122,68 @@ public interface Snapshot {
      */
     double getStdDev();
 
+    /**
+     * Passes the value and the count of each bucket of values to the consumer in the ascending order of the values.
+     * Snapshots of HdrHistogram reservoirs pass the recorded buckets without expanding the recorded values. By
+     * default, each distinct value of {@link #getValues()} is passed as a bucket.
+     *
+     * @param consumer the consumer of the buckets
+     */
+    default void forEachBucket(BucketConsumer consumer) {
+        long[] values = getValues().clone();
+        Arrays.sort(values);
+        int start = 0;
+        while (start < values.length) {
+            int end = start + 1;
+            while (end < values.length && values[end] == values[start]) {
+                end++;
+            }
+            consumer.accept(values[start], end - start);
+            start = end;
+        }
+    }
+
+    /**
+     * Exports the buckets in the compressed encoding of HdrHistogram, which can be stored or sent to another process.
+     * The histogram can be restored with {@link Histogram#decodeFromCompressedByteBuffer(ByteBuffer, long)}. By
+     * default, the buckets are recorded in a histogram with 3 significant value digits. Negative values are recorded
+     * as 0.
+     *
+     * @return the compressed buckets
+     */
+    default byte[] exportBuckets() {
+        Histogram histogram = new Histogram(3);
+        forEachBucket((value, count) -> histogram.recordValueWithCount(Math.max(value, 0), count));
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    /**
+     * Writes a {@code value\tcount} line for each bucket of {@link #forEachBucket(BucketConsumer)} to the given
+     * output stream, where the count is the number of values in the bucket.
+     *
+     * @param output an output stream
+     */
+    default void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            forEachBucket((value, count) -> out.printf("%d\t%d%n", value, count));
+        }
+    }
+
+    /**
+     * A consumer of the value and the count of a bucket.
+     */
+    @FunctionalInterface
+    interface BucketConsumer {
+
+        /**
+         * Accepts a bucket.
+         *
+         * @param value the value of the bucket
+         * @param count the number of values in the bucket
+         */
+        void accept(long value, long count);
+    }
+
 }
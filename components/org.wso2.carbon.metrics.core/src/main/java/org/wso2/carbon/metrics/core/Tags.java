@@ -0,0 +1,273 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable set of tags (key-value pairs) to add dimensions to a metric. The tags are sorted by the keys.
+ * <p>
+ * A tagged metric is registered with the name of the metric followed by the tags, for example
+ * {@code org.wso2.endpoint.requests{endpoint=/orders,tenant=carbon.super}}. The level of the metric name applies to all
+ * tagged metrics with that name.
+ */
+public final class Tags {
+
+    private static final char TAGS_START = '{';
+
+    private static final char TAGS_END = '}';
+
+    private static final char TAG_SEPARATOR = ',';
+
+    private static final char KEY_VALUE_SEPARATOR = '=';
+
+    private static final Tags EMPTY = new Tags(new String[0], new String[0]);
+
+    /**
+     * The tags of the metric, which is used for all tags after the maximum number of tagged metrics is reached for a
+     * metric name.
+     */
+    public static final Tags OVERFLOW = Tags.of("overflow", "true");
+
+    private final String[] keys;
+
+    private final String[] values;
+
+    private final int hashCode;
+
+    private Tags(String[] keys, String[] values) {
+        this.keys = keys;
+        this.values = values;
+        this.hashCode = 31 * Arrays.hashCode(keys) + Arrays.hashCode(values);
+    }
+
+    /**
+     * @return Empty tags
+     */
+    public static Tags empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Create tags with a single key-value pair.
+     *
+     * @param key   The key of the tag
+     * @param value The value of the tag
+     * @return The tags
+     */
+    public static Tags of(String key, String value) {
+        return new Tags(new String[]{validateKey(key)}, new String[]{validateValue(value)});
+    }
+
+    /**
+     * Create tags from the keys and values given in order. eg. {@code Tags.of("tenant", "carbon.super", "endpoint",
+     * "/orders")}
+     *
+     * @param keysAndValues The keys and values
+     * @return The tags
+     */
+    public static Tags of(String... keysAndValues) {
+        if (keysAndValues.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags should be given as key-value pairs");
+        }
+        Map<String, String> tags = new TreeMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            tags.put(validateKey(keysAndValues[i]), validateValue(keysAndValues[i + 1]));
+        }
+        return of(tags);
+    }
+
+    /**
+     * Create tags from a map of keys to values.
+     *
+     * @param tags The map of keys to values
+     * @return The tags
+     */
+    public static Tags of(Map<String, String> tags) {
+        if (tags.isEmpty()) {
+            return EMPTY;
+        }
+        Map<String, String> sortedTags = new TreeMap<>(tags);
+        String[] keys = new String[sortedTags.size()];
+        String[] values = new String[sortedTags.size()];
+        int i = 0;
+        for (Map.Entry<String, String> entry : sortedTags.entrySet()) {
+            keys[i] = validateKey(entry.getKey());
+            values[i] = validateValue(entry.getValue());
+            i++;
+        }
+        return new Tags(keys, values);
+    }
+
+    /**
+     * Create new tags by adding a tag to these tags. The value is replaced if there is a tag with the same key.
+     *
+     * @param key   The key of the tag
+     * @param value The value of the tag
+     * @return The new tags
+     */
+    public Tags and(String key, String value) {
+        Map<String, String> tags = new TreeMap<>(asMap());
+        tags.put(key, value);
+        return of(tags);
+    }
+
+    /**
+     * @param key The key of the tag
+     * @return The value of the tag or {@code null} if there is no tag with the given key
+     */
+    public String get(String key) {
+        int index = Arrays.binarySearch(keys, key);
+        return index >= 0 ? values[index] : null;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public boolean isEmpty() {
+        return keys.length == 0;
+    }
+
+    /**
+     * @return An unmodifiable map of the tags sorted by the keys
+     */
+    public Map<String, String> asMap() {
+        Map<String, String> tags = new LinkedHashMap<>();
+        for (int i = 0; i < keys.length; i++) {
+            tags.put(keys[i], values[i]);
+        }
+        return Collections.unmodifiableMap(tags);
+    }
+
+    /**
+     * Get the name used to register a metric with these tags.
+     *
+     * @param name The name of the metric
+     * @return The name followed by the tags or the given name if the tags are empty
+     */
+    public String toMetricName(String name) {
+        return isEmpty() ? name : name + this;
+    }
+
+    /**
+     * Get the name of a metric without the tags.
+     *
+     * @param metricName The name used to register a metric
+     * @return The name without the tags
+     */
+    public static String getBaseName(String metricName) {
+        int tagsStart = getTagsStart(metricName);
+        return tagsStart != -1 ? metricName.substring(0, tagsStart) : metricName;
+    }
+
+    /**
+     * Get the tags of a metric.
+     *
+     * @param metricName The name used to register a metric
+     * @return The tags in the name or empty tags if the metric is not tagged
+     */
+    public static Tags fromMetricName(String metricName) {
+        int tagsStart = getTagsStart(metricName);
+        if (tagsStart == -1) {
+            return EMPTY;
+        }
+        Map<String, String> tags = new TreeMap<>();
+        int start = tagsStart + 1;
+        int tagsEnd = metricName.length() - 1;
+        while (start < tagsEnd) {
+            int end = metricName.indexOf(TAG_SEPARATOR, start);
+            if (end == -1) {
+                end = tagsEnd;
+            }
+            int separator = metricName.indexOf(KEY_VALUE_SEPARATOR, start);
+            if (separator == -1 || separator > end) {
+                throw new IllegalArgumentException("Invalid tags in metric name: " + metricName);
+            }
+            tags.put(metricName.substring(start, separator), metricName.substring(separator + 1, end));
+            start = end + 1;
+        }
+        return of(tags);
+    }
+
+    private static int getTagsStart(String metricName) {
+        if (metricName.isEmpty() || metricName.charAt(metricName.length() - 1) != TAGS_END) {
+            return -1;
+        }
+        return metricName.indexOf(TAGS_START);
+    }
+
+    private static String validateKey(String key) {
+        if (key == null || key.isEmpty()) {
+            throw new IllegalArgumentException("Tag key should not be empty");
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                throw new IllegalArgumentException("Invalid character '" + c + "' in tag key: " + key);
+            }
+        }
+        return key;
+    }
+
+    private static String validateValue(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Tag value should not be null");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == TAGS_START || c == TAGS_END || c == TAG_SEPARATOR || c == KEY_VALUE_SEPARATOR || c == '['
+                    || c == ']') {
+                throw new IllegalArgumentException("Invalid character '" + c + "' in tag value: " + value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Tags tags = (Tags) o;
+        return hashCode == tags.hashCode && Arrays.equals(keys, tags.keys) && Arrays.equals(values, tags.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(TAGS_START);
+        for (int i = 0; i < keys.length; i++) {
+            if (i > 0) {
+                builder.append(TAG_SEPARATOR);
+            }
+            builder.append(keys[i]).append(KEY_VALUE_SEPARATOR).append(values[i]);
+        }
+        return builder.append(TAGS_END).toString();
+    }
+}
@@ -44,13 +44,37 @@ public interface Timer extends Metric, Metered, Sampling {
     <T> T time(Callable<T> event) throws Exception;
 
     /**
-     * Returns a new {@link Context}.
+     * Returns a {@link Context}. The {@link Context} returned by a disabled timer is a shared no-op instance.
      *
-     * @return a new {@link Context}
+     * @return a {@link Context}
      * @see Context
      */
     Context start();
 
+    /**
+     * Returns the start time for a timing without creating a {@link Context}. The returned value must only be passed
+     * to {@link #stopNanos(long)} of the same timer. By default, this returns {@link System#nanoTime()}.
+     *
+     * @return the start time in nanoseconds
+     * @see #stopNanos(long)
+     */
+    default long startNanos() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Updates the timer with the difference between current time and the given start time. By default, the
+     * difference is recorded with {@link #update(long, TimeUnit)}.
+     *
+     * @param startNanos the start time returned by {@link #startNanos()}
+     * @return the elapsed time in nanoseconds or {@code 0} if the timer was disabled at start or at stop
+     */
+    default long stopNanos(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        update(elapsed, TimeUnit.NANOSECONDS);
+        return elapsed;
+    }
+
     /**
      * A timing context.
      *
@@ -56,6 +56,7 @@ public class ConsoleReporterConfig extends ScheduledReporterConfig implements Re
                     getPollingPeriod()));
         }
 
-        return Optional.of(new ConsoleReporter(getName(), metricRegistry, getFilter(metricFilter), getPollingPeriod()));
+        return Optional.of(new ConsoleReporter(getName(), metricRegistry, getFilter(metricFilter), getPollingPeriod(),
+                getDeadline()));
     }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+import org.wso2.carbon.metrics.core.impl.counter.CounterType;
+
+/**
+ * Configuration for Counter
+ */
+@Configuration(description = "Counter Configuration")
+public class CounterConfig {
+
+    @Element(description = "Counter Type used for Counters\n" +
+            "Available types are DEFAULT & STRIPED")
+    private CounterType type = CounterType.DEFAULT;
+
+    /**
+     * The number of updates to keep in a per-thread batch in {@code StripedCounter}
+     */
+    @Element(description = "The number of updates to keep in a per-thread batch before adding to a STRIPED counter.\n" +
+            "The pending updates in the batches are included when the count is read")
+    private int batchSize = 1;
+
+    /**
+     * Update only the most specific counter of a counter collection
+     */
+    @Element(description = "Update only the most specific counter of a counter collection and derive the counts of " +
+            "the other counters in the collection when they are read.\n" +
+            "An update is recorded when any counter of the collection is enabled. A counter adds the updates only " +
+            "while it is enabled")
+    private boolean mergeCollections;
+
+    public CounterType getType() {
+        return type;
+    }
+
+    public void setType(CounterType type) {
+        this.type = type;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public boolean isMergeCollections() {
+        return mergeCollections;
+    }
+
+    public void setMergeCollections(boolean mergeCollections) {
+        this.mergeCollections = mergeCollections;
+    }
+}
@@ -84,6 +84,6 @@ public class CsvReporterConfig extends ScheduledReporterConfig implements Report
         }
 
         return Optional.of(new CsvReporter(getName(), metricRegistry, getFilter(metricFilter), csvLocation,
-                getPollingPeriod()));
+                getPollingPeriod(), getDeadline()));
     }
 }
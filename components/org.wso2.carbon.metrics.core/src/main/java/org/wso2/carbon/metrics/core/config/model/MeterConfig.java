@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration for Meter
+ */
+@Configuration(description = "Meter Configuration")
+public class MeterConfig {
+
+    /**
+     * Mark only the most specific meter of a meter collection
+     */
+    @Element(description = "Mark only the most specific meter of a meter collection and derive the counts and rates " +
+            "of the other meters in the collection when they are read.\n" +
+            "An event is marked when any meter of the collection is enabled. A meter adds the events only while it " +
+            "is enabled")
+    private boolean mergeCollections;
+
+    public boolean isMergeCollections() {
+        return mergeCollections;
+    }
+
+    public void setMergeCollections(boolean mergeCollections) {
+        this.mergeCollections = mergeCollections;
+    }
+}
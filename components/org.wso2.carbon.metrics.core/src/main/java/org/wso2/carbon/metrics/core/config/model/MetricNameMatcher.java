@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.config.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Matches metric names with a set of expressions, which are compiled once.
+ * <p>
+ * When neither regular expressions nor globs are used, an expression is an exact metric name. When globs are used,
+ * an expression is either an exact metric name or a glob, where {@code *} matches any sequence of characters. The exact
+ * names are kept in a {@link Set} and the globs with a single {@code *} at the end are kept in a prefix tree. Any other
+ * glob is converted to a regular expression.
+ */
+final class MetricNameMatcher {
+
+    private static final char WILDCARD = '*';
+
+    private final Set<String> names = new HashSet<>();
+
+    private final PrefixNode prefixes = new PrefixNode();
+
+    private final List<Pattern> patterns = new ArrayList<>();
+
+    private final boolean empty;
+
+    /**
+     * @param expressions The expressions to match
+     * @param regex       Whether the expressions are regular expressions
+     * @param glob        Whether the expressions are globs. This is ignored if the expressions are regular expressions.
+     * @throws java.util.regex.PatternSyntaxException if a regular expression is invalid
+     */
+    MetricNameMatcher(Set<String> expressions, boolean regex, boolean glob) {
+        for (String expression : expressions) {
+            if (regex) {
+                patterns.add(Pattern.compile(expression));
+            } else if (!glob) {
+                names.add(expression);
+            } else {
+                int wildcard = expression.indexOf(WILDCARD);
+                if (wildcard == -1) {
+                    names.add(expression);
+                } else if (wildcard == expression.length() - 1) {
+                    prefixes.add(expression.substring(0, wildcard));
+                } else {
+                    patterns.add(toPattern(expression));
+                }
+            }
+        }
+        this.empty = expressions.isEmpty();
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    boolean matches(String name) {
+        if (names.contains(name) || prefixes.matches(name)) {
+            return true;
+        }
+        for (Pattern pattern : patterns) {
+            if (pattern.matcher(name).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Pattern toPattern(String glob) {
+        StringBuilder regex = new StringBuilder();
+        int start = 0;
+        int wildcard;
+        while ((wildcard = glob.indexOf(WILDCARD, start)) != -1) {
+            if (wildcard > start) {
+                regex.append(Pattern.quote(glob.substring(start, wildcard)));
+            }
+            regex.append(".*");
+            start = wildcard + 1;
+        }
+        if (start < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(start)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    /**
+     * A node in the prefix tree of the globs ending with the wildcard.
+     */
+    private static final class PrefixNode {
+
+        private final Map<Character, PrefixNode> children = new HashMap<>();
+
+        private boolean terminal;
+
+        private void add(String prefix) {
+            PrefixNode node = this;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = node.children.computeIfAbsent(prefix.charAt(i), key -> new PrefixNode());
+            }
+            node.terminal = true;
+        }
+
+        private boolean matches(String name) {
+            PrefixNode node = this;
+            for (int i = 0; !node.terminal; i++) {
+                if (i == name.length()) {
+                    return false;
+                }
+                node = node.children.get(name.charAt(i));
+                if (node == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -34,6 +34,14 @@ public class MetricsConfig {
 
     private ReservoirConfig reservoir = new ReservoirConfig();
 
+    private CounterConfig counter = new CounterConfig();
+
+    private MeterConfig meter = new MeterConfig();
+
+    private TimerConfig timer = new TimerConfig();
+
+    private TagsConfig tags = new TagsConfig();
+
     private ReportingConfig reporting = new ReportingConfig();
 
     public boolean isEnabled() {
@@ -68,6 +76,38 @@ public class MetricsConfig {
         this.reservoir = reservoir;
     }
 
+    public CounterConfig getCounter() {
+        return counter;
+    }
+
+    public void setCounter(CounterConfig counter) {
+        this.counter = counter;
+    }
+
+    public MeterConfig getMeter() {
+        return meter;
+    }
+
+    public void setMeter(MeterConfig meter) {
+        this.meter = meter;
+    }
+
+    public TimerConfig getTimer() {
+        return timer;
+    }
+
+    public void setTimer(TimerConfig timer) {
+        this.timer = timer;
+    }
+
+    public TagsConfig getTags() {
+        return tags;
+    }
+
+    public void setTags(TagsConfig tags) {
+        this.tags = tags;
+    }
+
     public ReportingConfig getReporting() {
         return reporting;
     }
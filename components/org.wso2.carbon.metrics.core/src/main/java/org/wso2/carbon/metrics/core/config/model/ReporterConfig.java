@@ -15,15 +15,17 @@
  */
 package org.wso2.carbon.metrics.core.config.model;
 
+import com.codahale.metrics.Metric;
 import com.codahale.metrics.MetricFilter;
 import org.wso2.carbon.config.annotation.Element;
 import org.wso2.carbon.metrics.core.reporter.ReporterBuildException;
+import org.wso2.carbon.metrics.core.reporter.VersionedMetricFilter;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.regex.Pattern;
+import java.util.function.Predicate;
 import java.util.regex.PatternSyntaxException;
 
 /**
@@ -39,17 +41,12 @@ public abstract class ReporterConfig {
 
     private boolean useRegexFilters = false;
 
+    private boolean useGlobFilters = false;
+
     private Set<String> includes = new HashSet<>();
 
     private Set<String> excludes = new HashSet<>();
 
-    private static final DefaultStringMatchingStrategy defaultStringMatchingStrategy =
-            new DefaultStringMatchingStrategy();
-
-    private static final RegexStringMatchingStrategy regexStringMatchingStrategy = new RegexStringMatchingStrategy();
-
-    private static final Map<String, Pattern> patternMap = new ConcurrentHashMap<>();
-
     public ReporterConfig(String name) {
         this.name = name;
     }
@@ -78,6 +75,14 @@ public abstract class ReporterConfig {
         this.useRegexFilters = useRegexFilters;
     }
 
+    public boolean isUseGlobFilters() {
+        return useGlobFilters;
+    }
+
+    public void setUseGlobFilters(boolean useGlobFilters) {
+        this.useGlobFilters = useGlobFilters;
+    }
+
     public Set<String> getIncludes() {
         return includes;
     }
@@ -117,6 +122,11 @@ public abstract class ReporterConfig {
      * Gets a {@link MetricFilter} that specifically includes and excludes configured metrics. This method needs the
      * existing {@link MetricFilter} used to filter the disabled metrics. The includes and excludes will be checked
      * only for enabled metrics.
+     * <p>
+     * The includes and excludes are regular expressions if {@code useRegexFilters} is enabled. The includes and
+     * excludes are metric names or globs, where {@code *} matches any sequence of characters, if
+     * {@code useGlobFilters} is enabled. Otherwise those are exact metric names. The includes and excludes are
+     * compiled when getting the filter and the result is cached for each metric name.
      *
      * @param enabledFilter The existing {@link MetricFilter} to filter disabled metrics.
      * @return the filter for selecting metrics based on the configured excludes/includes.
@@ -127,69 +137,66 @@ public abstract class ReporterConfig {
             return enabledFilter;
         }
 
-        final StringMatchingStrategy stringMatchingStrategy;
-
-        if (useRegexFilters) {
-            stringMatchingStrategy = regexStringMatchingStrategy;
-            compileAllRegex(getIncludes());
-            compileAllRegex(getExcludes());
-        } else {
-            stringMatchingStrategy = defaultStringMatchingStrategy;
+        final MetricNameMatcher includesMatcher;
+        final MetricNameMatcher excludesMatcher;
+        try {
+            includesMatcher = new MetricNameMatcher(includes, useRegexFilters, useGlobFilters);
+            excludesMatcher = new MetricNameMatcher(excludes, useRegexFilters, useGlobFilters);
+        } catch (PatternSyntaxException e) {
+            throw new ReporterBuildException(String.format("Failed to compile regex \"%s\" used in the " +
+                    "\"%s\" reporter", e.getPattern(), name), e);
         }
 
-        return (name, metric) -> {
-            // Include the metric if its name is not excluded and its name is included
-            // Where, by default, with no includes setting, all names are included.
-            return enabledFilter.matches(name, metric) && !stringMatchingStrategy.containsMatch(getExcludes(), name) &&
-                    (getIncludes().isEmpty() || stringMatchingStrategy.containsMatch(getIncludes(), name));
-        };
-    }
-
-    private interface StringMatchingStrategy {
-        boolean containsMatch(Set<String> matchExpressions, String metricName);
-    }
+        // Include the metric if its name is not excluded and its name is included
+        // Where, by default, with no includes setting, all names are included.
+        MetricNameFilter nameFilter = new MetricNameFilter(name -> !excludesMatcher.matches(name) &&
+                (includesMatcher.isEmpty() || includesMatcher.matches(name)));
+        if (enabledFilter instanceof VersionedMetricFilter) {
+            // The includes and excludes do not change. Therefore the version of the enabled filter can be used.
+            return new VersionedMetricFilter() {
+                @Override
+                public long getVersion() {
+                    return ((VersionedMetricFilter) enabledFilter).getVersion();
+                }
 
-    private static class DefaultStringMatchingStrategy implements StringMatchingStrategy {
-        @Override
-        public boolean containsMatch(Set<String> matchExpressions, String metricName) {
-            return matchExpressions.contains(metricName);
+                @Override
+                public boolean matches(String name, Metric metric) {
+                    return enabledFilter.matches(name, metric) && nameFilter.matches(name);
+                }
+            };
         }
+        return (name, metric) -> enabledFilter.matches(name, metric) && nameFilter.matches(name);
     }
 
-    private static class RegexStringMatchingStrategy implements StringMatchingStrategy {
+    /**
+     * Caches the result of matching the includes and excludes for each metric name.
+     */
+    private static final class MetricNameFilter {
 
-        @Override
-        public boolean containsMatch(Set<String> matchExpressions, String metricName) {
-            for (String regex : matchExpressions) {
-                Pattern pattern = patternMap.get(regex);
-                if (pattern.matcher(metricName).matches()) {
-                    // match a single value and return
-                    return true;
-                }
-            }
+        /**
+         * The maximum number of cached names. The cache is cleared when the limit is reached, so that the names of
+         * removed metrics are not kept forever.
+         */
+        private static final int MAX_CACHED_NAMES = 100000;
 
-            return false;
+        private final Predicate<String> predicate;
+
+        private final Map<String, Boolean> cache = new ConcurrentHashMap<>();
+
+        private MetricNameFilter(Predicate<String> predicate) {
+            this.predicate = predicate;
         }
-    }
 
-    /**
-     * Compile all regular expressions and keep the compiled {@link Pattern} in a map.
-     *
-     * @param matchExpressions The regular expressions to compile
-     * @throws ReporterBuildException if the compile failed
-     */
-    private void compileAllRegex(Set<String> matchExpressions) throws ReporterBuildException {
-        for (String regex : matchExpressions) {
-            Pattern pattern = patternMap.get(regex);
-            if (pattern == null) {
-                try {
-                    pattern = Pattern.compile(regex);
-                    patternMap.put(regex, pattern);
-                } catch (PatternSyntaxException e) {
-                    throw new ReporterBuildException(String.format("Failed to compile regex \"%s\" used in the " +
-                            "\"%s\" reporter", regex, name), e);
+        private boolean matches(String name) {
+            Boolean matches = cache.get(name);
+            if (matches == null) {
+                matches = predicate.test(name);
+                if (cache.size() >= MAX_CACHED_NAMES) {
+                    cache.clear();
                 }
+                cache.put(name, matches);
             }
+            return matches;
         }
     }
 }
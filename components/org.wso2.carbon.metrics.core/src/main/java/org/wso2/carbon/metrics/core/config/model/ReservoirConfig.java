@@ -26,9 +26,19 @@ import org.wso2.carbon.metrics.core.impl.reservoir.ReservoirType;
 public class ReservoirConfig {
 
     @Element(description = "Reservoir Type used for Histogram and Timer\n" +
-            "Available types are EXPONENTIALLY_DECAYING, UNIFORM, SLIDING_WINDOW, SLIDING_TIME_WINDOW & HDR_HISTOGRAM")
+            "Available types are EXPONENTIALLY_DECAYING, UNIFORM, SLIDING_WINDOW, SLIDING_TIME_WINDOW, " +
+            "HDR_HISTOGRAM, STRIPED_HDR_HISTOGRAM & ROLLING_HDR_HISTOGRAM")
     private ReservoirType type = ReservoirType.EXPONENTIALLY_DECAYING;
 
+    /**
+     * The period in milliseconds to reuse a snapshot taken from a reservoir
+     */
+    @Element(description = "The period in milliseconds to reuse a snapshot taken from a reservoir.\n" +
+            "Reporters polling within this period share the same snapshot and values recorded in this period\n" +
+            "are not visible in snapshots. When the reservoir is reset on snapshot, this period prevents the\n" +
+            "reporters from taking values from each other. The snapshots are not reused when this is 0")
+    private long snapshotValidity;
+
     private ReservoirParametersConfig parameters = new ReservoirParametersConfig();
 
     public ReservoirType getType() {
@@ -39,6 +49,14 @@ public class ReservoirConfig {
         this.type = type;
     }
 
+    public long getSnapshotValidity() {
+        return snapshotValidity;
+    }
+
+    public void setSnapshotValidity(long snapshotValidity) {
+        this.snapshotValidity = snapshotValidity;
+    }
+
     public ReservoirParametersConfig getParameters() {
         return parameters;
     }
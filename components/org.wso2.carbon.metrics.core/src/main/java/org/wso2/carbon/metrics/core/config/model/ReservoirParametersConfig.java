@@ -35,22 +35,32 @@ public class ReservoirParametersConfig {
     private int size = 1028;
 
     /**
-     * The window of time in {@code SlidingTimeWindowReservoir}
+     * The window of time in {@code SlidingTimeWindowReservoir} and {@code RollingHdrHistogramReservoir}
      */
-    @Element(description = "The window of time in SLIDING_TIME_WINDOW reservoir")
+    @Element(description = "The window of time in SLIDING_TIME_WINDOW and ROLLING_HDR_HISTOGRAM reservoirs")
     private long window = 1;
 
     /**
-     * The unit of {@code window} in {@code SlidingTimeWindowReservoir}
+     * The unit of {@code window} in {@code SlidingTimeWindowReservoir} and {@code RollingHdrHistogramReservoir}
      */
-    @Element(description = "The unit of window in SLIDING_TIME_WINDOW reservoir. See java.util.concurrent.TimeUnit")
+    @Element(description = "The unit of window in SLIDING_TIME_WINDOW and ROLLING_HDR_HISTOGRAM reservoirs.\n" +
+            "See java.util.concurrent.TimeUnit")
     private TimeUnit windowUnit = TimeUnit.HOURS;
 
     /**
-     * The precision to use in the {@code Recorder} to be used in {@code HdrHistogramReservoir} and
-     * {@code HdrHistogramResetOnSnapshotReservoir}
+     * The number of buckets in the window of {@code RollingHdrHistogramReservoir}
      */
-    @Element(description = "The precision to use in the Recorder to be used in HDR_HISTOGRAM reservoir")
+    @Element(description = "The number of buckets in the window of ROLLING_HDR_HISTOGRAM reservoir.\n" +
+            "The buckets are rotated as time passes and a snapshot has the values of the buckets in the window")
+    private int windowBuckets = 6;
+
+    /**
+     * The precision to use in the {@code Recorder} to be used in {@code HdrHistogramReservoir},
+     * {@code HdrHistogramResetOnSnapshotReservoir}, {@code StripedHdrHistogramReservoir} and
+     * {@code RollingHdrHistogramReservoir}
+     */
+    @Element(description = "The precision to use in the Recorder to be used in HDR_HISTOGRAM, " +
+            "STRIPED_HDR_HISTOGRAM and ROLLING_HDR_HISTOGRAM reservoirs")
     private int numberOfSignificantValueDigits = 2;
 
     /**
@@ -59,6 +69,34 @@ public class ReservoirParametersConfig {
     @Element(description = "Reset the HdrHistogram when taking a snapshot")
     private boolean resetOnSnapshot;
 
+    /**
+     * The number of striped recorders in {@code StripedHdrHistogramReservoir}
+     */
+    @Element(description = "The number of striped recorders in STRIPED_HDR_HISTOGRAM reservoir.\n" +
+            "This is rounded up to the next power of two. The number of available processors is used when this is 0")
+    private int stripes;
+
+    /**
+     * Take the snapshots of {@code ExponentiallyDecayingReservoir}, {@code UniformReservoir} and
+     * {@code SlidingWindowReservoir} into reusable buffers
+     */
+    @Element(description = "Take the snapshots of EXPONENTIALLY_DECAYING, UNIFORM and SLIDING_WINDOW reservoirs " +
+            "into reusable buffers.\n" +
+            "The two buffers are used in turn. A snapshot is valid until the second snapshot after it is taken.\n" +
+            "The snapshotValidity of the reservoir should be greater than 0 to share the snapshots among reporters")
+    private boolean reuseSnapshotBuffers;
+
+    /**
+     * Record the values of a histogram collection only in the most specific histogram and merge them into the other
+     * histograms when taking snapshots
+     */
+    @Element(description = "Record the values of a histogram collection only in the most specific histogram and " +
+            "merge them into the other histograms when taking snapshots.\n" +
+            "A value is recorded when any histogram of the collection is enabled. A histogram merges the values only " +
+            "while it is enabled.\n" +
+            "This is supported only in HDR_HISTOGRAM and STRIPED_HDR_HISTOGRAM reservoirs")
+    private boolean mergeHistogramCollections;
+
     public int getSize() {
         return size;
     }
@@ -83,6 +121,14 @@ public class ReservoirParametersConfig {
         this.windowUnit = windowUnit;
     }
 
+    public int getWindowBuckets() {
+        return windowBuckets;
+    }
+
+    public void setWindowBuckets(int windowBuckets) {
+        this.windowBuckets = windowBuckets;
+    }
+
     public int getNumberOfSignificantValueDigits() {
         return numberOfSignificantValueDigits;
     }
@@ -98,4 +144,28 @@ public class ReservoirParametersConfig {
     public void setResetOnSnapshot(boolean resetOnSnapshot) {
         this.resetOnSnapshot = resetOnSnapshot;
     }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public boolean isReuseSnapshotBuffers() {
+        return reuseSnapshotBuffers;
+    }
+
+    public void setReuseSnapshotBuffers(boolean reuseSnapshotBuffers) {
+        this.reuseSnapshotBuffers = reuseSnapshotBuffers;
+    }
+
+    public boolean isMergeHistogramCollections() {
+        return mergeHistogramCollections;
+    }
+
+    public void setMergeHistogramCollections(boolean mergeHistogramCollections) {
+        this.mergeHistogramCollections = mergeHistogramCollections;
+    }
 }
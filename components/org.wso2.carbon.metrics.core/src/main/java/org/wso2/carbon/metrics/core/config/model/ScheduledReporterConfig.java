@@ -27,6 +27,11 @@ public abstract class ScheduledReporterConfig extends ReporterConfig {
             "This is the period for polling metrics from the metric registry and reporting")
     private long pollingPeriod = 60;
 
+    @Element(description = "The maximum time for a report in seconds.\n" +
+            "A report taking longer than this is interrupted. There is no deadline if this is not positive.\n" +
+            "This should be longer than the time taken by a normal report, as interrupting may abort a write.")
+    private long deadline = 0;
+
     public ScheduledReporterConfig(String name) {
         super(name);
     }
@@ -38,4 +43,12 @@ public abstract class ScheduledReporterConfig extends ReporterConfig {
     public void setPollingPeriod(long pollingPeriod) {
         this.pollingPeriod = pollingPeriod;
     }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public void setDeadline(long deadline) {
+        this.deadline = deadline;
+    }
 }
@@ -82,7 +82,7 @@ public class Slf4jReporterConfig extends ScheduledReporterConfig implements Repo
         }
 
         return Optional.of(new Slf4jReporter(getName(), metricRegistry, getFilter(metricFilter), loggerName, markerName,
-                getPollingPeriod()));
+                getPollingPeriod(), getDeadline()));
     }
 
 }
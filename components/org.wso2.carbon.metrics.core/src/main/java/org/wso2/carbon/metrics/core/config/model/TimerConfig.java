@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration for Timer
+ */
+@Configuration(description = "Timer Configuration")
+public class TimerConfig {
+
+    /**
+     * Reuse the closed {@code Timer.Context} instances
+     */
+    @Element(description = "Reuse the closed timer contexts in the same thread to avoid allocations.\n" +
+            "A timer context must not be used after it is closed when this is enabled")
+    private boolean recycleContexts;
+
+    public boolean isRecycleContexts() {
+        return recycleContexts;
+    }
+
+    public void setRecycleContexts(boolean recycleContexts) {
+        this.recycleContexts = recycleContexts;
+    }
+}
@@ -18,6 +18,8 @@ package org.wso2.carbon.metrics.core.impl;
 import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.Metric;
 
+import java.util.List;
+
 /**
  * An abstract class to keep generic behavior for metric instances. This class implements a metric hierarchy
  */
@@ -56,4 +58,21 @@ public abstract class AbstractMetric implements Metric {
     final void setEnabled(boolean enabled) {
         this.enabled = enabled;
     }
+
+    /**
+     * @param metric  A metric
+     * @param metrics Other metrics
+     * @return {@code true} if any of the metrics is enabled
+     */
+    static boolean isAnyEnabled(AbstractMetric metric, List<? extends AbstractMetric> metrics) {
+        if (metric.enabled) {
+            return true;
+        }
+        for (AbstractMetric other : metrics) {
+            if (other.enabled) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
@@ -78,6 +78,16 @@ public class CounterImpl extends AbstractMetric implements Counter {
         }
     }
 
+    /**
+     * Update the counter even if it is disabled. This is used when the updates of a metric collection are recorded
+     * only in the most specific counter.
+     *
+     * @param n the amount to add to the counter, which is negative to decrement the counter
+     */
+    void record(long n) {
+        counter.inc(n);
+    }
+
     /*
      * (non-Javadoc)
      * 
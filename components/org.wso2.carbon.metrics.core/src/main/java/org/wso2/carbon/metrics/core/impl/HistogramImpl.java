@@ -55,6 +55,16 @@ public class HistogramImpl extends AbstractMetric implements Histogram {
         }
     }
 
+    /**
+     * Update the histogram even if it is disabled. This is used when the values of a metric collection are recorded
+     * only in the most specific histogram.
+     *
+     * @param value the value to record
+     */
+    void record(long value) {
+        histogram.update(value);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import org.wso2.carbon.metrics.core.Level;
+import org.wso2.carbon.metrics.core.Tags;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * A prefix tree of the dotted metric names with the configured {@link Level}s. The effective level of a name is the
+ * level configured for the closest name in its hierarchy, or the root level. The tags of a tagged metric name are kept
+ * as a single part under the name without the tags.
+ * <p>
+ * Each name in the tree can have a value, which is the metric with that name. When a level is changed, only the
+ * values in the subtree inheriting the level are visited. All methods are synchronized as the tree is only changed
+ * when creating or removing metrics and changing levels.
+ *
+ * @param <T> The type of the values
+ */
+final class LevelHierarchy<T> {
+
+    private static final char DELIMITER = '.';
+
+    private final Node<T> root = new Node<>();
+
+    LevelHierarchy(Level rootLevel) {
+        root.level = rootLevel;
+    }
+
+    synchronized Level getRootLevel() {
+        return root.level;
+    }
+
+    synchronized void setRootLevel(Level level) {
+        root.level = level;
+    }
+
+    /**
+     * @param name The name
+     * @return The level configured for the given name, or {@code null} if there is no level configured
+     */
+    synchronized Level getLevel(String name) {
+        Node<T> node = getNode(name, false);
+        return node != null ? node.level : null;
+    }
+
+    synchronized void setLevel(String name, Level level) {
+        getNode(name, true).level = level;
+    }
+
+    /**
+     * Sets the value for the given name.
+     *
+     * @param name  The name
+     * @param value The value
+     * @return The effective level of the name
+     */
+    synchronized Level put(String name, T value) {
+        Node<T> node = root;
+        Level level = root.level;
+        for (String part : split(name)) {
+            node = node.children.computeIfAbsent(part, key -> new Node<>());
+            if (node.level != null) {
+                level = node.level;
+            }
+        }
+        node.value = value;
+        return level;
+    }
+
+    /**
+     * Removes the value for the given name. The nodes without levels, values and children are removed from the tree.
+     *
+     * @param name The name
+     */
+    synchronized void remove(String name) {
+        Deque<Node<T>> path = new ArrayDeque<>();
+        Deque<String> keys = new ArrayDeque<>();
+        Node<T> node = root;
+        for (String part : split(name)) {
+            Node<T> child = node.children.get(part);
+            if (child == null) {
+                return;
+            }
+            path.push(node);
+            keys.push(part);
+            node = child;
+        }
+        node.value = null;
+        while (!path.isEmpty() && node.isEmpty()) {
+            Node<T> parent = path.pop();
+            parent.children.remove(keys.pop());
+            node = parent;
+        }
+    }
+
+    /**
+     * Performs the given action for all values in the tree.
+     *
+     * @param action The action to perform with each value and its effective level
+     */
+    synchronized void forEach(BiConsumer<T, Level> action) {
+        visit(root, root.level, false, action);
+    }
+
+    /**
+     * Performs the given action for the values, which inherit the level of the given name. The subtrees with a level
+     * configured are skipped as their effective levels do not depend on the level of the given name.
+     *
+     * @param name   The name. Use an empty name for the root.
+     * @param action The action to perform with each value and its effective level
+     */
+    synchronized void forEachInheriting(String name, BiConsumer<T, Level> action) {
+        Node<T> node = root;
+        Level level = root.level;
+        for (String part : split(name)) {
+            node = node.children.get(part);
+            if (node == null) {
+                return;
+            }
+            if (node.level != null) {
+                level = node.level;
+            }
+        }
+        visit(node, level, true, action);
+    }
+
+    private void visit(Node<T> node, Level level, boolean skipConfigured, BiConsumer<T, Level> action) {
+        if (node.value != null) {
+            action.accept(node.value, level);
+        }
+        for (Node<T> child : node.children.values()) {
+            if (child.level == null) {
+                visit(child, level, skipConfigured, action);
+            } else if (!skipConfigured) {
+                visit(child, child.level, false, action);
+            }
+        }
+    }
+
+    private Node<T> getNode(String name, boolean create) {
+        Node<T> node = root;
+        for (String part : split(name)) {
+            Node<T> child = node.children.get(part);
+            if (child == null) {
+                if (!create) {
+                    return null;
+                }
+                child = new Node<>();
+                node.children.put(part, child);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    /**
+     * Split a name to the parts in the tree. The tags of a tagged name are added as the last part.
+     */
+    private static List<String> split(String name) {
+        List<String> parts = new ArrayList<>();
+        if (name.isEmpty()) {
+            return parts;
+        }
+        String baseName = Tags.getBaseName(name);
+        int start = 0;
+        while (start <= baseName.length()) {
+            int end = baseName.indexOf(DELIMITER, start);
+            if (end == -1) {
+                end = baseName.length();
+            }
+            parts.add(baseName.substring(start, end));
+            start = end + 1;
+        }
+        if (baseName.length() < name.length()) {
+            parts.add(name.substring(baseName.length()));
+        }
+        return parts;
+    }
+
+    /**
+     * A node for a part of the name.
+     */
+    private static final class Node<T> {
+
+        private final Map<String, Node<T>> children = new HashMap<>();
+
+        private Level level;
+
+        private T value;
+
+        private boolean isEmpty() {
+            return level == null && value == null && children.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import org.wso2.carbon.metrics.core.Counter;
+
+import java.util.List;
+
+/**
+ * Implementation class wrapping a list of {@link CounterImpl} metrics, which records the updates only in the most
+ * specific counter. The other counters add its count while they are enabled. Therefore an update is recorded when
+ * any counter in the collection is enabled, and the most specific counter also shows the updates recorded while it
+ * is disabled.
+ */
+final class MergedCounterCollection implements Counter {
+
+    private final CounterImpl counter;
+    private final List<CounterImpl> merging;
+
+    /**
+     * @param counter The most specific counter
+     * @param merging The counters merging the count of the most specific counter
+     */
+    MergedCounterCollection(CounterImpl counter, List<CounterImpl> merging) {
+        this.counter = counter;
+        this.merging = merging;
+    }
+
+    @Override
+    public void inc() {
+        inc(1);
+    }
+
+    @Override
+    public void inc(long n) {
+        if (AbstractMetric.isAnyEnabled(counter, merging)) {
+            counter.record(n);
+        }
+    }
+
+    @Override
+    public void dec() {
+        inc(-1);
+    }
+
+    @Override
+    public void dec(long n) {
+        inc(-n);
+    }
+
+    @Override
+    public long getCount() {
+        return counter.getCount();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import org.wso2.carbon.metrics.core.Histogram;
+import org.wso2.carbon.metrics.core.Snapshot;
+
+import java.util.List;
+
+/**
+ * Implementation class wrapping a list of {@link HistogramImpl} metrics, which records the values only in the most
+ * specific histogram. The other histograms merge the values while they are enabled. Therefore a value is recorded
+ * when any histogram in the collection is enabled, and the most specific histogram also shows the values recorded
+ * while it is disabled.
+ */
+final class MergedHistogramCollection implements Histogram {
+
+    private final HistogramImpl histogram;
+    private final List<HistogramImpl> merging;
+
+    /**
+     * @param histogram The most specific histogram
+     * @param merging   The histograms merging the values of the most specific histogram
+     */
+    MergedHistogramCollection(HistogramImpl histogram, List<HistogramImpl> merging) {
+        this.histogram = histogram;
+        this.merging = merging;
+    }
+
+    @Override
+    public void update(int value) {
+        if (AbstractMetric.isAnyEnabled(histogram, merging)) {
+            histogram.record(value);
+        }
+    }
+
+    @Override
+    public void update(long value) {
+        if (AbstractMetric.isAnyEnabled(histogram, merging)) {
+            histogram.record(value);
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return histogram.getCount();
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        return histogram.getSnapshot();
+    }
+}
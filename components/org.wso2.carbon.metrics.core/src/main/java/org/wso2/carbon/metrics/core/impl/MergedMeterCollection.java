@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import org.wso2.carbon.metrics.core.Meter;
+
+import java.util.List;
+
+/**
+ * Implementation class wrapping a list of {@link MeterImpl} metrics, which marks the events only in the most specific
+ * meter. The other meters add its count and rates while they are enabled. Therefore an event is marked when any meter
+ * in the collection is enabled, and the most specific meter also shows the events marked while it is disabled.
+ */
+final class MergedMeterCollection implements Meter {
+
+    private final MeterImpl meter;
+    private final List<MeterImpl> merging;
+
+    /**
+     * @param meter   The most specific meter
+     * @param merging The meters merging the count and rates of the most specific meter
+     */
+    MergedMeterCollection(MeterImpl meter, List<MeterImpl> merging) {
+        this.meter = meter;
+        this.merging = merging;
+    }
+
+    @Override
+    public void mark() {
+        mark(1);
+    }
+
+    @Override
+    public void mark(long n) {
+        if (AbstractMetric.isAnyEnabled(meter, merging)) {
+            meter.record(n);
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return meter.getCount();
+    }
+
+    @Override
+    public double getMeanRate() {
+        return meter.getMeanRate();
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        return meter.getOneMinuteRate();
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        return meter.getFiveMinuteRate();
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        return meter.getFifteenMinuteRate();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * The source metrics merged into a {@link MergingMetric} and the counts recorded in them. The counts recorded in the
+ * sources while the merging is paused are excluded from the merged count.
+ *
+ * @param <T> The type of the source metrics
+ */
+final class MergedSources<T> {
+
+    /**
+     * Reads the count recorded directly in a source
+     */
+    private final ToLongFunction<T> recordedCount;
+
+    private final CopyOnWriteArrayList<Source<T>> sources = new CopyOnWriteArrayList<>();
+
+    private volatile boolean merging = true;
+
+    /**
+     * @param recordedCount The function to read the count recorded directly in a source
+     */
+    MergedSources(ToLongFunction<T> recordedCount) {
+        this.recordedCount = recordedCount;
+    }
+
+    /**
+     * Add a source. The count recorded in the source before it is added is merged.
+     *
+     * @param source The source metric
+     * @return {@code true} if the source was not added before
+     */
+    synchronized boolean add(T source) {
+        for (Source<T> existing : sources) {
+            if (existing.metric == source) {
+                return false;
+            }
+        }
+        Source<T> newSource = new Source<>(source);
+        newSource.pausedCount = recordedCount.applyAsLong(source);
+        sources.add(newSource);
+        return true;
+    }
+
+    /**
+     * Pause or resume merging the counts recorded in the sources.
+     *
+     * @param merging {@code true} to merge the counts recorded from now on
+     */
+    synchronized void setMerging(boolean merging) {
+        if (this.merging == merging) {
+            return;
+        }
+        for (Source<T> source : sources) {
+            long count = recordedCount.applyAsLong(source.metric);
+            if (merging) {
+                source.excludedCount += count - source.pausedCount;
+            } else {
+                source.pausedCount = count;
+            }
+        }
+        this.merging = merging;
+    }
+
+    /**
+     * @return The sum of the counts recorded in the sources while merging
+     */
+    synchronized long getCount() {
+        long count = 0;
+        for (Source<T> source : sources) {
+            count += (merging ? recordedCount.applyAsLong(source.metric) : source.pausedCount)
+                    - source.excludedCount;
+        }
+        return count;
+    }
+
+    /**
+     * @param value The function to read a value of a source
+     * @return The sum of the values of the sources, or 0 while the merging is paused
+     */
+    double sum(ToDoubleFunction<T> value) {
+        double sum = 0;
+        if (merging) {
+            for (Source<T> source : sources) {
+                sum += value.applyAsDouble(source.metric);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * A source metric and the count recorded in it while the merging was paused.
+     */
+    private static final class Source<T> {
+
+        private final T metric;
+
+        /**
+         * The count recorded in the source when the merging was paused or when the source was added
+         */
+        private long pausedCount;
+
+        /**
+         * The count recorded in the source while the merging was paused
+         */
+        private long excludedCount;
+
+        private Source(T metric) {
+            this.metric = metric;
+        }
+    }
+}
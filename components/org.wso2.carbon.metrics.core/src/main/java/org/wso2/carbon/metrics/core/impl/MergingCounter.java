@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+/**
+ * A {@link com.codahale.metrics.Counter} which also counts the updates recorded in the source counters while it is
+ * enabled.
+ */
+final class MergingCounter extends com.codahale.metrics.Counter implements MergingMetric<MergingCounter> {
+
+    private final com.codahale.metrics.Counter counter;
+
+    private final MergedSources<MergingCounter> sources = new MergedSources<>(source -> source.counter.getCount());
+
+    /**
+     * @param counter The counter recording the updates of this counter
+     */
+    MergingCounter(com.codahale.metrics.Counter counter) {
+        this.counter = counter;
+    }
+
+    @Override
+    public void addSource(MergingCounter source) {
+        if (source != this) {
+            sources.add(source);
+        }
+    }
+
+    @Override
+    public void setMerging(boolean merging) {
+        sources.setMerging(merging);
+    }
+
+    @Override
+    public void inc() {
+        counter.inc();
+    }
+
+    @Override
+    public void inc(long n) {
+        counter.inc(n);
+    }
+
+    @Override
+    public void dec() {
+        counter.dec();
+    }
+
+    @Override
+    public void dec(long n) {
+        counter.dec(n);
+    }
+
+    @Override
+    public long getCount() {
+        return counter.getCount() + sources.getCount();
+    }
+}
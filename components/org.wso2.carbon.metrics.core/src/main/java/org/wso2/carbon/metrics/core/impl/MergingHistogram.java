@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import com.codahale.metrics.Reservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.MergingHdrHistogramReservoir;
+
+/**
+ * A {@link com.codahale.metrics.Histogram} which also counts the values recorded in the source histograms merged by
+ * its {@link MergingHdrHistogramReservoir}. The sources are merged only while this histogram is enabled.
+ */
+final class MergingHistogram extends com.codahale.metrics.Histogram implements MergingMetric<MergingHistogram> {
+
+    private final MergingHdrHistogramReservoir mergingReservoir;
+
+    private final MergedSources<MergingHistogram> sources = new MergedSources<>(MergingHistogram::getRecordedCount);
+
+    /**
+     * @param reservoir        The reservoir used for snapshots, which may cache the snapshots of the merging
+     *                         reservoir
+     * @param mergingReservoir The reservoir recording the values of this histogram
+     */
+    MergingHistogram(Reservoir reservoir, MergingHdrHistogramReservoir mergingReservoir) {
+        super(reservoir);
+        this.mergingReservoir = mergingReservoir;
+    }
+
+    @Override
+    public void addSource(MergingHistogram source) {
+        if (source != this && sources.add(source)) {
+            mergingReservoir.addSource(source.mergingReservoir);
+        }
+    }
+
+    @Override
+    public void setMerging(boolean merging) {
+        sources.setMerging(merging);
+        mergingReservoir.setMerging(merging);
+    }
+
+    /**
+     * @return The number of values recorded directly in this histogram
+     */
+    private long getRecordedCount() {
+        return super.getCount();
+    }
+
+    @Override
+    public long getCount() {
+        return getRecordedCount() + sources.getCount();
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+import com.codahale.metrics.Clock;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A {@link com.codahale.metrics.Meter} which also counts the events marked in the source meters while it is enabled.
+ * </p>
+ * <p>
+ * The exponentially-weighted moving average rates are the sums of the rates of this meter and the sources, as the
+ * moving averages are linear. The mean rate is calculated from the merged count since this meter was created. The
+ * rates of the sources are not added while this meter is disabled, and they include the events marked in the
+ * meantime once this meter is enabled again.
+ * </p>
+ */
+final class MergingMeter extends com.codahale.metrics.Meter implements MergingMetric<MergingMeter> {
+
+    private final MergedSources<MergingMeter> sources = new MergedSources<>(MergingMeter::getRecordedCount);
+
+    private final Clock clock;
+
+    private final long startTime;
+
+    MergingMeter() {
+        this(Clock.defaultClock());
+    }
+
+    /**
+     * @param clock The clock to use for the meter ticks
+     */
+    MergingMeter(Clock clock) {
+        super(clock);
+        this.clock = clock;
+        this.startTime = clock.getTick();
+    }
+
+    @Override
+    public void addSource(MergingMeter source) {
+        if (source != this) {
+            sources.add(source);
+        }
+    }
+
+    @Override
+    public void setMerging(boolean merging) {
+        sources.setMerging(merging);
+    }
+
+    @Override
+    public long getCount() {
+        return super.getCount() + sources.getCount();
+    }
+
+    @Override
+    public double getMeanRate() {
+        long count = getCount();
+        if (count == 0) {
+            return 0.0;
+        }
+        double elapsed = clock.getTick() - startTime;
+        return count / elapsed * TimeUnit.SECONDS.toNanos(1);
+    }
+
+    @Override
+    public double getOneMinuteRate() {
+        return super.getOneMinuteRate() + sources.sum(MergingMeter::getRecordedOneMinuteRate);
+    }
+
+    @Override
+    public double getFiveMinuteRate() {
+        return super.getFiveMinuteRate() + sources.sum(MergingMeter::getRecordedFiveMinuteRate);
+    }
+
+    @Override
+    public double getFifteenMinuteRate() {
+        return super.getFifteenMinuteRate() + sources.sum(MergingMeter::getRecordedFifteenMinuteRate);
+    }
+
+    private long getRecordedCount() {
+        return super.getCount();
+    }
+
+    private double getRecordedOneMinuteRate() {
+        return super.getOneMinuteRate();
+    }
+
+    private double getRecordedFiveMinuteRate() {
+        return super.getFiveMinuteRate();
+    }
+
+    private double getRecordedFifteenMinuteRate() {
+        return super.getFifteenMinuteRate();
+    }
+}
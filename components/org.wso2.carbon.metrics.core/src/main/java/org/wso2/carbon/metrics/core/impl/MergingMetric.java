@@ -0,0 +1,41 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl;
+
+/**
+ * A metric, which derives its values from the values recorded in itself and in other metrics of the same type. The
+ * metrics of a collection are updated only in the most specific metric and the other metrics merge it as a source.
+ *
+ * @param <T> The type of the source metrics
+ */
+interface MergingMetric<T extends MergingMetric<T>> {
+
+    /**
+     * Merge the values recorded directly in another metric into this metric. Adding the same source again has no
+     * effect.
+     *
+     * @param source The metric of the most specific name in the same collection
+     */
+    void addSource(T source);
+
+    /**
+     * Pause merging the sources while this metric is disabled. The values recorded in the sources in the meantime
+     * are not merged.
+     *
+     * @param merging {@code true} if this metric is enabled
+     */
+    void setMerging(boolean merging);
+}
@@ -54,6 +54,16 @@ public class MeterImpl extends AbstractMetric implements Meter {
         }
     }
 
+    /**
+     * Mark the meter even if it is disabled. This is used when the events of a metric collection are marked only in
+     * the most specific meter.
+     *
+     * @param n the number of events
+     */
+    void record(long n) {
+        meter.mark(n);
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -35,31 +35,44 @@ import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.Meter;
 import org.wso2.carbon.metrics.core.Metric;
 import org.wso2.carbon.metrics.core.MetricNotFoundException;
+import org.wso2.carbon.metrics.core.Tags;
 import org.wso2.carbon.metrics.core.Timer;
+import org.wso2.carbon.metrics.core.config.model.CounterConfig;
+import org.wso2.carbon.metrics.core.config.model.MeterConfig;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
 import org.wso2.carbon.metrics.core.config.model.MetricsLevelConfig;
 import org.wso2.carbon.metrics.core.config.model.ReservoirConfig;
 import org.wso2.carbon.metrics.core.config.model.ReservoirParametersConfig;
+import org.wso2.carbon.metrics.core.config.model.TagsConfig;
+import org.wso2.carbon.metrics.core.config.model.TimerConfig;
+import org.wso2.carbon.metrics.core.impl.counter.CounterType;
+import org.wso2.carbon.metrics.core.impl.counter.StripedCounter;
 import org.wso2.carbon.metrics.core.impl.listener.EnabledStatusChangeListener;
 import org.wso2.carbon.metrics.core.impl.listener.MetricLevelChangeListener;
 import org.wso2.carbon.metrics.core.impl.listener.RootLevelChangeListener;
+import org.wso2.carbon.metrics.core.impl.reservoir.BufferedExponentiallyDecayingReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.BufferedSlidingWindowReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.BufferedUniformReservoir;
 import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramReservoir;
 import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramResetOnSnapshotReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.MergingHdrHistogramReservoir;
 import org.wso2.carbon.metrics.core.impl.reservoir.ReservoirType;
+import org.wso2.carbon.metrics.core.impl.reservoir.RollingHdrHistogramReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.SnapshotCachingReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.StripedHdrHistogramReservoir;
 import org.wso2.carbon.metrics.core.metric.ClassLoadingGaugeSet;
 import org.wso2.carbon.metrics.core.metric.OperatingSystemMetricSet;
+import org.wso2.carbon.metrics.core.reporter.VersionedMetricFilter;
 
 import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * The {@link MetricManager} implementation using the Metrics (https://dropwizard.github.io/metrics) library for
@@ -77,6 +90,12 @@ public final class MetricManager {
      */
     private final ConcurrentMap<String, Metric> metricCollectionsMap = new ConcurrentHashMap<>();
 
+    /**
+     * Keep the tagged metrics for each metric name by the tags
+     */
+    private final ConcurrentMap<String, ConcurrentMap<Tags, AbstractMetric>> taggedMetricsMap =
+            new ConcurrentHashMap<>();
+
     /**
      * Metrics feature enabling flag. This flag should be initially updated from the configuration.
      */
@@ -103,15 +122,22 @@ public final class MetricManager {
     private static final String METRIC_PATH_DELIMITER_REGEX = "\\.";
 
     /**
-     * The root level configured for Metrics
+     * The root level and the levels configured for metrics. This also keeps the metrics to update the enabled status
+     * when a level is changed.
      */
-    private Level rootLevel = Level.INFO;
-
-    private final Map<String, Level> levelMap = Collections.synchronizedMap(new HashMap<String, Level>());
+    private final LevelHierarchy<MetricWrapper> levelHierarchy;
 
     private final MetricFilter enabledMetricFilter = new EnabledMetricFilter();
 
-    private static final Pattern METRIC_AGGREGATE_ANNOTATION_PATTERN = Pattern.compile("^(.+)\\[\\+]$");
+    /**
+     * The version of the enabled metric filter. This is changed after the enabled status of existing metrics is updated.
+     */
+    private final AtomicLong enabledStatusVersion = new AtomicLong();
+
+    /**
+     * The annotation at the end of a name part to create a metric collection
+     */
+    private static final String METRIC_AGGREGATE_ANNOTATION = "[+]";
 
     private final List<EnabledStatusChangeListener> enabledStatusChangeListeners;
 
@@ -123,6 +149,32 @@ public final class MetricManager {
 
     private final ReservoirParametersConfig reservoirParametersConfig;
 
+    private final long snapshotValidity;
+
+    /**
+     * Record the values of a histogram collection only in the most specific histogram and merge them into the other
+     * histograms in the collection when taking snapshots
+     */
+    private final boolean mergeHistogramCollections;
+
+    private final CounterType counterType;
+
+    private final int counterBatchSize;
+
+    /**
+     * Update only the most specific counter of a counter collection and merge it into the other counters
+     */
+    private final boolean mergeCounterCollections;
+
+    /**
+     * Mark only the most specific meter of a meter collection and merge it into the other meters
+     */
+    private final boolean mergeMeterCollections;
+
+    private final boolean recycleTimerContexts;
+
+    private final int maxTagCardinality;
+
     /**
      * MetricWrapper class is used for the metrics map. This class keeps the associated {@link Level} and enabled status
      * for a metric. The main reason to keep the enabled status separately is that EnabledMetricFilter gets called as
@@ -134,19 +186,19 @@ public final class MetricManager {
 
         private final Level level;
         private final String name;
-        private Boolean enabled;
-        private AbstractMetric metric;
+        private volatile boolean enabled;
+        private volatile AbstractMetric metric;
 
-        private MetricWrapper(String name, Level level, Boolean enabled) {
+        private MetricWrapper(String name, Level level) {
             this.name = name;
             this.level = level;
-            this.enabled = enabled;
         }
     }
 
 
     /**
-     * Constructs a Metric Service with given {@link MetricRegistry} and other configurations.
+     * Constructs a Metric Service with given {@link MetricRegistry} and other configurations. The default
+     * configurations are used for counters, meters, timers and tagged metrics.
      *
      * @param metricRegistry     The main {@link MetricRegistry} used by the MetricService.
      * @param metricsLevelConfig The {@link MetricsLevelConfig} with root level configuration and level
@@ -157,26 +209,69 @@ public final class MetricManager {
      */
     public MetricManager(MetricRegistry metricRegistry, MetricsLevelConfig metricsLevelConfig,
                          ReservoirConfig reservoirConfig) {
+        this(metricRegistry, metricsConfig(metricsLevelConfig, reservoirConfig));
+    }
+
+    /**
+     * Constructs a Metric Service with given {@link MetricRegistry} and the Metrics configuration.
+     *
+     * @param metricRegistry The main {@link MetricRegistry} used by the MetricService.
+     * @param metricsConfig  The {@link MetricsConfig} with the level configurations, the reservoir, counter, meter and
+     *                       timer configurations, and the limits for tagged metrics
+     */
+    public MetricManager(MetricRegistry metricRegistry, MetricsConfig metricsConfig) {
+        MetricsLevelConfig metricsLevelConfig = metricsConfig.getLevels();
+        ReservoirConfig reservoirConfig = metricsConfig.getReservoir();
+        CounterConfig counterConfig = metricsConfig.getCounter();
+        MeterConfig meterConfig = metricsConfig.getMeter();
+        TimerConfig timerConfig = metricsConfig.getTimer();
+        TagsConfig tagsConfig = metricsConfig.getTags();
         this.metricRegistry = metricRegistry;
         this.enabledStatusChangeListeners = new CopyOnWriteArrayList<>();
         this.rootLevelChangeListeners = new CopyOnWriteArrayList<>();
         this.metricLevelChangeListeners = new CopyOnWriteArrayList<>();
         this.reservoirType = reservoirConfig.getType();
         this.reservoirParametersConfig = reservoirConfig.getParameters();
-        this.rootLevel = Level.toLevel(metricsLevelConfig.getRootLevel(), Level.INFO);
+        this.snapshotValidity = reservoirConfig.getSnapshotValidity();
+        if (reservoirParametersConfig.isReuseSnapshotBuffers() && snapshotValidity <= 0
+                && (reservoirType == ReservoirType.EXPONENTIALLY_DECAYING || reservoirType == ReservoirType.UNIFORM
+                || reservoirType == ReservoirType.SLIDING_WINDOW)) {
+            // A snapshot in a reusable buffer is refilled by the second snapshot after it. Without a validity
+            // period, two reporters polling at the same time would overwrite the snapshots read by each other.
+            throw new IllegalArgumentException("The snapshot validity should be greater than 0 when the snapshot "
+                    + "buffers are reused");
+        }
+        this.mergeHistogramCollections = reservoirParametersConfig.isMergeHistogramCollections()
+                && (reservoirType == ReservoirType.HDR_HISTOGRAM
+                || reservoirType == ReservoirType.STRIPED_HDR_HISTOGRAM);
+        this.counterType = counterConfig.getType();
+        this.counterBatchSize = counterConfig.getBatchSize();
+        this.mergeCounterCollections = counterConfig.isMergeCollections();
+        this.mergeMeterCollections = meterConfig.isMergeCollections();
+        this.recycleTimerContexts = timerConfig.isRecycleContexts();
+        this.maxTagCardinality = tagsConfig.getMaxCardinality();
+        this.levelHierarchy = new LevelHierarchy<>(Level.toLevel(metricsLevelConfig.getRootLevel(), Level.INFO));
 
         for (Map.Entry<String, String> levelEntry : metricsLevelConfig.getLevels().entrySet()) {
-            levelMap.put(levelEntry.getKey(), Level.valueOf(levelEntry.getValue()));
+            levelHierarchy.setLevel(levelEntry.getKey(), Level.valueOf(levelEntry.getValue()));
         }
 
         // Register JVM Metrics
         // This should be the done when other initializations are completed
         registerJVMMetrics();
 
-        addEnabledStatusChangeListener(enabledStatus -> notifyEnabledStatus());
-        addRootLevelChangeListener((oldLevel, newLevel) -> notifyEnabledStatus());
-        addMetricLevelChangeListener((metric, oldLevel, newLevel) ->
-                metric.setEnabled(isMetricEnabled(metric.getName(), metric.getLevel(), newLevel, false)));
+        addEnabledStatusChangeListener(enabledStatus -> {
+            levelHierarchy.forEach(this::updateEnabledStatus);
+            enabledStatusVersion.incrementAndGet();
+        });
+        addRootLevelChangeListener((oldLevel, newLevel) -> {
+            levelHierarchy.forEachInheriting(ROOT_METRIC_NAME, this::updateEnabledStatus);
+            enabledStatusVersion.incrementAndGet();
+        });
+        addMetricLevelChangeListener((metric, oldLevel, newLevel) -> {
+            levelHierarchy.forEachInheriting(metric.getName(), this::updateEnabledStatus);
+            enabledStatusVersion.incrementAndGet();
+        });
     }
 
     /**
@@ -294,14 +389,45 @@ public final class MetricManager {
     }
 
     /**
-     * Notify enabled status to all metrics
+     * Create a Metrics configuration with the given level and reservoir configurations.
      */
-    private void notifyEnabledStatus() {
-        metricsMap.values().forEach(metricWrapper -> {
-            AbstractMetric metric = metricWrapper.metric;
-            metric.setEnabled(isMetricEnabled(metricWrapper.name, metric.getLevel(),
-                    levelMap.get(metric.getName()), false));
-        });
+    private static MetricsConfig metricsConfig(MetricsLevelConfig metricsLevelConfig,
+                                               ReservoirConfig reservoirConfig) {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        metricsConfig.setLevels(metricsLevelConfig);
+        metricsConfig.setReservoir(reservoirConfig);
+        return metricsConfig;
+    }
+
+    /**
+     * Update the enabled status of a metric
+     *
+     * @param metricWrapper  The {@link MetricWrapper} of the metric
+     * @param effectiveLevel The {@link Level} configured for the metric or inherited from its hierarchy
+     */
+    private void updateEnabledStatus(MetricWrapper metricWrapper, Level effectiveLevel) {
+        boolean enabled = isMetricEnabled(metricWrapper.level, effectiveLevel);
+        metricWrapper.enabled = enabled;
+        AbstractMetric metric = metricWrapper.metric;
+        if (metric != null) {
+            metric.setEnabled(enabled);
+            updateMerging(metricWrapper.name, enabled);
+        }
+    }
+
+    /**
+     * Merge the values of the other metrics in a collection only while the metric is enabled
+     *
+     * @param name    The name of the metric
+     * @param enabled The enabled status of the metric
+     */
+    private void updateMerging(String name, boolean enabled) {
+        if (mergeHistogramCollections || mergeCounterCollections || mergeMeterCollections) {
+            com.codahale.metrics.Metric metric = metricRegistry.getMetrics().get(name);
+            if (metric instanceof MergingMetric) {
+                ((MergingMetric<?>) metric).setMerging(enabled);
+            }
+        }
     }
 
     /**
@@ -311,29 +437,38 @@ public final class MetricManager {
      * @return {@link Level} for the given metric
      */
     public Level getMetricLevel(String name) {
-        if (!metricsMap.containsKey(name)) {
+        if (!metricsMap.containsKey(name) && !taggedMetricsMap.containsKey(name)) {
             throw new IllegalArgumentException("Invalid Metric Name");
         }
-        return levelMap.get(name);
+        return levelHierarchy.getLevel(name);
     }
 
     /**
-     * Set a new level to the given metric
+     * Set a new level to the given metric. The name of tagged metrics without the tags can be used to set the level
+     * of all tagged metrics with that name.
      *
      * @param name  The name of the Metric
      * @param level New {@link Level} for the Metric
      */
     public void setMetricLevel(String name, Level level) {
         MetricWrapper metricWrapper = metricsMap.get(name);
-        if (metricWrapper == null) {
+        ConcurrentMap<Tags, AbstractMetric> taggedMetrics = taggedMetricsMap.get(name);
+        if (metricWrapper == null && taggedMetrics == null) {
             throw new IllegalArgumentException("Invalid Metric Name");
         }
-        Level currentLevel = levelMap.get(name);
+        Level currentLevel = levelHierarchy.getLevel(name);
         if (currentLevel == null || !currentLevel.equals(level)) {
             // Set new level only if there is no existing level or the new level is different from existing level
-            levelMap.put(name, level);
-            AbstractMetric metric = metricWrapper.metric;
-            metricLevelChangeListeners.forEach(listener -> listener.levelChanged(metric, currentLevel, level));
+            levelHierarchy.setLevel(name, level);
+            if (metricWrapper != null) {
+                AbstractMetric metric = metricWrapper.metric;
+                metricLevelChangeListeners.forEach(listener -> listener.levelChanged(metric, currentLevel, level));
+            } else {
+                // Only the tagged metrics are registered with the name
+                for (AbstractMetric metric : taggedMetrics.values()) {
+                    metricLevelChangeListeners.forEach(listener -> listener.levelChanged(metric, currentLevel, level));
+                }
+            }
         }
     }
 
@@ -343,7 +478,7 @@ public final class MetricManager {
      * @return The Root {@link Level}
      */
     public Level getRootLevel() {
-        return rootLevel;
+        return levelHierarchy.getRootLevel();
     }
 
     /**
@@ -352,58 +487,24 @@ public final class MetricManager {
      * @param level New Root {@link Level}
      */
     public void setRootLevel(Level level) {
-        Level oldLevel = rootLevel;
+        Level oldLevel = levelHierarchy.getRootLevel();
         boolean changed = !oldLevel.equals(level);
-        rootLevel = level;
+        levelHierarchy.setRootLevel(level);
         if (changed) {
             rootLevelChangeListeners.forEach(listener -> listener.levelChanged(oldLevel, level));
         }
     }
 
     /**
-     * @param name         The name of the metric
-     * @param metricLevel  The {@link Level} used when creating the metric
-     * @param configLevel  The configured {@link Level} the metric
-     * @param getFromCache A boolean flag to indicate whether the metric enabled status should be checked from the
-     *                     cached value or to calculate the enabled status based on the metric name hierarchy
+     * @param metricLevel    The {@link Level} used when creating the metric
+     * @param effectiveLevel The {@link Level} configured for the metric or inherited from its hierarchy
      * @return {@code true} if the metric should be enabled
      */
-    private boolean isMetricEnabled(String name, Level metricLevel, Level configLevel, boolean getFromCache) {
-        MetricWrapper metricWrapper = metricsMap.get(name);
-        if (!getFromCache || metricWrapper.enabled == null) {
-            metricWrapper.enabled = isMetricEnabledBasedOnHierarchyLevel(name, metricLevel, configLevel);
-        }
-        return metricWrapper.enabled;
-    }
-
-    /**
-     * Recursive method to check enabled status based on level hierarchy
-     *
-     * @param name        Metric Name
-     * @param metricLevel The {@code Level} associated with metric
-     * @param configLevel The configured {@code Level} for the given metric
-     * @return {@code true} if enabled
-     */
-    private boolean isMetricEnabledBasedOnHierarchyLevel(String name, Level metricLevel, Level configLevel) {
-        // Enabled flag should be modified only if metrics feature is enabled.
-        if (configLevel != null) {
-            // Then this is enabled only if the new threshold level is greater than or equal to current level.
-            // This should be done only if the new level is not equal to OFF.
-            // Otherwise the condition would fail when comparing two "OFF" levels
-            return this.enabled && configLevel.compareTo(metricLevel) >= 0
-                    && configLevel.compareTo(Level.OFF) > 0;
-        } else {
-            String parentName;
-            int index = name.lastIndexOf(METRIC_PATH_DELIMITER);
-            if (index != -1) {
-                parentName = name.substring(0, index);
-                configLevel = levelMap.get(parentName);
-            } else {
-                parentName = ROOT_METRIC_NAME;
-                configLevel = rootLevel;
-            }
-            return isMetricEnabledBasedOnHierarchyLevel(parentName, metricLevel, configLevel);
-        }
+    private boolean isMetricEnabled(Level metricLevel, Level effectiveLevel) {
+        // Then this is enabled only if the threshold level is greater than or equal to current level.
+        // This should be done only if the threshold level is not equal to OFF.
+        // Otherwise the condition would fail when comparing two "OFF" levels
+        return this.enabled && effectiveLevel.compareTo(metricLevel) >= 0 && effectiveLevel.compareTo(Level.OFF) > 0;
     }
 
     /**
@@ -441,32 +542,116 @@ public final class MetricManager {
      * @param metricBuilder A {@code MetricBuilder} instance used to create the relevant metric
      * @return The created {@code AbstractMetric}
      */
-    @SuppressWarnings("unchecked")
     private <T extends AbstractMetric> T getOrCreateMetric(String name, Level level, MetricBuilder<T> metricBuilder) {
-        if (isAnnotated(name)) {
-            throw new IllegalArgumentException("The metric name should not be annotated");
-        }
+        // The name of an existing metric was validated when creating the metric. Therefore the name is validated only
+        // when creating a new metric.
         MetricWrapper metricWrapper = metricsMap.get(name);
-        if (metricWrapper != null && metricWrapper.metric != null) {
-            AbstractMetric metric = metricWrapper.metric;
-            if (metricBuilder.isInstance(metric)) {
-                if (level.equals(metricWrapper.level)) {
-                    return (T) metric;
-                } else {
-                    throw new IllegalArgumentException(name + " is already used with a different level");
+        if (metricWrapper == null || metricWrapper.metric == null) {
+            // Metrics are created while holding the lock of the level hierarchy, so that a level change cannot be
+            // missed by a metric being created
+            synchronized (levelHierarchy) {
+                metricWrapper = metricsMap.get(name);
+                if (metricWrapper == null || metricWrapper.metric == null) {
+                    return createMetric(name, level, metricBuilder);
                 }
+            }
+        }
+        return checkMetric(name, level, metricWrapper.metric, metricBuilder);
+    }
+
+    /**
+     * Check whether an existing metric can be used for the given level and the metric type
+     *
+     * @param name          The name of the metric
+     * @param level         The {@code Level} of Metric
+     * @param metric        The existing metric
+     * @param metricBuilder A {@code MetricBuilder} instance used to create the relevant metric
+     * @return The existing metric
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends AbstractMetric> T checkMetric(String name, Level level, AbstractMetric metric,
+                                                     MetricBuilder<T> metricBuilder) {
+        if (metricBuilder.isInstance(metric)) {
+            if (level.equals(metric.getLevel())) {
+                return (T) metric;
             } else {
-                throw new IllegalArgumentException(name + " is already used for a different type of metric");
+                throw new IllegalArgumentException(name + " is already used with a different level");
             }
         } else {
-            boolean enabled = isMetricEnabledBasedOnHierarchyLevel(name, level, levelMap.get(name));
-            metricWrapper = new MetricWrapper(name, level, enabled);
-            metricsMap.put(name, metricWrapper);
-            T newMetric = metricBuilder.createMetric(name, level);
-            metricWrapper.metric = newMetric;
-            newMetric.setEnabled(enabled);
-            return newMetric;
+            throw new IllegalArgumentException(name + " is already used for a different type of metric");
+        }
+    }
+
+    /**
+     * Get or create a tagged metric. The metrics with new tags are recorded in the metric tagged with
+     * {@link Tags#OVERFLOW} after the maximum number of tagged metrics is reached for the name. The metric tagged with
+     * {@link Tags#OVERFLOW} is counted in the maximum number of tagged metrics.
+     *
+     * @param name          The name of the metric
+     * @param level         The {@code Level} of Metric
+     * @param tags          The tags of the metric
+     * @param metricBuilder A {@code MetricBuilder} instance used to create the relevant metric
+     * @return The created {@code AbstractMetric}
+     */
+    private <T extends AbstractMetric> T getOrCreateTaggedMetric(String name, Level level, Tags tags,
+                                                                 MetricBuilder<T> metricBuilder) {
+        if (tags.isEmpty()) {
+            return getOrCreateMetric(name, level, metricBuilder);
+        }
+        ConcurrentMap<Tags, AbstractMetric> taggedMetrics = taggedMetricsMap.get(name);
+        if (taggedMetrics != null) {
+            AbstractMetric metric = taggedMetrics.get(tags);
+            if (metric == null && isTagCardinalityExceeded(taggedMetrics)) {
+                metric = taggedMetrics.get(Tags.OVERFLOW);
+            }
+            if (metric != null) {
+                return checkMetric(name, level, metric, metricBuilder);
+            }
+        } else {
+            if (isAnnotated(name)) {
+                throw new IllegalArgumentException("The tagged metric name should not be annotated");
+            }
+            taggedMetrics = taggedMetricsMap.computeIfAbsent(name, key -> new ConcurrentHashMap<>());
+        }
+        synchronized (taggedMetrics) {
+            AbstractMetric metric = taggedMetrics.get(tags);
+            if (metric == null) {
+                Tags metricTags = isTagCardinalityExceeded(taggedMetrics) ? Tags.OVERFLOW : tags;
+                metric = taggedMetrics.get(metricTags);
+                if (metric == null) {
+                    metric = getOrCreateMetric(metricTags.toMetricName(name), level, metricBuilder);
+                    taggedMetrics.put(metricTags, metric);
+                }
+            }
+            return checkMetric(name, level, metric, metricBuilder);
+        }
+    }
+
+    /**
+     * Checks whether a metric with new tags should be recorded in the metric tagged with {@link Tags#OVERFLOW}. The
+     * last tagged metric allowed for a name is kept for the overflow.
+     */
+    private boolean isTagCardinalityExceeded(ConcurrentMap<Tags, AbstractMetric> taggedMetrics) {
+        return taggedMetrics.size() >= maxTagCardinality - 1;
+    }
+
+    /**
+     * Create a new metric. This should be called while holding the lock of the level hierarchy.
+     */
+    private <T extends AbstractMetric> T createMetric(String name, Level level, MetricBuilder<T> metricBuilder) {
+        if (isAnnotated(name)) {
+            throw new IllegalArgumentException("The metric name should not be annotated");
         }
+        MetricWrapper metricWrapper = new MetricWrapper(name, level);
+        boolean enabled = isMetricEnabled(level, levelHierarchy.put(name, metricWrapper));
+        metricWrapper.enabled = enabled;
+        // The wrapper should be available with the enabled status before registering the metric
+        metricsMap.put(name, metricWrapper);
+        T newMetric = metricBuilder.createMetric(name, level);
+        metricWrapper.metric = newMetric;
+        newMetric.setEnabled(enabled);
+        updateMerging(name, enabled);
+        return newMetric;
     }
 
     /**
@@ -499,17 +684,29 @@ public final class MetricManager {
      * @param name The name used for a metric
      * @return {@code true} if the name is annotated with [+]
      */
-    private boolean isAnnotated(String name) {
-        String[] nameParts = name.split(METRIC_PATH_DELIMITER_REGEX);
-        for (String namePart : nameParts) {
-            Matcher matcher = METRIC_AGGREGATE_ANNOTATION_PATTERN.matcher(namePart);
-            if (matcher.find()) {
+    private static boolean isAnnotated(String name) {
+        int index = name.indexOf(METRIC_AGGREGATE_ANNOTATION);
+        while (index != -1) {
+            int end = index + METRIC_AGGREGATE_ANNOTATION.length();
+            // The annotation should be at the end of a name part and the name part should not be only the annotation
+            if (index > 0 && name.charAt(index - 1) != '.'
+                    && (end == name.length() || name.charAt(end) == '.')) {
                 return true;
             }
+            index = name.indexOf(METRIC_AGGREGATE_ANNOTATION, index + 1);
         }
         return false;
     }
 
+    /**
+     * @param namePart A part of the name used for a metric
+     * @return {@code true} if the name part is annotated with [+]
+     */
+    private static boolean isAnnotatedPart(String namePart) {
+        return namePart.length() > METRIC_AGGREGATE_ANNOTATION.length()
+                && namePart.endsWith(METRIC_AGGREGATE_ANNOTATION);
+    }
+
     /**
      * Get the names for creating a metric collection
      *
@@ -524,7 +721,7 @@ public final class MetricManager {
         }
         for (int i = 1; i <= 2; i++) {
             // Check last two parts
-            if (METRIC_AGGREGATE_ANNOTATION_PATTERN.matcher(nameParts[nameParts.length - i]).find()) {
+            if (isAnnotatedPart(nameParts[nameParts.length - i])) {
                 throw new IllegalArgumentException("The last two parts of the metric name \"" + name
                         + "\" should not be annotated.");
             }
@@ -535,15 +732,15 @@ public final class MetricManager {
         List<String> childNames = new ArrayList<>();
 
         for (int i = 0; i < nameParts.length; i++) {
-            Matcher matcher = METRIC_AGGREGATE_ANNOTATION_PATTERN.matcher(nameParts[i]);
+            String namePart = nameParts[i];
             if (i > 0) {
                 parentNameBuilder.append(METRIC_PATH_DELIMITER);
             }
-            if (matcher.find()) {
-                parentNameBuilder.append(matcher.group(1));
+            if (isAnnotatedPart(namePart)) {
+                parentNameBuilder.append(namePart, 0, namePart.length() - METRIC_AGGREGATE_ANNOTATION.length());
                 childNames.add(String.format("%s.%s", parentNameBuilder.toString(), metricName));
             } else {
-                parentNameBuilder.append(nameParts[i]);
+                parentNameBuilder.append(namePart);
             }
         }
 
@@ -558,23 +755,50 @@ public final class MetricManager {
     }
 
     /**
-     * Get reservoir implementation based on the reservoir type
+     * Get reservoir implementation based on the reservoir type. The snapshots taken from the reservoir are reused
+     * within the configured validity period.
      *
      * @return The {@link Reservoir} implementation
      */
     private Reservoir getReservoir() {
+        return cacheSnapshots(createReservoir());
+    }
+
+    /**
+     * Reuse the snapshots taken from a reservoir within the configured validity period.
+     *
+     * @param reservoir The {@link Reservoir} implementation
+     * @return The {@link Reservoir} to use in a metric
+     */
+    private Reservoir cacheSnapshots(Reservoir reservoir) {
+        if (snapshotValidity > 0) {
+            return new SnapshotCachingReservoir(reservoir, snapshotValidity, TimeUnit.MILLISECONDS);
+        }
+        return reservoir;
+    }
+
+    /**
+     * Create reservoir implementation based on the reservoir type
+     *
+     * @return The {@link Reservoir} implementation
+     */
+    private Reservoir createReservoir() {
         // The Reservoir implementation is selected using a switch statement.
         // The ReservoirType enum is a part of YAML configuration
         // and foreign imports are not supported by Carbon Configuration Maven Plugin.
         // Therefore, the Reservoir class cannot be imported and the Reservoir
         // creation logic cannot be written inside ReservoirType enum.
+        boolean reuseSnapshotBuffers = reservoirParametersConfig.isReuseSnapshotBuffers();
         switch (reservoirType) {
             case EXPONENTIALLY_DECAYING:
-                return new ExponentiallyDecayingReservoir();
+                return reuseSnapshotBuffers ? new BufferedExponentiallyDecayingReservoir()
+                        : new ExponentiallyDecayingReservoir();
             case UNIFORM:
-                return new UniformReservoir(reservoirParametersConfig.getSize());
+                return reuseSnapshotBuffers ? new BufferedUniformReservoir(reservoirParametersConfig.getSize())
+                        : new UniformReservoir(reservoirParametersConfig.getSize());
             case SLIDING_WINDOW:
-                return new SlidingWindowReservoir(reservoirParametersConfig.getSize());
+                return reuseSnapshotBuffers ? new BufferedSlidingWindowReservoir(reservoirParametersConfig.getSize())
+                        : new SlidingWindowReservoir(reservoirParametersConfig.getSize());
             case SLIDING_TIME_WINDOW:
                 return new SlidingTimeWindowReservoir(reservoirParametersConfig.getWindow(),
                         reservoirParametersConfig.getWindowUnit());
@@ -585,12 +809,82 @@ public final class MetricManager {
                 } else {
                     return new HdrHistogramReservoir(recorder);
                 }
+            case STRIPED_HDR_HISTOGRAM:
+                return new StripedHdrHistogramReservoir(reservoirParametersConfig.getNumberOfSignificantValueDigits(),
+                        reservoirParametersConfig.getStripes(), reservoirParametersConfig.isResetOnSnapshot());
+            case ROLLING_HDR_HISTOGRAM:
+                return new RollingHdrHistogramReservoir(reservoirParametersConfig.getNumberOfSignificantValueDigits(),
+                        reservoirParametersConfig.getWindow(), reservoirParametersConfig.getWindowUnit(),
+                        reservoirParametersConfig.getWindowBuckets());
             default:
                 throw new RuntimeException("Invalid Reservoir Type");
 
         }
     }
 
+    /**
+     * Create a histogram, which can merge the values recorded in the other histograms of a collection. Only the HDR
+     * reservoir types are supported.
+     *
+     * @return The {@link MergingHistogram} with a {@link MergingHdrHistogramReservoir}
+     */
+    private MergingHistogram createMergingHistogram() {
+        int stripes = reservoirType == ReservoirType.STRIPED_HDR_HISTOGRAM ? reservoirParametersConfig.getStripes() : 1;
+        MergingHdrHistogramReservoir reservoir = new MergingHdrHistogramReservoir(
+                reservoirParametersConfig.getNumberOfSignificantValueDigits(), stripes,
+                reservoirParametersConfig.isResetOnSnapshot());
+        return new MergingHistogram(cacheSnapshots(reservoir), reservoir);
+    }
+
+    /**
+     * Merge the values recorded in the most specific metric of a collection into the other metrics.
+     *
+     * @param type  The type of the registered metrics
+     * @param names The names used to create the metric collection
+     */
+    private <T extends MergingMetric<T>> void addMergedSources(Class<T> type, String[] names) {
+        Map<String, com.codahale.metrics.Metric> metrics = metricRegistry.getMetrics();
+        com.codahale.metrics.Metric source = metrics.get(names[0]);
+        if (!type.isInstance(source)) {
+            return;
+        }
+        for (int i = 1; i < names.length; i++) {
+            com.codahale.metrics.Metric metric = metrics.get(names[i]);
+            if (type.isInstance(metric)) {
+                type.cast(metric).addSource(type.cast(source));
+            }
+        }
+    }
+
+    /**
+     * Get counter implementation based on the counter type
+     *
+     * @param name The name of the counter
+     * @return The {@link com.codahale.metrics.Counter} implementation registered with the given name
+     */
+    private com.codahale.metrics.Counter getCounter(String name) {
+        if (mergeCounterCollections) {
+            return metricRegistry.counter(name, () -> new MergingCounter(createCounter()));
+        }
+        return metricRegistry.counter(name, this::createCounter);
+    }
+
+    /**
+     * Create counter implementation based on the counter type
+     *
+     * @return The {@link com.codahale.metrics.Counter} implementation
+     */
+    private com.codahale.metrics.Counter createCounter() {
+        switch (counterType) {
+            case DEFAULT:
+                return new com.codahale.metrics.Counter();
+            case STRIPED:
+                return new StripedCounter(counterBatchSize);
+            default:
+                throw new RuntimeException("Invalid Counter Type");
+        }
+    }
+
     /**
      * An interface for creating a new metric
      */
@@ -606,7 +900,8 @@ public final class MetricManager {
     private final MetricBuilder<MeterImpl> meterBuilder = new MetricBuilder<MeterImpl>() {
         @Override
         public MeterImpl createMetric(String name, Level level) {
-            return new MeterImpl(name, level, metricRegistry.meter(name));
+            return new MeterImpl(name, level, mergeMeterCollections ? metricRegistry.meter(name, MergingMeter::new)
+                    : metricRegistry.meter(name));
         }
 
         @Override
@@ -621,7 +916,7 @@ public final class MetricManager {
     private final MetricBuilder<CounterImpl> counterBuilder = new MetricBuilder<CounterImpl>() {
         @Override
         public CounterImpl createMetric(String name, Level level) {
-            return new CounterImpl(name, level, metricRegistry.counter(name));
+            return new CounterImpl(name, level, getCounter(name));
         }
 
         @Override
@@ -637,7 +932,7 @@ public final class MetricManager {
         @Override
         public TimerImpl createMetric(String name, Level level) {
             return new TimerImpl(name, level, metricRegistry.register(name,
-                    new com.codahale.metrics.Timer(getReservoir())));
+                    new com.codahale.metrics.Timer(getReservoir())), recycleTimerContexts);
         }
 
         @Override
@@ -652,8 +947,9 @@ public final class MetricManager {
     private final MetricBuilder<HistogramImpl> histogramBuilder = new MetricBuilder<HistogramImpl>() {
         @Override
         public HistogramImpl createMetric(String name, Level level) {
-            return new HistogramImpl(name, level, metricRegistry.register(name,
-                    new com.codahale.metrics.Histogram(getReservoir())));
+            com.codahale.metrics.Histogram histogram = mergeHistogramCollections ? createMergingHistogram()
+                    : new com.codahale.metrics.Histogram(getReservoir());
+            return new HistogramImpl(name, level, metricRegistry.register(name, histogram));
         }
 
         @Override
@@ -734,12 +1030,18 @@ public final class MetricManager {
                 @Override
                 public Counter createMetricCollection(String[] names, Level[] levels,
                                                       MetricBuilder<CounterImpl> metricBuilder) {
-                    Counter parentCounter = getOrCreateMetric(names[0], levels[0], metricBuilder);
-                    List<Counter> childCounters = new ArrayList<>(names.length - 1);
+                    CounterImpl parentCounter = getOrCreateMetric(names[0], levels[0], metricBuilder);
+                    List<CounterImpl> childCounters = new ArrayList<>(names.length - 1);
                     for (int i = 1; i < names.length; i++) {
                         childCounters.add(getOrCreateMetric(names[i], levels[i], metricBuilder));
                     }
-                    return new CounterCollection(parentCounter, childCounters);
+                    if (mergeCounterCollections) {
+                        // Only the first counter is updated, when any counter is enabled. The others add its count
+                        // when they are read, while they are enabled
+                        addMergedSources(MergingCounter.class, names);
+                        return new MergedCounterCollection(parentCounter, childCounters);
+                    }
+                    return new CounterCollection(parentCounter, new ArrayList<>(childCounters));
                 }
 
                 @Override
@@ -758,12 +1060,18 @@ public final class MetricManager {
                 @Override
                 public Meter createMetricCollection(String[] names, Level[] levels,
                                                     MetricBuilder<MeterImpl> metricBuilder) {
-                    Meter parentMeter = getOrCreateMetric(names[0], levels[0], metricBuilder);
-                    List<Meter> childMeters = new ArrayList<>(names.length - 1);
+                    MeterImpl parentMeter = getOrCreateMetric(names[0], levels[0], metricBuilder);
+                    List<MeterImpl> childMeters = new ArrayList<>(names.length - 1);
                     for (int i = 1; i < names.length; i++) {
                         childMeters.add(getOrCreateMetric(names[i], levels[i], metricBuilder));
                     }
-                    return new MeterCollection(parentMeter, childMeters);
+                    if (mergeMeterCollections) {
+                        // Only the first meter is marked, when any meter is enabled. The others add its count and
+                        // rates when they are read, while they are enabled
+                        addMergedSources(MergingMeter.class, names);
+                        return new MergedMeterCollection(parentMeter, childMeters);
+                    }
+                    return new MeterCollection(parentMeter, new ArrayList<>(childMeters));
                 }
 
                 @Override
@@ -782,12 +1090,18 @@ public final class MetricManager {
                 @Override
                 public Histogram createMetricCollection(String[] names, Level[] levels,
                                                         MetricBuilder<HistogramImpl> metricBuilder) {
-                    Histogram parentHistogram = getOrCreateMetric(names[0], levels[0], metricBuilder);
-                    List<Histogram> childHistograms = new ArrayList<>(names.length - 1);
+                    HistogramImpl parentHistogram = getOrCreateMetric(names[0], levels[0], metricBuilder);
+                    List<HistogramImpl> childHistograms = new ArrayList<>(names.length - 1);
                     for (int i = 1; i < names.length; i++) {
                         childHistograms.add(getOrCreateMetric(names[i], levels[i], metricBuilder));
                     }
-                    return new HistogramCollection(parentHistogram, childHistograms);
+                    if (mergeHistogramCollections) {
+                        // Only the first histogram is updated, when any histogram is enabled. The others merge its
+                        // values when taking snapshots, while they are enabled
+                        addMergedSources(MergingHistogram.class, names);
+                        return new MergedHistogramCollection(parentHistogram, childHistograms);
+                    }
+                    return new HistogramCollection(parentHistogram, new ArrayList<>(childHistograms));
                 }
 
                 @Override
@@ -846,6 +1160,18 @@ public final class MetricManager {
         }
     }
 
+    /**
+     * <p>Get or create a {@link Meter} instance with the given tags.</p>
+     *
+     * @param name  The name of the metric
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Meter} instance
+     */
+    public Meter meter(String name, Level level, Tags tags) {
+        return getOrCreateTaggedMetric(name, level, tags, meterBuilder);
+    }
+
     /**
      * <p>Get an existing {@link Counter} instance or {@link Counter}s bundle registered under a given name.</p>
      *
@@ -881,6 +1207,18 @@ public final class MetricManager {
         }
     }
 
+    /**
+     * <p>Get or create a {@link Counter} instance with the given tags.</p>
+     *
+     * @param name  The name of the metric
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Counter} instance
+     */
+    public Counter counter(String name, Level level, Tags tags) {
+        return getOrCreateTaggedMetric(name, level, tags, counterBuilder);
+    }
+
     /**
      * <p>Get the {@link Timer} instance registered under given name.</p>
      *
@@ -905,6 +1243,18 @@ public final class MetricManager {
         return getOrCreateMetric(name, level, timerBuilder);
     }
 
+    /**
+     * <p>Get or create a {@link Timer} instance with the given tags.</p>
+     *
+     * @param name  The name of the metric
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Timer} instance
+     */
+    public Timer timer(String name, Level level, Tags tags) {
+        return getOrCreateTaggedMetric(name, level, tags, timerBuilder);
+    }
+
     /**
      * <p>Get an existing {@link Histogram} instance or {@link Histogram}s bundle registered under a given name.</p>
      *
@@ -940,6 +1290,18 @@ public final class MetricManager {
         }
     }
 
+    /**
+     * <p>Get or create a {@link Histogram} instance with the given tags.</p>
+     *
+     * @param name  The name of the metric
+     * @param level The {@link Level} used for the metric
+     * @param tags  The {@link Tags} of the metric
+     * @return a {@link Histogram} instance
+     */
+    public Histogram histogram(String name, Level level, Tags tags) {
+        return getOrCreateTaggedMetric(name, level, tags, histogramBuilder);
+    }
+
     /**
      * Register a {@link Gauge} instance under given name
      *
@@ -969,14 +1331,21 @@ public final class MetricManager {
     }
 
     /**
-     * Removes the metric or metric collection with the given name.
+     * Removes the metric or metric collection with the given name. All tagged metrics with the given name are also
+     * removed.
      *
      * @param name the name of the metric or the annotated name for the metric collection
      * @return whether or not the metric was removed
      */
     public boolean remove(String name) {
         boolean removed;
-        if (isAnnotated(name)) {
+        ConcurrentMap<Tags, AbstractMetric> taggedMetrics = taggedMetricsMap.remove(name);
+        if (taggedMetrics != null) {
+            removed = removeMetric(name);
+            for (AbstractMetric metric : taggedMetrics.values()) {
+                removed = removeMetric(metric.getName()) || removed;
+            }
+        } else if (isAnnotated(name)) {
             Metric metric = metricCollectionsMap.remove(name);
             removed = metric != null;
             String[] metricNames = getMetricHierarchyNames(name);
@@ -1000,6 +1369,13 @@ public final class MetricManager {
     private boolean removeMetric(String name) {
         MetricWrapper metricWrapper = metricsMap.remove(name);
         if (metricWrapper != null) {
+            levelHierarchy.remove(name);
+            ConcurrentMap<Tags, AbstractMetric> taggedMetrics = taggedMetricsMap.get(Tags.getBaseName(name));
+            if (taggedMetrics != null) {
+                // Only the metrics created with tags are in the tagged metrics. The tags are not parsed from the name
+                // as an untagged name may also end with tags like characters.
+                taggedMetrics.values().remove(metricWrapper.metric);
+            }
             // Remove from metric registry. This is needed to remove metrics from reporters
             return metricRegistry.remove(name);
         }
@@ -1075,11 +1451,20 @@ public final class MetricManager {
     /**
      * A {@code MetricFilter} to filter metrics based on enabled status
      */
-    private class EnabledMetricFilter implements MetricFilter {
+    private class EnabledMetricFilter implements VersionedMetricFilter {
+        @Override
+        public long getVersion() {
+            return enabledStatusVersion.get();
+        }
+
         @Override
         public boolean matches(String name, com.codahale.metrics.Metric metric) {
             MetricWrapper metricWrapper = metricsMap.get(name);
-            return isMetricEnabled(metricWrapper.name, metricWrapper.level, levelMap.get(name), true);
+            if (metricWrapper == null) {
+                // The metric was registered directly in the registry without a level. e.g. reporter internal metrics
+                return true;
+            }
+            return metricWrapper.enabled;
         }
     }
 
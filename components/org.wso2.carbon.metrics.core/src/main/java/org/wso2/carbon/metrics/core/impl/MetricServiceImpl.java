@@ -22,6 +22,7 @@ import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.Meter;
 import org.wso2.carbon.metrics.core.MetricNotFoundException;
 import org.wso2.carbon.metrics.core.MetricService;
+import org.wso2.carbon.metrics.core.Tags;
 import org.wso2.carbon.metrics.core.Timer;
 
 import java.util.concurrent.TimeUnit;
@@ -47,6 +48,11 @@ public class MetricServiceImpl implements MetricService {
         return metricManager.counter(name, level, levels);
     }
 
+    @Override
+    public Counter counter(String name, Level level, Tags tags) {
+        return metricManager.counter(name, level, tags);
+    }
+
     @Override
     public Meter meter(String name) throws MetricNotFoundException {
         return metricManager.meter(name);
@@ -57,6 +63,11 @@ public class MetricServiceImpl implements MetricService {
         return metricManager.meter(name, level, levels);
     }
 
+    @Override
+    public Meter meter(String name, Level level, Tags tags) {
+        return metricManager.meter(name, level, tags);
+    }
+
     @Override
     public Histogram histogram(String name) throws MetricNotFoundException {
         return metricManager.histogram(name);
@@ -67,6 +78,11 @@ public class MetricServiceImpl implements MetricService {
         return metricManager.histogram(name, level, levels);
     }
 
+    @Override
+    public Histogram histogram(String name, Level level, Tags tags) {
+        return metricManager.histogram(name, level, tags);
+    }
+
     @Override
     public Timer timer(String name) throws MetricNotFoundException {
         return metricManager.timer(name);
@@ -77,6 +93,11 @@ public class MetricServiceImpl implements MetricService {
         return metricManager.timer(name, level);
     }
 
+    @Override
+    public Timer timer(String name, Level level, Tags tags) {
+        return metricManager.timer(name, level, tags);
+    }
+
     @Override
     public <T> void gauge(String name, Level level, Gauge<T> gauge) {
         metricManager.gauge(name, level, gauge);
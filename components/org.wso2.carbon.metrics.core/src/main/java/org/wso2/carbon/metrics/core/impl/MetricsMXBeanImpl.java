@@ -17,6 +17,8 @@ package org.wso2.carbon.metrics.core.impl;
 
 import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.MetricManagementService;
+import org.wso2.carbon.metrics.core.MetricNotFoundException;
+import org.wso2.carbon.metrics.core.MetricService;
 import org.wso2.carbon.metrics.core.jmx.MetricsMXBean;
 import org.wso2.carbon.metrics.core.utils.Utils;
 
@@ -27,8 +29,15 @@ public class MetricsMXBeanImpl implements MetricsMXBean {
 
     private final MetricManagementService metricManagementService;
 
+    private final MetricService metricService;
+
     public MetricsMXBeanImpl(MetricManagementService metricManagementService) {
+        this(metricManagementService, null);
+    }
+
+    public MetricsMXBeanImpl(MetricManagementService metricManagementService, MetricService metricService) {
         this.metricManagementService = metricManagementService;
+        this.metricService = metricService;
     }
 
     @Override
@@ -119,4 +128,29 @@ public class MetricsMXBeanImpl implements MetricsMXBean {
     public String getDefaultSource() {
         return Utils.getDefaultSource();
     }
+
+    @Override
+    public byte[] exportHistogramBuckets(String name) {
+        try {
+            return getMetricService().histogram(name).getSnapshot().exportBuckets();
+        } catch (MetricNotFoundException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public byte[] exportTimerBuckets(String name) {
+        try {
+            return getMetricService().timer(name).getSnapshot().exportBuckets();
+        } catch (MetricNotFoundException e) {
+            throw new IllegalArgumentException(e.getMessage(), e);
+        }
+    }
+
+    private MetricService getMetricService() {
+        if (metricService == null) {
+            throw new UnsupportedOperationException("Metric Service is not available");
+        }
+        return metricService;
+    }
 }
@@ -16,6 +16,7 @@
 package org.wso2.carbon.metrics.core.impl;
 
 import org.wso2.carbon.metrics.core.Snapshot;
+import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramSnapshot;
 
 /**
  * Implementation class wrapping {@link com.codahale.metrics.Snapshot} for sampling metrics
@@ -92,4 +93,21 @@ public class SnapshotImpl implements Snapshot {
     public long getMin() {
         return snapshot.getMin();
     }
+
+    @Override
+    public void forEachBucket(BucketConsumer consumer) {
+        if (snapshot instanceof HdrHistogramSnapshot) {
+            ((HdrHistogramSnapshot) snapshot).forEachBucket(consumer);
+        } else {
+            Snapshot.super.forEachBucket(consumer);
+        }
+    }
+
+    @Override
+    public byte[] exportBuckets() {
+        if (snapshot instanceof HdrHistogramSnapshot) {
+            return ((HdrHistogramSnapshot) snapshot).exportBuckets();
+        }
+        return Snapshot.super.exportBuckets();
+    }
 }
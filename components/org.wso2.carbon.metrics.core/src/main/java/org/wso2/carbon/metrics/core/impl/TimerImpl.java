@@ -19,6 +19,8 @@ import org.wso2.carbon.metrics.core.Level;
 import org.wso2.carbon.metrics.core.Snapshot;
 import org.wso2.carbon.metrics.core.Timer;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
@@ -27,19 +29,62 @@ import java.util.concurrent.TimeUnit;
  */
 public class TimerImpl extends AbstractMetric implements Timer {
 
+    /**
+     * The start time returned by {@link #startNanos()} when the timer is disabled
+     */
+    private static final long NOT_STARTED = Long.MIN_VALUE;
+
+    /**
+     * The no-op context shared by all disabled timers
+     */
+    private static final Context DUMMY_CONTEXT = new DummyContextImpl();
+
+    /**
+     * The maximum number of closed contexts kept for reuse in each thread
+     */
+    private static final int MAX_RECYCLED_CONTEXTS = 16;
+
+    private static final ThreadLocal<Deque<ContextImpl>> recycledContexts = ThreadLocal.withInitial(ArrayDeque::new);
+
     private final com.codahale.metrics.Timer timer;
 
+    private final boolean recycleContexts;
+
     public TimerImpl(String name, Level level, com.codahale.metrics.Timer timer) {
+        this(name, level, timer, false);
+    }
+
+    /**
+     * Creates a timer.
+     *
+     * @param name            The name of the timer
+     * @param level           The level of the timer
+     * @param timer           The underlying {@link com.codahale.metrics.Timer}
+     * @param recycleContexts Whether to reuse the closed contexts in the thread, which closed them. A context must
+     *                        not be used after it is closed when this is enabled.
+     */
+    public TimerImpl(String name, Level level, com.codahale.metrics.Timer timer, boolean recycleContexts) {
         super(name, level);
         this.timer = timer;
+        this.recycleContexts = recycleContexts;
     }
 
+    /**
+     * A context keeping only the start time. The context updates the underlying timer directly, without creating a
+     * {@link com.codahale.metrics.Timer.Context}.
+     */
     private static class ContextImpl implements Context {
 
-        private com.codahale.metrics.Timer.Context context;
+        private TimerImpl timer;
+
+        private long startTime;
 
-        private ContextImpl(com.codahale.metrics.Timer.Context context) {
-            this.context = context;
+        private boolean active;
+
+        private void start(TimerImpl timer) {
+            this.timer = timer;
+            this.active = true;
+            this.startTime = System.nanoTime();
         }
 
         /*
@@ -49,7 +94,9 @@ public class TimerImpl extends AbstractMetric implements Timer {
          */
         @Override
         public long stop() {
-            return context.stop();
+            long elapsed = System.nanoTime() - startTime;
+            timer.timer.update(elapsed, TimeUnit.NANOSECONDS);
+            return elapsed;
         }
 
         /*
@@ -59,7 +106,18 @@ public class TimerImpl extends AbstractMetric implements Timer {
          */
         @Override
         public void close() {
-            context.close();
+            if (!active) {
+                // Already closed. A recycled context must not be added twice.
+                return;
+            }
+            stop();
+            active = false;
+            if (timer.recycleContexts) {
+                Deque<ContextImpl> contexts = recycledContexts.get();
+                if (contexts.size() < MAX_RECYCLED_CONTEXTS) {
+                    contexts.push(this);
+                }
+            }
         }
 
     }
@@ -97,7 +155,12 @@ public class TimerImpl extends AbstractMetric implements Timer {
     @Override
     public <T> T time(Callable<T> event) throws Exception {
         if (isEnabled()) {
-            return timer.time(event);
+            long startTime = System.nanoTime();
+            try {
+                return event.call();
+            } finally {
+                timer.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
         }
         // TODO Should we throw an exception?
         return null;
@@ -111,9 +174,45 @@ public class TimerImpl extends AbstractMetric implements Timer {
     @Override
     public Context start() {
         if (isEnabled()) {
-            return new ContextImpl(timer.time());
+            ContextImpl context = null;
+            if (recycleContexts) {
+                context = recycledContexts.get().poll();
+            }
+            if (context == null) {
+                context = new ContextImpl();
+            }
+            context.start(this);
+            return context;
+        }
+        return DUMMY_CONTEXT;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.wso2.carbon.metrics.core.Timer#startNanos()
+     */
+    @Override
+    public long startNanos() {
+        if (isEnabled()) {
+            return System.nanoTime();
+        }
+        return NOT_STARTED;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * @see org.wso2.carbon.metrics.core.Timer#stopNanos(long)
+     */
+    @Override
+    public long stopNanos(long startNanos) {
+        if (startNanos != NOT_STARTED && isEnabled()) {
+            long elapsed = System.nanoTime() - startNanos;
+            timer.update(elapsed, TimeUnit.NANOSECONDS);
+            return elapsed;
         }
-        return new DummyContextImpl();
+        return 0;
     }
 
     /*
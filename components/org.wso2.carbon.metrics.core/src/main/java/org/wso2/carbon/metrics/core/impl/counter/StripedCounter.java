@@ -0,0 +1,159 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.counter;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A {@link com.codahale.metrics.Counter} implementation backed directly by a {@link LongAdder}. Concurrent updates
+ * are spread across the cells of the adder and reading the count only sums the cells.
+ * <p>
+ * Optionally, each thread can keep its updates in a local batch and add them to the count only after the given
+ * number of updates. This removes all shared writes from the update path except the flush of a full batch. The
+ * batches are registered with the counter and the pending updates are included when the count is read. The batch of
+ * a thread, which has ended, is added to the count and removed when the count is read or a new batch is registered.
+ */
+public class StripedCounter extends com.codahale.metrics.Counter {
+
+    private final LongAdder count = new LongAdder();
+
+    private final int batchSize;
+
+    private final ThreadLocal<Batch> batches;
+
+    /**
+     * All batches of the live threads. Flushing a batch and reading the count are done while holding the lock of
+     * this queue, so that a pending update is counted exactly once.
+     */
+    private final Queue<Batch> registeredBatches = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a new {@link StripedCounter} without per-thread batching.
+     */
+    public StripedCounter() {
+        this(1);
+    }
+
+    /**
+     * Creates a new {@link StripedCounter}.
+     *
+     * @param batchSize The number of updates to keep in a per-thread batch before adding to the count. The batching
+     *                  is disabled if the size is less than or equal to 1.
+     */
+    public StripedCounter(int batchSize) {
+        this.batchSize = batchSize;
+        this.batches = batchSize > 1 ? ThreadLocal.withInitial(this::registerBatch) : null;
+    }
+
+    @Override
+    public void inc() {
+        add(1);
+    }
+
+    @Override
+    public void inc(long n) {
+        add(n);
+    }
+
+    @Override
+    public void dec() {
+        add(-1);
+    }
+
+    @Override
+    public void dec(long n) {
+        add(-n);
+    }
+
+    @Override
+    public long getCount() {
+        if (batches == null) {
+            return count.sum();
+        }
+        synchronized (registeredBatches) {
+            removeEndedBatches();
+            long sum = count.sum();
+            for (Batch batch : registeredBatches) {
+                sum += batch.value;
+            }
+            return sum;
+        }
+    }
+
+    private void add(long n) {
+        if (batches == null) {
+            count.add(n);
+            return;
+        }
+        Batch batch = batches.get();
+        // Only the owner thread writes the value. An ordered write is enough for the readers.
+        Batch.VALUE.lazySet(batch, batch.value + n);
+        if (++batch.updates >= batchSize) {
+            synchronized (registeredBatches) {
+                count.add(batch.value);
+                Batch.VALUE.lazySet(batch, 0);
+            }
+            batch.updates = 0;
+        }
+    }
+
+    private Batch registerBatch() {
+        Batch batch = new Batch(Thread.currentThread());
+        synchronized (registeredBatches) {
+            removeEndedBatches();
+            registeredBatches.add(batch);
+        }
+        return batch;
+    }
+
+    /**
+     * Add the pending updates of the threads, which have ended, to the count. This must be called while holding the
+     * lock of the registered batches.
+     */
+    private void removeEndedBatches() {
+        Iterator<Batch> iterator = registeredBatches.iterator();
+        while (iterator.hasNext()) {
+            Batch batch = iterator.next();
+            if (!batch.owner.isAlive()) {
+                count.add(batch.value);
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Updates kept by a single thread. Only the owner thread writes the batch.
+     */
+    private static final class Batch {
+
+        private static final AtomicLongFieldUpdater<Batch> VALUE =
+                AtomicLongFieldUpdater.newUpdater(Batch.class, "value");
+
+        private final Thread owner;
+
+        private volatile long value;
+
+        private int updates;
+
+        private Batch(Thread owner) {
+            this.owner = owner;
+        }
+    }
+}
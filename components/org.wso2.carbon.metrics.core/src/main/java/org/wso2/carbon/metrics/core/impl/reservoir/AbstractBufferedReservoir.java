@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+/**
+ * <p>
+ * A {@link Reservoir}, which takes snapshots into two {@link BufferedSnapshot}s in turn. The snapshots do not
+ * allocate memory once the buffers are large enough for the values in the reservoir.
+ * </p>
+ * <p>
+ * A snapshot is valid until the second snapshot after it is taken from the same reservoir. The reporters polling at
+ * the same time should share the snapshots with the {@link SnapshotCachingReservoir}.
+ * </p>
+ */
+abstract class AbstractBufferedReservoir implements Reservoir {
+
+    private final BufferedSnapshot[] snapshots;
+
+    private int next;
+
+    /**
+     * @param capacity The initial capacity of the buffers
+     * @param weighted Whether the values have weights
+     */
+    AbstractBufferedReservoir(int capacity, boolean weighted) {
+        this.snapshots = new BufferedSnapshot[]{new BufferedSnapshot(capacity, weighted),
+                new BufferedSnapshot(capacity, weighted)};
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        BufferedSnapshot snapshot;
+        synchronized (snapshots) {
+            snapshot = snapshots[next];
+            next ^= 1;
+            // Readers of the snapshot taken before the last snapshot wait until the buffer is filled
+            synchronized (snapshot) {
+                snapshot.clear();
+                fill(snapshot);
+                snapshot.complete();
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Add the values in the reservoir to the snapshot.
+     *
+     * @param snapshot An empty snapshot
+     */
+    protected abstract void fill(BufferedSnapshot snapshot);
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.WeightedSnapshot.WeightedSample;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * An exponentially-decaying random reservoir of {@code long}s, which uses Cormode et al's forward-decaying priority
+ * reservoir sampling method to produce a statistically representative sampling reservoir, exponentially biased
+ * towards newer entries. This is the same as the {@code ExponentiallyDecayingReservoir} of Dropwizard Metrics, but
+ * the snapshots are taken into reusable buffers.
+ *
+ * @see AbstractBufferedReservoir
+ */
+public final class BufferedExponentiallyDecayingReservoir extends AbstractBufferedReservoir {
+
+    private static final int DEFAULT_SIZE = 1028;
+
+    private static final double DEFAULT_ALPHA = 0.015;
+
+    private static final long RESCALE_THRESHOLD = TimeUnit.HOURS.toNanos(1);
+
+    private final ConcurrentSkipListMap<Double, WeightedSample> values = new ConcurrentSkipListMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final double alpha;
+
+    private final int size;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private volatile long startTime;
+
+    private final AtomicLong nextScaleTime;
+
+    private final Clock clock;
+
+    /**
+     * Creates a new reservoir of 1028 elements, which offers a 99.9% confidence level with a 5% margin of error
+     * assuming a normal distribution, and an alpha factor of 0.015, which heavily biases the reservoir to the past 5
+     * minutes of measurements.
+     */
+    public BufferedExponentiallyDecayingReservoir() {
+        this(DEFAULT_SIZE, DEFAULT_ALPHA);
+    }
+
+    /**
+     * Creates a new reservoir.
+     *
+     * @param size  the number of samples to keep in the sampling reservoir
+     * @param alpha the exponential decay factor; the higher this is, the more biased the reservoir will be towards
+     *              newer values
+     */
+    public BufferedExponentiallyDecayingReservoir(int size, double alpha) {
+        this(size, alpha, Clock.defaultClock());
+    }
+
+    /**
+     * Creates a new reservoir.
+     *
+     * @param size  the number of samples to keep in the sampling reservoir
+     * @param alpha the exponential decay factor; the higher this is, the more biased the reservoir will be towards
+     *              newer values
+     * @param clock the clock used to timestamp samples and track rescaling
+     */
+    public BufferedExponentiallyDecayingReservoir(int size, double alpha, Clock clock) {
+        super(size, true);
+        this.alpha = alpha;
+        this.size = size;
+        this.clock = clock;
+        this.startTime = currentTimeInSeconds();
+        this.nextScaleTime = new AtomicLong(clock.getTick() + RESCALE_THRESHOLD);
+    }
+
+    @Override
+    public int size() {
+        return (int) Math.min(size, count.get());
+    }
+
+    @Override
+    public void update(long value) {
+        update(value, currentTimeInSeconds());
+    }
+
+    /**
+     * Adds an old value with a fixed timestamp to the reservoir.
+     *
+     * @param value     the value to be added
+     * @param timestamp the epoch timestamp of {@code value} in seconds
+     */
+    public void update(long value, long timestamp) {
+        rescaleIfNeeded();
+        lock.readLock().lock();
+        try {
+            double itemWeight = weight(timestamp - startTime);
+            WeightedSample sample = new WeightedSample(value, itemWeight);
+            double priority = itemWeight / ThreadLocalRandom.current().nextDouble();
+
+            long newCount = count.incrementAndGet();
+            if (newCount <= size) {
+                values.put(priority, sample);
+            } else {
+                Double first = values.firstKey();
+                if (first < priority && values.putIfAbsent(priority, sample) == null) {
+                    // Ensure we always remove an item
+                    while (values.remove(first) == null) {
+                        first = values.firstKey();
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void fill(BufferedSnapshot snapshot) {
+        rescaleIfNeeded();
+        lock.readLock().lock();
+        try {
+            for (WeightedSample sample : values.values()) {
+                snapshot.add(sample.value, sample.weight);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long currentTimeInSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(clock.getTime());
+    }
+
+    private double weight(long t) {
+        return Math.exp(alpha * t);
+    }
+
+    private void rescaleIfNeeded() {
+        long now = clock.getTick();
+        long next = nextScaleTime.get();
+        if (now >= next) {
+            rescale(now, next);
+        }
+    }
+
+    /**
+     * Rescale the priorities and the weights relative to a new landmark, so that they do not grow too large. The
+     * landmark does not affect the relative weights of the samples.
+     */
+    private void rescale(long now, long next) {
+        lock.writeLock().lock();
+        try {
+            if (nextScaleTime.compareAndSet(next, now + RESCALE_THRESHOLD)) {
+                long oldStartTime = startTime;
+                this.startTime = currentTimeInSeconds();
+                double scalingFactor = Math.exp(-alpha * (startTime - oldStartTime));
+                if (Double.compare(scalingFactor, 0) == 0) {
+                    values.clear();
+                } else {
+                    for (Double key : new ArrayList<>(values.keySet())) {
+                        WeightedSample sample = values.remove(key);
+                        WeightedSample newSample = new WeightedSample(sample.value, sample.weight * scalingFactor);
+                        values.put(key * scalingFactor, newSample);
+                    }
+                }
+                // make sure the counter is in sync with the number of stored samples.
+                count.set(values.size());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+/**
+ * A reservoir backed by a sliding window that stores the last {@code N} measurements. This is the same as the
+ * {@code SlidingWindowReservoir} of Dropwizard Metrics, but the snapshots are taken into reusable buffers.
+ *
+ * @see AbstractBufferedReservoir
+ */
+public final class BufferedSlidingWindowReservoir extends AbstractBufferedReservoir {
+
+    private final long[] measurements;
+
+    private long count;
+
+    /**
+     * Creates a new reservoir which stores the last {@code size} measurements.
+     *
+     * @param size the number of measurements to store
+     */
+    public BufferedSlidingWindowReservoir(int size) {
+        super(size, false);
+        this.measurements = new long[size];
+    }
+
+    @Override
+    public synchronized int size() {
+        return (int) Math.min(count, measurements.length);
+    }
+
+    @Override
+    public synchronized void update(long value) {
+        measurements[(int) (count++ % measurements.length)] = value;
+    }
+
+    @Override
+    protected synchronized void fill(BufferedSnapshot snapshot) {
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            snapshot.add(measurements[i]);
+        }
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Snapshot;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * A statistical snapshot kept in reusable arrays. A reservoir fills the snapshot with its values instead of copying
+ * the values to a new snapshot each time.
+ * </p>
+ * <p>
+ * The values are not sorted. The percentiles are found with quickselect, which partially orders the values in place.
+ * Therefore the later percentile lookups in the same snapshot are faster. The percentiles, the mean and the standard
+ * deviation are the same as in the {@code UniformSnapshot} and the {@code WeightedSnapshot} of Dropwizard Metrics.
+ * </p>
+ * <p>
+ * The values can have weights. The weights are normalized when the snapshot is completed.
+ * </p>
+ */
+public final class BufferedSnapshot extends Snapshot {
+
+    private final boolean weighted;
+
+    private long[] values;
+
+    private double[] weights;
+
+    private int size;
+
+    private long min;
+
+    private long max;
+
+    private double mean;
+
+    private double stdDev;
+
+    /**
+     * Create an empty snapshot.
+     *
+     * @param capacity The initial number of values, which can be kept without growing the arrays
+     * @param weighted Whether the values have weights
+     */
+    public BufferedSnapshot(int capacity, boolean weighted) {
+        this.weighted = weighted;
+        this.values = new long[Math.max(capacity, 1)];
+        this.weights = weighted ? new double[values.length] : null;
+    }
+
+    /**
+     * Remove all values. The snapshot must be locked while it is filled.
+     */
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Add a value without a weight.
+     */
+    void add(long value) {
+        if (size == values.length) {
+            grow();
+        }
+        values[size++] = value;
+    }
+
+    /**
+     * Add a value with a weight.
+     */
+    void add(long value, double weight) {
+        if (size == values.length) {
+            grow();
+        }
+        weights[size] = weight;
+        values[size++] = value;
+    }
+
+    private void grow() {
+        int capacity = values.length + (values.length >> 1) + 1;
+        values = Arrays.copyOf(values, capacity);
+        if (weighted) {
+            weights = Arrays.copyOf(weights, capacity);
+        }
+    }
+
+    /**
+     * Calculate the statistics after adding all values.
+     */
+    void complete() {
+        if (size == 0) {
+            min = 0;
+            max = 0;
+            mean = 0;
+            stdDev = 0;
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        double sum = 0;
+        double sumWeight = 0;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, values[i]);
+            max = Math.max(max, values[i]);
+            if (weighted) {
+                sumWeight += weights[i];
+            } else {
+                sum += values[i];
+            }
+        }
+        this.min = min;
+        this.max = max;
+        if (weighted) {
+            double mean = 0;
+            for (int i = 0; i < size; i++) {
+                weights[i] = sumWeight != 0 ? weights[i] / sumWeight : 0;
+                mean += values[i] * weights[i];
+            }
+            double variance = 0;
+            for (int i = 0; i < size; i++) {
+                double diff = values[i] - mean;
+                variance += weights[i] * diff * diff;
+            }
+            this.mean = mean;
+            this.stdDev = size > 1 ? Math.sqrt(variance) : 0;
+        } else {
+            this.mean = sum / size;
+            double variance = 0;
+            for (int i = 0; i < size; i++) {
+                double diff = values[i] - this.mean;
+                variance += diff * diff;
+            }
+            this.stdDev = size > 1 ? Math.sqrt(variance / (size - 1)) : 0;
+        }
+    }
+
+    @Override
+    public synchronized double getValue(double quantile) {
+        if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+            throw new IllegalArgumentException(quantile + " is not in [0..1]");
+        }
+        if (size == 0) {
+            return 0.0;
+        }
+        return weighted ? getWeightedValue(quantile) : getUniformValue(quantile);
+    }
+
+    /**
+     * Interpolates between the values around the position of the quantile.
+     */
+    private double getUniformValue(double quantile) {
+        double pos = quantile * (size + 1);
+        int index = (int) pos;
+        if (index < 1) {
+            return min;
+        }
+        if (index >= size) {
+            return max;
+        }
+        double lower = select(index - 1);
+        // All values after the selected value are greater than or equal to it
+        long upper = Long.MAX_VALUE;
+        for (int i = index; i < size; i++) {
+            upper = Math.min(upper, values[i]);
+        }
+        return lower + (pos - Math.floor(pos)) * (upper - lower);
+    }
+
+    /**
+     * Finds the value, which would be at the given index if the values were sorted.
+     */
+    private long select(int k) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo < hi) {
+            long pivot = pivot(lo, hi);
+            // Partition into values less than, equal to and greater than the pivot
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            while (i <= gt) {
+                if (values[i] < pivot) {
+                    swap(lt++, i++);
+                } else if (values[i] > pivot) {
+                    swap(i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            if (k < lt) {
+                hi = lt - 1;
+            } else if (k > gt) {
+                lo = gt + 1;
+            } else {
+                return pivot;
+            }
+        }
+        return values[k];
+    }
+
+    /**
+     * Finds the value, at which the cumulative weight of the sorted values before it is less than or equal to the
+     * quantile and the cumulative weight including it is greater than the quantile.
+     */
+    private double getWeightedValue(double quantile) {
+        int lo = 0;
+        int hi = size - 1;
+        double before = 0;
+        while (lo <= hi) {
+            long pivot = pivot(lo, hi);
+            int lt = lo;
+            int gt = hi;
+            int i = lo;
+            double lessWeight = 0;
+            double equalWeight = 0;
+            while (i <= gt) {
+                if (values[i] < pivot) {
+                    lessWeight += weights[i];
+                    swap(lt++, i++);
+                } else if (values[i] > pivot) {
+                    swap(i, gt--);
+                } else {
+                    equalWeight += weights[i];
+                    i++;
+                }
+            }
+            if (before + lessWeight > quantile) {
+                hi = lt - 1;
+            } else if (before + lessWeight + equalWeight > quantile) {
+                return pivot;
+            } else {
+                before += lessWeight + equalWeight;
+                lo = gt + 1;
+            }
+        }
+        // The quantile is not less than the total weight
+        return max;
+    }
+
+    /**
+     * Selects the median of the first, the middle and the last values as the pivot.
+     */
+    private long pivot(int lo, int hi) {
+        long a = values[lo];
+        long b = values[(lo + hi) >>> 1];
+        long c = values[hi];
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private void swap(int i, int j) {
+        long value = values[i];
+        values[i] = values[j];
+        values[j] = value;
+        if (weighted) {
+            double weight = weights[i];
+            weights[i] = weights[j];
+            weights[j] = weight;
+        }
+    }
+
+    /**
+     * Returns a sorted copy of the values. This allocates a new array.
+     */
+    @Override
+    public synchronized long[] getValues() {
+        long[] copy = Arrays.copyOf(values, size);
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized long getMax() {
+        return max;
+    }
+
+    @Override
+    public synchronized double getMean() {
+        return mean;
+    }
+
+    @Override
+    public synchronized long getMin() {
+        return min;
+    }
+
+    @Override
+    public synchronized double getStdDev() {
+        return stdDev;
+    }
+
+    @Override
+    public void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            for (long value : getValues()) {
+                out.printf("%d%n", value);
+            }
+        }
+    }
+}
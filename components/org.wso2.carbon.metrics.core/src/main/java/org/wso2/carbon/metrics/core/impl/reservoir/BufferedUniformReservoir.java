@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A random sampling reservoir of a stream of {@code long}s, which uses Vitter's Algorithm R to produce a
+ * statistically representative sample. This is the same as the {@code UniformReservoir} of Dropwizard Metrics, but
+ * the snapshots are taken into reusable buffers.
+ *
+ * @see AbstractBufferedReservoir
+ */
+public final class BufferedUniformReservoir extends AbstractBufferedReservoir {
+
+    private static final int DEFAULT_SIZE = 1028;
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLongArray values;
+
+    /**
+     * Creates a new reservoir of 1028 elements.
+     */
+    public BufferedUniformReservoir() {
+        this(DEFAULT_SIZE);
+    }
+
+    /**
+     * Creates a new reservoir.
+     *
+     * @param size the number of samples to keep in the sampling reservoir
+     */
+    public BufferedUniformReservoir(int size) {
+        super(size, false);
+        this.values = new AtomicLongArray(size);
+    }
+
+    @Override
+    public int size() {
+        long c = count.get();
+        return c > values.length() ? values.length() : (int) c;
+    }
+
+    @Override
+    public void update(long value) {
+        long c = count.incrementAndGet();
+        if (c <= values.length()) {
+            values.set((int) c - 1, value);
+        } else {
+            long r = ThreadLocalRandom.current().nextLong(c);
+            if (r < values.length()) {
+                values.set((int) r, value);
+            }
+        }
+    }
+
+    @Override
+    protected void fill(BufferedSnapshot snapshot) {
+        int size = size();
+        for (int i = 0; i < size; i++) {
+            snapshot.add(values.get(i));
+        }
+    }
+}
@@ -18,78 +18,238 @@ package org.wso2.carbon.metrics.core.impl.reservoir;
 import com.codahale.metrics.Snapshot;
 import org.HdrHistogram.Histogram;
 import org.HdrHistogram.HistogramIterationValue;
+import org.wso2.carbon.metrics.core.Snapshot.BucketConsumer;
 
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 /**
  * A statistical snapshot of a {@link HdrHistogramSnapshot}.
+ * <p>
+ * The percentiles are looked up in an index of the recorded buckets and their cumulative counts. The index and the
+ * statistics are taken in a single pass over the histogram when the snapshot is created, and the snapshot does not
+ * keep a reference to the histogram. Therefore the reporters requesting many percentiles scan the histogram once
+ * instead of once for each percentile, and a reservoir can keep updating the same histogram after taking a snapshot
+ * without copying it.
+ * <p>
+ * The recorded values are never expanded. {@link #getValues()} returns a sample of at most {@link #MAX_VALUES} values
+ * and {@link #dump(OutputStream)} writes a line for each bucket. The buckets can be read with
+ * {@link #forEachBucket(BucketConsumer)} and exported with {@link #exportBuckets()}.
  */
 public final class HdrHistogramSnapshot extends Snapshot {
 
-    private final Histogram histogram;
+    /**
+     * The maximum number of values returned by {@link #getValues()}. This is the size of the default reservoir of
+     * Dropwizard Metrics.
+     */
+    public static final int MAX_VALUES = 1028;
 
+    private final BucketIndex bucketIndex;
+
+    private final long lowestValue;
+
+    private final long min;
+
+    private final long max;
+
+    private final double mean;
+
+    private final double stdDev;
+
+    private final long lowestDiscernibleValue;
+
+    private final long highestTrackableValue;
+
+    private final int numberOfSignificantValueDigits;
+
+    /**
+     * Create a snapshot of the values currently recorded in the histogram. The histogram can be updated or reset
+     * after the snapshot is created.
+     *
+     * @param histogram The histogram to take the snapshot
+     */
     public HdrHistogramSnapshot(Histogram histogram) {
-        this.histogram = histogram;
+        this.bucketIndex = new BucketIndex(histogram);
+        this.lowestValue = histogram.getValueAtPercentile(0.0);
+        this.min = histogram.getMinValue();
+        this.max = histogram.getMaxValue();
+        this.mean = histogram.getMean();
+        this.stdDev = histogram.getStdDeviation();
+        this.lowestDiscernibleValue = histogram.getLowestDiscernibleValue();
+        this.highestTrackableValue = histogram.getHighestTrackableValue();
+        this.numberOfSignificantValueDigits = histogram.getNumberOfSignificantValueDigits();
     }
 
     @Override
     public double getValue(double quantile) {
-        return histogram.getValueAtPercentile(quantile * 100.0);
+        if (quantile <= 0.0) {
+            return lowestValue;
+        }
+        return bucketIndex.getValue(quantile);
     }
 
+    /**
+     * Returns the recorded values if there are at most {@link #MAX_VALUES} values. Otherwise returns
+     * {@link #MAX_VALUES} values sampled evenly by rank, which have the same distribution as the recorded values.
+     *
+     * @return the recorded values or a sample of them in ascending order
+     */
     @Override
     public long[] getValues() {
-        long[] values = new long[(int) histogram.getTotalCount()];
-        int i = 0;
-
-        for (HistogramIterationValue value : histogram.recordedValues()) {
-            long v = value.getValueIteratedTo();
-            for (int j = 0; j < value.getCountAddedInThisIterationStep(); j++) {
-                values[i] = v;
-                i++;
+        BucketIndex index = bucketIndex;
+        long totalCount = index.totalCount;
+        if (totalCount <= MAX_VALUES) {
+            long[] values = new long[(int) totalCount];
+            int i = 0;
+            for (int bucket = 0; bucket < index.size; bucket++) {
+                long count = index.getCount(bucket);
+                for (long j = 0; j < count; j++) {
+                    values[i++] = index.values[bucket];
+                }
             }
+            return values;
+        }
+        long[] values = new long[MAX_VALUES];
+        for (int i = 0; i < MAX_VALUES; i++) {
+            // The rank in the middle of each of the equally sized ranges of ranks
+            values[i] = index.getValueAtRank((2 * i + 1) * totalCount / (2 * MAX_VALUES) + 1);
         }
-
         return values;
     }
 
+    /**
+     * Returns the number of recorded values. This can be larger than the length of {@link #getValues()}.
+     *
+     * @return the number of recorded values, or {@link Integer#MAX_VALUE} if it does not fit in an {@code int}
+     */
     @Override
     public int size() {
-        return (int) histogram.getTotalCount();
+        return (int) Math.min(bucketIndex.totalCount, Integer.MAX_VALUE);
     }
 
     @Override
     public long getMax() {
-        return histogram.getMaxValue();
+        return max;
     }
 
     @Override
     public double getMean() {
-        return histogram.getMean();
+        return mean;
     }
 
     @Override
     public long getMin() {
-        return histogram.getMinValue();
+        return min;
     }
 
     @Override
     public double getStdDev() {
-        return histogram.getStdDeviation();
+        return stdDev;
     }
 
-    @Override
-    public void dump(OutputStream output) {
-        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+    /**
+     * Passes the value and the count of each non-empty bucket to the consumer in the ascending order of the values.
+     *
+     * @param consumer the consumer of the buckets
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        BucketIndex index = bucketIndex;
+        for (int bucket = 0; bucket < index.size; bucket++) {
+            consumer.accept(index.values[bucket], index.getCount(bucket));
+        }
+    }
+
+    /**
+     * Exports the histogram in the compressed encoding of HdrHistogram. The histogram can be restored with
+     * {@link Histogram#decodeFromCompressedByteBuffer(ByteBuffer, long)}. The histogram is rebuilt from the buckets
+     * in the snapshot with the precision of the recorded histogram.
+     *
+     * @return the compressed buckets
+     */
+    public byte[] exportBuckets() {
+        Histogram histogram = new Histogram(lowestDiscernibleValue, highestTrackableValue,
+                numberOfSignificantValueDigits);
+        forEachBucket(histogram::recordValueWithCount);
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Arrays.copyOf(buffer.array(), length);
+    }
+
+    /**
+     * The values of the recorded buckets and the cumulative counts up to each bucket.
+     */
+    private static final class BucketIndex {
+
+        private final long totalCount;
+
+        private final long[] values;
+
+        private final long[] cumulativeCounts;
+
+        private final int size;
+
+        private BucketIndex(Histogram histogram) {
+            int capacity = 16;
+            long[] values = new long[capacity];
+            long[] cumulativeCounts = new long[capacity];
+            int size = 0;
+            long total = 0;
             for (HistogramIterationValue value : histogram.recordedValues()) {
-                long v = value.getValueIteratedTo();
-                for (int j = 0; j < value.getCountAddedInThisIterationStep(); j++) {
-                    out.printf("%d%n", v);
+                if (size == capacity) {
+                    capacity <<= 1;
+                    values = Arrays.copyOf(values, capacity);
+                    cumulativeCounts = Arrays.copyOf(cumulativeCounts, capacity);
                 }
+                total += value.getCountAddedInThisIterationStep();
+                values[size] = value.getValueIteratedTo();
+                cumulativeCounts[size] = total;
+                size++;
+            }
+            this.totalCount = total;
+            this.values = values;
+            this.cumulativeCounts = cumulativeCounts;
+            this.size = size;
+        }
+
+        private long getCount(int bucket) {
+            return bucket == 0 ? cumulativeCounts[0] : cumulativeCounts[bucket] - cumulativeCounts[bucket - 1];
+        }
+
+        /**
+         * Finds the value at the given quantile the same way as {@link Histogram#getValueAtPercentile(double)}.
+         */
+        private long getValue(double quantile) {
+            double percentile = Math.min(Math.max(Math.nextAfter(quantile * 100.0, Double.NEGATIVE_INFINITY), 0.0),
+                    100.0);
+            return getValueAtRank(Math.max((long) Math.ceil((percentile * totalCount) / 100.0), 1));
+        }
+
+        /**
+         * Finds the value with the given rank, starting from 1, in the ascending order of the values.
+         */
+        private long getValueAtRank(long rank) {
+            if (size == 0) {
+                return 0;
             }
+            int index = Arrays.binarySearch(cumulativeCounts, 0, size, rank);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return values[Math.min(index, size - 1)];
+        }
+    }
+
+    /**
+     * Writes a line with the value and the count of each bucket, separated by a tab.
+     */
+    @Override
+    public void dump(OutputStream output) {
+        try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+            forEachBucket((value, count) -> out.printf("%d\t%d%n", value, count));
         }
     }
 }
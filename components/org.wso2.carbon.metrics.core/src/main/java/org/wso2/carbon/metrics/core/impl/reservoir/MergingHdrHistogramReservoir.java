@@ -0,0 +1,215 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * <p>
+ * A {@link Reservoir} implementation using {@code HdrHistogram}, which merges the values recorded in other reservoirs
+ * when a snapshot is taken.
+ * </p>
+ * <p>
+ * A value recorded in a metric collection is recorded only in the reservoir of the most specific metric. The
+ * reservoirs of the parent metrics add the reservoir as a source and merge its values into their snapshots. Therefore
+ * the cost of updating the parents is moved from recording values to taking snapshots.
+ * </p>
+ * <p>
+ * When a snapshot is taken, the interval histograms recorded in this reservoir and the sources since the last
+ * snapshot are added to the merged histogram of each reservoir using them. The merged histogram is reused for all
+ * snapshots and it is reset after a snapshot when the histogram is reset on snapshot. The values recorded in a source
+ * are not merged while the merging is paused.
+ * </p>
+ */
+public final class MergingHdrHistogramReservoir implements Reservoir {
+
+    /**
+     * The recorders used to record values. The number of recorders is always a power of two. This is also the lock
+     * held while taking the interval histograms.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * The mask to select a stripe from the thread ID
+     */
+    private final int mask;
+
+    private final boolean resetOnSnapshot;
+
+    /**
+     * A histogram to keep all values recorded directly in this reservoir, which are merged into a reservoir adding
+     * this reservoir as a source. This is not kept when the histogram is reset on snapshot.
+     */
+    private final Histogram recorded;
+
+    /**
+     * The values of this reservoir and the sources merged since the reservoir was created, or since the last snapshot
+     * if the histogram is reset on snapshot
+     */
+    private final Histogram merged;
+
+    /**
+     * The reservoirs merged into the snapshots of this reservoir
+     */
+    private final CopyOnWriteArrayList<MergingHdrHistogramReservoir> sources = new CopyOnWriteArrayList<>();
+
+    /**
+     * The reservoirs merging the values recorded in this reservoir, including this reservoir
+     */
+    private final CopyOnWriteArrayList<MergingHdrHistogramReservoir> targets = new CopyOnWriteArrayList<>();
+
+    private volatile boolean merging = true;
+
+    /**
+     * Create a reservoir with the given number of stripes.
+     *
+     * @param numberOfSignificantValueDigits The precision to use in the recorders
+     * @param stripes                        The number of striped recorders. This is rounded up to the next power of
+     *                                       two. The number of available processors is used when this is not
+     *                                       positive.
+     * @param resetOnSnapshot                Reset the histogram when taking a snapshot
+     */
+    public MergingHdrHistogramReservoir(int numberOfSignificantValueDigits, int stripes, boolean resetOnSnapshot) {
+        int size = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        // Round up to the next power of two
+        size = size > 1 ? Integer.highestOneBit(size - 1) << 1 : 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe(new Recorder(numberOfSignificantValueDigits));
+        }
+        this.mask = size - 1;
+        this.resetOnSnapshot = resetOnSnapshot;
+        this.recorded = resetOnSnapshot ? null : new Histogram(numberOfSignificantValueDigits);
+        this.merged = new Histogram(numberOfSignificantValueDigits);
+        this.targets.add(this);
+    }
+
+    /**
+     * Merge the values recorded in another reservoir into the snapshots of this reservoir. Only the values recorded
+     * directly in the source are merged. Adding the same source again has no effect.
+     *
+     * @param source The reservoir of a metric in the same collection
+     */
+    public void addSource(MergingHdrHistogramReservoir source) {
+        if (source != this && sources.addIfAbsent(source)) {
+            synchronized (source.stripes) {
+                source.targets.add(this);
+                if (source.recorded != null && !resetOnSnapshot) {
+                    // The values taken from the source before it was added
+                    merge(source.recorded);
+                }
+            }
+        }
+    }
+
+    /**
+     * Pause or resume merging the values recorded in the sources. The values recorded directly in this reservoir are
+     * always merged.
+     *
+     * @param merging {@code true} to merge the values recorded in the sources
+     */
+    public synchronized void setMerging(boolean merging) {
+        if (this.merging != merging) {
+            // The values recorded in the sources before the change are merged with the previous status
+            for (MergingHdrHistogramReservoir source : sources) {
+                source.takeIntervalHistograms();
+            }
+            this.merging = merging;
+        }
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        stripes[(int) Thread.currentThread().getId() & mask].recorder.recordValue(value);
+    }
+
+    /**
+     * @return A snapshot of the histogram of all values recorded in this reservoir and the sources, or the values
+     * recorded since the last snapshot was taken if the histogram is reset on snapshot.
+     */
+    @Override
+    public Snapshot getSnapshot() {
+        takeIntervalHistograms();
+        for (MergingHdrHistogramReservoir source : sources) {
+            source.takeIntervalHistograms();
+        }
+        synchronized (merged) {
+            Snapshot snapshot = new HdrHistogramSnapshot(merged);
+            if (resetOnSnapshot) {
+                merged.reset();
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * Take the values recorded directly in this reservoir since the last interval histograms were taken, and merge
+     * them into the reservoirs using this reservoir.
+     */
+    private void takeIntervalHistograms() {
+        synchronized (stripes) {
+            for (Stripe stripe : stripes) {
+                stripe.intervalHistogram = stripe.recorder.getIntervalHistogram(stripe.intervalHistogram);
+                if (stripe.intervalHistogram.getTotalCount() > 0) {
+                    if (recorded != null) {
+                        recorded.add(stripe.intervalHistogram);
+                    }
+                    for (MergingHdrHistogramReservoir target : targets) {
+                        if (target == this || target.merging) {
+                            target.merge(stripe.intervalHistogram);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Add values to the merged histogram.
+     *
+     * @param histogram The histogram with the values to merge
+     */
+    private void merge(Histogram histogram) {
+        synchronized (merged) {
+            merged.add(histogram);
+        }
+    }
+
+    /**
+     * A recorder and the interval histogram reused when taking the next interval histogram from the recorder.
+     */
+    private static final class Stripe {
+
+        private final Recorder recorder;
+
+        private Histogram intervalHistogram;
+
+        private Stripe(Recorder recorder) {
+            this.recorder = recorder;
+            intervalHistogram = recorder.getIntervalHistogram();
+        }
+    }
+}
@@ -24,6 +24,8 @@ public enum ReservoirType {
     UNIFORM,
     SLIDING_WINDOW,
     SLIDING_TIME_WINDOW,
-    HDR_HISTOGRAM;
+    HDR_HISTOGRAM,
+    STRIPED_HDR_HISTOGRAM,
+    ROLLING_HDR_HISTOGRAM;
 
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A {@link Reservoir} implementation using {@code HdrHistogram}, which keeps the values recorded in a rolling window
+ * of time.
+ * </p>
+ * <p>
+ * The window is divided into a ring of buckets. Each bucket keeps an interval histogram for a part of the window. The
+ * buckets are rotated when a value is recorded or a snapshot is taken after the current bucket has ended, and the
+ * bucket for the next part of the window is reset. A snapshot merges the buckets without resetting them. Therefore
+ * the reporters can share the reservoir, and the memory and the cost of a snapshot depend only on the number of
+ * buckets.
+ * </p>
+ * <p>
+ * A snapshot has the values of the current bucket and the previous buckets. Therefore the snapshot covers the last
+ * window of time in steps of a bucket.
+ * </p>
+ */
+public final class RollingHdrHistogramReservoir implements Reservoir {
+
+    /**
+     * The main recorder used to record values of the current bucket
+     */
+    private final Recorder recorder;
+
+    /**
+     * The histograms of the buckets in the window
+     */
+    private final Histogram[] buckets;
+
+    private final int numberOfSignificantValueDigits;
+
+    private final long bucketNanos;
+
+    private final Clock clock;
+
+    /**
+     * This interval histogram is reused when taking the next interval histogram
+     */
+    private Histogram intervalHistogram;
+
+    /**
+     * The index of the current bucket
+     */
+    private int current;
+
+    /**
+     * The tick when the current bucket started
+     */
+    private long bucketStartTime;
+
+    /**
+     * The tick to rotate the buckets
+     */
+    private volatile long nextRotationTime;
+
+    /**
+     * Create a reservoir with a window of one minute divided into six buckets.
+     */
+    public RollingHdrHistogramReservoir() {
+        this(2, 1, TimeUnit.MINUTES, 6);
+    }
+
+    /**
+     * Create a reservoir with the default clock.
+     *
+     * @param numberOfSignificantValueDigits The precision to use in the recorder
+     * @param window                         The window of time
+     * @param windowUnit                     The unit of {@code window}
+     * @param buckets                        The number of buckets in the window
+     */
+    public RollingHdrHistogramReservoir(int numberOfSignificantValueDigits, long window, TimeUnit windowUnit,
+                                        int buckets) {
+        this(numberOfSignificantValueDigits, window, windowUnit, buckets, Clock.defaultClock());
+    }
+
+    /**
+     * Create a reservoir with a user-specified clock.
+     *
+     * @param numberOfSignificantValueDigits The precision to use in the recorder
+     * @param window                         The window of time
+     * @param windowUnit                     The unit of {@code window}
+     * @param buckets                        The number of buckets in the window
+     * @param clock                          The {@link Clock} to use for rotating the buckets
+     */
+    public RollingHdrHistogramReservoir(int numberOfSignificantValueDigits, long window, TimeUnit windowUnit,
+                                        int buckets, Clock clock) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("The number of buckets must be positive");
+        }
+        long windowNanos = windowUnit.toNanos(window);
+        if (windowNanos < buckets) {
+            throw new IllegalArgumentException("The window must be longer than the number of buckets in nanoseconds");
+        }
+        this.recorder = new Recorder(numberOfSignificantValueDigits);
+        this.intervalHistogram = recorder.getIntervalHistogram();
+        this.buckets = new Histogram[buckets];
+        for (int i = 0; i < buckets; i++) {
+            this.buckets[i] = new Histogram(numberOfSignificantValueDigits);
+        }
+        this.numberOfSignificantValueDigits = numberOfSignificantValueDigits;
+        this.bucketNanos = windowNanos / buckets;
+        this.clock = clock;
+        this.bucketStartTime = clock.getTick();
+        this.nextRotationTime = bucketStartTime + bucketNanos;
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        if (clock.getTick() >= nextRotationTime) {
+            rotate();
+        }
+        recorder.recordValue(value);
+    }
+
+    /**
+     * @return A snapshot of the histogram of the values recorded in the window
+     */
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        rotate();
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        buckets[current].add(intervalHistogram);
+        Histogram histogram = new Histogram(numberOfSignificantValueDigits);
+        for (Histogram bucket : buckets) {
+            histogram.add(bucket);
+        }
+        return new HdrHistogramSnapshot(histogram);
+    }
+
+    /**
+     * Move to the bucket for the current time. The values recorded so far are added to the current bucket and the
+     * buckets skipped since then are reset.
+     */
+    private synchronized void rotate() {
+        long now = clock.getTick();
+        if (now < nextRotationTime) {
+            return;
+        }
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        buckets[current].add(intervalHistogram);
+        long elapsedBuckets = (now - bucketStartTime) / bucketNanos;
+        for (long i = 0; i < Math.min(elapsedBuckets, buckets.length); i++) {
+            current = (current + 1) % buckets.length;
+            buckets[current].reset();
+        }
+        bucketStartTime += elapsedBuckets * bucketNanos;
+        nextRotationTime = bucketStartTime + bucketNanos;
+    }
+}
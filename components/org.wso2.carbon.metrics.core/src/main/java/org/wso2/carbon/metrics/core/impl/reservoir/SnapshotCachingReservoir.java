@@ -0,0 +1,113 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A {@link Reservoir} which keeps the last snapshot of another reservoir for a given validity period.
+ * </p>
+ * <p>
+ * The reporters polling at the same time reuse the same snapshot instead of taking a snapshot each. When the
+ * underlying reservoir is reset on snapshot, all reporters within the validity period see the same values instead of
+ * the first reporter taking all values recorded since the last snapshot.
+ * </p>
+ */
+public final class SnapshotCachingReservoir implements Reservoir {
+
+    private final Reservoir reservoir;
+
+    private final long validityNanos;
+
+    private final Clock clock;
+
+    private volatile CachedSnapshot cachedSnapshot;
+
+    /**
+     * Create a reservoir with the default clock.
+     *
+     * @param reservoir    The underlying {@link Reservoir}
+     * @param validity     The period to reuse a snapshot
+     * @param validityUnit The unit of {@code validity}
+     */
+    public SnapshotCachingReservoir(Reservoir reservoir, long validity, TimeUnit validityUnit) {
+        this(reservoir, validity, validityUnit, Clock.defaultClock());
+    }
+
+    /**
+     * Create a reservoir with a user-specified clock.
+     *
+     * @param reservoir    The underlying {@link Reservoir}
+     * @param validity     The period to reuse a snapshot
+     * @param validityUnit The unit of {@code validity}
+     * @param clock        The {@link Clock} to use for the validity period
+     */
+    public SnapshotCachingReservoir(Reservoir reservoir, long validity, TimeUnit validityUnit, Clock clock) {
+        this.reservoir = reservoir;
+        this.validityNanos = validityUnit.toNanos(validity);
+        this.clock = clock;
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        reservoir.update(value);
+    }
+
+    @Override
+    public Snapshot getSnapshot() {
+        CachedSnapshot current = cachedSnapshot;
+        if (current == null || isExpired(current)) {
+            synchronized (this) {
+                current = cachedSnapshot;
+                // Check again as another thread may have taken a snapshot
+                if (current == null || isExpired(current)) {
+                    current = new CachedSnapshot(reservoir.getSnapshot(), clock.getTick());
+                    cachedSnapshot = current;
+                }
+            }
+        }
+        return current.snapshot;
+    }
+
+    private boolean isExpired(CachedSnapshot cachedSnapshot) {
+        return clock.getTick() - cachedSnapshot.timestamp >= validityNanos;
+    }
+
+    /**
+     * A snapshot and the time it was taken.
+     */
+    private static final class CachedSnapshot {
+
+        private final Snapshot snapshot;
+
+        private final long timestamp;
+
+        private CachedSnapshot(Snapshot snapshot, long timestamp) {
+            this.snapshot = snapshot;
+            this.timestamp = timestamp;
+        }
+    }
+}
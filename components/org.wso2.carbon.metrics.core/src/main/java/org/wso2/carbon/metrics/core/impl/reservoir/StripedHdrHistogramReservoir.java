@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.impl.reservoir;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * <p>
+ * A {@link Reservoir} implementation using {@code HdrHistogram}, which spreads the updates across multiple recorders.
+ * </p>
+ * <p>
+ * Each thread records values to one of the striped recorders selected by the thread ID. Therefore the threads do
+ * not contend on a single recorder. The recorders are merged only when a snapshot is taken.
+ * </p>
+ * <p>
+ * When the histogram is not reset on snapshot, the values are merged into a histogram kept for all data and the
+ * snapshot is reused until new values are recorded. When the histogram is reset on snapshot, the values are merged
+ * into a histogram reused for each snapshot. The {@link HdrHistogramSnapshot} does not keep a reference to the
+ * histogram. Therefore the histograms are never copied when taking a snapshot.
+ * </p>
+ */
+public final class StripedHdrHistogramReservoir implements Reservoir {
+
+    /**
+     * The recorders used to record values. The number of recorders is always a power of two.
+     */
+    private final Stripe[] stripes;
+
+    /**
+     * The mask to select a stripe from the thread ID
+     */
+    private final int mask;
+
+    private final boolean resetOnSnapshot;
+
+    /**
+     * A histogram to keep all stats, or the histogram to merge the values recorded since the last snapshot if the
+     * histogram is reset on snapshot.
+     */
+    private final Histogram histogram;
+
+    /**
+     * The last snapshot taken from the histogram for all data
+     */
+    private Snapshot snapshot;
+
+    /**
+     * Create a reservoir with a stripe for each available processor.
+     */
+    public StripedHdrHistogramReservoir() {
+        this(2, 0, false);
+    }
+
+    /**
+     * Create a reservoir with the given number of stripes.
+     *
+     * @param numberOfSignificantValueDigits The precision to use in the recorders
+     * @param stripes                        The number of striped recorders. This is rounded up to the next power of
+     *                                       two. The number of available processors is used when this is not
+     *                                       positive.
+     * @param resetOnSnapshot                Reset the histogram when taking a snapshot
+     */
+    public StripedHdrHistogramReservoir(int numberOfSignificantValueDigits, int stripes, boolean resetOnSnapshot) {
+        int size = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        // Round up to the next power of two
+        size = size > 1 ? Integer.highestOneBit(size - 1) << 1 : 1;
+        this.stripes = new Stripe[size];
+        for (int i = 0; i < size; i++) {
+            this.stripes[i] = new Stripe(new Recorder(numberOfSignificantValueDigits));
+        }
+        this.mask = size - 1;
+        this.resetOnSnapshot = resetOnSnapshot;
+        this.histogram = new Histogram(numberOfSignificantValueDigits);
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        stripes[(int) Thread.currentThread().getId() & mask].recorder.recordValue(value);
+    }
+
+    /**
+     * @return A snapshot of the histogram of all values recorded since the reservoir was created or the values
+     * recorded since the last snapshot was taken if the histogram is reset on snapshot.
+     */
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        if (resetOnSnapshot) {
+            histogram.reset();
+            mergeInto(histogram);
+            return new HdrHistogramSnapshot(histogram);
+        }
+        if (mergeInto(histogram) || snapshot == null) {
+            snapshot = new HdrHistogramSnapshot(histogram);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Merge the values recorded since the last merge.
+     *
+     * @param target The histogram to add the values
+     * @return {@code true} if any value was added
+     */
+    private boolean mergeInto(Histogram target) {
+        boolean updated = false;
+        for (Stripe stripe : stripes) {
+            stripe.intervalHistogram = stripe.recorder.getIntervalHistogram(stripe.intervalHistogram);
+            if (stripe.intervalHistogram.getTotalCount() > 0) {
+                target.add(stripe.intervalHistogram);
+                updated = true;
+            }
+        }
+        return updated;
+    }
+
+    /**
+     * A recorder and the interval histogram reused when taking the next interval histogram from the recorder.
+     */
+    private static final class Stripe {
+
+        private final Recorder recorder;
+
+        private Histogram intervalHistogram;
+
+        private Stripe(Recorder recorder) {
+            this.recorder = recorder;
+            intervalHistogram = recorder.getIntervalHistogram();
+        }
+    }
+}
@@ -134,4 +134,24 @@ public interface MetricsMXBean {
      * @return The default source used for the reporters
      */
     String getDefaultSource();
+
+    /**
+     * Export the buckets of the current snapshot of the histogram with given name in the compressed encoding of
+     * HdrHistogram
+     *
+     * @param name The name of the histogram
+     * @return The compressed buckets
+     * @see org.wso2.carbon.metrics.core.Snapshot#exportBuckets()
+     */
+    byte[] exportHistogramBuckets(String name);
+
+    /**
+     * Export the buckets of the current snapshot of the timer with given name in the compressed encoding of
+     * HdrHistogram
+     *
+     * @param name The name of the timer
+     * @return The compressed buckets
+     * @see org.wso2.carbon.metrics.core.Snapshot#exportBuckets()
+     */
+    byte[] exportTimerBuckets(String name);
 }
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.reporter;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Timer;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A sorted view of the metrics in a {@link MetricRegistry}, which match a {@link MetricFilter}. The view is updated
+ * when metrics are added to or removed from the registry. Therefore a scheduled reporter does not need to filter and
+ * sort all metrics in the registry for each report.
+ * <p>
+ * All metrics are filtered again only when the version of a {@link VersionedMetricFilter} is changed. Any other filter
+ * is applied to all metrics for each report.
+ */
+public final class MetricView implements MetricRegistryListener {
+
+    private final MetricRegistry metricRegistry;
+
+    private final MetricFilter metricFilter;
+
+    @SuppressWarnings("rawtypes")
+    private final SortedMap<String, Gauge> gauges = new ConcurrentSkipListMap<>();
+
+    private final SortedMap<String, Counter> counters = new ConcurrentSkipListMap<>();
+
+    private final SortedMap<String, Histogram> histograms = new ConcurrentSkipListMap<>();
+
+    private final SortedMap<String, Meter> meters = new ConcurrentSkipListMap<>();
+
+    private final SortedMap<String, Timer> timers = new ConcurrentSkipListMap<>();
+
+    @SuppressWarnings("rawtypes")
+    private final SortedMap<String, Gauge> unmodifiableGauges = Collections.unmodifiableSortedMap(gauges);
+
+    private final SortedMap<String, Counter> unmodifiableCounters = Collections.unmodifiableSortedMap(counters);
+
+    private final SortedMap<String, Histogram> unmodifiableHistograms = Collections.unmodifiableSortedMap(histograms);
+
+    private final SortedMap<String, Meter> unmodifiableMeters = Collections.unmodifiableSortedMap(meters);
+
+    private final SortedMap<String, Timer> unmodifiableTimers = Collections.unmodifiableSortedMap(timers);
+
+    private long version;
+
+    private boolean started;
+
+    public MetricView(MetricRegistry metricRegistry, MetricFilter metricFilter) {
+        this.metricRegistry = metricRegistry;
+        this.metricFilter = metricFilter;
+    }
+
+    /**
+     * Start listening to the registry. All existing metrics are added to the view.
+     */
+    public synchronized void start() {
+        if (!started) {
+            if (metricFilter instanceof VersionedMetricFilter) {
+                version = ((VersionedMetricFilter) metricFilter).getVersion();
+            }
+            metricRegistry.addListener(this);
+            started = true;
+        }
+    }
+
+    /**
+     * Stop listening to the registry and clear the view.
+     */
+    public synchronized void stop() {
+        if (started) {
+            metricRegistry.removeListener(this);
+            gauges.clear();
+            counters.clear();
+            histograms.clear();
+            meters.clear();
+            timers.clear();
+            started = false;
+        }
+    }
+
+    /**
+     * Report the metrics in the view with the given reporter.
+     *
+     * @param reporter The reporter
+     */
+    public void report(com.codahale.metrics.ScheduledReporter reporter) {
+        refresh();
+        // Same as com.codahale.metrics.ScheduledReporter#report()
+        synchronized (reporter) {
+            reporter.report(unmodifiableGauges, unmodifiableCounters, unmodifiableHistograms, unmodifiableMeters,
+                    unmodifiableTimers);
+        }
+    }
+
+    /**
+     * Filter all metrics again if the filter result might have been changed.
+     */
+    private synchronized void refresh() {
+        if (!started) {
+            return;
+        }
+        if (metricFilter instanceof VersionedMetricFilter) {
+            long currentVersion = ((VersionedMetricFilter) metricFilter).getVersion();
+            if (currentVersion == version) {
+                return;
+            }
+            version = currentVersion;
+        }
+        for (Map.Entry<String, Metric> entry : metricRegistry.getMetrics().entrySet()) {
+            update(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void update(String name, Metric metric) {
+        boolean matches = metricFilter.matches(name, metric);
+        if (metric instanceof Gauge) {
+            update(gauges, name, (Gauge) metric, matches);
+        } else if (metric instanceof Counter) {
+            update(counters, name, (Counter) metric, matches);
+        } else if (metric instanceof Histogram) {
+            update(histograms, name, (Histogram) metric, matches);
+        } else if (metric instanceof Meter) {
+            update(meters, name, (Meter) metric, matches);
+        } else if (metric instanceof Timer) {
+            update(timers, name, (Timer) metric, matches);
+        }
+    }
+
+    private static <T extends Metric> void update(Map<String, T> metrics, String name, T metric, boolean matches) {
+        if (matches) {
+            metrics.put(name, metric);
+        } else {
+            metrics.remove(name);
+        }
+    }
+
+    @Override
+    public synchronized void onGaugeAdded(String name, Gauge<?> gauge) {
+        update(gauges, name, gauge, metricFilter.matches(name, gauge));
+    }
+
+    @Override
+    public synchronized void onGaugeRemoved(String name) {
+        gauges.remove(name);
+    }
+
+    @Override
+    public synchronized void onCounterAdded(String name, Counter counter) {
+        update(counters, name, counter, metricFilter.matches(name, counter));
+    }
+
+    @Override
+    public synchronized void onCounterRemoved(String name) {
+        counters.remove(name);
+    }
+
+    @Override
+    public synchronized void onHistogramAdded(String name, Histogram histogram) {
+        update(histograms, name, histogram, metricFilter.matches(name, histogram));
+    }
+
+    @Override
+    public synchronized void onHistogramRemoved(String name) {
+        histograms.remove(name);
+    }
+
+    @Override
+    public synchronized void onMeterAdded(String name, Meter meter) {
+        update(meters, name, meter, metricFilter.matches(name, meter));
+    }
+
+    @Override
+    public synchronized void onMeterRemoved(String name) {
+        meters.remove(name);
+    }
+
+    @Override
+    public synchronized void onTimerAdded(String name, Timer timer) {
+        update(timers, name, timer, metricFilter.matches(name, timer));
+    }
+
+    @Override
+    public synchronized void onTimerRemoved(String name) {
+        timers.remove(name);
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.reporter;
+
+import com.codahale.metrics.MetricFilter;
+
+/**
+ * A {@link MetricFilter} with a version, which is changed whenever the filter might give a different result for an
+ * existing metric. For example, the version of the filter for enabled metrics is changed when a metric level is changed.
+ */
+public interface VersionedMetricFilter extends MetricFilter {
+
+    /**
+     * @return The current version of the filter
+     */
+    long getVersion();
+}
@@ -17,7 +17,9 @@ package org.wso2.carbon.metrics.core.reporter.impl;
 
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
+import org.wso2.carbon.metrics.core.reporter.MetricView;
 import org.wso2.carbon.metrics.core.reporter.ScheduledReporter;
+import org.wso2.carbon.metrics.core.task.ReportingScheduler;
 
 import java.util.concurrent.TimeUnit;
 
@@ -30,21 +32,37 @@ public class ConsoleReporter extends AbstractReporter implements ScheduledReport
 
     private final MetricFilter metricFilter;
 
+    private final MetricView metricView;
+
     private final long pollingPeriod;
 
+    private final long deadline;
+
     private com.codahale.metrics.ConsoleReporter consoleReporter;
 
+    private ReportingScheduler.Schedule schedule;
+
     public ConsoleReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, long pollingPeriod) {
+        this(name, metricRegistry, metricFilter, pollingPeriod, 0);
+    }
+
+    /**
+     * @param deadline The maximum time for a report in seconds. There is no deadline if this is not positive.
+     */
+    public ConsoleReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, long pollingPeriod,
+                           long deadline) {
         super(name);
         this.metricRegistry = metricRegistry;
         this.metricFilter = metricFilter;
+        this.metricView = new MetricView(metricRegistry, metricFilter);
         this.pollingPeriod = pollingPeriod;
+        this.deadline = deadline;
     }
 
     @Override
     public void report() {
         if (consoleReporter != null) {
-            consoleReporter.report();
+            metricView.report(consoleReporter);
         }
     }
 
@@ -52,13 +70,19 @@ public class ConsoleReporter extends AbstractReporter implements ScheduledReport
     public void startReporter() {
         consoleReporter = com.codahale.metrics.ConsoleReporter.forRegistry(metricRegistry).filter(metricFilter)
                 .convertRatesTo(TimeUnit.SECONDS).convertDurationsTo(TimeUnit.MILLISECONDS).build();
-        consoleReporter.start(pollingPeriod, TimeUnit.SECONDS);
+        metricView.start();
+        schedule = ReportingScheduler.getDefault().schedule(getName(), this::report, pollingPeriod, deadline, true,
+                TimeUnit.SECONDS);
     }
 
     @Override
     public void stopReporter() {
         if (consoleReporter != null) {
+            // Wait for a report in progress to complete
+            schedule.cancel(1, TimeUnit.SECONDS);
+            schedule = null;
             consoleReporter.stop();
+            metricView.stop();
             consoleReporter = null;
         }
     }
@@ -17,7 +17,9 @@ package org.wso2.carbon.metrics.core.reporter.impl;
 
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
+import org.wso2.carbon.metrics.core.reporter.MetricView;
 import org.wso2.carbon.metrics.core.reporter.ScheduledReporter;
+import org.wso2.carbon.metrics.core.task.ReportingScheduler;
 
 import java.io.File;
 import java.util.Locale;
@@ -32,25 +34,41 @@ public class CsvReporter extends AbstractReporter implements ScheduledReporter {
 
     private final MetricFilter metricFilter;
 
+    private final MetricView metricView;
+
     private final File directory;
 
     private final long pollingPeriod;
 
+    private final long deadline;
+
     private com.codahale.metrics.CsvReporter csvReporter;
 
+    private ReportingScheduler.Schedule schedule;
+
     public CsvReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, File directory,
                        long pollingPeriod) {
+        this(name, metricRegistry, metricFilter, directory, pollingPeriod, 0);
+    }
+
+    /**
+     * @param deadline The maximum time for a report in seconds. There is no deadline if this is not positive.
+     */
+    public CsvReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, File directory,
+                       long pollingPeriod, long deadline) {
         super(name);
         this.metricRegistry = metricRegistry;
         this.metricFilter = metricFilter;
+        this.metricView = new MetricView(metricRegistry, metricFilter);
         this.directory = directory;
         this.pollingPeriod = pollingPeriod;
+        this.deadline = deadline;
     }
 
     @Override
     public void report() {
         if (csvReporter != null) {
-            csvReporter.report();
+            metricView.report(csvReporter);
         }
     }
 
@@ -59,13 +77,19 @@ public class CsvReporter extends AbstractReporter implements ScheduledReporter {
         csvReporter = com.codahale.metrics.CsvReporter.forRegistry(metricRegistry).formatFor(Locale.US).
                 filter(metricFilter).convertRatesTo(TimeUnit.SECONDS).convertDurationsTo(TimeUnit.MILLISECONDS)
                 .build(directory);
-        csvReporter.start(pollingPeriod, TimeUnit.SECONDS);
+        metricView.start();
+        schedule = ReportingScheduler.getDefault().schedule(getName(), this::report, pollingPeriod, deadline, true,
+                TimeUnit.SECONDS);
     }
 
     @Override
     public void stopReporter() {
         if (csvReporter != null) {
+            // Wait for a report in progress to complete
+            schedule.cancel(1, TimeUnit.SECONDS);
+            schedule = null;
             csvReporter.stop();
+            metricView.stop();
             csvReporter = null;
         }
     }
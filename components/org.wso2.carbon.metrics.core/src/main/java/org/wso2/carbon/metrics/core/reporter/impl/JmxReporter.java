@@ -32,7 +32,7 @@ public class JmxReporter extends AbstractReporter implements ListeningReporter {
         super(name);
         this.jmxReporter = com.codahale.metrics.JmxReporter.forRegistry(metricRegistry).inDomain(domain)
                 .filter(metricFilter).convertRatesTo(TimeUnit.SECONDS).convertDurationsTo(TimeUnit.MILLISECONDS)
-                .build();
+                .createsObjectNamesWith(new TaggedObjectNameFactory()).build();
     }
 
     @Override
@@ -19,7 +19,9 @@ import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MarkerFactory;
+import org.wso2.carbon.metrics.core.reporter.MetricView;
 import org.wso2.carbon.metrics.core.reporter.ScheduledReporter;
+import org.wso2.carbon.metrics.core.task.ReportingScheduler;
 
 import java.util.concurrent.TimeUnit;
 
@@ -32,28 +34,44 @@ public class Slf4jReporter extends AbstractReporter implements ScheduledReporter
 
     private final MetricFilter metricFilter;
 
+    private final MetricView metricView;
+
     private final String loggerName;
 
     private final String markerName;
 
     private final long pollingPeriod;
 
+    private final long deadline;
+
     private com.codahale.metrics.Slf4jReporter slf4jReporter;
 
+    private ReportingScheduler.Schedule schedule;
+
     public Slf4jReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, String loggerName,
                          String markerName, long pollingPeriod) {
+        this(name, metricRegistry, metricFilter, loggerName, markerName, pollingPeriod, 0);
+    }
+
+    /**
+     * @param deadline The maximum time for a report in seconds. There is no deadline if this is not positive.
+     */
+    public Slf4jReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, String loggerName,
+                         String markerName, long pollingPeriod, long deadline) {
         super(name);
         this.metricRegistry = metricRegistry;
         this.metricFilter = metricFilter;
+        this.metricView = new MetricView(metricRegistry, metricFilter);
         this.loggerName = loggerName;
         this.markerName = markerName;
         this.pollingPeriod = pollingPeriod;
+        this.deadline = deadline;
     }
 
     @Override
     public void report() {
         if (slf4jReporter != null) {
-            slf4jReporter.report();
+            metricView.report(slf4jReporter);
         }
     }
 
@@ -66,13 +84,19 @@ public class Slf4jReporter extends AbstractReporter implements ScheduledReporter
             builder.markWith(MarkerFactory.getMarker(markerName));
         }
         slf4jReporter = builder.build();
-        slf4jReporter.start(pollingPeriod, TimeUnit.SECONDS);
+        metricView.start();
+        schedule = ReportingScheduler.getDefault().schedule(getName(), this::report, pollingPeriod, deadline, true,
+                TimeUnit.SECONDS);
     }
 
     @Override
     public void stopReporter() {
         if (slf4jReporter != null) {
+            // Wait for a report in progress to complete
+            schedule.cancel(1, TimeUnit.SECONDS);
+            schedule = null;
             slf4jReporter.stop();
+            metricView.stop();
             slf4jReporter = null;
         }
     }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.reporter.impl;
+
+import com.codahale.metrics.DefaultObjectNameFactory;
+import com.codahale.metrics.ObjectNameFactory;
+import org.wso2.carbon.metrics.core.Tags;
+
+import java.util.Hashtable;
+import java.util.Map;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * An {@link ObjectNameFactory} to add the tags of a tagged metric as key properties of the {@link ObjectName}. eg.
+ * {@code domain:name=org.wso2.endpoint.requests,endpoint=/orders,tenant=carbon.super}
+ */
+class TaggedObjectNameFactory implements ObjectNameFactory {
+
+    private static final String NAME_KEY = "name";
+
+    private final ObjectNameFactory defaultObjectNameFactory = new DefaultObjectNameFactory();
+
+    @Override
+    public ObjectName createName(String type, String domain, String name) {
+        Tags tags;
+        try {
+            tags = Tags.fromMetricName(name);
+        } catch (IllegalArgumentException e) {
+            // An untagged name ending with characters similar to tags
+            return defaultObjectNameFactory.createName(type, domain, name);
+        }
+        if (tags.isEmpty() || tags.get(NAME_KEY) != null) {
+            return defaultObjectNameFactory.createName(type, domain, name);
+        }
+        Hashtable<String, String> properties = new Hashtable<>();
+        properties.put(NAME_KEY, quoteIfNeeded(Tags.getBaseName(name)));
+        for (Map.Entry<String, String> tag : tags.asMap().entrySet()) {
+            properties.put(tag.getKey(), quoteIfNeeded(tag.getValue()));
+        }
+        try {
+            return new ObjectName(domain, properties);
+        } catch (MalformedObjectNameException e) {
+            return defaultObjectNameFactory.createName(type, domain, name);
+        }
+    }
+
+    private static String quoteIfNeeded(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ':' || c == '"' || c == '*' || c == '?' || c == '\\' || c == '\n') {
+                return ObjectName.quote(value);
+            }
+        }
+        return value;
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.task;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * A scheduler to run periodic reporting tasks using a bounded pool of worker threads.
+ * </p>
+ * <p>
+ * A single timer thread triggers the tasks and the tasks are run in the worker threads. The first run of each task is
+ * started after a random delay within the period, so that the tasks scheduled with the same period do not run at the
+ * same time. If a task is still waiting for a worker thread or running when it is triggered again, the new run is
+ * skipped. Therefore at most one run of each task is queued or running at any time.
+ * </p>
+ * <p>
+ * A task can be given a deadline. If a run takes longer than the deadline of the task, the worker thread running the
+ * task is interrupted. The tasks have no deadline by default, since interrupting a reporter may abort a write in
+ * progress.
+ * </p>
+ * <p>
+ * A task can be cancelled with a timeout to wait for a run in progress, as when stopping the executor of a task.
+ * </p>
+ */
+public final class ReportingScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportingScheduler.class);
+
+    private static final int DEFAULT_WORKER_THREADS =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private final ScheduledThreadPoolExecutor timer;
+
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Lazily creates the default scheduler
+     */
+    private static class DefaultSchedulerHolder {
+        private static final ReportingScheduler DEFAULT_SCHEDULER =
+                new ReportingScheduler("metrics-reporting", DEFAULT_WORKER_THREADS);
+    }
+
+    /**
+     * Creates a new {@link ReportingScheduler}.
+     *
+     * @param name          The name used for the threads
+     * @param workerThreads The maximum number of threads to run the tasks
+     */
+    public ReportingScheduler(String name, int workerThreads) {
+        if (workerThreads < 1) {
+            throw new IllegalArgumentException("The number of worker threads should be positive");
+        }
+        timer = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory(name + "-timer"));
+        timer.setRemoveOnCancelPolicy(true);
+        workers = new ThreadPoolExecutor(workerThreads, workerThreads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(name + "-worker"));
+        // The worker threads are not kept when there are no tasks to run
+        workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Get the scheduler shared by all reporters.
+     *
+     * @return The default {@link ReportingScheduler}
+     */
+    public static ReportingScheduler getDefault() {
+        return DefaultSchedulerHolder.DEFAULT_SCHEDULER;
+    }
+
+    /**
+     * Shuts down the scheduler. The tasks in progress are interrupted. The default scheduler should not be shut down.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /**
+     * Schedules a task to run periodically with a random start offset. The runs have no deadline.
+     *
+     * @param name   The name of the task used in logs
+     * @param task   The task to run
+     * @param period The amount of time between each run
+     * @param unit   The unit for {@code period}
+     * @return The {@link Schedule} to cancel the task
+     */
+    public Schedule schedule(String name, Runnable task, long period, TimeUnit unit) {
+        return schedule(name, task, period, 0, true, unit);
+    }
+
+    /**
+     * Schedules a task to run periodically.
+     *
+     * @param name     The name of the task used in logs
+     * @param task     The task to run
+     * @param period   The amount of time between each run
+     * @param deadline The maximum amount of time for a run. The run is interrupted when it takes longer than this.
+     *                 There is no deadline if this is not positive. This should be longer than the time taken by a
+     *                 normal run.
+     * @param jitter   Whether to start the first run after a random delay within the period instead of after the
+     *                 period
+     * @param unit     The unit for {@code period} and {@code deadline}
+     * @return The {@link Schedule} to cancel the task
+     */
+    public Schedule schedule(String name, Runnable task, long period, long deadline, boolean jitter,
+                             TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period should be positive");
+        }
+        long periodNanos = unit.toNanos(period);
+        long initialDelay = jitter ? ThreadLocalRandom.current().nextLong(periodNanos) : periodNanos;
+        Schedule schedule = new Schedule(name, task, unit.toNanos(deadline));
+        schedule.timerFuture = timer.scheduleAtFixedRate(schedule::trigger, initialDelay, periodNanos,
+                TimeUnit.NANOSECONDS);
+        return schedule;
+    }
+
+    /**
+     * A periodic task scheduled in the {@link ReportingScheduler}.
+     */
+    public final class Schedule {
+
+        private final String name;
+
+        private final Runnable task;
+
+        private final long deadlineNanos;
+
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private final AtomicLong skippedRuns = new AtomicLong();
+
+        private final AtomicLong interruptedRuns = new AtomicLong();
+
+        private volatile boolean started;
+
+        private volatile ScheduledFuture<?> timerFuture;
+
+        // The last run submitted to the worker threads
+        private volatile FutureTask<?> currentRun;
+
+        private Schedule(String name, Runnable task, long deadlineNanos) {
+            this.name = name;
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Called by the timer thread. This method should return quickly.
+         */
+        private void trigger() {
+            if (!running.compareAndSet(false, true)) {
+                long skipped = skippedRuns.incrementAndGet();
+                // Avoid flooding the logs when a task is consistently slower than its period
+                if (logger.isWarnEnabled() && (skipped == 1 || skipped % 100 == 0)) {
+                    logger.warn("Skipping the run of '{}' as the previous run is still in progress. Skipped runs: {}",
+                            name, skipped);
+                }
+                return;
+            }
+            started = false;
+            FutureTask<?> future = new FutureTask<>(this::run, null);
+            currentRun = future;
+            try {
+                workers.execute(future);
+            } catch (RejectedExecutionException e) {
+                finished();
+                logger.error("Failed to run '" + name + "'", e);
+                return;
+            }
+            if (deadlineNanos > 0) {
+                timer.schedule(() -> checkDeadline(future), deadlineNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        private void run() {
+            started = true;
+            try {
+                task.run();
+            } catch (RuntimeException e) {
+                logger.error("Error when running '" + name + "'", e);
+            } finally {
+                finished();
+            }
+        }
+
+        private synchronized void finished() {
+            running.set(false);
+            notifyAll();
+        }
+
+        private void checkDeadline(FutureTask<?> future) {
+            if (!future.isDone() && future.cancel(true)) {
+                long interrupted = interruptedRuns.incrementAndGet();
+                if (!started) {
+                    // The run was waiting for a worker thread and it will not be run. Remove it from the queue so that
+                    // the cancelled runs do not pile up while the worker threads are busy.
+                    workers.remove(future);
+                    finished();
+                }
+                if (logger.isWarnEnabled()) {
+                    logger.warn("The run of '{}' did not complete within the deadline. Interrupted runs: {}",
+                            name, interrupted);
+                }
+            }
+        }
+
+        /**
+         * Cancels the task. A run in progress is allowed to complete, but this does not wait for it. A run waiting for
+         * a worker thread is not run.
+         */
+        public void cancel() {
+            timerFuture.cancel(false);
+            FutureTask<?> future = currentRun;
+            if (future != null && !started && future.cancel(false)) {
+                workers.remove(future);
+                finished();
+            }
+        }
+
+        /**
+         * Cancels the task and waits for a run in progress to complete. If the run does not complete within the
+         * timeout, it is interrupted and waited for the same timeout again.
+         *
+         * @param timeout The maximum time to wait for the run in progress, before and after interrupting it
+         * @param unit    The unit for {@code timeout}
+         * @return {@code true} if there is no run in progress
+         */
+        public boolean cancel(long timeout, TimeUnit unit) {
+            cancel();
+            try {
+                if (awaitCompletion(timeout, unit)) {
+                    return true;
+                }
+                FutureTask<?> future = currentRun;
+                if (future != null) {
+                    future.cancel(true);
+                }
+                return awaitCompletion(timeout, unit);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return !running.get();
+            }
+        }
+
+        private synchronized boolean awaitCompletion(long timeout, TimeUnit unit) throws InterruptedException {
+            long remainingNanos = unit.toNanos(timeout);
+            long deadline = System.nanoTime() + remainingNanos;
+            while (running.get()) {
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+                remainingNanos = deadline - System.nanoTime();
+            }
+            return true;
+        }
+
+        /**
+         * @return The number of runs skipped as the previous run was still queued or in progress
+         */
+        public long getSkippedRuns() {
+            return skippedRuns.get();
+        }
+
+        /**
+         * @return The number of runs interrupted as the deadline was exceeded
+         */
+        public long getInterruptedRuns() {
+            return interruptedRuns.get();
+        }
+    }
+}
@@ -19,11 +19,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
-import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The abstract base class for scheduled tasks
@@ -32,43 +29,20 @@ public abstract class ScheduledTask implements Closeable, Runnable {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduledTask.class);
 
-    /**
-     * A simple named thread factory.
-     */
-    private static class NamedThreadFactory implements ThreadFactory {
-        private final ThreadGroup group;
-        private final AtomicInteger threadNumber = new AtomicInteger(1);
-        private final String namePrefix;
-
-        private NamedThreadFactory(String name) {
-            final SecurityManager s = System.getSecurityManager();
-            this.group = (s != null) ? s.getThreadGroup() : Thread.currentThread().getThreadGroup();
-            this.namePrefix = name + "-thread-";
-        }
-
-        @Override
-        public Thread newThread(Runnable r) {
-            final Thread t = new Thread(group, r, namePrefix + threadNumber.getAndIncrement(), 0);
-            t.setDaemon(true);
-            if (t.getPriority() != Thread.NORM_PRIORITY) {
-                t.setPriority(Thread.NORM_PRIORITY);
-            }
-            return t;
-        }
-    }
-
-    private static final AtomicInteger FACTORY_ID = new AtomicInteger();
+    private final String name;
 
     private final ScheduledExecutorService executor;
 
+    private ReportingScheduler.Schedule schedule;
+
     /**
-     * Creates a new {@link ScheduledTask} instance.
+     * Creates a new {@link ScheduledTask} instance. The task is run by the default {@link ReportingScheduler}.
      *
      * @param name the task's name
      */
     protected ScheduledTask(String name) {
-        this(Executors
-                .newSingleThreadScheduledExecutor(new NamedThreadFactory(name + '-' + FACTORY_ID.incrementAndGet())));
+        this.name = name;
+        this.executor = null;
     }
 
     /**
@@ -77,6 +51,7 @@ public abstract class ScheduledTask implements Closeable, Runnable {
      * @param executor the executor to use while scheduling tasks.
      */
     protected ScheduledTask(ScheduledExecutorService executor) {
+        this.name = getClass().getSimpleName();
         this.executor = executor;
     }
 
@@ -87,14 +62,41 @@ public abstract class ScheduledTask implements Closeable, Runnable {
      * @param unit   the unit for {@code period}
      */
     public void start(long period, TimeUnit unit) {
-        executor.scheduleAtFixedRate(this, period, period, unit);
+        start(period, 0, unit);
+    }
+
+    /**
+     * Starts the tasks with the given period and deadline. The deadline is not applied if the task was created with
+     * an executor.
+     *
+     * @param period   the amount of time between each run
+     * @param deadline the maximum amount of time for a run, after which the run is interrupted. There is no deadline
+     *                 if this is not positive.
+     * @param unit     the unit for {@code period} and {@code deadline}
+     */
+    public synchronized void start(long period, long deadline, TimeUnit unit) {
+        if (executor != null) {
+            executor.scheduleAtFixedRate(this, period, period, unit);
+        } else if (schedule == null) {
+            schedule = ReportingScheduler.getDefault().schedule(name, this, period, deadline, true, unit);
+        }
     }
 
     /**
-     * Stops the task and shuts down its thread of execution. Uses the shutdown pattern from
-     * http://docs.oracle.com/javase/7/docs/api/java/util/concurrent/ExecutorService.html
+     * Stops the task. A run in progress is given a second to complete. Then it is interrupted and given another
+     * second. If the task was created with an executor, shuts down its thread of execution. Uses the shutdown
+     * pattern from http://docs.oracle.com/javase/7/docs/api/java/util/concurrent/ExecutorService.html
      */
-    public void stop() {
+    public synchronized void stop() {
+        if (executor == null) {
+            if (schedule != null) {
+                if (!schedule.cancel(1, TimeUnit.SECONDS)) {
+                    logger.error(name + ": The run in progress did not complete");
+                }
+                schedule = null;
+            }
+            return;
+        }
         executor.shutdown(); // Disable new tasks from being submitted
         try {
             // Wait a while for existing tasks to terminate
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.UniformReservoir;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.core.impl.reservoir.BufferedExponentiallyDecayingReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.BufferedSlidingWindowReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.BufferedUniformReservoir;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Test Cases for the reservoirs taking snapshots into reusable buffers.
+ */
+public class BufferedReservoirTest {
+
+    private static final double[] QUANTILES = {0, 0.1, 0.25, 0.5, 0.75, 0.95, 0.98, 0.99, 0.999, 1};
+
+    @Test
+    public void testSlidingWindowSnapshot() {
+        Reservoir expected = new SlidingWindowReservoir(100);
+        Reservoir actual = new BufferedSlidingWindowReservoir(100);
+        Random random = new Random(1);
+        IntStream.range(0, 250).forEach(i -> {
+            long value = random.nextInt(1000);
+            expected.update(value);
+            actual.update(value);
+        });
+        Assert.assertEquals(actual.size(), 100);
+        assertSnapshot(actual.getSnapshot(), expected.getSnapshot());
+    }
+
+    @Test
+    public void testUniformSnapshot() {
+        // All values are kept until the reservoir is full
+        Reservoir expected = new UniformReservoir(100);
+        Reservoir actual = new BufferedUniformReservoir(100);
+        Random random = new Random(2);
+        IntStream.range(0, 99).forEach(i -> {
+            long value = random.nextInt(1000);
+            expected.update(value);
+            actual.update(value);
+        });
+        assertSnapshot(actual.getSnapshot(), expected.getSnapshot());
+
+        IntStream.range(0, 1000).forEach(actual::update);
+        Assert.assertEquals(actual.size(), 100);
+        Assert.assertEquals(actual.getSnapshot().size(), 100);
+    }
+
+    @Test
+    public void testExponentiallyDecayingSnapshot() {
+        Clock clock = new FixedClock();
+        ExponentiallyDecayingReservoir expected = new ExponentiallyDecayingReservoir(1028, 0.015, clock);
+        BufferedExponentiallyDecayingReservoir actual = new BufferedExponentiallyDecayingReservoir(1028, 0.015,
+                clock);
+        long start = clock.getTime() / 1000;
+        Random random = new Random(3);
+        IntStream.range(0, 500).forEach(i -> {
+            long value = random.nextInt(1000);
+            // Vary the weights
+            long timestamp = start + random.nextInt(300);
+            expected.update(value, timestamp);
+            actual.update(value, timestamp);
+        });
+        Assert.assertEquals(actual.size(), 500);
+        assertSnapshot(actual.getSnapshot(), expected.getSnapshot());
+    }
+
+    @Test
+    public void testEmptySnapshot() {
+        Snapshot snapshot = new BufferedExponentiallyDecayingReservoir().getSnapshot();
+        Assert.assertEquals(snapshot.size(), 0);
+        Assert.assertEquals(snapshot.getMedian(), 0D);
+        Assert.assertEquals(snapshot.getMax(), 0);
+        Assert.assertEquals(snapshot.getMean(), 0D);
+        Assert.assertEquals(snapshot.getStdDev(), 0D);
+        Assert.assertEquals(new BufferedUniformReservoir().getSnapshot().getValues().length, 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidQuantile() {
+        new BufferedSlidingWindowReservoir(10).getSnapshot().getValue(1.5);
+    }
+
+    @Test
+    public void testBufferReuse() {
+        Reservoir reservoir = new BufferedSlidingWindowReservoir(10);
+        IntStream.rangeClosed(1, 5).forEach(reservoir::update);
+        Snapshot snapshot1 = reservoir.getSnapshot();
+        IntStream.rangeClosed(6, 10).forEach(reservoir::update);
+        Snapshot snapshot2 = reservoir.getSnapshot();
+        Assert.assertNotSame(snapshot2, snapshot1);
+        // The previous snapshot is not changed by the next snapshot
+        Assert.assertEquals(snapshot1.size(), 5);
+        Assert.assertEquals(snapshot1.getMax(), 5);
+        Assert.assertEquals(snapshot2.size(), 10);
+        Assert.assertEquals(snapshot2.getMax(), 10);
+
+        reservoir.update(11);
+        Snapshot snapshot3 = reservoir.getSnapshot();
+        Assert.assertSame(snapshot3, snapshot1);
+        Assert.assertEquals(snapshot3.getMin(), 2);
+        Assert.assertEquals(snapshot3.getMax(), 11);
+    }
+
+    @Test
+    public void testDump() {
+        Reservoir reservoir = new BufferedSlidingWindowReservoir(10);
+        reservoir.update(3);
+        reservoir.update(1);
+        reservoir.update(2);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        reservoir.getSnapshot().dump(outputStream);
+        Assert.assertEquals(outputStream.toString(), String.format("1%n2%n3%n"));
+    }
+
+    private void assertSnapshot(Snapshot actual, Snapshot expected) {
+        Assert.assertEquals(actual.size(), expected.size());
+        Assert.assertEquals(actual.getValues(), expected.getValues());
+        Assert.assertEquals(actual.getMin(), expected.getMin());
+        Assert.assertEquals(actual.getMax(), expected.getMax());
+        Assert.assertEquals(actual.getMean(), expected.getMean(), 1E-6);
+        Assert.assertEquals(actual.getStdDev(), expected.getStdDev(), 1E-6);
+        for (double quantile : QUANTILES) {
+            Assert.assertEquals(actual.getValue(quantile), expected.getValue(quantile), 1E-6,
+                    "Quantile " + quantile);
+        }
+        Assert.assertEquals(actual.get999thPercentile(), expected.get999thPercentile(), 1E-6);
+    }
+
+    /**
+     * A {@link Clock} which does not move.
+     */
+    private static class FixedClock extends Clock {
+
+        private final long time = System.currentTimeMillis();
+
+        @Override
+        public long getTick() {
+            return 0;
+        }
+
+        @Override
+        public long getTime() {
+            return time;
+        }
+    }
+}
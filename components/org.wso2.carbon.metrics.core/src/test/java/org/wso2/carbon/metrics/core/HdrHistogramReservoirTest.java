@@ -15,14 +15,28 @@
  */
 package org.wso2.carbon.metrics.core;
 
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.UniformSnapshot;
+import org.HdrHistogram.Histogram;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.metrics.core.impl.SnapshotImpl;
 import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramReservoir;
 import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramResetOnSnapshotReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramSnapshot;
+import org.wso2.carbon.metrics.core.impl.reservoir.MergingHdrHistogramReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.RollingHdrHistogramReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.StripedHdrHistogramReservoir;
 
 import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
+import java.util.zip.DataFormatException;
 
 /**
  * Test HdrHistogram Reservoir implementations.
@@ -69,14 +83,267 @@ public class HdrHistogramReservoirTest extends BaseMetricTest {
         Assert.assertEquals(values.length, 0);
     }
 
+    @Test
+    public void testStripedHdrHistogramReservoir() throws InterruptedException {
+        StripedHdrHistogramReservoir stripedHdrHistogramReservoir = new StripedHdrHistogramReservoir(2, 4, false);
+        updateFromThreads(stripedHdrHistogramReservoir);
+        Assert.assertEquals(stripedHdrHistogramReservoir.size(), 100);
+
+        com.codahale.metrics.Snapshot snapshot = stripedHdrHistogramReservoir.getSnapshot();
+        testSnapshot(new SnapshotImpl(snapshot));
+        testDump(snapshot);
+
+        // The snapshot is reused until new values are recorded
+        Assert.assertSame(stripedHdrHistogramReservoir.getSnapshot(), snapshot);
+
+        stripedHdrHistogramReservoir.update(100);
+        com.codahale.metrics.Snapshot snapshot2 = stripedHdrHistogramReservoir.getSnapshot();
+        Assert.assertNotSame(snapshot2, snapshot);
+        Assert.assertEquals(snapshot2.size(), 101);
+        // The previous snapshot should not change
+        testSnapshot(new SnapshotImpl(snapshot));
+    }
+
+    @Test
+    public void testStripedHdrHistogramResetOnSnapshotReservoir() throws InterruptedException {
+        StripedHdrHistogramReservoir stripedHdrHistogramReservoir = new StripedHdrHistogramReservoir(2, 3, true);
+        updateFromThreads(stripedHdrHistogramReservoir);
+
+        com.codahale.metrics.Snapshot snapshot = stripedHdrHistogramReservoir.getSnapshot();
+        testSnapshot(new SnapshotImpl(snapshot));
+        testDump(snapshot);
+
+        // Get snapshot again
+        com.codahale.metrics.Snapshot snapshot2 = stripedHdrHistogramReservoir.getSnapshot();
+        Assert.assertEquals(snapshot2.getValues().length, 0);
+        // The previous snapshot should not change when the histogram is reused
+        testSnapshot(new SnapshotImpl(snapshot));
+    }
+
+    @Test
+    public void testMergingHdrHistogramReservoir() {
+        MergingHdrHistogramReservoir parent = new MergingHdrHistogramReservoir(2, 1, false);
+        MergingHdrHistogramReservoir child1 = new MergingHdrHistogramReservoir(2, 2, false);
+        MergingHdrHistogramReservoir child2 = new MergingHdrHistogramReservoir(2, 1, false);
+        parent.addSource(child1);
+        parent.addSource(child2);
+        // Adding again should not merge the values twice
+        parent.addSource(child1);
+        parent.addSource(parent);
+
+        IntStream.rangeClosed(1, 40).forEach(child1::update);
+        IntStream.rangeClosed(41, 90).forEach(child2::update);
+        IntStream.rangeClosed(91, 100).forEach(parent::update);
+
+        Assert.assertEquals(child1.size(), 40);
+        Assert.assertEquals(child2.getSnapshot().getMin(), 41);
+        com.codahale.metrics.Snapshot snapshot = parent.getSnapshot();
+        testSnapshot(new SnapshotImpl(snapshot));
+        // The values are kept in the sources after merging
+        testSnapshot(new SnapshotImpl(parent.getSnapshot()));
+        Assert.assertEquals(child1.size(), 40);
+    }
+
+    @Test
+    public void testMergingHdrHistogramResetOnSnapshotReservoir() {
+        MergingHdrHistogramReservoir parent = new MergingHdrHistogramReservoir(2, 1, true);
+        MergingHdrHistogramReservoir child = new MergingHdrHistogramReservoir(2, 1, true);
+        parent.addSource(child);
+
+        IntStream.rangeClosed(1, 50).forEach(child::update);
+        IntStream.rangeClosed(51, 100).forEach(parent::update);
+        // Taking a snapshot of the child should not reset the values merged into the parent
+        Assert.assertEquals(child.getSnapshot().size(), 50);
+        Assert.assertEquals(child.getSnapshot().size(), 0);
+        testSnapshot(new SnapshotImpl(parent.getSnapshot()));
+        Assert.assertEquals(parent.getSnapshot().size(), 0);
+
+        child.update(200);
+        com.codahale.metrics.Snapshot snapshot = parent.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 1);
+        Assert.assertEquals(snapshot.getMin(), 200);
+    }
+
+    @Test
+    public void testMergingHdrHistogramReservoirPaused() {
+        MergingHdrHistogramReservoir parent = new MergingHdrHistogramReservoir(2, 1, false);
+        MergingHdrHistogramReservoir child = new MergingHdrHistogramReservoir(2, 1, false);
+        IntStream.rangeClosed(1, 20).forEach(child::update);
+        Assert.assertEquals(child.size(), 20);
+        // The values recorded in the source before it is added are merged
+        parent.addSource(child);
+        IntStream.rangeClosed(21, 50).forEach(child::update);
+
+        parent.setMerging(false);
+        IntStream.rangeClosed(51, 80).forEach(child::update);
+        parent.update(1000);
+        com.codahale.metrics.Snapshot snapshot = parent.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 51);
+        Assert.assertEquals(snapshot.getMax(), 1000, 10);
+
+        parent.setMerging(true);
+        child.update(100);
+        snapshot = parent.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 52);
+        Assert.assertEquals(snapshot.getValues()[50], 100);
+        Assert.assertEquals(child.size(), 81);
+    }
+
+    @Test
+    public void testRollingHdrHistogramReservoir() {
+        ManualClock clock = new ManualClock();
+        RollingHdrHistogramReservoir reservoir = new RollingHdrHistogramReservoir(2, 60, TimeUnit.SECONDS, 6, clock);
+        IntStream.rangeClosed(1, 100).forEach(reservoir::update);
+        testSnapshot(new SnapshotImpl(reservoir.getSnapshot()));
+        // The snapshot does not reset the values
+        testSnapshot(new SnapshotImpl(reservoir.getSnapshot()));
+
+        clock.addSeconds(30);
+        IntStream.rangeClosed(101, 150).forEach(reservoir::update);
+        Assert.assertEquals(reservoir.size(), 150);
+
+        // The first bucket is dropped after the window
+        clock.addSeconds(30);
+        com.codahale.metrics.Snapshot snapshot = reservoir.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 50);
+        Assert.assertEquals(snapshot.getMin(), 101);
+
+        reservoir.update(200);
+        clock.addSeconds(50);
+        snapshot = reservoir.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 1);
+        Assert.assertEquals(snapshot.getMax(), 200);
+
+        // All buckets are reset after a long idle period
+        clock.addSeconds(600);
+        Assert.assertEquals(reservoir.getSnapshot().size(), 0);
+        reservoir.update(1);
+        Assert.assertEquals(reservoir.size(), 1);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testRollingHdrHistogramReservoirBuckets() {
+        new RollingHdrHistogramReservoir(2, 1, TimeUnit.MINUTES, 0);
+    }
+
+    @Test
+    public void testHdrHistogramSnapshotPercentiles() {
+        Random random = new Random(1);
+        double[] quantiles = {0.0, 0.001, 0.25, 0.5, 0.75, 0.95, 0.98, 0.99, 0.999, 0.9999, 1.0};
+        for (int i = 0; i < 100; i++) {
+            Histogram histogram = new Histogram(2);
+            int count = random.nextInt(i % 10 == 0 ? 3 : 10000);
+            for (int j = 0; j < count; j++) {
+                histogram.recordValue(random.nextInt(1 + random.nextInt(1000000)));
+            }
+            HdrHistogramSnapshot snapshot = new HdrHistogramSnapshot(histogram);
+            for (double quantile : quantiles) {
+                Assert.assertEquals(snapshot.getValue(quantile), (double) histogram.getValueAtPercentile(
+                        quantile * 100.0), "Value at " + quantile + " of " + count + " values");
+            }
+        }
+    }
+
+    @Test
+    public void testHdrHistogramSnapshotBuckets() throws DataFormatException {
+        Histogram histogram = new Histogram(2);
+        histogram.recordValueWithCount(10, 3);
+        histogram.recordValueWithCount(20, 2);
+        histogram.recordValue(30);
+        Snapshot snapshot = new SnapshotImpl(new HdrHistogramSnapshot(histogram));
+
+        Assert.assertEquals(snapshot.getValues(), new long[]{10, 10, 10, 20, 20, 30});
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshot.dump(outputStream);
+        Assert.assertEquals(new String(outputStream.toByteArray()),
+                String.format("10\t3%n20\t2%n30\t1%n"));
+
+        List<long[]> buckets = new ArrayList<>();
+        snapshot.forEachBucket((value, count) -> buckets.add(new long[]{value, count}));
+        Assert.assertEquals(buckets.size(), 3);
+        Assert.assertEquals(buckets.get(0), new long[]{10, 3});
+        Assert.assertEquals(buckets.get(1), new long[]{20, 2});
+        Assert.assertEquals(buckets.get(2), new long[]{30, 1});
+
+        Assert.assertEquals(Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(snapshot.exportBuckets()), 0),
+                histogram);
+    }
+
+    @Test
+    public void testSnapshotDefaultBuckets() throws DataFormatException {
+        Snapshot snapshot = new SnapshotImpl(new UniformSnapshot(new long[]{30, 10, 20, 10, 10, 20}));
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        snapshot.dump(outputStream);
+        Assert.assertEquals(new String(outputStream.toByteArray()),
+                String.format("10\t3%n20\t2%n30\t1%n"));
+
+        Histogram histogram = Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(snapshot.exportBuckets()), 0);
+        Assert.assertEquals(histogram.getTotalCount(), 6);
+        Assert.assertEquals(histogram.getCountAtValue(10), 3);
+        Assert.assertEquals(histogram.getCountAtValue(20), 2);
+        Assert.assertEquals(histogram.getCountAtValue(30), 1);
+    }
+
+    @Test
+    public void testHdrHistogramSnapshotSampledValues() {
+        Histogram histogram = new Histogram(2);
+        histogram.recordValueWithCount(100, 50_000_000L);
+        histogram.recordValueWithCount(1000, 50_000_000L);
+        HdrHistogramSnapshot snapshot = new HdrHistogramSnapshot(histogram);
+
+        Assert.assertEquals(snapshot.size(), 100_000_000);
+        long[] values = snapshot.getValues();
+        Assert.assertEquals(values.length, HdrHistogramSnapshot.MAX_VALUES);
+        // The sample has the same distribution as the recorded values
+        Assert.assertEquals(values[0], 100L);
+        Assert.assertEquals(values[HdrHistogramSnapshot.MAX_VALUES / 2 - 1], 100L);
+        Assert.assertEquals(values[HdrHistogramSnapshot.MAX_VALUES / 2], histogram.highestEquivalentValue(1000));
+        Assert.assertEquals(values[HdrHistogramSnapshot.MAX_VALUES - 1], histogram.highestEquivalentValue(1000));
+    }
+
+    /**
+     * Update the values from 1 to 100 using multiple threads to record values in different stripes.
+     */
+    private void updateFromThreads(Reservoir reservoir) throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            int offset = i;
+            threads[i] = new Thread(() -> IntStream.rangeClosed(1, 100)
+                    .filter(value -> value % threads.length == offset).forEach(reservoir::update));
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
     private void testDump(com.codahale.metrics.Snapshot snapshot) {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
         snapshot.dump(outputStream);
         String output = new String(outputStream.toByteArray());
 
         StringBuilder stringBuilder = new StringBuilder();
-        IntStream.rangeClosed(1, 100).forEach(i -> stringBuilder.append(String.format("%d%n", i)));
+        IntStream.rangeClosed(1, 100).forEach(i -> stringBuilder.append(String.format("%d\t1%n", i)));
 
         Assert.assertEquals(output, stringBuilder.toString());
     }
+
+    /**
+     * A {@link Clock} which is moved manually.
+     */
+    private static class ManualClock extends Clock {
+
+        private long tick;
+
+        private void addSeconds(long seconds) {
+            tick += TimeUnit.SECONDS.toNanos(seconds);
+        }
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+    }
 }
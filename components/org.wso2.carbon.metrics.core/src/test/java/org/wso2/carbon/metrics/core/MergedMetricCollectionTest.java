@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.config.ConfigurationException;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
+
+import java.util.stream.IntStream;
+
+/**
+ * Test Cases for metric collections updating only the most specific metric.
+ */
+public class MergedMetricCollectionTest {
+
+    private Metrics metrics;
+
+    private MetricService metricService;
+
+    private MetricManagementService metricManagementService;
+
+    @BeforeClass
+    private void init() throws ConfigurationException {
+        metrics = new Metrics(TestUtils.getConfigProvider("metrics-merge-collections.yaml"));
+        metrics.activate();
+        metricService = metrics.getMetricService();
+        metricManagementService = metrics.getMetricManagementService();
+    }
+
+    @AfterClass
+    private void destroy() {
+        metrics.deactivate();
+    }
+
+    @Test
+    public void testConfigLoad() throws ConfigurationException {
+        MetricsConfig metricsConfig = TestUtils.getConfigProvider("metrics-merge-collections.yaml")
+                .getConfigurationObject(MetricsConfig.class);
+        Assert.assertTrue(metricsConfig.getReservoir().getParameters().isMergeHistogramCollections());
+        Assert.assertTrue(metricsConfig.getCounter().isMergeCollections());
+        Assert.assertTrue(metricsConfig.getMeter().isMergeCollections());
+
+        MetricsConfig defaultConfig = new MetricsConfig();
+        Assert.assertFalse(defaultConfig.getReservoir().getParameters().isMergeHistogramCollections());
+        Assert.assertFalse(defaultConfig.getCounter().isMergeCollections());
+        Assert.assertFalse(defaultConfig.getMeter().isMergeCollections());
+    }
+
+    @Test
+    public void testHistogramCount() {
+        Histogram sub2 = metricService.histogram("org.wso2.carbon.metrics.merged.test1[+].sub1[+].sub2.value",
+                Level.INFO, Level.INFO, Level.INFO);
+        Histogram sub1 = metricService.histogram("org.wso2.carbon.metrics.merged.test1[+].sub1.value", Level.INFO,
+                Level.INFO);
+        Histogram main = metricService.histogram("org.wso2.carbon.metrics.merged.test1.value", Level.INFO);
+
+        sub2.update(1);
+        Assert.assertEquals(sub1.getCount(), 1);
+        Assert.assertEquals(sub2.getCount(), 1);
+        Assert.assertEquals(main.getCount(), 1);
+
+        sub1.update(2);
+        Assert.assertEquals(sub1.getCount(), 2);
+        Assert.assertEquals(sub2.getCount(), 1);
+        Assert.assertEquals(main.getCount(), 2);
+
+        main.update(3);
+        Assert.assertEquals(sub1.getCount(), 2);
+        Assert.assertEquals(sub2.getCount(), 1);
+        Assert.assertEquals(main.getCount(), 3);
+
+        // Getting the collection again should not merge the values twice
+        sub2 = metricService.histogram("org.wso2.carbon.metrics.merged.test1[+].sub1[+].sub2.value",
+                Level.INFO, Level.INFO, Level.INFO);
+        sub2.update(4);
+        Assert.assertEquals(sub1.getCount(), 3);
+        Assert.assertEquals(main.getCount(), 4);
+        Assert.assertEquals(main.getSnapshot().size(), 4);
+    }
+
+    @Test
+    public void testHistogramSnapshot() throws MetricNotFoundException {
+        Histogram sub1 = metricService.histogram("org.wso2.carbon.metrics.merged.test2[+].sub1.value", Level.INFO,
+                Level.INFO);
+        Histogram sub2 = metricService.histogram("org.wso2.carbon.metrics.merged.test2[+].sub2.value", Level.INFO,
+                Level.INFO);
+        IntStream.rangeClosed(1, 60).forEach(sub1::update);
+        IntStream.rangeClosed(61, 100).forEach(sub2::update);
+
+        Snapshot snapshot = metricService.histogram("org.wso2.carbon.metrics.merged.test2.value").getSnapshot();
+        Assert.assertEquals(snapshot.size(), 100);
+        Assert.assertEquals(snapshot.getMin(), 1);
+        Assert.assertEquals(snapshot.getMax(), 100);
+        Assert.assertEquals(snapshot.getMedian(), 50D, 0.2D);
+        Assert.assertEquals(sub1.getSnapshot().getMax(), 60);
+        Assert.assertEquals(sub2.getSnapshot().getMin(), 61);
+    }
+
+    @Test
+    public void testHistogramLevels() throws MetricNotFoundException {
+        Histogram sub1 = metricService.histogram("org.wso2.carbon.metrics.merged.test5[+].sub1.value", Level.DEBUG,
+                Level.INFO);
+        Histogram main = metricService.histogram("org.wso2.carbon.metrics.merged.test5.value");
+        Histogram leaf = metricService.histogram("org.wso2.carbon.metrics.merged.test5.sub1.value");
+
+        // The value is recorded in the disabled most specific histogram, as the parent is enabled
+        sub1.update(1);
+        Assert.assertEquals(main.getCount(), 1);
+        Assert.assertEquals(main.getSnapshot().getMax(), 1);
+        Assert.assertEquals(leaf.getCount(), 1);
+
+        // Nothing is recorded when all histograms are disabled
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test5.value", Level.OFF);
+        sub1.update(2);
+        Assert.assertEquals(leaf.getCount(), 1);
+
+        // A disabled parent does not merge the values
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test5.sub1.value", Level.DEBUG);
+        sub1.update(3);
+        Assert.assertEquals(leaf.getCount(), 2);
+        Assert.assertEquals(main.getCount(), 1);
+        Assert.assertEquals(main.getSnapshot().size(), 1);
+
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test5.value", Level.INFO);
+        sub1.update(4);
+        Assert.assertEquals(leaf.getCount(), 3);
+        Assert.assertEquals(main.getCount(), 2);
+        Snapshot snapshot = main.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 2);
+        Assert.assertEquals(snapshot.getMin(), 1);
+        Assert.assertEquals(snapshot.getMax(), 4);
+    }
+
+    @Test
+    public void testCounter() throws MetricNotFoundException {
+        Counter sub2 = metricService.counter("org.wso2.carbon.metrics.merged.test3[+].sub1[+].sub2.value",
+                Level.INFO, Level.INFO, Level.INFO);
+        Counter sub1 = metricService.counter("org.wso2.carbon.metrics.merged.test3[+].sub1.value", Level.INFO,
+                Level.INFO);
+        Counter main = metricService.counter("org.wso2.carbon.metrics.merged.test3.value");
+
+        sub2.inc(5);
+        sub1.inc();
+        main.dec(2);
+        Assert.assertEquals(sub2.getCount(), 5);
+        Assert.assertEquals(sub1.getCount(), 6);
+        Assert.assertEquals(main.getCount(), 4);
+        Assert.assertEquals(metricService.counter("org.wso2.carbon.metrics.merged.test3.sub1.sub2.value").getCount(),
+                5);
+
+        sub2.dec();
+        // Getting the collection again should not merge the counts twice
+        metricService.counter("org.wso2.carbon.metrics.merged.test3[+].sub1[+].sub2.value", Level.INFO, Level.INFO,
+                Level.INFO);
+        Assert.assertEquals(sub1.getCount(), 5);
+        Assert.assertEquals(main.getCount(), 3);
+    }
+
+    @Test
+    public void testCounterLevels() throws MetricNotFoundException {
+        Counter sub1 = metricService.counter("org.wso2.carbon.metrics.merged.test6[+].sub1.value", Level.DEBUG,
+                Level.INFO);
+        Counter main = metricService.counter("org.wso2.carbon.metrics.merged.test6.value");
+        Counter leaf = metricService.counter("org.wso2.carbon.metrics.merged.test6.sub1.value");
+
+        // The update is recorded in the disabled most specific counter, as the parent is enabled
+        sub1.inc(2);
+        Assert.assertEquals(main.getCount(), 2);
+        Assert.assertEquals(leaf.getCount(), 2);
+
+        // A disabled parent does not add the count recorded in the meantime
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test6.value", Level.OFF);
+        sub1.inc();
+        Assert.assertEquals(leaf.getCount(), 2);
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test6.sub1.value", Level.DEBUG);
+        sub1.inc(3);
+        Assert.assertEquals(leaf.getCount(), 5);
+        Assert.assertEquals(main.getCount(), 2);
+
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test6.value", Level.INFO);
+        Assert.assertEquals(main.getCount(), 2);
+        sub1.dec();
+        Assert.assertEquals(leaf.getCount(), 4);
+        Assert.assertEquals(main.getCount(), 1);
+    }
+
+    @Test
+    public void testMeterLevels() throws MetricNotFoundException {
+        Meter sub1 = metricService.meter("org.wso2.carbon.metrics.merged.test7[+].sub1.value", Level.DEBUG,
+                Level.INFO);
+        Meter main = metricService.meter("org.wso2.carbon.metrics.merged.test7.value");
+        Meter leaf = metricService.meter("org.wso2.carbon.metrics.merged.test7.sub1.value");
+
+        // The event is marked in the disabled most specific meter, as the parent is enabled
+        sub1.mark(2);
+        Assert.assertEquals(main.getCount(), 2);
+        Assert.assertEquals(leaf.getCount(), 2);
+
+        // A disabled parent does not add the count and rates of the sources
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test7.value", Level.OFF);
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test7.sub1.value", Level.DEBUG);
+        sub1.mark(3);
+        Assert.assertEquals(leaf.getCount(), 5);
+        Assert.assertEquals(main.getCount(), 2);
+        Assert.assertEquals(main.getOneMinuteRate(), 0D);
+
+        metricManagementService.setMetricLevel("org.wso2.carbon.metrics.merged.test7.value", Level.INFO);
+        sub1.mark();
+        Assert.assertEquals(leaf.getCount(), 6);
+        Assert.assertEquals(main.getCount(), 3);
+        Assert.assertEquals(main.getOneMinuteRate(), leaf.getOneMinuteRate(), 1E-9);
+    }
+
+    @Test
+    public void testMeter() throws MetricNotFoundException {
+        Meter sub1 = metricService.meter("org.wso2.carbon.metrics.merged.test4[+].sub1.value", Level.INFO,
+                Level.INFO);
+        Meter sub2 = metricService.meter("org.wso2.carbon.metrics.merged.test4[+].sub2.value", Level.INFO,
+                Level.INFO);
+        Meter main = metricService.meter("org.wso2.carbon.metrics.merged.test4.value");
+
+        sub1.mark(3);
+        sub2.mark();
+        Assert.assertEquals(sub1.getCount(), 3);
+        Assert.assertEquals(sub2.getCount(), 1);
+        Assert.assertEquals(main.getCount(), 4);
+        Assert.assertTrue(main.getMeanRate() > 0);
+        Assert.assertEquals(main.getOneMinuteRate(), sub1.getOneMinuteRate() + sub2.getOneMinuteRate(), 1E-9);
+
+        main.mark();
+        Assert.assertEquals(main.getCount(), 5);
+        Assert.assertEquals(sub1.getCount(), 3);
+    }
+}
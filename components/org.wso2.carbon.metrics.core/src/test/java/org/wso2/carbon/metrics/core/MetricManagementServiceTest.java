@@ -154,6 +154,56 @@ public class MetricManagementServiceTest extends BaseMetricTest {
 
     }
 
+    @Test
+    public void testMetricHierarchySetLevel() {
+        String parentName = MetricService.name(this.getClass(), "test-hierarchy");
+        Meter parent = metricService.meter(parentName, Level.INFO);
+        Meter child = metricService.meter(MetricService.name(parentName, "child"), Level.DEBUG);
+        Meter grandChild = metricService.meter(MetricService.name(parentName, "child", "grand-child"), Level.TRACE);
+        String configuredName = MetricService.name(parentName, "configured");
+        Meter configured = metricService.meter(configuredName, Level.DEBUG);
+
+        metricManagementService.setRootLevel(Level.INFO);
+        metricManagementService.setMetricLevel(configuredName, Level.DEBUG);
+        parent.mark();
+        child.mark();
+        grandChild.mark();
+        configured.mark();
+        Assert.assertEquals(parent.getCount(), 1);
+        Assert.assertEquals(child.getCount(), 0);
+        Assert.assertEquals(grandChild.getCount(), 0);
+        Assert.assertEquals(configured.getCount(), 1);
+
+        // Descendants without a configured level should inherit the level of the parent
+        metricManagementService.setMetricLevel(parentName, Level.TRACE);
+        parent.mark();
+        child.mark();
+        grandChild.mark();
+        configured.mark();
+        Assert.assertEquals(parent.getCount(), 2);
+        Assert.assertEquals(child.getCount(), 1);
+        Assert.assertEquals(grandChild.getCount(), 1);
+        Assert.assertEquals(configured.getCount(), 2);
+
+        metricManagementService.setMetricLevel(parentName, Level.OFF);
+        parent.mark();
+        child.mark();
+        grandChild.mark();
+        configured.mark();
+        Assert.assertEquals(parent.getCount(), 2);
+        Assert.assertEquals(child.getCount(), 1);
+        Assert.assertEquals(grandChild.getCount(), 1);
+        // The configured level should not be changed by the parent
+        Assert.assertEquals(configured.getCount(), 3);
+
+        // Changing the root level should not affect the hierarchy with a configured level
+        metricManagementService.setRootLevel(Level.ALL);
+        parent.mark();
+        child.mark();
+        Assert.assertEquals(parent.getCount(), 2);
+        Assert.assertEquals(child.getCount(), 1);
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void testUnknownMetricSetLevel() {
         metricManagementService.setMetricLevel("unknown", Level.INFO);
@@ -19,12 +19,12 @@ import com.codahale.metrics.MetricRegistry;
 import org.testng.Assert;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.Test;
-import org.wso2.carbon.metrics.core.config.model.MetricsLevelConfig;
-import org.wso2.carbon.metrics.core.config.model.ReservoirConfig;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
 import org.wso2.carbon.metrics.core.impl.MetricManager;
 import org.wso2.carbon.metrics.core.impl.listener.EnabledStatusChangeListener;
 import org.wso2.carbon.metrics.core.impl.listener.MetricLevelChangeListener;
 import org.wso2.carbon.metrics.core.impl.listener.RootLevelChangeListener;
+import org.wso2.carbon.metrics.core.impl.reservoir.ReservoirType;
 
 /**
  * Test Cases for {@link MetricManager} listeners.
@@ -35,7 +35,15 @@ public class MetricManagerTest {
 
     @BeforeClass
     private void load() {
-        metricManager = new MetricManager(new MetricRegistry(), new MetricsLevelConfig(), new ReservoirConfig());
+        metricManager = new MetricManager(new MetricRegistry(), new MetricsConfig());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testReuseSnapshotBuffersWithoutSnapshotValidity() {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        metricsConfig.getReservoir().setType(ReservoirType.UNIFORM);
+        metricsConfig.getReservoir().getParameters().setReuseSnapshotBuffers(true);
+        new MetricManager(new MetricRegistry(), metricsConfig);
     }
 
     @Test
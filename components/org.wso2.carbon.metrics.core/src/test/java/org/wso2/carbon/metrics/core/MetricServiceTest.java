@@ -127,6 +127,20 @@ public class MetricServiceTest extends BaseMetricTest {
         metricService.counter("api[+].sub.counter", Level.INFO, Level.INFO);
     }
 
+    @Test
+    public void testNamesWithoutAnnotation() throws MetricNotFoundException {
+        // The annotation should be at the end of a name part, which has other characters
+        Counter counter1 = metricService.counter("api.[+].not.annotated.counter", Level.INFO);
+        Counter counter2 = metricService.counter("api.sub[+]part.not.annotated.counter", Level.INFO);
+        Assert.assertSame(metricService.counter("api.[+].not.annotated.counter"), counter1);
+        Assert.assertSame(metricService.counter("api.sub[+]part.not.annotated.counter", Level.INFO), counter2);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAnnotatedNameWithoutLevels() {
+        metricService.counter("api.sub[+][+].counter.with.one.level", Level.INFO);
+    }
+
     @Test(expectedExceptions = IllegalArgumentException.class)
     public void testAnnotatedNameWithOneLevel() {
         // There is only one level specified for the annotated name
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.ScheduledReporter;
+import com.codahale.metrics.Timer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.core.reporter.MetricView;
+import org.wso2.carbon.metrics.core.reporter.VersionedMetricFilter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test Cases for {@link MetricView}.
+ */
+public class MetricViewTest {
+
+    @Test
+    public void testSortedView() {
+        MetricRegistry registry = new MetricRegistry();
+        registry.counter("c.counter");
+        registry.counter("a.counter");
+        TestReporter reporter = new TestReporter(registry);
+        MetricView metricView = new MetricView(registry, MetricFilter.ALL);
+        metricView.start();
+
+        registry.counter("b.counter");
+        registry.meter("a.meter");
+        registry.timer("a.timer");
+        metricView.report(reporter);
+        Assert.assertEquals(reporter.counters, Arrays.asList("a.counter", "b.counter", "c.counter"));
+        Assert.assertEquals(reporter.meters, Arrays.asList("a.meter"));
+        Assert.assertEquals(reporter.timers, Arrays.asList("a.timer"));
+
+        registry.remove("b.counter");
+        metricView.report(reporter);
+        Assert.assertEquals(reporter.counters, Arrays.asList("a.counter", "c.counter"));
+
+        metricView.stop();
+        registry.counter("d.counter");
+        metricView.report(reporter);
+        Assert.assertTrue(reporter.counters.isEmpty());
+    }
+
+    @Test
+    public void testVersionedFilter() {
+        MetricRegistry registry = new MetricRegistry();
+        TestFilter filter = new TestFilter();
+        filter.excludes.add("b.counter");
+        registry.counter("a.counter");
+        registry.counter("b.counter");
+        TestReporter reporter = new TestReporter(registry);
+        MetricView metricView = new MetricView(registry, filter);
+        metricView.start();
+        metricView.report(reporter);
+        Assert.assertEquals(reporter.counters, Arrays.asList("a.counter"));
+        int matches = filter.matches;
+
+        // Existing metrics should not be filtered again without changing the version
+        registry.counter("c.counter");
+        metricView.report(reporter);
+        Assert.assertEquals(reporter.counters, Arrays.asList("a.counter", "c.counter"));
+        Assert.assertEquals(filter.matches, matches + 1);
+
+        filter.excludes.clear();
+        filter.excludes.add("a.counter");
+        metricView.report(reporter);
+        Assert.assertEquals(reporter.counters, Arrays.asList("a.counter", "c.counter"));
+
+        filter.version++;
+        metricView.report(reporter);
+        Assert.assertEquals(reporter.counters, Arrays.asList("b.counter", "c.counter"));
+        metricView.stop();
+    }
+
+    private static class TestFilter implements VersionedMetricFilter {
+
+        private final Set<String> excludes = new HashSet<>();
+
+        private long version;
+
+        private int matches;
+
+        @Override
+        public long getVersion() {
+            return version;
+        }
+
+        @Override
+        public boolean matches(String name, Metric metric) {
+            matches++;
+            return !excludes.contains(name);
+        }
+    }
+
+    private static class TestReporter extends ScheduledReporter {
+
+        private List<String> counters;
+
+        private List<String> meters;
+
+        private List<String> timers;
+
+        private TestReporter(MetricRegistry registry) {
+            super(registry, "test-reporter", MetricFilter.ALL, TimeUnit.SECONDS, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public void report(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
+                           SortedMap<String, Histogram> histograms, SortedMap<String, Meter> meters,
+                           SortedMap<String, Timer> timers) {
+            this.counters = new ArrayList<>(counters.keySet());
+            this.meters = new ArrayList<>(meters.keySet());
+            this.timers = new ArrayList<>(timers.keySet());
+        }
+    }
+}
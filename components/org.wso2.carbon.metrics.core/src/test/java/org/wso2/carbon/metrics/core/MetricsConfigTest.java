@@ -69,6 +69,7 @@ public class MetricsConfigTest extends BaseMetricTest {
         Assert.assertEquals(config.getName(), "Console");
         Assert.assertEquals(config.isEnabled(), true);
         Assert.assertEquals(config.getPollingPeriod(), 600L);
+        Assert.assertEquals(config.getDeadline(), 300L);
     }
 
     @Test
@@ -78,6 +79,7 @@ public class MetricsConfigTest extends BaseMetricTest {
         Assert.assertEquals(config.isEnabled(), true);
         Assert.assertEquals(config.getPollingPeriod(), 600L);
         Assert.assertEquals(config.getLocation(), "target/metrics");
+        Assert.assertEquals(config.getDeadline(), 0L);
     }
 
     @Test
@@ -94,6 +96,7 @@ public class MetricsConfigTest extends BaseMetricTest {
     public void testReservoirConfigLoad() {
         ReservoirConfig config = metricsConfig.getReservoir();
         Assert.assertEquals(config.getType(), ReservoirType.UNIFORM);
+        Assert.assertEquals(config.getSnapshotValidity(), 1000L);
 
         ReservoirParametersConfig parametersConfig = config.getParameters();
         Assert.assertEquals(parametersConfig.getSize(), 2048);
@@ -15,6 +15,7 @@
  */
 package org.wso2.carbon.metrics.core;
 
+import org.HdrHistogram.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.Assert;
@@ -27,6 +28,9 @@ import org.wso2.carbon.metrics.core.reporter.ReporterBuildException;
 import org.wso2.carbon.metrics.core.utils.Utils;
 
 import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
 import javax.management.JMX;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectName;
@@ -129,6 +133,24 @@ public class MetricsMXBeanTest extends BaseReporterTest {
         Assert.assertEquals(metricsMXBean.getDefaultSource(), Utils.getDefaultSource());
     }
 
+    @Test
+    public void testExportBuckets() throws DataFormatException {
+        String histogramName = MetricService.name(this.getClass(), "test-export-histogram");
+        org.wso2.carbon.metrics.core.Histogram histogram = metricService.histogram(histogramName, Level.INFO);
+        histogram.update(10);
+        histogram.update(20);
+        Histogram exported = Histogram.decodeFromCompressedByteBuffer(
+                ByteBuffer.wrap(metricsMXBean.exportHistogramBuckets(histogramName)), 0);
+        Assert.assertEquals(exported.getTotalCount(), 2);
+
+        String timerName = MetricService.name(this.getClass(), "test-export-timer");
+        Timer timer = metricService.timer(timerName, Level.INFO);
+        timer.update(1, TimeUnit.MILLISECONDS);
+        exported = Histogram.decodeFromCompressedByteBuffer(
+                ByteBuffer.wrap(metricsMXBean.exportTimerBuckets(timerName)), 0);
+        Assert.assertEquals(exported.getTotalCount(), 1);
+    }
+
     @Test
     public void testReporterJMXOperations() throws ReporterBuildException {
         CsvReporterConfig csvReporterConfig = new CsvReporterConfig();
@@ -101,6 +101,20 @@ public class ReporterFilterTest {
         Assert.assertEquals(findObjects("org.wso2.carbon.metrics.filter.test6").size(), 2);
     }
 
+    @Test
+    public void testJMX7() {
+        Assert.assertTrue(metricManagementService.isReporterRunning("JMX7"));
+        // Same as the regular expressions in JMX3
+        Assert.assertEquals(findObjects("org.wso2.carbon.metrics.filter.test7").size(), 30);
+    }
+
+    @Test
+    public void testJMX8() {
+        Assert.assertTrue(metricManagementService.isReporterRunning("JMX8"));
+        // The wildcard is not used as a glob unless enabled
+        Assert.assertEquals(findObjects("org.wso2.carbon.metrics.filter.test8").size(), 0);
+    }
+
     private Set<ObjectName> findObjects(String domain) {
         try {
             Set<ObjectName> objectNames = mBeanServer.queryNames(new ObjectName(domain + ":name=*"), null);
@@ -85,6 +85,26 @@ public class ReporterTest extends BaseReporterTest {
         metricManagementService.stopReporter("JMX");
     }
 
+    @Test
+    public void testJMXReporterTaggedMetric() throws MalformedObjectNameException {
+        metricManagementService.startReporter("JMX");
+        Assert.assertTrue(metricManagementService.isReporterRunning("JMX"));
+        String meterName = MetricService.name(this.getClass(), "test-jmx-tagged-meter");
+        Meter meter = metricService.meter(meterName, Level.INFO, Tags.of("tenant", "carbon.super", "endpoint", "/a"));
+        meter.mark();
+
+        try {
+            ObjectName objectName = new ObjectName("org.wso2.carbon.metrics.test:name=" + meterName
+                    + ",tenant=carbon.super,endpoint=/a");
+            SortedMap<String, Object> meterMap = values(mBeanServer.getAttributes(objectName, new String[]{"Count"}));
+            Assert.assertTrue(meterMap.containsValue(1L), "Meter count should be one");
+        } catch (InstanceNotFoundException | ReflectionException e) {
+            Assert.fail(e.getMessage());
+        } finally {
+            metricManagementService.stopReporter("JMX");
+        }
+    }
+
     @Test(expectedExceptions = MetricNotFoundException.class)
     public void testDisabledGauge() throws MetricNotFoundException {
         metricManagementService.startReporter("JMX");
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.core.task.ReportingScheduler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test {@link ReportingScheduler}.
+ */
+public class ReportingSchedulerTest {
+
+    private ReportingScheduler scheduler;
+
+    @BeforeClass
+    private void createScheduler() {
+        scheduler = new ReportingScheduler("test-reporting", 2);
+    }
+
+    @AfterClass
+    private void shutdownScheduler() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void testPeriodicRuns() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        ReportingScheduler.Schedule schedule = scheduler.schedule("periodic", latch::countDown, 10,
+                TimeUnit.MILLISECONDS);
+        try {
+            Assert.assertTrue(latch.await(5, TimeUnit.SECONDS), "The task should run periodically");
+        } finally {
+            schedule.cancel();
+        }
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        AtomicInteger runs = new AtomicInteger();
+        ReportingScheduler.Schedule schedule = scheduler.schedule("cancel", runs::incrementAndGet, 10, 0, false,
+                TimeUnit.MILLISECONDS);
+        Thread.sleep(100);
+        schedule.cancel();
+        // Allow a run in progress to complete
+        Thread.sleep(20);
+        int count = runs.get();
+        Assert.assertTrue(count > 0);
+        Thread.sleep(100);
+        Assert.assertEquals(runs.get(), count, "The task should not run after cancelling");
+    }
+
+    @Test
+    public void testCancelWaitsForRun() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        AtomicInteger completed = new AtomicInteger();
+        ReportingScheduler.Schedule schedule = scheduler.schedule("wait", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed.incrementAndGet();
+        }, 10, 0, false, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS), "The task should run");
+        Assert.assertTrue(schedule.cancel(5, TimeUnit.SECONDS), "The run in progress should complete");
+        Assert.assertEquals(completed.get(), 1, "The run in progress should not be interrupted");
+    }
+
+    @Test
+    public void testCancelInterruptsRun() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ReportingScheduler.Schedule schedule = scheduler.schedule("interrupt", () -> {
+            started.countDown();
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, 10, 0, false, TimeUnit.MILLISECONDS);
+        Assert.assertTrue(started.await(5, TimeUnit.SECONDS), "The task should run");
+        Assert.assertTrue(schedule.cancel(50, TimeUnit.MILLISECONDS), "The run should complete after interrupting");
+        Assert.assertEquals(interrupted.getCount(), 0, "The run in progress should be interrupted");
+    }
+
+    @Test
+    public void testSkipWhenRunning() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ReportingScheduler.Schedule schedule = scheduler.schedule("slow", () -> {
+            runs.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 10, 0, false, TimeUnit.MILLISECONDS);
+        try {
+            Thread.sleep(200);
+            Assert.assertEquals(runs.get(), 1, "Only one run should be in progress");
+            Assert.assertTrue(schedule.getSkippedRuns() > 0, "The runs should be skipped");
+            Assert.assertEquals(schedule.getInterruptedRuns(), 0);
+        } finally {
+            schedule.cancel();
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testSkipWhenQueued() throws InterruptedException {
+        ReportingScheduler singleWorkerScheduler = new ReportingScheduler("test-queued", 1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        ReportingScheduler.Schedule slowSchedule = singleWorkerScheduler.schedule("slow", () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, 10, 0, false, TimeUnit.MILLISECONDS);
+        ReportingScheduler.Schedule queuedSchedule = singleWorkerScheduler.schedule("queued", runs::incrementAndGet,
+                10, 0, false, TimeUnit.MILLISECONDS);
+        try {
+            Thread.sleep(200);
+            Assert.assertEquals(runs.get(), 0, "The run should wait for the worker thread");
+            Assert.assertTrue(queuedSchedule.getSkippedRuns() > 0, "The runs should be skipped while queued");
+            slowSchedule.cancel();
+            release.countDown();
+            long timeout = System.currentTimeMillis() + 5000;
+            while (runs.get() == 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(runs.get() > 0, "The queued run should run when the worker thread is available");
+        } finally {
+            queuedSchedule.cancel();
+            release.countDown();
+            singleWorkerScheduler.shutdown();
+        }
+    }
+
+    @Test
+    public void testDeadline() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        ReportingScheduler.Schedule schedule = scheduler.schedule("deadline", () -> {
+            try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        }, 50, 20, false, TimeUnit.MILLISECONDS);
+        try {
+            Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The run should be interrupted");
+            // The interrupted run is counted after interrupting the worker thread
+            long timeout = System.currentTimeMillis() + 5000;
+            while (schedule.getInterruptedRuns() == 0 && System.currentTimeMillis() < timeout) {
+                Thread.sleep(10);
+            }
+            Assert.assertTrue(schedule.getInterruptedRuns() > 0);
+        } finally {
+            schedule.cancel();
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidPeriod() {
+        scheduler.schedule("invalid", () -> {
+        }, 0, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.SlidingWindowReservoir;
+import com.codahale.metrics.Snapshot;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.core.impl.reservoir.HdrHistogramResetOnSnapshotReservoir;
+import org.wso2.carbon.metrics.core.impl.reservoir.SnapshotCachingReservoir;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Test Cases for {@link SnapshotCachingReservoir}.
+ */
+public class SnapshotCachingReservoirTest {
+
+    @Test
+    public void testSnapshotReuse() {
+        ManualClock clock = new ManualClock();
+        SnapshotCachingReservoir reservoir = new SnapshotCachingReservoir(new SlidingWindowReservoir(100), 1,
+                TimeUnit.SECONDS, clock);
+        IntStream.rangeClosed(1, 50).forEach(reservoir::update);
+        Snapshot snapshot = reservoir.getSnapshot();
+        Assert.assertEquals(snapshot.size(), 50);
+
+        IntStream.rangeClosed(51, 100).forEach(reservoir::update);
+        clock.addMillis(999);
+        Assert.assertSame(reservoir.getSnapshot(), snapshot);
+        Assert.assertEquals(reservoir.size(), 50);
+
+        clock.addMillis(1);
+        Snapshot snapshot2 = reservoir.getSnapshot();
+        Assert.assertNotSame(snapshot2, snapshot);
+        Assert.assertEquals(snapshot2.size(), 100);
+    }
+
+    @Test
+    public void testResetOnSnapshot() {
+        ManualClock clock = new ManualClock();
+        SnapshotCachingReservoir reservoir = new SnapshotCachingReservoir(new HdrHistogramResetOnSnapshotReservoir(),
+                1, TimeUnit.SECONDS, clock);
+        IntStream.rangeClosed(1, 100).forEach(reservoir::update);
+
+        // All reporters within the validity period should see the same values
+        Assert.assertEquals(reservoir.getSnapshot().size(), 100);
+        Assert.assertEquals(reservoir.getSnapshot().size(), 100);
+
+        clock.addMillis(1000);
+        Assert.assertEquals(reservoir.getSnapshot().size(), 0);
+    }
+
+    /**
+     * A {@link Clock} which is moved manually.
+     */
+    private static class ManualClock extends Clock {
+
+        private long tick;
+
+        private void addMillis(long millis) {
+            tick += TimeUnit.MILLISECONDS.toNanos(millis);
+        }
+
+        @Override
+        public long getTick() {
+            return tick;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import com.codahale.metrics.MetricRegistry;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.carbon.config.ConfigurationException;
+import org.wso2.carbon.metrics.core.config.model.CounterConfig;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
+import org.wso2.carbon.metrics.core.impl.MetricManager;
+import org.wso2.carbon.metrics.core.impl.MetricServiceImpl;
+import org.wso2.carbon.metrics.core.impl.counter.CounterType;
+import org.wso2.carbon.metrics.core.impl.counter.StripedCounter;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Test Cases for {@link StripedCounter}.
+ */
+public class StripedCounterTest {
+
+    @Test
+    public void testConfigLoad() throws ConfigurationException {
+        MetricsConfig metricsConfig = TestUtils.getConfigProvider("metrics-striped-counter.yaml")
+                .getConfigurationObject(MetricsConfig.class);
+        CounterConfig config = metricsConfig.getCounter();
+        Assert.assertEquals(config.getType(), CounterType.STRIPED);
+        Assert.assertEquals(config.getBatchSize(), 10);
+    }
+
+    @Test
+    public void testDefaultConfig() {
+        CounterConfig config = new MetricsConfig().getCounter();
+        Assert.assertEquals(config.getType(), CounterType.DEFAULT);
+        Assert.assertEquals(config.getBatchSize(), 1);
+    }
+
+    @Test
+    public void testCount() {
+        StripedCounter counter = new StripedCounter();
+        counter.inc();
+        counter.inc(5);
+        counter.dec();
+        counter.dec(2);
+        Assert.assertEquals(counter.getCount(), 3);
+    }
+
+    @Test
+    public void testBatchedCount() {
+        StripedCounter counter = new StripedCounter(10);
+        IntStream.range(0, 9).forEach(i -> counter.inc());
+        Assert.assertEquals(counter.getCount(), 9, "Pending updates should be visible");
+        counter.inc();
+        Assert.assertEquals(counter.getCount(), 10);
+        IntStream.range(0, 10).forEach(i -> counter.dec(2));
+        Assert.assertEquals(counter.getCount(), -10);
+    }
+
+    @Test
+    public void testConcurrentCount() throws InterruptedException {
+        StripedCounter counter = new StripedCounter();
+        StripedCounter batchedCounter = new StripedCounter(100);
+        int threads = 8;
+        int updates = 10000;
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        IntStream.range(0, threads).forEach(i -> executorService.execute(() -> {
+            for (int j = 0; j < updates; j++) {
+                counter.inc();
+                batchedCounter.inc();
+            }
+        }));
+        executorService.shutdown();
+        Assert.assertTrue(executorService.awaitTermination(1, TimeUnit.MINUTES));
+        Assert.assertEquals(counter.getCount(), threads * updates);
+        Assert.assertEquals(batchedCounter.getCount(), threads * updates);
+    }
+
+    @Test
+    public void testEndedThreadCount() throws InterruptedException {
+        StripedCounter counter = new StripedCounter(100);
+        Thread thread = new Thread(() -> IntStream.range(0, 150).forEach(i -> counter.inc()));
+        thread.start();
+        thread.join();
+        // The pending updates of the ended thread should not be lost
+        Assert.assertEquals(counter.getCount(), 150);
+        counter.inc();
+        Assert.assertEquals(counter.getCount(), 151);
+
+        Thread thread2 = new Thread(() -> counter.dec(5));
+        thread2.start();
+        thread2.join();
+        Assert.assertEquals(counter.getCount(), 146);
+    }
+
+    @Test
+    public void testMetricService() {
+        MetricRegistry metricRegistry = new MetricRegistry();
+        MetricsConfig metricsConfig = new MetricsConfig();
+        metricsConfig.getCounter().setType(CounterType.STRIPED);
+        MetricManager metricManager = new MetricManager(metricRegistry, metricsConfig);
+        metricManager.enable();
+        MetricService metricService = new MetricServiceImpl(metricManager);
+
+        Counter sub = metricService.counter("org.wso2.carbon.metrics.striped.test[+].sub.counter", Level.INFO,
+                Level.INFO);
+        Counter main = metricService.counter("org.wso2.carbon.metrics.striped.test.counter", Level.INFO);
+        sub.inc(5);
+        main.dec(2);
+        Assert.assertEquals(sub.getCount(), 5);
+        Assert.assertEquals(main.getCount(), 3);
+        Assert.assertTrue(metricRegistry.getCounters().get("org.wso2.carbon.metrics.striped.test.counter")
+                instanceof StripedCounter);
+    }
+}
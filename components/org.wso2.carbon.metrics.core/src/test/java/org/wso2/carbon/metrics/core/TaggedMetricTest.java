@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core;
+
+import com.codahale.metrics.MetricRegistry;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
+import org.wso2.carbon.metrics.core.impl.MetricManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test Cases for tagged metrics.
+ */
+public class TaggedMetricTest {
+
+    private static MetricRegistry metricRegistry;
+
+    private static MetricManager metricManager;
+
+    @BeforeClass
+    private void load() {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        metricsConfig.getTags().setMaxCardinality(3);
+        metricRegistry = new MetricRegistry();
+        metricManager = new MetricManager(metricRegistry, metricsConfig);
+        metricManager.enable();
+        metricManager.setRootLevel(Level.ALL);
+    }
+
+    @Test
+    public void testTags() {
+        Tags tags = Tags.of("tenant", "carbon.super", "endpoint", "/orders");
+        Assert.assertEquals(tags, Tags.of("endpoint", "/orders").and("tenant", "carbon.super"));
+        Assert.assertEquals(tags.hashCode(), Tags.of("endpoint", "/orders", "tenant", "carbon.super").hashCode());
+        Assert.assertEquals(tags.get("tenant"), "carbon.super");
+        Assert.assertNull(tags.get("unknown"));
+        Assert.assertEquals(tags.toMetricName("test.requests"), "test.requests{endpoint=/orders,tenant=carbon.super}");
+        Assert.assertEquals(Tags.empty().toMetricName("test.requests"), "test.requests");
+        Assert.assertEquals(Tags.getBaseName("test.requests{endpoint=/orders,tenant=carbon.super}"), "test.requests");
+        Assert.assertEquals(Tags.fromMetricName("test.requests{endpoint=/orders,tenant=carbon.super}"), tags);
+        Assert.assertTrue(Tags.fromMetricName("test.requests").isEmpty());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidTagValue() {
+        Tags.of("endpoint", "a,b");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testInvalidTagKey() {
+        Tags.of("end point", "/orders");
+    }
+
+    @Test
+    public void testTaggedCounter() {
+        String name = MetricService.name(this.getClass(), "tagged-counter");
+        Counter counter = metricManager.counter(name, Level.INFO, Tags.of("tenant", "a", "endpoint", "/orders"));
+        counter.inc();
+        Assert.assertSame(metricManager.counter(name, Level.INFO, Tags.of("endpoint", "/orders", "tenant", "a")),
+                counter);
+        Assert.assertNotSame(metricManager.counter(name, Level.INFO, Tags.of("tenant", "b")), counter);
+        Assert.assertEquals(metricRegistry.getCounters().get(name + "{endpoint=/orders,tenant=a}").getCount(), 1L);
+        Assert.assertEquals(metricManager.counter(name, Level.INFO, Tags.empty()),
+                metricManager.counter(name, Level.INFO));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testTaggedMetricDifferentType() {
+        String name = MetricService.name(this.getClass(), "tagged-type");
+        metricManager.meter(name, Level.INFO, Tags.of("tenant", "a"));
+        metricManager.counter(name, Level.INFO, Tags.of("tenant", "a"));
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAnnotatedTaggedMetric() {
+        metricManager.meter(MetricService.name(this.getClass(), "parent[+].child"), Level.INFO, Tags.of("tenant", "a"));
+    }
+
+    @Test
+    public void testCardinalityLimit() {
+        String name = MetricService.name(this.getClass(), "tagged-meter");
+        for (int i = 0; i < 2; i++) {
+            metricManager.meter(name, Level.INFO, Tags.of("tenant", "tenant" + i)).mark();
+        }
+        Meter overflow = metricManager.meter(name, Level.INFO, Tags.of("tenant", "tenant2"));
+        overflow.mark();
+        Assert.assertSame(metricManager.meter(name, Level.INFO, Tags.of("tenant", "tenant4")), overflow);
+        overflow.mark();
+        Assert.assertNotSame(metricManager.meter(name, Level.INFO, Tags.of("tenant", "tenant0")), overflow);
+        Assert.assertFalse(metricRegistry.getMeters().containsKey(name + "{tenant=tenant2}"));
+        Assert.assertEquals(metricRegistry.getMeters().get(name + "{overflow=true}").getCount(), 2L);
+        // The overflow metric is counted in the maximum number of tagged metrics
+        Assert.assertEquals(metricRegistry.getMeters().keySet().stream().filter(key -> key.startsWith(name + "{"))
+                .count(), 3L);
+
+        // Removing the name should remove all tagged metrics
+        Assert.assertTrue(metricManager.remove(name));
+        Assert.assertFalse(metricRegistry.getMeters().containsKey(name + "{tenant=tenant0}"));
+        Assert.assertFalse(metricRegistry.getMeters().containsKey(name + "{overflow=true}"));
+        Meter meter = metricManager.meter(name, Level.INFO, Tags.of("tenant", "tenant4"));
+        Assert.assertNotSame(meter, overflow);
+        Assert.assertTrue(metricRegistry.getMeters().containsKey(name + "{tenant=tenant4}"));
+    }
+
+    @Test
+    public void testTaggedMetricLevels() {
+        String parentName = MetricService.name(this.getClass(), "tagged-parent");
+        metricManager.counter(parentName, Level.INFO);
+        String name = MetricService.name(parentName, "tagged-timer");
+        Timer timer1 = metricManager.timer(name, Level.DEBUG, Tags.of("tenant", "a"));
+        Timer timer2 = metricManager.timer(name, Level.DEBUG, Tags.of("tenant", "b"));
+        timer1.update(1, TimeUnit.MILLISECONDS);
+        timer2.update(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(timer1.getCount(), 1L);
+        Assert.assertEquals(timer2.getCount(), 1L);
+
+        // The level of a tagged metric should be inherited from the hierarchy of the name
+        metricManager.setMetricLevel(parentName, Level.INFO);
+        timer1.update(1, TimeUnit.MILLISECONDS);
+        timer2.update(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(timer1.getCount(), 1L);
+        Assert.assertEquals(timer2.getCount(), 1L);
+
+        // The level of a single tagged metric can be changed
+        metricManager.setMetricLevel(Tags.of("tenant", "a").toMetricName(name), Level.DEBUG);
+        timer1.update(1, TimeUnit.MILLISECONDS);
+        timer2.update(1, TimeUnit.MILLISECONDS);
+        Assert.assertEquals(timer1.getCount(), 2L);
+        Assert.assertEquals(timer2.getCount(), 1L);
+    }
+
+    @Test
+    public void testTaggedMetricLevelWithBaseName() {
+        String name = MetricService.name(this.getClass(), "tagged-only");
+        Counter counter1 = metricManager.counter(name, Level.DEBUG, Tags.of("tenant", "a"));
+        Counter counter2 = metricManager.counter(name, Level.DEBUG, Tags.of("tenant", "b"));
+
+        // The level can be changed with the name of the tagged metrics without the tags
+        metricManager.setMetricLevel(name, Level.INFO);
+        Assert.assertEquals(metricManager.getMetricLevel(name), Level.INFO);
+        counter1.inc();
+        counter2.inc();
+        Assert.assertEquals(counter1.getCount(), 0L);
+        Assert.assertEquals(counter2.getCount(), 0L);
+
+        metricManager.setMetricLevel(name, Level.DEBUG);
+        counter1.inc();
+        counter2.inc();
+        Assert.assertEquals(counter1.getCount(), 1L);
+        Assert.assertEquals(counter2.getCount(), 1L);
+    }
+
+    @Test
+    public void testRemoveUntaggedMetricWithBraces() {
+        String name = MetricService.name(this.getClass(), "braces");
+        metricManager.counter(name, Level.INFO, Tags.of("tenant", "a"));
+        // An untagged name ending with characters similar to tags, which are not valid tags
+        String untaggedName = name + "{tenant}";
+        metricManager.counter(untaggedName, Level.INFO).inc();
+        Assert.assertTrue(metricManager.remove(untaggedName));
+        Assert.assertFalse(metricRegistry.getCounters().containsKey(untaggedName));
+        Assert.assertTrue(metricRegistry.getCounters().containsKey(name + "{tenant=a}"));
+    }
+}
@@ -15,14 +15,24 @@
  */
 package org.wso2.carbon.metrics.core;
 
+import com.codahale.metrics.MetricRegistry;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import org.wso2.carbon.metrics.core.Timer.Context;
+import org.wso2.carbon.metrics.core.config.model.MetricsConfig;
+import org.wso2.carbon.metrics.core.impl.MetricManager;
+import org.wso2.carbon.metrics.core.impl.MetricServiceImpl;
 
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.LongStream;
 
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
 /**
  * Test Cases for {@link Timer}.
  */
@@ -66,6 +76,66 @@ public class TimerTest extends BaseMetricTest {
         context.close();
     }
 
+    @Test
+    public void testDisabledContext() {
+        Timer timer = metricService.timer(MetricService.name(this.getClass(), "test-timer-disabled"), Level.INFO);
+        metricManagementService.setRootLevel(Level.OFF);
+        Assert.assertSame(timer.start(), timer.start(), "The context of a disabled timer should be shared");
+    }
+
+    @Test
+    public void testTimeNanos() {
+        Timer timer = metricService.timer(MetricService.name(this.getClass(), "test-timer-nanos"), Level.INFO);
+        long startNanos = timer.startNanos();
+        Assert.assertTrue(timer.stopNanos(startNanos) > 0, "Timer value should be greater than zero");
+        Assert.assertEquals(timer.getCount(), 1);
+
+        // Disabled at stop
+        startNanos = timer.startNanos();
+        metricManagementService.setRootLevel(Level.OFF);
+        Assert.assertEquals(timer.stopNanos(startNanos), 0);
+        Assert.assertEquals(timer.getCount(), 1);
+
+        // Disabled at start
+        startNanos = timer.startNanos();
+        metricManagementService.setRootLevel(Level.ALL);
+        Assert.assertEquals(timer.stopNanos(startNanos), 0);
+        Assert.assertEquals(timer.getCount(), 1);
+    }
+
+    @Test
+    public void testDefaultTimeNanos() {
+        // A timer implementing only the abstract methods
+        Timer timer = mock(Timer.class, CALLS_REAL_METHODS);
+        long startNanos = timer.startNanos();
+        Assert.assertTrue(timer.stopNanos(startNanos) > 0, "Timer value should be greater than zero");
+        verify(timer).update(anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testRecycledContexts() {
+        MetricsConfig metricsConfig = new MetricsConfig();
+        metricsConfig.getTimer().setRecycleContexts(true);
+        MetricManager metricManager = new MetricManager(new MetricRegistry(), metricsConfig);
+        metricManager.enable();
+        Timer timer = new MetricServiceImpl(metricManager).timer(
+                MetricService.name(this.getClass(), "test-timer-recycle"), Level.INFO);
+
+        Context context = timer.start();
+        context.close();
+        // Closing again should not add the context again
+        context.close();
+        Assert.assertEquals(timer.getCount(), 1);
+
+        Context context1 = timer.start();
+        Assert.assertSame(context1, context, "The closed context should be reused");
+        Context context2 = timer.start();
+        Assert.assertNotSame(context2, context1, "A context should not be reused before it is closed");
+        context2.close();
+        context1.close();
+        Assert.assertEquals(timer.getCount(), 3);
+    }
+
     @Test
     public void testTimerUpdateCount() {
         Timer timer = metricService.timer(MetricService.name(this.getClass(), "test-timer-update"), Level.INFO);
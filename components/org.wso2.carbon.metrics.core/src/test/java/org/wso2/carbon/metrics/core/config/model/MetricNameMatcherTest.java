@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.core.config.model;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Test {@link MetricNameMatcher}.
+ */
+public class MetricNameMatcherTest {
+
+    private static MetricNameMatcher matcher(boolean regex, boolean glob, String... expressions) {
+        return new MetricNameMatcher(new HashSet<>(Arrays.asList(expressions)), regex, glob);
+    }
+
+    @Test
+    public void testEmpty() {
+        MetricNameMatcher matcher = new MetricNameMatcher(Collections.emptySet(), false, false);
+        Assert.assertTrue(matcher.isEmpty());
+        Assert.assertFalse(matcher.matches("jvm.memory.heap.used"));
+    }
+
+    @Test
+    public void testExactMatch() {
+        MetricNameMatcher matcher = matcher(false, false, "jvm.memory.heap.used", "jvm.memory.*");
+        Assert.assertFalse(matcher.isEmpty());
+        Assert.assertTrue(matcher.matches("jvm.memory.heap.used"));
+        Assert.assertFalse(matcher.matches("jvm.memory.heap.used.max"));
+        Assert.assertFalse(matcher.matches("jvm.memory.heap"));
+        // The wildcard is a literal character when globs are not used
+        Assert.assertTrue(matcher.matches("jvm.memory.*"));
+        Assert.assertFalse(matcher.matches("jvm.memory.non-heap.used"));
+    }
+
+    @Test
+    public void testPrefixMatch() {
+        MetricNameMatcher matcher = matcher(false, true, "jvm.memory.*", "jvm.threads.count", "jvm.mem*");
+        Assert.assertTrue(matcher.matches("jvm.memory.heap.used"));
+        Assert.assertTrue(matcher.matches("jvm.memory."));
+        Assert.assertTrue(matcher.matches("jvm.mem"));
+        Assert.assertTrue(matcher.matches("jvm.threads.count"));
+        Assert.assertFalse(matcher.matches("jvm.threads.daemon.count"));
+        Assert.assertFalse(matcher.matches("jvm.me"));
+        Assert.assertFalse(matcher.matches("os.memory.used"));
+
+        // A wildcard matches an empty prefix
+        Assert.assertTrue(matcher(false, true, "*").matches(""));
+        Assert.assertTrue(matcher(false, true, "*").matches("jvm.threads.count"));
+    }
+
+    @Test
+    public void testGlobMatch() {
+        MetricNameMatcher matcher = matcher(false, true, "*.usage", "jvm.*.init");
+        Assert.assertTrue(matcher.matches("jvm.memory.heap.usage"));
+        Assert.assertTrue(matcher.matches("jvm.memory.heap.init"));
+        Assert.assertFalse(matcher.matches("jvm.memory.heap.usage.max"));
+        // The other characters are not special in globs
+        Assert.assertTrue(matcher(false, true, "jvm.(a)*").matches("jvm.(a).b"));
+        Assert.assertFalse(matcher(false, true, "jvm.*.b").matches("jvmx.a.b"));
+    }
+
+    @Test
+    public void testRegexMatch() {
+        MetricNameMatcher matcher = matcher(true, true, "^jvm\\.memory\\..*", ".*\\.count$");
+        Assert.assertTrue(matcher.matches("jvm.memory.heap.used"));
+        Assert.assertTrue(matcher.matches("jvm.threads.count"));
+        Assert.assertFalse(matcher.matches("jvm.threads.daemon"));
+        // The whole name should match
+        Assert.assertFalse(matcher(true, false, "jvm\\.memory").matches("jvm.memory.heap.used"));
+    }
+
+    @Test(expectedExceptions = PatternSyntaxException.class)
+    public void testInvalidRegex() {
+        matcher(true, false, "jvm.memory.(");
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.das.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration for publishing Metrics events to DAS in batches.
+ */
+@Configuration(description = "Publish Metrics events in batches.\n" +
+        "When enabled, the reporter only captures the events in bounded batches and a dedicated thread publishes the " +
+        "batches via the non-blocking path of the Data Publisher.\nEvents are dropped and counted when the receiver " +
+        "cannot keep up.")
+public class DasBatchPublishingConfig {
+
+    @Element(description = "Enable publishing in batches")
+    private boolean enabled = false;
+
+    @Element(description = "The maximum number of events in a batch")
+    private int batchSize = 500;
+
+    @Element(description = "The maximum number of batches waiting to be published")
+    private int maxPendingBatches = 20;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxPendingBatches() {
+        return maxPendingBatches;
+    }
+
+    public void setMaxPendingBatches(int maxPendingBatches) {
+        this.maxPendingBatches = maxPendingBatches;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.das.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration for sending Metrics to DAS in the compact "MetricBatch" stream.
+ */
+@Configuration(description = "Send all Metrics of a report in a single event to the compact " +
+        "org.wso2.metrics.stream.MetricBatch stream.\n" +
+        "The metric names are only sent in keyframes and the counts are sent as differences from the previous " +
+        "event, except in keyframes.\n" +
+        "The MetricBatch Spark script in the capp unpacks the events.")
+public class DasCompactFormatConfig {
+
+    @Element(description = "Enable the compact format")
+    private boolean enabled = false;
+
+    @Element(description = "The number of events between two events with absolute counts. " +
+            "All events have absolute counts when the interval is 1")
+    private int keyframeInterval = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getKeyframeInterval() {
+        return keyframeInterval;
+    }
+
+    public void setKeyframeInterval(int keyframeInterval) {
+        this.keyframeInterval = keyframeInterval;
+    }
+}
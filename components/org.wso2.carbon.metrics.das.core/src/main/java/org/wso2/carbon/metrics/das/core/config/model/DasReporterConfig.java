@@ -26,6 +26,8 @@ import org.wso2.carbon.metrics.core.reporter.ReporterBuilder;
 import org.wso2.carbon.metrics.core.utils.Utils;
 import org.wso2.carbon.metrics.das.core.reporter.impl.DasReporter;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,6 +43,23 @@ public class DasReporterConfig extends ScheduledReporterConfig implements Report
     @Element(description = "Alias referring to the DAS configuration")
     private DasConfig das;
 
+    @Element(description = "The percentiles of histograms and timers sent to DAS, as quantiles.\n" +
+            "The default percentiles are sent to the version 1.0.0 of the histogram and timer streams. " +
+            "Other percentiles are sent to the version 1.1.0 of these streams,\n" +
+            "which has the 50th, 75th, 95th, 98th, 99th, 99.9th and 99.99th percentiles. " +
+            "The compact format can send any percentile.")
+    private List<Double> percentiles = Arrays.asList(0.5, 0.75, 0.95, 0.98, 0.99, 0.999);
+
+    @Element(description = "Send the tags of tagged metrics as the \"tags\" arbitrary data of the events " +
+            "and the name without the tags in the name field.\n" +
+            "The event stores persist the tags in the \"_tags\" column. The compact format sends the name with " +
+            "the tags.")
+    private boolean tagsAsArbitraryData = false;
+
+    private DasBatchPublishingConfig batchPublishing = new DasBatchPublishingConfig();
+
+    private DasCompactFormatConfig compactFormat = new DasCompactFormatConfig();
+
     public DasReporterConfig() {
         super("DAS");
     }
@@ -61,6 +80,38 @@ public class DasReporterConfig extends ScheduledReporterConfig implements Report
         this.das = das;
     }
 
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public boolean isTagsAsArbitraryData() {
+        return tagsAsArbitraryData;
+    }
+
+    public void setTagsAsArbitraryData(boolean tagsAsArbitraryData) {
+        this.tagsAsArbitraryData = tagsAsArbitraryData;
+    }
+
+    public DasBatchPublishingConfig getBatchPublishing() {
+        return batchPublishing;
+    }
+
+    public void setBatchPublishing(DasBatchPublishingConfig batchPublishing) {
+        this.batchPublishing = batchPublishing;
+    }
+
+    public DasCompactFormatConfig getCompactFormat() {
+        return compactFormat;
+    }
+
+    public void setCompactFormat(DasCompactFormatConfig compactFormat) {
+        this.compactFormat = compactFormat;
+    }
+
     /**
      * Build the DAS Reporter.
      *
@@ -97,6 +148,22 @@ public class DasReporterConfig extends ScheduledReporterConfig implements Report
             throw new ReporterBuildException("Password is not specified for DAS Reporting.");
         }
 
+        if (percentiles == null || percentiles.isEmpty()) {
+            throw new ReporterBuildException("Percentiles are not specified for DAS Reporting.");
+        }
+        for (Double percentile : percentiles) {
+            if (percentile == null || percentile <= 0 || percentile >= 1) {
+                throw new ReporterBuildException(String.format("Invalid percentile for DAS Reporting: %s. A "
+                        + "percentile should be a quantile greater than 0 and less than 1.", percentile));
+            }
+            if (!compactFormat.isEnabled()
+                    && !org.wso2.carbon.metrics.das.reporter.DasReporter.isStreamPercentile(percentile)) {
+                throw new ReporterBuildException(String.format("Invalid percentile for DAS Reporting: %s. The "
+                        + "histogram and timer streams do not have the percentile. Use the compact format to send "
+                        + "it.", percentile));
+            }
+        }
+
         if (source == null) {
             source = Utils.getDefaultSource();
         }
@@ -108,6 +175,7 @@ public class DasReporterConfig extends ScheduledReporterConfig implements Report
         }
 
         return Optional.of(new DasReporter(getName(), metricRegistry, getFilter(metricFilter), source, type,
-                receiverURL, authURL, username, password, dataAgentConfigPath, getPollingPeriod()));
+                receiverURL, authURL, username, password, dataAgentConfigPath, getPollingPeriod(), getDeadline(),
+                batchPublishing, compactFormat, percentiles, tagsAsArbitraryData));
     }
 }
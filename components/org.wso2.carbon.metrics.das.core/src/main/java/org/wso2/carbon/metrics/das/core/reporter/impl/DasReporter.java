@@ -15,11 +15,17 @@
  */
 package org.wso2.carbon.metrics.das.core.reporter.impl;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
+import org.wso2.carbon.metrics.core.reporter.MetricView;
 import org.wso2.carbon.metrics.core.reporter.ScheduledReporter;
 import org.wso2.carbon.metrics.core.reporter.impl.AbstractReporter;
+import org.wso2.carbon.metrics.core.task.ReportingScheduler;
+import org.wso2.carbon.metrics.das.core.config.model.DasBatchPublishingConfig;
+import org.wso2.carbon.metrics.das.core.config.model.DasCompactFormatConfig;
 
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -31,6 +37,8 @@ public class DasReporter extends AbstractReporter implements ScheduledReporter {
 
     private final MetricFilter metricFilter;
 
+    private final MetricView metricView;
+
     private final String source;
 
     private final String type;
@@ -42,14 +50,28 @@ public class DasReporter extends AbstractReporter implements ScheduledReporter {
 
     private org.wso2.carbon.metrics.das.reporter.DasReporter dasReporter;
 
+    private ReportingScheduler.Schedule schedule;
+
     private final long pollingPeriod;
 
+    private final long deadline;
+
+    private final int batchSize;
+    private final int maxPendingBatches;
+    private final int keyframeInterval;
+    private final double[] percentiles;
+    private final boolean tagsAsArbitraryData;
+
     public DasReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, String source,
                        String type, String receiverURL, String authURL, String username, String password,
-                       String dataAgentConfigPath, long pollingPeriod) {
+                       String dataAgentConfigPath, long pollingPeriod, long deadline,
+                       DasBatchPublishingConfig batchPublishing,
+                       DasCompactFormatConfig compactFormat, List<Double> percentiles,
+                       boolean tagsAsArbitraryData) {
         super(name);
         this.metricRegistry = metricRegistry;
         this.metricFilter = metricFilter;
+        this.metricView = new MetricView(metricRegistry, metricFilter);
         this.source = source;
         this.type = type;
         this.receiverURL = receiverURL;
@@ -58,29 +80,72 @@ public class DasReporter extends AbstractReporter implements ScheduledReporter {
         this.password = password;
         this.dataAgentConfigPath = dataAgentConfigPath;
         this.pollingPeriod = pollingPeriod;
+        this.deadline = deadline;
+        this.batchSize = batchPublishing.isEnabled() ? batchPublishing.getBatchSize() : 0;
+        this.maxPendingBatches = batchPublishing.getMaxPendingBatches();
+        this.keyframeInterval = compactFormat.isEnabled() ? Math.max(compactFormat.getKeyframeInterval(), 1) : 0;
+        this.percentiles = percentiles.stream().mapToDouble(Double::doubleValue).toArray();
+        this.tagsAsArbitraryData = tagsAsArbitraryData;
     }
 
     @Override
     public void report() {
         if (dasReporter != null) {
-            dasReporter.report();
+            metricView.report(dasReporter);
         }
     }
 
     @Override
     public void startReporter() {
-        dasReporter = org.wso2.carbon.metrics.das.reporter.DasReporter.forRegistry(metricRegistry).filter(metricFilter)
-                .convertRatesTo(TimeUnit.SECONDS)
-                .convertDurationsTo(TimeUnit.MILLISECONDS)
-                .build(source, type, receiverURL, authURL, username, password, dataAgentConfigPath);
-        dasReporter.start(pollingPeriod, TimeUnit.SECONDS);
+        org.wso2.carbon.metrics.das.reporter.DasReporter.Builder builder =
+                org.wso2.carbon.metrics.das.reporter.DasReporter.forRegistry(metricRegistry).filter(metricFilter)
+                        .convertRatesTo(TimeUnit.SECONDS)
+                        .convertDurationsTo(TimeUnit.MILLISECONDS);
+        if (batchSize > 0) {
+            builder.publishBatched(batchSize, maxPendingBatches);
+        }
+        if (keyframeInterval > 0) {
+            builder.compactFormat(keyframeInterval);
+        }
+        builder.percentiles(percentiles).tagsAsArbitraryData(tagsAsArbitraryData);
+        dasReporter = builder.build(source, type, receiverURL, authURL, username, password, dataAgentConfigPath);
+        if (batchSize > 0) {
+            // The reports are scheduled by this reporter. Only the publisher thread is started.
+            dasReporter.startPublisher();
+            registerPublisherMetrics(dasReporter);
+        }
+        metricView.start();
+        schedule = ReportingScheduler.getDefault().schedule(getName(), this::report, pollingPeriod, deadline, true,
+                TimeUnit.SECONDS);
     }
 
     @Override
     public void stopReporter() {
         if (dasReporter != null) {
+            // Wait for a report in progress to complete
+            schedule.cancel(1, TimeUnit.SECONDS);
+            schedule = null;
             dasReporter.stop();
+            metricView.stop();
             dasReporter = null;
+            if (batchSize > 0) {
+                metricRegistry.removeMatching((metricName, metric) -> metricName.startsWith(getMetricPrefix() + "."));
+            }
         }
     }
+
+    /**
+     * Expose the state of the batch publisher as gauges, so that the dropped events can be monitored from other
+     * reporters.
+     */
+    private void registerPublisherMetrics(org.wso2.carbon.metrics.das.reporter.DasReporter reporter) {
+        String prefix = getMetricPrefix();
+        metricRegistry.register(MetricRegistry.name(prefix, "pending"), (Gauge<Integer>) reporter::getPendingBatches);
+        metricRegistry.register(MetricRegistry.name(prefix, "published"), (Gauge<Long>) reporter::getPublishedEvents);
+        metricRegistry.register(MetricRegistry.name(prefix, "dropped"), (Gauge<Long>) reporter::getDroppedEvents);
+    }
+
+    private String getMetricPrefix() {
+        return MetricRegistry.name("org.wso2.carbon.metrics.das.reporter", getName(), "publisher");
+    }
 }
@@ -23,6 +23,8 @@ import org.wso2.carbon.metrics.das.core.config.model.DasConfig;
 import org.wso2.carbon.metrics.das.core.config.model.DasReporterConfig;
 import org.wso2.carbon.metrics.das.core.config.model.MetricsConfig;
 
+import java.util.Arrays;
+
 /**
  * Test Cases for {@link MetricsConfig}.
  */
@@ -43,6 +45,12 @@ public class MetricsConfigTest {
         Assert.assertEquals(config.isEnabled(), true);
         Assert.assertEquals(config.getPollingPeriod(), 600L);
         Assert.assertEquals(config.getSource(), "Carbon-das");
+        Assert.assertTrue(config.getBatchPublishing().isEnabled());
+        Assert.assertEquals(config.getBatchPublishing().getBatchSize(), 100);
+        Assert.assertEquals(config.getBatchPublishing().getMaxPendingBatches(), 5);
+        Assert.assertFalse(config.getCompactFormat().isEnabled());
+        Assert.assertEquals(config.getCompactFormat().getKeyframeInterval(), 5);
+        Assert.assertEquals(config.getPercentiles(), Arrays.asList(0.5, 0.99));
     }
 
     @Test
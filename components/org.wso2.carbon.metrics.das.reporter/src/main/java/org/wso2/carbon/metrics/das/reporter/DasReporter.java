@@ -37,9 +37,16 @@ import org.wso2.carbon.databridge.commons.Event;
 import org.wso2.carbon.databridge.commons.exception.TransportException;
 import org.wso2.carbon.databridge.commons.utils.DataBridgeCommonsUtils;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 import java.util.SortedMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.DoubleUnaryOperator;
 
 /**
  * Reporting the measurements for each metric to Data Analytics Server (DAS).
@@ -66,6 +73,11 @@ public class DasReporter extends ScheduledReporter {
         private TimeUnit durationUnit;
         private Clock clock;
         private MetricFilter filter;
+        private int batchSize;
+        private int maxPendingBatches;
+        private int keyframeInterval;
+        private double[] percentiles = MetricBatchEncoder.DEFAULT_PERCENTILES;
+        private boolean tagsAsArbitraryData;
 
         private Builder(MetricRegistry registry) {
             this.registry = registry;
@@ -119,6 +131,68 @@ public class DasReporter extends ScheduledReporter {
             return this;
         }
 
+        /**
+         * Publish the events in batches. The reporter only captures the events of a report in batches and a dedicated
+         * thread publishes the batches via the non-blocking path of the Data Publisher. The events, which could not be
+         * published, are dropped and counted. The thread is started when the reporter is started, or by
+         * {@link DasReporter#startPublisher()}.
+         *
+         * @param batchSize         the maximum number of events in a batch
+         * @param maxPendingBatches the maximum number of batches waiting to be published
+         * @return {@code this}
+         */
+        public Builder publishBatched(int batchSize, int maxPendingBatches) {
+            this.batchSize = batchSize;
+            this.maxPendingBatches = maxPendingBatches;
+            return this;
+        }
+
+        /**
+         * Send all metrics of a report in a single event to the compact "MetricBatch" stream instead of sending an
+         * event for each metric. The counts are sent as differences from the previous event, except in keyframes. An
+         * event is always published via the non-blocking path of the Data Publisher and the next event is a keyframe if
+         * an event was dropped.
+         *
+         * @param keyframeInterval the number of events between two events with absolute counts
+         * @return {@code this}
+         */
+        public Builder compactFormat(int keyframeInterval) {
+            this.keyframeInterval = keyframeInterval;
+            return this;
+        }
+
+        /**
+         * Send the given percentiles of histograms and timers. By default, the median, 75th, 95th, 98th, 99th and
+         * 99.9th percentiles are sent to the version 1.0.0 of the histogram and timer streams. Other percentiles are
+         * sent to the version 1.1.0 of these streams, which also has the 99.99th percentile and leaves the fields of
+         * the percentiles not given empty. The compact format can send any percentile.
+         *
+         * @param quantiles the quantiles of the percentiles, which should be greater than 0 and less than 1
+         * @return {@code this}
+         * @see #compactFormat(int)
+         * @see #isStreamPercentile(double)
+         */
+        public Builder percentiles(double... quantiles) {
+            this.percentiles = quantiles.clone();
+            return this;
+        }
+
+        /**
+         * Send the tags of tagged metrics as the "tags" arbitrary data of the events, which the event stores persist
+         * in the "_tags" column. A tagged metric is registered with its name followed by the tags in braces, for
+         * example {@code requests{endpoint=/orders}}. The name without the tags is sent in the name field and the
+         * events of the metrics without tags have no arbitrary data. By default, the registered name is sent in the
+         * name field. The compact format always sends the registered names.
+         *
+         * @param tagsAsArbitraryData whether to send the tags as arbitrary data
+         * @return {@code this}
+         * @see #compactFormat(int)
+         */
+        public Builder tagsAsArbitraryData(boolean tagsAsArbitraryData) {
+            this.tagsAsArbitraryData = tagsAsArbitraryData;
+            return this;
+        }
+
         /**
          * Builds a {@link DasReporter} with the given properties to report metrics to DAS.
          *
@@ -134,7 +208,8 @@ public class DasReporter extends ScheduledReporter {
         public DasReporter build(String source, String type, String receiverURL, String authURL, String username,
                                  String password, String dataAgentConfigPath) {
             return new DasReporter(registry, source, type, receiverURL, authURL, username, password,
-                    dataAgentConfigPath, rateUnit, durationUnit, clock, filter);
+                    dataAgentConfigPath, rateUnit, durationUnit, clock, filter, batchSize, maxPendingBatches,
+                    keyframeInterval, percentiles, tagsAsArbitraryData);
         }
     }
 
@@ -143,20 +218,56 @@ public class DasReporter extends ScheduledReporter {
     private final Clock clock;
     private final String source;
     private final DataPublisher dataPublisher;
+    private final String meterRateUnit;
+    private final String timerRateUnit;
+
+    private final int batchSize;
+    private final BlockingQueue<Event[]> pendingBatches;
+    private final BlockingQueue<Event[]> freeBatches;
+    private Thread publisher;
+    private final MetricBatchEncoder batchEncoder;
+    private final String batchPercentiles;
+    // The quantile of each percentile field in the histogram and timer streams. NaN if the percentile is not sent.
+    private final double[] percentileFields;
+    private final String histogramStreamId;
+    private final String timerStreamId;
+    private final boolean tagsAsArbitraryData;
+    private long lastDroppedEvents;
+    private final AtomicLong publishedEvents = new AtomicLong();
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private volatile boolean stopped;
+
+    // The batch being filled by the reporting thread
+    private Event[] batch;
+    private int batchIndex;
+
+    private static final long PUBLISHER_POLL_INTERVAL = 1000L;
+    private static final long PUBLISHER_STOP_TIMEOUT = 10000L;
 
     private static final String GAUGE_STREAM = "org.wso2.metrics.stream.Gauge";
     private static final String COUNTER_STREAM = "org.wso2.metrics.stream.Counter";
     private static final String METER_STREAM = "org.wso2.metrics.stream.Meter";
     private static final String HISTOGRAM_STREAM = "org.wso2.metrics.stream.Histogram";
     private static final String TIMER_STREAM = "org.wso2.metrics.stream.Timer";
+    private static final String METRIC_BATCH_STREAM = "org.wso2.metrics.stream.MetricBatch";
 
     private static final String VERSION = "1.0.0";
+    private static final String PERCENTILES_VERSION = "1.1.0";
+
+    // The key of the tags in the arbitrary data of an event
+    private static final String TAGS_KEY = "tags";
+
+    // The quantiles of the percentile fields in the version 1.1.0 of the histogram and timer streams
+    private static final double[] STREAM_PERCENTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999, 0.9999};
 
     private static final String GAUGE_STREAM_ID;
     private static final String COUNTER_STREAM_ID;
     private static final String METER_STREAM_ID;
     private static final String HISTOGRAM_STREAM_ID;
     private static final String TIMER_STREAM_ID;
+    private static final String HISTOGRAM_PERCENTILES_STREAM_ID;
+    private static final String TIMER_PERCENTILES_STREAM_ID;
+    private static final String METRIC_BATCH_STREAM_ID;
 
     static {
         GAUGE_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(GAUGE_STREAM, VERSION);
@@ -164,14 +275,51 @@ public class DasReporter extends ScheduledReporter {
         METER_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(METER_STREAM, VERSION);
         HISTOGRAM_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(HISTOGRAM_STREAM, VERSION);
         TIMER_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(TIMER_STREAM, VERSION);
+        HISTOGRAM_PERCENTILES_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(HISTOGRAM_STREAM,
+                PERCENTILES_VERSION);
+        TIMER_PERCENTILES_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(TIMER_STREAM, PERCENTILES_VERSION);
+        METRIC_BATCH_STREAM_ID = DataBridgeCommonsUtils.generateStreamId(METRIC_BATCH_STREAM, VERSION);
     }
 
     private DasReporter(MetricRegistry registry, String source, String type, String receiverURL, String authURL,
                         String username, String password, String dataAgentConfigPath, TimeUnit rateUnit,
-                        TimeUnit durationUnit, Clock clock, MetricFilter filter) {
+                        TimeUnit durationUnit, Clock clock, MetricFilter filter, int batchSize,
+                        int maxPendingBatches, int keyframeInterval, double[] percentiles,
+                        boolean tagsAsArbitraryData) {
         super(registry, "das-reporter", filter, rateUnit, durationUnit);
         this.source = source;
         this.clock = clock;
+        this.meterRateUnit = String.format("events/%s", getRateUnit());
+        this.timerRateUnit = String.format("calls/%s", getRateUnit());
+        this.batchSize = batchSize;
+        this.tagsAsArbitraryData = tagsAsArbitraryData;
+        this.batchEncoder = keyframeInterval > 0 ? new MetricBatchEncoder(keyframeInterval, percentiles) : null;
+        StringBuilder quantiles = new StringBuilder();
+        for (double quantile : percentiles) {
+            if (quantile <= 0 || quantile >= 1) {
+                throw new IllegalArgumentException("Percentile quantiles should be greater than 0 and less than 1");
+            }
+            quantiles.append(quantiles.length() > 0 ? "," : "").append(quantile);
+        }
+        this.batchPercentiles = quantiles.toString();
+        if (keyframeInterval > 0 || Arrays.equals(percentiles, MetricBatchEncoder.DEFAULT_PERCENTILES)) {
+            this.percentileFields = MetricBatchEncoder.DEFAULT_PERCENTILES;
+            this.histogramStreamId = HISTOGRAM_STREAM_ID;
+            this.timerStreamId = TIMER_STREAM_ID;
+        } else {
+            this.percentileFields = new double[STREAM_PERCENTILES.length];
+            Arrays.fill(percentileFields, Double.NaN);
+            for (double quantile : percentiles) {
+                int index = Arrays.binarySearch(STREAM_PERCENTILES, quantile);
+                if (index < 0) {
+                    throw new IllegalArgumentException(String.format(
+                            "The histogram and timer streams do not have the percentile: %s", quantile));
+                }
+                percentileFields[index] = quantile;
+            }
+            this.histogramStreamId = HISTOGRAM_PERCENTILES_STREAM_ID;
+            this.timerStreamId = TIMER_PERCENTILES_STREAM_ID;
+        }
         if (source == null || source.trim().isEmpty()) {
             throw new IllegalArgumentException("Source cannot be null or empty");
         }
@@ -187,6 +335,15 @@ public class DasReporter extends ScheduledReporter {
         if (password == null || password.trim().isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
+        if (batchSize < 0) {
+            throw new IllegalArgumentException("Batch size cannot be negative");
+        }
+        if (batchSize > 0 && maxPendingBatches <= 0) {
+            throw new IllegalArgumentException("Maximum pending batches should be positive");
+        }
+        if (keyframeInterval < 0) {
+            throw new IllegalArgumentException("Keyframe interval cannot be negative");
+        }
         if (dataAgentConfigPath != null) {
             AgentHolder.setConfigPath(dataAgentConfigPath);
         }
@@ -196,11 +353,48 @@ public class DasReporter extends ScheduledReporter {
                 | DataEndpointAuthenticationException | TransportException e) {
             throw new IllegalStateException("Error when initializing the Data Publisher", e);
         }
+        if (batchSize > 0) {
+            this.pendingBatches = new ArrayBlockingQueue<>(maxPendingBatches);
+            // Published batches are reused. One more batch is kept for the batch being filled.
+            this.freeBatches = new ArrayBlockingQueue<>(maxPendingBatches + 1);
+        } else {
+            this.pendingBatches = null;
+            this.freeBatches = null;
+        }
+    }
+
+    /**
+     * Starts the reporter. When publishing in batches, the publisher thread is started as well.
+     */
+    @Override
+    public synchronized void start(long initialDelay, long period, TimeUnit unit) {
+        super.start(initialDelay, period, unit);
+        startPublisher();
+    }
+
+    /**
+     * Starts the thread publishing the batches without scheduling the reports. This is used when the reports are
+     * scheduled by the caller. This does nothing if the reporter does not publish in batches or the thread is already
+     * started.
+     */
+    public synchronized void startPublisher() {
+        if (pendingBatches != null && publisher == null && !stopped) {
+            publisher = new NamedThreadFactory("das-reporter-publisher-" + source)
+                    .newThread(this::publishPendingBatches);
+            publisher.start();
+        }
     }
 
+    /**
+     * Stops the reporter. When publishing in batches, the pending batches are published before shutting down the Data
+     * Publisher. The batches are published by the calling thread if the reporter was not started.
+     */
     @Override
     public void stop() {
         super.stop();
+        if (pendingBatches != null) {
+            stopPublisher();
+        }
         try {
             dataPublisher.shutdown();
         } catch (DataEndpointException e) {
@@ -208,6 +402,44 @@ public class DasReporter extends ScheduledReporter {
         }
     }
 
+    /**
+     * Publishes the pending batches and stops the publisher thread. The pending batches, which could not be published
+     * within the timeout, are dropped.
+     */
+    private void stopPublisher() {
+        Thread publisherThread;
+        synchronized (this) {
+            if (stopped) {
+                return;
+            }
+            stopped = true;
+            publisherThread = publisher;
+        }
+        if (publisherThread == null) {
+            publishPendingBatches();
+        } else {
+            try {
+                publisherThread.join(PUBLISHER_STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (publisherThread.isAlive()) {
+                publisherThread.interrupt();
+            }
+        }
+        long remaining = 0;
+        Event[] pending;
+        while ((pending = pendingBatches.poll()) != null) {
+            remaining += countEvents(pending);
+        }
+        if (remaining > 0) {
+            droppedEvents.addAndGet(remaining);
+            if (logger.isWarnEnabled()) {
+                logger.warn("Discarded {} pending events when stopping the reporter", remaining);
+            }
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     @Override
     public void report(SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
@@ -215,40 +447,230 @@ public class DasReporter extends ScheduledReporter {
                        SortedMap<String, Timer> timers) {
         // Report time in milliseconds
         final long timestamp = clock.getTime();
+        // The meta data is the same for all events in a report
+        final Object[] meta = new Object[]{timestamp};
+
+        if (pendingBatches != null) {
+            synchronized (this) {
+                captureEvents(timestamp, meta, gauges, counters, histograms, meters, timers, this::addToBatch);
+                queueBatch();
+            }
+            return;
+        }
+        if (batchEncoder != null) {
+            // A dropped event must be detected, so that the next event is a keyframe
+            captureEvents(timestamp, meta, gauges, counters, histograms, meters, timers, this::tryPublish);
+            return;
+        }
+        captureEvents(timestamp, meta, gauges, counters, histograms, meters, timers, dataPublisher::publish);
+    }
+
+    private void tryPublish(Event event) {
+        if (dataPublisher.tryPublish(event)) {
+            publishedEvents.incrementAndGet();
+        } else {
+            droppedEvents.incrementAndGet();
+        }
+    }
 
+    /**
+     * @return The number of batches waiting to be published
+     */
+    public int getPendingBatches() {
+        return pendingBatches != null ? pendingBatches.size() : 0;
+    }
+
+    /**
+     * @return The number of events published via the non-blocking path of the Data Publisher
+     */
+    public long getPublishedEvents() {
+        return publishedEvents.get();
+    }
+
+    /**
+     * @return The number of events dropped as there were too many pending batches or the Data Publisher could not
+     * accept them
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.get();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void captureEvents(final long timestamp, final Object[] meta, final SortedMap<String, Gauge> gauges,
+                               final SortedMap<String, Counter> counters,
+                               final SortedMap<String, Histogram> histograms, final SortedMap<String, Meter> meters,
+                               final SortedMap<String, Timer> timers, final Consumer<Event> consumer) {
+        if (batchEncoder != null) {
+            reportMetricBatch(timestamp, meta, gauges, counters, histograms, meters, timers, consumer);
+            return;
+        }
         if (!gauges.isEmpty()) {
-            reportGauges(timestamp, gauges);
+            reportGauges(timestamp, meta, gauges, consumer);
         }
         if (!counters.isEmpty()) {
-            reportCounters(timestamp, counters);
+            reportCounters(timestamp, meta, counters, consumer);
         }
         if (!histograms.isEmpty()) {
-            reportHistograms(timestamp, histograms);
+            reportHistograms(timestamp, meta, histograms, consumer);
         }
         if (!meters.isEmpty()) {
-            reportMeters(timestamp, meters);
+            reportMeters(timestamp, meta, meters, consumer);
         }
         if (!timers.isEmpty()) {
-            reportTimers(timestamp, timers);
+            reportTimers(timestamp, meta, timers, consumer);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void reportMetricBatch(final long timestamp, final Object[] meta, final SortedMap<String, Gauge> gauges,
+                                   final SortedMap<String, Counter> counters,
+                                   final SortedMap<String, Histogram> histograms,
+                                   final SortedMap<String, Meter> meters, final SortedMap<String, Timer> timers,
+                                   final Consumer<Event> consumer) {
+        if (gauges.isEmpty() && counters.isEmpty() && histograms.isEmpty() && meters.isEmpty() && timers.isEmpty()) {
+            return;
+        }
+        Object[] payload = new Object[11];
+        payload[0] = source;
+        synchronized (batchEncoder) {
+            long dropped = droppedEvents.get();
+            if (dropped != lastDroppedEvents) {
+                // The receiver cannot apply the differences in this event, as an earlier event was dropped. The Data
+                // Publisher may still lose an accepted event, which the receiver detects by the gap in the sequence.
+                batchEncoder.requireKeyframe();
+                lastDroppedEvents = dropped;
+            }
+            batchEncoder.encode(timestamp, gauges, counters, histograms, meters, timers, this::convertDuration,
+                    this::convertRate, payload, 1);
+        }
+        payload[8] = batchPercentiles;
+        payload[9] = getRateUnit();
+        payload[10] = getDurationUnit();
+        consumer.accept(new Event(METRIC_BATCH_STREAM_ID, timestamp, meta, null, payload));
+    }
+
+    private void addToBatch(Event event) {
+        if (batch == null) {
+            batch = freeBatches.poll();
+            if (batch == null) {
+                batch = new Event[batchSize];
+            }
+        }
+        batch[batchIndex++] = event;
+        if (batchIndex == batch.length) {
+            queueBatch();
+        }
+    }
+
+    /**
+     * Hands over the current batch to the publisher thread. The whole batch is dropped if there are too many pending
+     * batches, so that a slow receiver never blocks the reporting thread.
+     */
+    private void queueBatch() {
+        if (batchIndex == 0) {
+            return;
+        }
+        if (!pendingBatches.offer(batch)) {
+            droppedEvents.addAndGet(batchIndex);
+            recycleBatch(batch);
+        }
+        batch = null;
+        batchIndex = 0;
+    }
+
+    private void recycleBatch(Event[] events) {
+        Arrays.fill(events, null);
+        freeBatches.offer(events);
+    }
+
+    private static int countEvents(Event[] events) {
+        int count = 0;
+        while (count < events.length && events[count] != null) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Publishes the pending batches until the reporter is stopped. This is run by the publisher thread, or by the
+     * thread stopping the reporter if the reporter was not started.
+     */
+    private void publishPendingBatches() {
+        while (!stopped || !pendingBatches.isEmpty()) {
+            Event[] events;
+            try {
+                events = pendingBatches.poll(PUBLISHER_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (events == null) {
+                continue;
+            }
+            long published = 0;
+            long dropped = 0;
+            for (Event event : events) {
+                if (event == null) {
+                    break;
+                }
+                if (dataPublisher.tryPublish(event)) {
+                    published++;
+                } else {
+                    dropped++;
+                }
+            }
+            publishedEvents.addAndGet(published);
+            if (dropped > 0) {
+                droppedEvents.addAndGet(dropped);
+            }
+            recycleBatch(events);
         }
     }
 
     @SuppressWarnings("rawtypes")
-    private void reportGauges(final long timestamp, final SortedMap<String, Gauge> gauges) {
-        Object[] meta = new Object[]{timestamp};
+    private void reportGauges(final long timestamp, final Object[] meta,
+                              final SortedMap<String, Gauge> gauges, final Consumer<Event> consumer) {
         for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
             String name = entry.getKey();
             Gauge gauge = entry.getValue();
             Object[] payload = new Object[3];
             payload[0] = source;
-            payload[1] = name;
             payload[2] = convertToDouble(gauge.getValue());
-            Event event = new Event(GAUGE_STREAM_ID, timestamp, meta, null, payload);
-            dataPublisher.publish(event);
+            Event event = newEvent(GAUGE_STREAM_ID, timestamp, meta, name, payload);
+            consumer.accept(event);
+        }
+    }
+
+    /**
+     * Creates an event of a metric. The name field is set to the name of the metric, or to the name without the tags
+     * if the tags are sent as arbitrary data.
+     */
+    private Event newEvent(String streamId, long timestamp, Object[] meta, String name, Object[] payload) {
+        String tags = tagsAsArbitraryData ? getTags(name) : null;
+        if (tags == null) {
+            payload[1] = name;
+            return new Event(streamId, timestamp, meta, null, payload);
+        }
+        // The tags are followed by the closing brace
+        payload[1] = name.substring(0, name.length() - tags.length() - 2);
+        return new Event(streamId, timestamp, meta, null, payload, Collections.singletonMap(TAGS_KEY, tags));
+    }
+
+    /**
+     * Returns the tags of a tagged metric name. For example, the tags of {@code requests{endpoint=/orders}} are
+     * {@code endpoint=/orders}.
+     *
+     * @param name The name used to register a metric
+     * @return The tags without the braces, or {@code null} if the metric is not tagged
+     */
+    static String getTags(String name) {
+        if (name.isEmpty() || name.charAt(name.length() - 1) != '}') {
+            return null;
         }
+        int start = name.indexOf('{');
+        return start > 0 ? name.substring(start + 1, name.length() - 1) : null;
     }
 
-    private Double convertToDouble(Object value) {
+    static Double convertToDouble(Object value) {
         if (value instanceof Double) {
             return (Double) value;
         } else if (value instanceof Float) {
@@ -262,92 +684,99 @@ public class DasReporter extends ScheduledReporter {
         }
     }
 
-    private void reportCounters(final long timestamp, final SortedMap<String, Counter> counters) {
-        Object[] meta = new Object[]{timestamp};
+    private void reportCounters(final long timestamp, final Object[] meta,
+                                final SortedMap<String, Counter> counters, final Consumer<Event> consumer) {
         for (Map.Entry<String, Counter> entry : counters.entrySet()) {
             String name = entry.getKey();
             Counter counter = entry.getValue();
             Object[] payload = new Object[3];
             payload[0] = source;
-            payload[1] = name;
             payload[2] = counter.getCount();
-            Event event = new Event(COUNTER_STREAM_ID, timestamp, meta, null, payload);
-            dataPublisher.publish(event);
+            Event event = newEvent(COUNTER_STREAM_ID, timestamp, meta, name, payload);
+            consumer.accept(event);
         }
     }
 
-    private void reportHistograms(final long timestamp, final SortedMap<String, Histogram> histograms) {
-        Object[] meta = new Object[]{timestamp};
+    private void reportHistograms(final long timestamp, final Object[] meta,
+                                  final SortedMap<String, Histogram> histograms, final Consumer<Event> consumer) {
         for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
             String name = entry.getKey();
             Histogram histogram = entry.getValue();
             Snapshot snapshot = histogram.getSnapshot();
-            Object[] payload = new Object[13];
+            Object[] payload = new Object[7 + percentileFields.length];
             payload[0] = source;
-            payload[1] = name;
             payload[2] = histogram.getCount();
             payload[3] = snapshot.getMax();
             payload[4] = snapshot.getMean();
             payload[5] = snapshot.getMin();
             payload[6] = snapshot.getStdDev();
-            payload[7] = snapshot.getMedian();
-            payload[8] = snapshot.get75thPercentile();
-            payload[9] = snapshot.get95thPercentile();
-            payload[10] = snapshot.get98thPercentile();
-            payload[11] = snapshot.get99thPercentile();
-            payload[12] = snapshot.get999thPercentile();
-            Event event = new Event(HISTOGRAM_STREAM_ID, timestamp, meta, null, payload);
-            dataPublisher.publish(event);
+            addPercentiles(payload, 7, snapshot, DoubleUnaryOperator.identity());
+            Event event = newEvent(histogramStreamId, timestamp, meta, name, payload);
+            consumer.accept(event);
         }
     }
 
-    private void reportMeters(final long timestamp, final SortedMap<String, Meter> meters) {
-        Object[] meta = new Object[]{timestamp};
+    private void reportMeters(final long timestamp, final Object[] meta,
+                              final SortedMap<String, Meter> meters, final Consumer<Event> consumer) {
         for (Map.Entry<String, Meter> entry : meters.entrySet()) {
             String name = entry.getKey();
             Meter meter = entry.getValue();
             Object[] payload = new Object[8];
             payload[0] = source;
-            payload[1] = name;
             payload[2] = meter.getCount();
             payload[3] = convertRate(meter.getMeanRate());
             payload[4] = convertRate(meter.getOneMinuteRate());
             payload[5] = convertRate(meter.getFiveMinuteRate());
             payload[6] = convertRate(meter.getFifteenMinuteRate());
-            payload[7] = String.format("events/%s", getRateUnit());
-            Event event = new Event(METER_STREAM_ID, timestamp, meta, null, payload);
-            dataPublisher.publish(event);
+            payload[7] = meterRateUnit;
+            Event event = newEvent(METER_STREAM_ID, timestamp, meta, name, payload);
+            consumer.accept(event);
         }
     }
 
-    private void reportTimers(final long timestamp, final SortedMap<String, Timer> timers) {
-        Object[] meta = new Object[]{timestamp};
+    private void reportTimers(final long timestamp, final Object[] meta,
+                              final SortedMap<String, Timer> timers, final Consumer<Event> consumer) {
         for (Map.Entry<String, Timer> entry : timers.entrySet()) {
             String name = entry.getKey();
             Timer timer = entry.getValue();
             Snapshot snapshot = timer.getSnapshot();
-            Object[] payload = new Object[19];
+            int rates = 7 + percentileFields.length;
+            Object[] payload = new Object[rates + 6];
             payload[0] = source;
-            payload[1] = name;
             payload[2] = timer.getCount();
             payload[3] = convertDuration(snapshot.getMax());
             payload[4] = convertDuration(snapshot.getMean());
             payload[5] = convertDuration(snapshot.getMin());
             payload[6] = convertDuration(snapshot.getStdDev());
-            payload[7] = convertDuration(snapshot.getMedian());
-            payload[8] = convertDuration(snapshot.get75thPercentile());
-            payload[9] = convertDuration(snapshot.get95thPercentile());
-            payload[10] = convertDuration(snapshot.get98thPercentile());
-            payload[11] = convertDuration(snapshot.get99thPercentile());
-            payload[12] = convertDuration(snapshot.get999thPercentile());
-            payload[13] = convertRate(timer.getMeanRate());
-            payload[14] = convertRate(timer.getOneMinuteRate());
-            payload[15] = convertRate(timer.getFiveMinuteRate());
-            payload[16] = convertRate(timer.getFifteenMinuteRate());
-            payload[17] = String.format("calls/%s", getRateUnit());
-            payload[18] = getDurationUnit();
-            Event event = new Event(TIMER_STREAM_ID, timestamp, meta, null, payload);
-            dataPublisher.publish(event);
+            addPercentiles(payload, 7, snapshot, this::convertDuration);
+            payload[rates] = convertRate(timer.getMeanRate());
+            payload[rates + 1] = convertRate(timer.getOneMinuteRate());
+            payload[rates + 2] = convertRate(timer.getFiveMinuteRate());
+            payload[rates + 3] = convertRate(timer.getFifteenMinuteRate());
+            payload[rates + 4] = timerRateUnit;
+            payload[rates + 5] = getDurationUnit();
+            Event event = newEvent(timerStreamId, timestamp, meta, name, payload);
+            consumer.accept(event);
         }
     }
+
+    private void addPercentiles(Object[] payload, int offset, Snapshot snapshot, DoubleUnaryOperator converter) {
+        for (int i = 0; i < percentileFields.length; i++) {
+            double quantile = percentileFields[i];
+            if (!Double.isNaN(quantile)) {
+                payload[offset + i] = converter.applyAsDouble(MetricBatchEncoder.getPercentile(snapshot, quantile));
+            }
+        }
+    }
+
+    /**
+     * Checks whether the histogram and timer streams have a field for a percentile. Only these percentiles can be
+     * sent, unless the compact format is used.
+     *
+     * @param quantile the quantile of the percentile
+     * @return {@code true} if the version 1.1.0 of the histogram and timer streams has the percentile
+     */
+    public static boolean isStreamPercentile(double quantile) {
+        return Arrays.binarySearch(STREAM_PERCENTILES, quantile) >= 0;
+    }
 }
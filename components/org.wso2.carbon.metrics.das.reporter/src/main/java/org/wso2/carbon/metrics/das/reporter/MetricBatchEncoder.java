@@ -0,0 +1,286 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.das.reporter;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Encodes all metrics of a report in to the payload of a single "MetricBatch" event. The payload is columnar, so that
+ * a receiver can split each column with a delimiter and join the columns by the position of the metric. The payload
+ * contains the following fields.
+ * <ul>
+ * <li>{@code sequence}: The number of the event. A gap shows that an event was lost and the counts cannot be restored
+ * until the next keyframe.</li>
+ * <li>{@code keyframe}: Whether the event is a keyframe. A keyframe has the names, the types and the absolute counts.
+ * </li>
+ * <li>{@code keyframe_timestamp}: The timestamp of the last keyframe, which identifies the keyframe of a source even
+ * when the sequence restarts. The metrics of an event are always the metrics of this keyframe, in the same order. A
+ * new keyframe is sent whenever the metrics change.</li>
+ * <li>{@code names}: The sorted metric names separated by a new line. Empty if the event is not a keyframe.</li>
+ * <li>{@code types}: A character for each name. G: Gauge, C: Counter, H: Histogram, M: Meter and T: Timer. Empty if
+ * the event is not a keyframe.</li>
+ * <li>{@code counts}: A comma separated count for each name. The count of a gauge is empty. In a keyframe, the
+ * counts are absolute. Otherwise each count is the difference from the count in the previous event.</li>
+ * <li>{@code values}: The values for each name separated by a semicolon. The values of a metric are separated by a
+ * comma. A gauge has its value, a histogram has max, mean, min, stddev and the configured percentiles, a meter has the
+ * mean, 1, 5 and 15 minute rates and a timer has the values of a histogram followed by the rates of a meter. An
+ * unknown gauge value is empty. By default, the percentiles are the median, 75th, 95th, 98th, 99th and 99.9th
+ * percentiles.</li>
+ * </ul>
+ * This class is not thread-safe.
+ */
+class MetricBatchEncoder {
+
+    static final int SEQUENCE = 0;
+    static final int KEYFRAME = 1;
+    static final int KEYFRAME_TIMESTAMP = 2;
+    static final int NAMES = 3;
+    static final int TYPES = 4;
+    static final int COUNTS = 5;
+    static final int VALUES = 6;
+
+    static final double[] DEFAULT_PERCENTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+
+    private final int keyframeInterval;
+
+    private final double[] percentiles;
+
+    private final StringBuilder types = new StringBuilder();
+    private final StringBuilder counts = new StringBuilder();
+    private final StringBuilder values = new StringBuilder();
+
+    // The names and the types of the metrics in the last keyframe
+    private final List<String> keyframeNames = new ArrayList<>();
+    private String keyframeTypes = "";
+    private long[] lastCounts = new long[0];
+    private long sequence;
+    private long keyframeTimestamp;
+    private int eventsSinceKeyframe;
+    private boolean keyframeRequired = true;
+
+    private boolean keyframe;
+    private int index;
+    private int valueIndex;
+
+    /**
+     * @param keyframeInterval The number of events between two keyframes. Every event is a keyframe if the interval is
+     *                         less than or equal to one.
+     */
+    MetricBatchEncoder(int keyframeInterval) {
+        this(keyframeInterval, DEFAULT_PERCENTILES);
+    }
+
+    /**
+     * @param keyframeInterval The number of events between two keyframes
+     * @param percentiles      The quantiles of the percentiles written for histograms and timers
+     */
+    MetricBatchEncoder(int keyframeInterval, double[] percentiles) {
+        this.keyframeInterval = keyframeInterval;
+        this.percentiles = percentiles.clone();
+    }
+
+    /**
+     * Makes the next event a keyframe. This must be called when an event could not be published, as the differences
+     * in the next event cannot be applied without it.
+     */
+    void requireKeyframe() {
+        keyframeRequired = true;
+    }
+
+    /**
+     * Encodes the metrics.
+     *
+     * @param timestamp The timestamp of the event
+     * @param payload   An array to write the {@code sequence}, {@code keyframe}, {@code keyframe_timestamp},
+     *                  {@code names}, {@code types}, {@code counts} and {@code values} fields
+     * @param offset    The index of the {@code sequence} field in the payload
+     */
+    @SuppressWarnings("rawtypes")
+    void encode(long timestamp, SortedMap<String, Gauge> gauges, SortedMap<String, Counter> counters,
+                SortedMap<String, Histogram> histograms, SortedMap<String, Meter> meters,
+                SortedMap<String, Timer> timers, DoubleUnaryOperator durationConverter,
+                DoubleUnaryOperator rateConverter, Object[] payload, int offset) {
+        // Merge the metrics of all types in name order
+        SortedMap<String, Metric> metrics = new TreeMap<>();
+        metrics.putAll(gauges);
+        metrics.putAll(counters);
+        metrics.putAll(histograms);
+        metrics.putAll(meters);
+        metrics.putAll(timers);
+
+        types.setLength(0);
+        for (Metric metric : metrics.values()) {
+            types.append(getType(metric));
+        }
+        // The differences can only be sent for the metrics of the last keyframe
+        boolean metricsChanged = !keyframeTypes.contentEquals(types) || !isKeyframeNames(metrics.keySet());
+        keyframe = keyframeRequired || metricsChanged || ++eventsSinceKeyframe >= keyframeInterval;
+        if (keyframe) {
+            eventsSinceKeyframe = 0;
+            keyframeRequired = false;
+            keyframeTimestamp = timestamp;
+            if (metricsChanged) {
+                keyframeNames.clear();
+                keyframeNames.addAll(metrics.keySet());
+                keyframeTypes = types.toString();
+                lastCounts = new long[keyframeNames.size()];
+            }
+        }
+        counts.setLength(0);
+        values.setLength(0);
+        index = 0;
+
+        for (Metric metric : metrics.values()) {
+            if (index > 0) {
+                counts.append(',');
+                values.append(';');
+            }
+            valueIndex = 0;
+            if (metric instanceof Gauge) {
+                Double value = DasReporter.convertToDouble(((Gauge) metric).getValue());
+                appendValue(value != null ? value : Double.NaN);
+            } else if (metric instanceof Counter) {
+                appendCount(((Counter) metric).getCount());
+            } else if (metric instanceof Histogram) {
+                Histogram histogram = (Histogram) metric;
+                appendCount(histogram.getCount());
+                appendSnapshot(histogram.getSnapshot(), DoubleUnaryOperator.identity());
+            } else if (metric instanceof Meter) {
+                Meter meter = (Meter) metric;
+                appendCount(meter.getCount());
+                appendRates(meter.getMeanRate(), meter.getOneMinuteRate(), meter.getFiveMinuteRate(),
+                        meter.getFifteenMinuteRate(), rateConverter);
+            } else if (metric instanceof Timer) {
+                Timer timer = (Timer) metric;
+                appendCount(timer.getCount());
+                appendSnapshot(timer.getSnapshot(), durationConverter);
+                appendRates(timer.getMeanRate(), timer.getOneMinuteRate(), timer.getFiveMinuteRate(),
+                        timer.getFifteenMinuteRate(), rateConverter);
+            }
+            index++;
+        }
+
+        payload[offset + SEQUENCE] = sequence++;
+        payload[offset + KEYFRAME] = keyframe;
+        payload[offset + KEYFRAME_TIMESTAMP] = keyframeTimestamp;
+        payload[offset + NAMES] = keyframe ? String.join("\n", keyframeNames) : "";
+        payload[offset + TYPES] = keyframe ? keyframeTypes : "";
+        payload[offset + COUNTS] = counts.toString();
+        payload[offset + VALUES] = values.toString();
+    }
+
+    private boolean isKeyframeNames(Set<String> names) {
+        if (names.size() != keyframeNames.size()) {
+            return false;
+        }
+        int i = 0;
+        for (String name : names) {
+            if (!name.equals(keyframeNames.get(i++))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static char getType(Metric metric) {
+        if (metric instanceof Gauge) {
+            return 'G';
+        } else if (metric instanceof Counter) {
+            return 'C';
+        } else if (metric instanceof Histogram) {
+            return 'H';
+        } else if (metric instanceof Meter) {
+            return 'M';
+        }
+        return 'T';
+    }
+
+    private void appendCount(long count) {
+        counts.append(keyframe ? count : count - lastCounts[index]);
+        lastCounts[index] = count;
+    }
+
+    private void appendSnapshot(Snapshot snapshot, DoubleUnaryOperator converter) {
+        appendValue(converter.applyAsDouble(snapshot.getMax()));
+        appendValue(converter.applyAsDouble(snapshot.getMean()));
+        appendValue(converter.applyAsDouble(snapshot.getMin()));
+        appendValue(converter.applyAsDouble(snapshot.getStdDev()));
+        for (double quantile : percentiles) {
+            appendValue(converter.applyAsDouble(getPercentile(snapshot, quantile)));
+        }
+    }
+
+    /**
+     * Returns a percentile from the snapshot. The well-known percentiles are read through their own accessors, which
+     * snapshot implementations may override.
+     */
+    static double getPercentile(Snapshot snapshot, double quantile) {
+        if (quantile == 0.5) {
+            return snapshot.getMedian();
+        } else if (quantile == 0.75) {
+            return snapshot.get75thPercentile();
+        } else if (quantile == 0.95) {
+            return snapshot.get95thPercentile();
+        } else if (quantile == 0.98) {
+            return snapshot.get98thPercentile();
+        } else if (quantile == 0.99) {
+            return snapshot.get99thPercentile();
+        } else if (quantile == 0.999) {
+            return snapshot.get999thPercentile();
+        }
+        return snapshot.getValue(quantile);
+    }
+
+    private void appendRates(double meanRate, double oneMinuteRate, double fiveMinuteRate, double fifteenMinuteRate,
+                             DoubleUnaryOperator converter) {
+        appendValue(converter.applyAsDouble(meanRate));
+        appendValue(converter.applyAsDouble(oneMinuteRate));
+        appendValue(converter.applyAsDouble(fiveMinuteRate));
+        appendValue(converter.applyAsDouble(fifteenMinuteRate));
+    }
+
+    /**
+     * Writes the value in the shortest form. Whole numbers are written without the fraction.
+     */
+    private void appendValue(double value) {
+        if (valueIndex++ > 0) {
+            values.append(',');
+        }
+        if (Double.isNaN(value)) {
+            return;
+        }
+        long longValue = (long) value;
+        if (longValue == value && Math.abs(longValue) < (1L << 53)) {
+            values.append(longValue);
+        } else {
+            values.append(value);
+        }
+    }
+
+}
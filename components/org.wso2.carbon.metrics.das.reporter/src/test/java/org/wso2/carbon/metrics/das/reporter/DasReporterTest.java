@@ -240,6 +240,108 @@ public class DasReporterTest {
         Assert.assertEquals(event.getPayloadData()[18], "milliseconds");
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void reportsTagsAsArbitraryData() throws Exception {
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        DasReporter taggedReporter = DasReporter.forRegistry(registry).filter(MetricFilter.ALL)
+                .convertRatesTo(TimeUnit.SECONDS)
+                .convertDurationsTo(TimeUnit.MILLISECONDS)
+                .withClock(clock)
+                .tagsAsArbitraryData(true)
+                .build(SOURCE, "thrift", "tcp://localhost:" + serverPort, null, "admin", "admin", RESOURCES_DIR +
+                        File.separator + "data.agent.config.yaml");
+        try {
+            taggedReporter.report(this.map(), map("tagged.requests{endpoint=/orders}", counter), this.map(),
+                    this.map(), this.map());
+        } finally {
+            taggedReporter.stop();
+        }
+
+        Event event = testServer.getEvent("Counter", "tagged.requests");
+        Assert.assertEquals(event.getPayloadData()[2], 100L);
+        Assert.assertEquals(event.getArbitraryDataMap().get("tags"), "endpoint=/orders");
+    }
+
+    @Test
+    public void testGetTags() {
+        Assert.assertEquals(DasReporter.getTags("requests{endpoint=/orders}"), "endpoint=/orders");
+        Assert.assertNull(DasReporter.getTags("requests"));
+        Assert.assertNull(DasReporter.getTags("{endpoint=/orders}"));
+    }
+
+    @Test
+    public void publishesEventsInBatches() throws Exception {
+        DasReporter batchedReporter = DasReporter.forRegistry(registry).filter(MetricFilter.ALL)
+                .convertRatesTo(TimeUnit.SECONDS)
+                .convertDurationsTo(TimeUnit.MILLISECONDS)
+                .withClock(clock)
+                .publishBatched(2, 4)
+                .build(SOURCE, "thrift", "tcp://localhost:" + serverPort, null, "admin", "admin", RESOURCES_DIR +
+                        File.separator + "data.agent.config.yaml");
+        batchedReporter.startPublisher();
+        try {
+            final Counter counter = mock(Counter.class);
+            when(counter.getCount()).thenReturn(200L);
+            final SortedMap<String, Counter> counters = new TreeMap<>();
+            counters.put("test.batched.counter1", counter);
+            counters.put("test.batched.counter2", counter);
+            counters.put("test.batched.counter3", counter);
+
+            batchedReporter.report(this.map(), counters, this.map(), this.map(), this.map());
+
+            Event event = testServer.getEvent("Counter", "test.batched.counter3");
+            Assert.assertEquals(event.getTimeStamp(), clock.getTime());
+            Assert.assertEquals(event.getMetaData()[0], clock.getTime());
+            Assert.assertEquals(event.getPayloadData()[0], SOURCE);
+            Assert.assertEquals(event.getPayloadData()[2], 200L);
+        } finally {
+            batchedReporter.stop();
+        }
+        Assert.assertEquals(batchedReporter.getPublishedEvents() + batchedReporter.getDroppedEvents(), 3L);
+        Assert.assertEquals(batchedReporter.getPendingBatches(), 0);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void reportsMetricBatch() throws Exception {
+        DasReporter compactReporter = DasReporter.forRegistry(registry).filter(MetricFilter.ALL)
+                .convertRatesTo(TimeUnit.SECONDS)
+                .convertDurationsTo(TimeUnit.MILLISECONDS)
+                .withClock(clock)
+                .compactFormat(10)
+                .build(SOURCE, "thrift", "tcp://localhost:" + serverPort, null, "admin", "admin", RESOURCES_DIR +
+                        File.separator + "data.agent.config.yaml");
+        try {
+            final Counter counter = mock(Counter.class);
+            when(counter.getCount()).thenReturn(300L);
+            final Gauge gauge = mock(Gauge.class);
+            when(gauge.getValue()).thenReturn(2);
+
+            compactReporter.report(map("test.batch.gauge", gauge), map("test.batch.counter", counter), this.map(),
+                    this.map(), this.map());
+
+            Event event = testServer.getEvent("MetricBatch");
+            Assert.assertEquals(event.getTimeStamp(), clock.getTime());
+            Assert.assertEquals(event.getMetaData()[0], clock.getTime());
+            Assert.assertEquals(event.getPayloadData()[0], SOURCE);
+            Assert.assertEquals(event.getPayloadData()[1], 0L);
+            Assert.assertEquals(event.getPayloadData()[2], true);
+            Assert.assertEquals(event.getPayloadData()[3], clock.getTime());
+            Assert.assertEquals(event.getPayloadData()[4], "test.batch.counter\ntest.batch.gauge");
+            Assert.assertEquals(event.getPayloadData()[5], "CG");
+            Assert.assertEquals(event.getPayloadData()[6], "300,");
+            Assert.assertEquals(event.getPayloadData()[7], ";2");
+            Assert.assertEquals(event.getPayloadData()[8], "0.5,0.75,0.95,0.98,0.99,0.999");
+            Assert.assertEquals(event.getPayloadData()[9], "second");
+            Assert.assertEquals(event.getPayloadData()[10], "milliseconds");
+            Assert.assertEquals(compactReporter.getPublishedEvents(), 1L);
+        } finally {
+            compactReporter.stop();
+        }
+    }
+
     private <T> SortedMap<String, T> map() {
         return new TreeMap<>();
     }
@@ -263,6 +365,19 @@ public class DasReporterTest {
         build(SOURCE, "thrift", "tcp://localhost:1234", null, "admin", null, null);
         build(SOURCE, "thrift", "tcp://localhost:1234", null, "admin", "", null);
         build(SOURCE, "thrift", "invalidURL", null, "admin", "admin", null);
+
+        try {
+            DasReporter.forRegistry(registry).publishBatched(100, 0).build(SOURCE, "thrift",
+                    "tcp://localhost:" + serverPort, null, "admin", "admin", null);
+            Assert.fail("The DasReporter Builder should fail");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            DasReporter.forRegistry(registry).compactFormat(10).percentiles(0.0).build(SOURCE, "thrift",
+                    "tcp://localhost:" + serverPort, null, "admin", "admin", null);
+            Assert.fail("The DasReporter Builder should fail");
+        } catch (IllegalArgumentException e) {
+        }
     }
 
     private void build(String source, String type, String receiverURL, String authURL, String username,
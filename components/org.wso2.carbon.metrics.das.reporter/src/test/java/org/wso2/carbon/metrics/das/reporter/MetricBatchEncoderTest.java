@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.das.reporter;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.DoubleUnaryOperator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link MetricBatchEncoder}.
+ */
+public class MetricBatchEncoderTest {
+
+    private static final DoubleUnaryOperator IDENTITY = DoubleUnaryOperator.identity();
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void encodesMetricsInColumns() {
+        final Gauge gauge = mock(Gauge.class);
+        when(gauge.getValue()).thenReturn(1.5D);
+        final Gauge unknownGauge = mock(Gauge.class);
+        when(unknownGauge.getValue()).thenReturn("unknown");
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        final Meter meter = mock(Meter.class);
+        when(meter.getCount()).thenReturn(5L);
+        when(meter.getMeanRate()).thenReturn(1.0);
+        when(meter.getOneMinuteRate()).thenReturn(2.0);
+        when(meter.getFiveMinuteRate()).thenReturn(3.0);
+        when(meter.getFifteenMinuteRate()).thenReturn(4.0);
+        final Histogram histogram = mock(Histogram.class);
+        when(histogram.getCount()).thenReturn(7L);
+        Snapshot snapshot = snapshot();
+        when(histogram.getSnapshot()).thenReturn(snapshot);
+
+        SortedMap<String, Gauge> gauges = map("a.b.gauge", gauge);
+        gauges.put("a.unknown", unknownGauge);
+        MetricBatchEncoder encoder = new MetricBatchEncoder(10);
+        Object[] payload = new Object[7];
+        encoder.encode(1000L, gauges, map("a.b.counter", counter), map("a.histogram", histogram),
+                map("a.b.meter", meter), this.map(), IDENTITY, rate -> rate * 60, payload, 0);
+
+        Assert.assertEquals(payload[MetricBatchEncoder.SEQUENCE], 0L);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME_TIMESTAMP], 1000L);
+        Assert.assertEquals(payload[MetricBatchEncoder.NAMES],
+                "a.b.counter\na.b.gauge\na.b.meter\na.histogram\na.unknown");
+        Assert.assertEquals(payload[MetricBatchEncoder.TYPES], "CGMHG");
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "100,,5,7,");
+        Assert.assertEquals(payload[MetricBatchEncoder.VALUES], ";1.5;60,120,180,240;2,3,4,5,6,7,8,9,10,11;");
+    }
+
+    @Test
+    public void encodesConfiguredPercentiles() {
+        final Histogram histogram = mock(Histogram.class);
+        when(histogram.getCount()).thenReturn(5L);
+        Snapshot snapshot = snapshot();
+        when(snapshot.getValue(0.9999)).thenReturn(12.0);
+        when(histogram.getSnapshot()).thenReturn(snapshot);
+
+        MetricBatchEncoder encoder = new MetricBatchEncoder(10, new double[]{0.5, 0.9999});
+        Object[] payload = new Object[7];
+        encoder.encode(1000L, this.map(), this.map(), map("histogram", histogram), this.map(), this.map(), IDENTITY,
+                IDENTITY, payload, 0);
+
+        Assert.assertEquals(payload[MetricBatchEncoder.VALUES], "2,3,4,5,6,12");
+    }
+
+    @Test
+    public void encodesDifferencesBetweenKeyframes() {
+        final Counter counter = mock(Counter.class);
+        MetricBatchEncoder encoder = new MetricBatchEncoder(3);
+        Object[] payload = new Object[7];
+
+        when(counter.getCount()).thenReturn(100L);
+        encode(encoder, 1000L, map("counter", counter), payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "100");
+
+        when(counter.getCount()).thenReturn(110L);
+        encode(encoder, 2000L, map("counter", counter), payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.SEQUENCE], 1L);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], false);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME_TIMESTAMP], 1000L);
+        Assert.assertEquals(payload[MetricBatchEncoder.NAMES], "");
+        Assert.assertEquals(payload[MetricBatchEncoder.TYPES], "");
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "10");
+
+        when(counter.getCount()).thenReturn(105L);
+        encode(encoder, 3000L, map("counter", counter), payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], false);
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "-5");
+
+        encode(encoder, 4000L, map("counter", counter), payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.SEQUENCE], 3L);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME_TIMESTAMP], 4000L);
+        Assert.assertEquals(payload[MetricBatchEncoder.NAMES], "counter");
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "105");
+
+        encoder.requireKeyframe();
+        encode(encoder, 5000L, map("counter", counter), payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.SEQUENCE], 4L);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME_TIMESTAMP], 5000L);
+    }
+
+    @Test
+    public void sendsKeyframeWhenMetricsChange() {
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        final Counter newCounter = mock(Counter.class);
+        when(newCounter.getCount()).thenReturn(3L);
+        MetricBatchEncoder encoder = new MetricBatchEncoder(10);
+        Object[] payload = new Object[7];
+
+        encode(encoder, 1000L, map("counter", counter), payload);
+        SortedMap<String, Counter> counters = map("counter", counter);
+        counters.put("new.counter", newCounter);
+        // The count of a new metric is never sent as a difference
+        encode(encoder, 2000L, counters, payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME_TIMESTAMP], 2000L);
+        Assert.assertEquals(payload[MetricBatchEncoder.NAMES], "counter\nnew.counter");
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "100,3");
+
+        encode(encoder, 3000L, counters, payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], false);
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "0,0");
+
+        encode(encoder, 4000L, map("counter", counter), payload);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.NAMES], "counter");
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "100");
+
+        // A metric with the same name and a different type
+        final Meter meter = mock(Meter.class);
+        when(meter.getCount()).thenReturn(100L);
+        encoder.encode(5000L, this.map(), this.map(), this.map(), map("counter", meter), this.map(), IDENTITY,
+                IDENTITY, payload, 0);
+        Assert.assertEquals(payload[MetricBatchEncoder.KEYFRAME], true);
+        Assert.assertEquals(payload[MetricBatchEncoder.TYPES], "M");
+        Assert.assertEquals(payload[MetricBatchEncoder.COUNTS], "100");
+    }
+
+    /**
+     * Decodes the events as the "MetricBatch" Spark script of the DAS capp does and checks the positions used by the
+     * script. A change of the delimiters or the order of the fields must be made in the script as well.
+     */
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void decodesEncodedMetrics() {
+        final Gauge gauge = mock(Gauge.class);
+        when(gauge.getValue()).thenReturn(0.25D);
+        final Counter counter = mock(Counter.class);
+        final Histogram histogram = mock(Histogram.class);
+        Snapshot snapshot = snapshot();
+        when(histogram.getSnapshot()).thenReturn(snapshot);
+        final Meter meter = mock(Meter.class);
+        when(meter.getMeanRate()).thenReturn(1.0);
+        when(meter.getOneMinuteRate()).thenReturn(2.0);
+        when(meter.getFiveMinuteRate()).thenReturn(3.0);
+        when(meter.getFifteenMinuteRate()).thenReturn(4.5);
+        final Timer timer = mock(Timer.class);
+        when(timer.getSnapshot()).thenReturn(snapshot);
+        when(timer.getMeanRate()).thenReturn(12.0);
+        when(timer.getOneMinuteRate()).thenReturn(13.0);
+        when(timer.getFiveMinuteRate()).thenReturn(14.0);
+        when(timer.getFifteenMinuteRate()).thenReturn(15.0);
+
+        MetricBatchEncoder encoder = new MetricBatchEncoder(3);
+        MetricBatchDecoder decoder = new MetricBatchDecoder();
+        Object[] payload = new Object[7];
+        long[] counts = {100, 120, 90, 90, 150};
+        for (int i = 0; i < counts.length; i++) {
+            when(counter.getCount()).thenReturn(counts[i]);
+            when(histogram.getCount()).thenReturn(counts[i] + 1);
+            when(meter.getCount()).thenReturn(counts[i] + 2);
+            when(timer.getCount()).thenReturn(counts[i] + 3);
+            encoder.encode(1000L * i, map("gauge", gauge), map("counter", counter), map("histogram", histogram),
+                    map("meter", meter), map("timer", timer), IDENTITY, IDENTITY, payload, 0);
+            Map<String, String[]> metrics = decoder.decode(payload);
+
+            Assert.assertEquals(metrics.size(), 5);
+            Assert.assertEquals(metrics.get("gauge")[0], "G");
+            Assert.assertEquals(metrics.get("gauge")[1], "");
+            Assert.assertEquals(Double.parseDouble(metrics.get("gauge")[2]), 0.25);
+            Assert.assertEquals(metrics.get("counter")[0], "C");
+            Assert.assertEquals(Long.parseLong(metrics.get("counter")[1]), counts[i]);
+
+            // The indexes of the histogram, meter and timer values in the script
+            String[] values = metrics.get("histogram");
+            Assert.assertEquals(values[0], "H");
+            Assert.assertEquals(Long.parseLong(values[1]), counts[i] + 1);
+            Assert.assertEquals(Long.parseLong(values[2]), 2L);
+            Assert.assertEquals(Double.parseDouble(values[2 + 1]), 3.0);
+            Assert.assertEquals(Long.parseLong(values[2 + 2]), 4L);
+            Assert.assertEquals(Double.parseDouble(values[2 + 3]), 5.0);
+            Assert.assertEquals(Double.parseDouble(values[2 + 4]), 6.0);
+            Assert.assertEquals(Double.parseDouble(values[2 + 9]), 11.0);
+            Assert.assertEquals(values.length, 2 + 10);
+
+            values = metrics.get("meter");
+            Assert.assertEquals(values[0], "M");
+            Assert.assertEquals(Long.parseLong(values[1]), counts[i] + 2);
+            Assert.assertEquals(Double.parseDouble(values[2]), 1.0);
+            Assert.assertEquals(Double.parseDouble(values[2 + 3]), 4.5);
+            Assert.assertEquals(values.length, 2 + 4);
+
+            values = metrics.get("timer");
+            Assert.assertEquals(values[0], "T");
+            Assert.assertEquals(Long.parseLong(values[1]), counts[i] + 3);
+            Assert.assertEquals(Double.parseDouble(values[2]), 2.0);
+            Assert.assertEquals(Double.parseDouble(values[2 + 9]), 11.0);
+            Assert.assertEquals(Double.parseDouble(values[2 + 10]), 12.0);
+            Assert.assertEquals(Double.parseDouble(values[2 + 13]), 15.0);
+            Assert.assertEquals(values.length, 2 + 14);
+        }
+        // The keyframes and the events with differences were decoded
+        Assert.assertEquals(decoder.keyframes, 2);
+    }
+
+    private void encode(MetricBatchEncoder encoder, long timestamp, SortedMap<String, Counter> counters,
+                        Object[] payload) {
+        encoder.encode(timestamp, this.map(), counters, this.map(), this.map(), this.map(), IDENTITY, IDENTITY,
+                payload, 0);
+    }
+
+    /**
+     * Decodes the "MetricBatch" events of a source in the order of the sequence, with the delimiters and the
+     * positions used by the Spark script. The fields are split as the Spark split function does, which keeps the
+     * trailing empty strings.
+     */
+    private static final class MetricBatchDecoder {
+
+        private String[] names;
+        private String types;
+        private long[] counts;
+        private int keyframes;
+
+        /**
+         * @return The type, the absolute count and the values of each metric by the name
+         */
+        private Map<String, String[]> decode(Object[] payload) {
+            if ((Boolean) payload[MetricBatchEncoder.KEYFRAME]) {
+                names = ((String) payload[MetricBatchEncoder.NAMES]).split("\n", -1);
+                types = (String) payload[MetricBatchEncoder.TYPES];
+                counts = new long[names.length];
+                keyframes++;
+            }
+            String[] eventCounts = ((String) payload[MetricBatchEncoder.COUNTS]).split(",", -1);
+            String[] eventValues = ((String) payload[MetricBatchEncoder.VALUES]).split(";", -1);
+            Assert.assertEquals(eventCounts.length, names.length);
+            Assert.assertEquals(eventValues.length, names.length);
+            Map<String, String[]> metrics = new HashMap<>();
+            for (int pos = 0; pos < names.length; pos++) {
+                String[] values = eventValues[pos].split(",", -1);
+                String[] metric = new String[values.length + 2];
+                metric[0] = types.substring(pos, pos + 1);
+                if (!eventCounts[pos].isEmpty()) {
+                    // The counts from the keyframe to the event are summed
+                    counts[pos] += Long.parseLong(eventCounts[pos]);
+                    metric[1] = String.valueOf(counts[pos]);
+                } else {
+                    metric[1] = "";
+                }
+                System.arraycopy(values, 0, metric, 2, values.length);
+                metrics.put(names[pos], metric);
+            }
+            return metrics;
+        }
+    }
+
+    private Snapshot snapshot() {
+        final Snapshot snapshot = mock(Snapshot.class);
+        when(snapshot.getMax()).thenReturn(2L);
+        when(snapshot.getMean()).thenReturn(3.0);
+        when(snapshot.getMin()).thenReturn(4L);
+        when(snapshot.getStdDev()).thenReturn(5.0);
+        when(snapshot.getMedian()).thenReturn(6.0);
+        when(snapshot.get75thPercentile()).thenReturn(7.0);
+        when(snapshot.get95thPercentile()).thenReturn(8.0);
+        when(snapshot.get98thPercentile()).thenReturn(9.0);
+        when(snapshot.get99thPercentile()).thenReturn(10.0);
+        when(snapshot.get999thPercentile()).thenReturn(11.0);
+        return snapshot;
+    }
+
+    private <T> SortedMap<String, T> map() {
+        return new TreeMap<>();
+    }
+
+    private <T> SortedMap<String, T> map(String name, T metric) {
+        final TreeMap<String, T> map = new TreeMap<>();
+        map.put(name, metric);
+        return map;
+    }
+}
@@ -38,6 +38,10 @@ public class DataSourceConfig {
 
     private JdbcScheduledCleanupConfig scheduledCleanup = new JdbcScheduledCleanupConfig();
 
+    private JdbcPartitioningConfig partitioning = new JdbcPartitioningConfig();
+
+    private JdbcRollupConfig rollup = new JdbcRollupConfig();
+
     private Map<String, String> dataSourceProperties = new HashMap<>();
 
     public boolean isLookupDataSource() {
@@ -64,6 +68,22 @@ public class DataSourceConfig {
         this.scheduledCleanup = scheduledCleanup;
     }
 
+    public JdbcPartitioningConfig getPartitioning() {
+        return partitioning;
+    }
+
+    public void setPartitioning(JdbcPartitioningConfig partitioning) {
+        this.partitioning = partitioning;
+    }
+
+    public JdbcRollupConfig getRollup() {
+        return rollup;
+    }
+
+    public void setRollup(JdbcRollupConfig rollup) {
+        this.rollup = rollup;
+    }
+
     public Map<String, String> getDataSourceProperties() {
         return dataSourceProperties;
     }
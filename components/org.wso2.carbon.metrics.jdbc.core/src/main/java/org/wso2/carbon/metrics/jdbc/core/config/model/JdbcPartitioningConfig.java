@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+import org.wso2.carbon.metrics.jdbc.core.reporter.impl.PartitionInterval;
+
+/**
+ * Configuration for partitioning the Metrics tables by time.
+ */
+@Configuration(description = "Partition the Metrics tables by time.\n" +
+        "The tables should be created with the partitioned schema in the \"dbscripts/metrics/partitioned\" " +
+        "directory. On H2, each partition is a separate table.\n" +
+        "The scheduled cleanup drops the partitions with old data instead of deleting the rows.")
+public class JdbcPartitioningConfig {
+
+    @Element(description = "Enable partitioning")
+    private boolean enabled = false;
+
+    @Element(description = "The time interval covered by a partition. Available options are: DAILY and HOURLY.\n" +
+            "On Oracle, this should match the interval in the partitioned schema.")
+    private PartitionInterval interval = PartitionInterval.DAILY;
+
+    @Element(description = "The number of partitions to create in advance for the upcoming intervals")
+    private int futurePartitions = 2;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public PartitionInterval getInterval() {
+        return interval;
+    }
+
+    public void setInterval(PartitionInterval interval) {
+        this.interval = interval;
+    }
+
+    public int getFuturePartitions() {
+        return futurePartitions;
+    }
+
+    public void setFuturePartitions(int futurePartitions) {
+        this.futurePartitions = futurePartitions;
+    }
+}
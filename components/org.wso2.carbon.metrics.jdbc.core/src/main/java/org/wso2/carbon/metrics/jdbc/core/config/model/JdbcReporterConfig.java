@@ -21,12 +21,15 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.wso2.carbon.config.annotation.Element;
 import org.wso2.carbon.metrics.core.config.model.ScheduledReporterConfig;
 import org.wso2.carbon.metrics.core.reporter.ReporterBuildException;
 import org.wso2.carbon.metrics.core.reporter.ReporterBuilder;
 import org.wso2.carbon.metrics.core.utils.Utils;
 import org.wso2.carbon.metrics.jdbc.core.reporter.impl.JdbcReporter;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
@@ -45,6 +48,31 @@ public class JdbcReporterConfig extends ScheduledReporterConfig implements Repor
 
     private DataSourceConfig dataSource = new DataSourceConfig();
 
+    @Element(description = "Write the values of all metric types to the database in a single transaction.\n" +
+            "By default, each metric type is written in a separate transaction.")
+    private boolean singleTransaction = false;
+
+    @Element(description = "The maximum number of rows sent to the database in a single batch, " +
+            "when writing in a single transaction or writing behind")
+    private int maxBatchSize = 1000;
+
+    @Element(description = "The percentiles of histograms and timers written to the database, as quantiles.\n" +
+            "Each percentile is written to a column named with the percentile. " +
+            "For example: 0.999 is written to P999.\n" +
+            "The tables created by the database scripts have the P50, P75, P95, P98, P99, P999 and P9999 columns. " +
+            "Add a column for any other percentile.")
+    private List<Double> percentiles = Arrays.asList(0.5, 0.75, 0.95, 0.98, 0.99, 0.999);
+
+    @Element(description = "Write the tags of tagged metrics to the TAGS column and the name without the tags " +
+            "to the NAME column.\n" +
+            "By default, the name with the tags is written to the NAME column. " +
+            "Add the TAGS column to the tables created by an earlier version of the database scripts.")
+    private boolean tagsColumn = false;
+
+    private JdbcWriteBehindConfig writeBehind = new JdbcWriteBehindConfig();
+
+    private JdbcSkipUnchangedConfig skipUnchanged = new JdbcSkipUnchangedConfig();
+
     public JdbcReporterConfig() {
         super("JDBC");
     }
@@ -65,6 +93,54 @@ public class JdbcReporterConfig extends ScheduledReporterConfig implements Repor
         this.dataSource = dataSource;
     }
 
+    public boolean isSingleTransaction() {
+        return singleTransaction;
+    }
+
+    public void setSingleTransaction(boolean singleTransaction) {
+        this.singleTransaction = singleTransaction;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public List<Double> getPercentiles() {
+        return percentiles;
+    }
+
+    public void setPercentiles(List<Double> percentiles) {
+        this.percentiles = percentiles;
+    }
+
+    public boolean isTagsColumn() {
+        return tagsColumn;
+    }
+
+    public void setTagsColumn(boolean tagsColumn) {
+        this.tagsColumn = tagsColumn;
+    }
+
+    public JdbcWriteBehindConfig getWriteBehind() {
+        return writeBehind;
+    }
+
+    public void setWriteBehind(JdbcWriteBehindConfig writeBehind) {
+        this.writeBehind = writeBehind;
+    }
+
+    public JdbcSkipUnchangedConfig getSkipUnchanged() {
+        return skipUnchanged;
+    }
+
+    public void setSkipUnchanged(JdbcSkipUnchangedConfig skipUnchanged) {
+        this.skipUnchanged = skipUnchanged;
+    }
+
     /**
      * Build the JDBC Reporter.
      *
@@ -122,10 +198,23 @@ public class JdbcReporterConfig extends ScheduledReporterConfig implements Repor
             }
         }
 
-        JdbcScheduledCleanupConfig scheduledCleanup = dataSource.getScheduledCleanup();
+        if (percentiles == null || percentiles.isEmpty()) {
+            throw new ReporterBuildException("Percentiles are not specified for JDBC Reporting.");
+        }
+        double[] quantiles = new double[percentiles.size()];
+        for (int i = 0; i < quantiles.length; i++) {
+            quantiles[i] = percentiles.get(i);
+            if (quantiles[i] <= 0 || quantiles[i] >= 1) {
+                throw new ReporterBuildException(
+                        String.format("Invalid percentile for JDBC Reporting: %s. A percentile should be a quantile "
+                                + "greater than 0 and less than 1.", percentiles.get(i)));
+            }
+        }
+
         return Optional.of(new JdbcReporter(getName(), metricRegistry, getFilter(metricFilter), source, jdbcDataSource,
-                getPollingPeriod(), scheduledCleanup.isEnabled(), scheduledCleanup.getDaysToKeep(),
-                scheduledCleanup.getScheduledCleanupPeriod()));
+                getPollingPeriod(), getDeadline(), dataSource.getScheduledCleanup(), dataSource.getPartitioning(),
+                dataSource.getRollup(), writeBehind, skipUnchanged, singleTransaction, maxBatchSize, quantiles,
+                tagsColumn));
     }
 
 }
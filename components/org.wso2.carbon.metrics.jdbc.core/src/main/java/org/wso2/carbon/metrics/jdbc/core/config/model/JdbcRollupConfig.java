@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration for rolling up the Metrics data to tables with lower resolutions.
+ */
+@Configuration(description = "Roll up the Metrics data to tables with 1-minute, 1-hour and 1-day resolutions.\n" +
+        "Counters, meters, histograms and timers are aggregated to the METRIC_ROLLUP_1M, METRIC_ROLLUP_1H and " +
+        "METRIC_ROLLUP_1D tables.\nQuery these tables to show long time ranges and keep the raw data only for a " +
+        "few days.")
+public class JdbcRollupConfig {
+
+    @Element(description = "Enable rollups")
+    private boolean enabled = false;
+
+    @Element(description = "This is the period for each rollup operation in seconds.")
+    private long period = 60;
+
+    @Element(description = "The number of days to keep the 1-minute rollups")
+    private int minuteDaysToKeep = 14;
+
+    @Element(description = "The number of days to keep the 1-hour rollups")
+    private int hourDaysToKeep = 90;
+
+    @Element(description = "The number of days to keep the 1-day rollups. " +
+            "The rollups are kept forever if this is not positive.")
+    private int dayDaysToKeep = 730;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(long period) {
+        this.period = period;
+    }
+
+    public int getMinuteDaysToKeep() {
+        return minuteDaysToKeep;
+    }
+
+    public void setMinuteDaysToKeep(int minuteDaysToKeep) {
+        this.minuteDaysToKeep = minuteDaysToKeep;
+    }
+
+    public int getHourDaysToKeep() {
+        return hourDaysToKeep;
+    }
+
+    public void setHourDaysToKeep(int hourDaysToKeep) {
+        this.hourDaysToKeep = hourDaysToKeep;
+    }
+
+    public int getDayDaysToKeep() {
+        return dayDaysToKeep;
+    }
+
+    public void setDayDaysToKeep(int dayDaysToKeep) {
+        this.dayDaysToKeep = dayDaysToKeep;
+    }
+}
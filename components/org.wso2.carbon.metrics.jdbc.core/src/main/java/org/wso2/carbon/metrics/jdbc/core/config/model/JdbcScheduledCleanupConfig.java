@@ -37,6 +37,19 @@ public class JdbcScheduledCleanupConfig {
     // Default days to keep is 7 days
     private int daysToKeep = 7;
 
+    @Element(description = "The old data is deleted in chunks of rows with consecutive IDs to avoid long running " +
+            "transactions.\nThis is the number of IDs in a chunk. " +
+            "All old data in a table is deleted at once if this is not positive.")
+    private int chunkSize = 10000;
+
+    @Element(description = "The time to pause between deleting chunks in milliseconds")
+    private long chunkPause = 100;
+
+    @Element(description = "The maximum time for a cleanup operation in seconds.\n" +
+            "The next cleanup operation continues to delete the remaining data. There is no limit if this is not " +
+            "positive.")
+    private long timeBudget = 600;
+
     public boolean isEnabled() {
         return enabled;
     }
@@ -60,4 +73,28 @@ public class JdbcScheduledCleanupConfig {
     public void setDaysToKeep(int daysToKeep) {
         this.daysToKeep = daysToKeep;
     }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public long getChunkPause() {
+        return chunkPause;
+    }
+
+    public void setChunkPause(long chunkPause) {
+        this.chunkPause = chunkPause;
+    }
+
+    public long getTimeBudget() {
+        return timeBudget;
+    }
+
+    public void setTimeBudget(long timeBudget) {
+        this.timeBudget = timeBudget;
+    }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+
+/**
+ * Configuration for skipping the Metrics data, which has not changed since it was last written to the database.
+ */
+@Configuration(description = "Skip the metrics, which have not changed since they were last written.\n" +
+        "When enabled, the reporter compares the count of counters, the value of gauges, and the count, " +
+        "the snapshot values and the rates of histograms, meters and timers\nwith the last written values. " +
+        "Unchanged metrics are written again after the heartbeat interval.")
+public class JdbcSkipUnchangedConfig {
+
+    @Element(description = "Enable skipping unchanged metrics")
+    private boolean enabled = false;
+
+    @Element(description = "Heartbeat interval in seconds to write the unchanged metrics again.\n" +
+            "The unchanged metrics are never written again if the interval is 0.")
+    private long heartbeatInterval = 300;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(long heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.config.model;
+
+import org.wso2.carbon.config.annotation.Configuration;
+import org.wso2.carbon.config.annotation.Element;
+import org.wso2.carbon.metrics.jdbc.reporter.OverflowPolicy;
+
+/**
+ * Configuration for writing Metrics data to the database asynchronously.
+ */
+@Configuration(description = "Write Metrics data to the database asynchronously.\n" +
+        "When enabled, the reporter only captures the metric values to a bounded queue and a dedicated thread writes " +
+        "the queued values to the database.\nThis keeps a slow database from delaying the other reporters.")
+public class JdbcWriteBehindConfig {
+
+    @Element(description = "Enable writing behind")
+    private boolean enabled = false;
+
+    @Element(description = "The maximum number of metric values waiting to be written to the database")
+    private int queueSize = 10000;
+
+    @Element(description = "The action to take when the queue is full. Available options are: " +
+            "DROP_OLDEST, DROP_NEWEST and BLOCK")
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * H2 does not support partitioning. Therefore each partition is a separate table, which is rotated by time. The
+ * reporter inserts the values to the table of the current interval.
+ */
+class H2PartitionManager extends PartitionManager {
+
+    private static final String SNAPSHOT_COLUMNS = "MAX DOUBLE NOT NULL, MEAN DOUBLE NOT NULL, "
+            + "MIN DOUBLE NOT NULL, STDDEV DOUBLE NOT NULL";
+
+    private static final String RATE_COLUMNS = "MEAN_RATE DOUBLE NOT NULL, M1_RATE DOUBLE NOT NULL, "
+            + "M5_RATE DOUBLE NOT NULL, M15_RATE DOUBLE NOT NULL, RATE_UNIT VARCHAR(50) NOT NULL";
+
+    private final Map<String, String> columns = new HashMap<>();
+
+    H2PartitionManager(PartitionInterval interval, int futurePartitions, String[] percentileColumns) {
+        super(interval, futurePartitions);
+        StringBuilder snapshotColumns = new StringBuilder(SNAPSHOT_COLUMNS);
+        for (String percentileColumn : percentileColumns) {
+            snapshotColumns.append(", ").append(percentileColumn).append(" DOUBLE NOT NULL");
+        }
+        columns.put("METRIC_GAUGE", "METRIC_GAUGE VARCHAR(100) NOT NULL");
+        columns.put("METRIC_COUNTER", "COUNT BIGINT NOT NULL");
+        columns.put("METRIC_METER", "COUNT BIGINT NOT NULL, " + RATE_COLUMNS);
+        columns.put("METRIC_HISTOGRAM", "COUNT BIGINT NOT NULL, " + snapshotColumns);
+        columns.put("METRIC_TIMER", "COUNT BIGINT NOT NULL, " + snapshotColumns + ", " + RATE_COLUMNS
+                + ", DURATION_UNIT VARCHAR(50) NOT NULL");
+    }
+
+    @Override
+    public boolean isRotatingTables() {
+        return true;
+    }
+
+    @Override
+    public String getTableName(String tableName, long timestamp) {
+        return getPartitionName(tableName, interval.getStart(timestamp));
+    }
+
+    @Override
+    protected List<Partition> getPartitions(Connection connection, String tableName) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        try (ResultSet rs = connection.getMetaData().getTables(null, null, tableName + "%", new String[]{"TABLE"})) {
+            while (rs.next()) {
+                Partition partition = toPartition(tableName, rs.getString("TABLE_NAME"));
+                if (partition != null) {
+                    partitions.add(partition);
+                }
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    protected void createPartition(Connection connection, String tableName, String partitionName, long start,
+                                   long end) throws SQLException {
+        String columns = this.columns.get(tableName);
+        if (columns == null) {
+            throw new SQLException("Unknown Metrics table: " + tableName);
+        }
+        execute(connection, "CREATE TABLE IF NOT EXISTS " + partitionName + " (ID BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "SOURCE VARCHAR(255) NOT NULL, TIMESTAMP BIGINT NOT NULL, NAME VARCHAR(255) NOT NULL, "
+                + "TAGS VARCHAR(255), " + columns + ")");
+        execute(connection, "CREATE INDEX IF NOT EXISTS IDX_SOURCE_NAME_TS_" + partitionName + " ON " + partitionName
+                + " (SOURCE, NAME, TIMESTAMP)");
+    }
+
+    @Override
+    protected void dropPartition(Connection connection, String tableName, String partitionName)
+            throws SQLException {
+        execute(connection, "DROP TABLE IF EXISTS " + partitionName);
+    }
+}
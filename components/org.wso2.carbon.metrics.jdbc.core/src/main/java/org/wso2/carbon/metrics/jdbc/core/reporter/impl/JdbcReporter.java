@@ -15,11 +15,27 @@
  */
 package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.MetricFilter;
 import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.metrics.core.reporter.MetricView;
 import org.wso2.carbon.metrics.core.reporter.ScheduledReporter;
 import org.wso2.carbon.metrics.core.reporter.impl.AbstractReporter;
+import org.wso2.carbon.metrics.core.task.ReportingScheduler;
+import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcPartitioningConfig;
+import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcRollupConfig;
+import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcScheduledCleanupConfig;
+import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcSkipUnchangedConfig;
+import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcWriteBehindConfig;
+import org.wso2.carbon.metrics.jdbc.reporter.OverflowPolicy;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
@@ -28,68 +44,347 @@ import javax.sql.DataSource;
  */
 public class JdbcReporter extends AbstractReporter implements ScheduledReporter {
 
+    private static final Logger logger = LoggerFactory.getLogger(JdbcReporter.class);
+
     private final MetricRegistry metricRegistry;
 
     private final MetricFilter metricFilter;
 
+    private final MetricView metricView;
+
     private final String source;
 
     private final DataSource dataSource;
 
     private final long pollingPeriod;
 
+    private final long deadline;
+
     private final boolean runCleanupTask;
 
     private final int daysToKeep;
 
     private final long cleanupPeriod;
 
+    private final int cleanupChunkSize;
+
+    private final long cleanupChunkPause;
+
+    private final long cleanupTimeBudget;
+
+    private final boolean partitioned;
+
+    private final PartitionInterval partitionInterval;
+
+    private final int futurePartitions;
+
+    private final boolean rollupEnabled;
+
+    private final long rollupPeriod;
+
+    private final int[] rollupDaysToKeep;
+
+    private final int writeBehindQueueSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    // A negative interval means that the unchanged metrics are not skipped
+    private final long heartbeatInterval;
+
+    private final boolean singleTransaction;
+
+    private final int maxBatchSize;
+
+    private final double[] percentiles;
+
+    private final boolean tagsColumn;
+
     private org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter jdbcReporter;
 
+    private ReportingScheduler.Schedule schedule;
+
     // This task can be null
     private ScheduledJdbcMetricsCleanupTask scheduledJdbcMetricsCleanupTask;
 
+    // This task can be null
+    private ScheduledJdbcMetricsRollupTask scheduledJdbcMetricsRollupTask;
+
     public JdbcReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, String source,
                         DataSource dataSource, long pollingPeriod, boolean runCleanupTask, int daysToKeep,
                         long cleanupPeriod) {
+        this(name, metricRegistry, metricFilter, source, dataSource, pollingPeriod, 0,
+                createScheduledCleanupConfig(runCleanupTask, daysToKeep, cleanupPeriod), new JdbcPartitioningConfig(),
+                new JdbcRollupConfig(), new JdbcWriteBehindConfig(), new JdbcSkipUnchangedConfig(), false, 1000,
+                new double[]{0.5, 0.75, 0.95, 0.98, 0.99, 0.999}, false);
+    }
+
+    /**
+     * Creates a JDBC reporter.
+     *
+     * @param deadline          The maximum time for a report and a rollup in seconds. There is no deadline if this
+     *                          is not positive.
+     * @param scheduledCleanup  The configuration for the task to delete old data
+     * @param partitioning      The configuration for partitioning the tables by time
+     * @param rollup            The configuration for rolling up the data to tables with lower resolutions
+     * @param writeBehind       The configuration for writing the data asynchronously
+     * @param skipUnchanged     The configuration for skipping the metrics, which have not changed
+     * @param singleTransaction Whether to write all metric types in a single transaction
+     * @param maxBatchSize      The maximum number of rows sent to the database in a single batch
+     * @param percentiles       The quantiles of the percentiles written for histograms and timers
+     * @param tagsColumn        Whether to write the tags of tagged metrics to the TAGS column
+     */
+    public JdbcReporter(String name, MetricRegistry metricRegistry, MetricFilter metricFilter, String source,
+                        DataSource dataSource, long pollingPeriod, long deadline,
+                        JdbcScheduledCleanupConfig scheduledCleanup,
+                        JdbcPartitioningConfig partitioning, JdbcRollupConfig rollup,
+                        JdbcWriteBehindConfig writeBehind, JdbcSkipUnchangedConfig skipUnchanged,
+                        boolean singleTransaction, int maxBatchSize, double[] percentiles,
+                        boolean tagsColumn) {
         super(name);
         this.metricRegistry = metricRegistry;
         this.metricFilter = metricFilter;
+        this.metricView = new MetricView(metricRegistry, metricFilter);
         this.source = source;
         this.dataSource = dataSource;
         this.pollingPeriod = pollingPeriod;
-        this.runCleanupTask = runCleanupTask;
-        this.daysToKeep = daysToKeep;
-        this.cleanupPeriod = cleanupPeriod;
+        this.deadline = deadline;
+        this.runCleanupTask = scheduledCleanup.isEnabled();
+        this.daysToKeep = scheduledCleanup.getDaysToKeep();
+        this.cleanupPeriod = scheduledCleanup.getScheduledCleanupPeriod();
+        this.cleanupChunkSize = scheduledCleanup.getChunkSize();
+        this.cleanupChunkPause = scheduledCleanup.getChunkPause();
+        this.cleanupTimeBudget = scheduledCleanup.getTimeBudget();
+        this.partitioned = partitioning.isEnabled();
+        this.partitionInterval = partitioning.getInterval();
+        this.futurePartitions = partitioning.getFuturePartitions();
+        this.rollupEnabled = rollup.isEnabled();
+        this.rollupPeriod = rollup.getPeriod();
+        this.rollupDaysToKeep = new int[]{rollup.getMinuteDaysToKeep(), rollup.getHourDaysToKeep(),
+                rollup.getDayDaysToKeep()};
+        this.writeBehindQueueSize = writeBehind.isEnabled() ? writeBehind.getQueueSize() : 0;
+        this.overflowPolicy = writeBehind.getOverflowPolicy();
+        this.heartbeatInterval = skipUnchanged.isEnabled() ? skipUnchanged.getHeartbeatInterval() : -1;
+        this.singleTransaction = singleTransaction;
+        this.maxBatchSize = maxBatchSize;
+        this.percentiles = percentiles.clone();
+        this.tagsColumn = tagsColumn;
+    }
+
+    private static JdbcScheduledCleanupConfig createScheduledCleanupConfig(boolean enabled, int daysToKeep,
+                                                                           long cleanupPeriod) {
+        JdbcScheduledCleanupConfig scheduledCleanup = new JdbcScheduledCleanupConfig();
+        scheduledCleanup.setEnabled(enabled);
+        scheduledCleanup.setDaysToKeep(daysToKeep);
+        scheduledCleanup.setScheduledCleanupPeriod(cleanupPeriod);
+        return scheduledCleanup;
     }
 
     @Override
     public void report() {
         if (jdbcReporter != null) {
-            jdbcReporter.report();
+            metricView.report(jdbcReporter);
         }
     }
 
     @Override
     public void startReporter() {
-        jdbcReporter = org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter.forRegistry(metricRegistry)
-                .filter(metricFilter).convertRatesTo(TimeUnit.SECONDS).convertDurationsTo(TimeUnit.MILLISECONDS)
-                .convertTimestampTo(TimeUnit.MILLISECONDS).build(source, dataSource);
-        jdbcReporter.start(pollingPeriod, TimeUnit.SECONDS);
-        if (runCleanupTask) {
-            scheduledJdbcMetricsCleanupTask = new ScheduledJdbcMetricsCleanupTask(dataSource, daysToKeep);
+        PartitionManager partitionManager = partitioned ? createPartitionManager() : null;
+        if (partitionManager == null || !partitionManager.isRotatingTables()) {
+            // The rotating tables are created with the percentile columns
+            checkPercentileColumns();
+            if (tagsColumn) {
+                checkTagsColumn();
+            }
+        }
+        org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter.Builder builder =
+                org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter.forRegistry(metricRegistry)
+                        .filter(metricFilter).convertRatesTo(TimeUnit.SECONDS)
+                        .convertDurationsTo(TimeUnit.MILLISECONDS).convertTimestampTo(TimeUnit.MILLISECONDS)
+                        .singleTransaction(singleTransaction).maxBatchSize(maxBatchSize).percentiles(percentiles)
+                        .tagsColumn(tagsColumn);
+        if (partitionManager != null && partitionManager.isRotatingTables()) {
+            builder.tableNameResolver(partitionManager::getTableName);
+        }
+        if (writeBehindQueueSize > 0) {
+            builder.writeBehind(writeBehindQueueSize, overflowPolicy);
+        }
+        if (heartbeatInterval >= 0) {
+            builder.skipUnchanged(heartbeatInterval, TimeUnit.SECONDS);
+        }
+        jdbcReporter = builder.build(source, dataSource);
+        if (writeBehindQueueSize > 0) {
+            // The reports are scheduled below. Only the writer thread is started.
+            jdbcReporter.startWriter();
+            registerQueueMetrics(jdbcReporter);
+        }
+        if (partitionManager != null) {
+            // The partitions are maintained even if the cleanup is disabled. Old partitions are dropped only if the
+            // cleanup is enabled.
+            scheduledJdbcMetricsCleanupTask = new ScheduledJdbcMetricsCleanupTask(dataSource,
+                    runCleanupTask ? daysToKeep : 0, partitionManager);
+            // Create the partitions before reporting
+            scheduledJdbcMetricsCleanupTask.run();
+            registerCleanupMetrics(scheduledJdbcMetricsCleanupTask, true);
+            scheduledJdbcMetricsCleanupTask.start(Math.min(cleanupPeriod,
+                    TimeUnit.MILLISECONDS.toSeconds(partitionInterval.getMillis())), TimeUnit.SECONDS);
+        }
+        metricView.start();
+        schedule = ReportingScheduler.getDefault().schedule(getName(), this::report, pollingPeriod, deadline, true,
+                TimeUnit.SECONDS);
+        // The cleanup task has no deadline, as a cleanup is limited by its own time budget
+        if (runCleanupTask && partitionManager == null) {
+            scheduledJdbcMetricsCleanupTask = new ScheduledJdbcMetricsCleanupTask(dataSource, daysToKeep,
+                    cleanupChunkSize, cleanupChunkPause, cleanupTimeBudget);
+            registerCleanupMetrics(scheduledJdbcMetricsCleanupTask, false);
             scheduledJdbcMetricsCleanupTask.start(cleanupPeriod, TimeUnit.SECONDS);
         }
+        if (rollupEnabled) {
+            // Wait for a polling period until the values in a bucket are written. A run should not take longer than
+            // the rollup period.
+            scheduledJdbcMetricsRollupTask = new ScheduledJdbcMetricsRollupTask(dataSource, source, pollingPeriod,
+                    rollupDaysToKeep, rollupPeriod, partitionManager, getPercentileColumns(), tagsColumn);
+            registerRollupMetrics(scheduledJdbcMetricsRollupTask);
+            scheduledJdbcMetricsRollupTask.start(rollupPeriod, deadline, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Finds the {@link PartitionManager} for the database. The tables are not treated as partitioned if the database
+     * is not supported or cannot be accessed.
+     */
+    private PartitionManager createPartitionManager() {
+        String databaseProductName;
+        try (Connection connection = dataSource.getConnection()) {
+            databaseProductName = connection.getMetaData().getDatabaseProductName();
+        } catch (SQLException e) {
+            logger.error("Error when finding the database for partitioning. The tables are not treated as "
+                    + "partitioned.", e);
+            return null;
+        }
+        Optional<PartitionManager> partitionManager = PartitionManager.forDatabase(databaseProductName,
+                partitionInterval, futurePartitions, getPercentileColumns());
+        if (!partitionManager.isPresent() && logger.isWarnEnabled()) {
+            logger.warn(String.format("Partitioning is not supported for %s. The old data will be deleted row by "
+                    + "row.", databaseProductName));
+        }
+        return partitionManager.orElse(null);
+    }
+
+    /**
+     * Checks whether the histogram and timer tables created by the database scripts have the columns of the
+     * configured percentiles. The reporter is started even if a column is missing.
+     */
+    private void checkPercentileColumns() {
+        String columns = String.join(", ", getPercentileColumns());
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"METRIC_HISTOGRAM", "METRIC_TIMER"}) {
+                try (ResultSet resultSet = statement.executeQuery(
+                        String.format("SELECT %s FROM %s WHERE 1 = 0", columns, table))) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(String.format("The %s table has %d percentile columns", table,
+                                resultSet.getMetaData().getColumnCount()));
+                    }
+                } catch (SQLException e) {
+                    logger.error(String.format("The percentile columns %s cannot be read from the %s table. Add the "
+                            + "missing columns or change the percentiles of the JDBC reporter.", columns, table), e);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error when checking the percentile columns", e);
+        }
+    }
+
+    /**
+     * Checks whether the tables created by the database scripts have the TAGS column. The reporter is started even if
+     * the column is missing.
+     */
+    private void checkTagsColumn() {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String table : new String[]{"METRIC_GAUGE", "METRIC_COUNTER", "METRIC_METER", "METRIC_HISTOGRAM",
+                    "METRIC_TIMER"}) {
+                try (ResultSet resultSet = statement.executeQuery(
+                        String.format("SELECT TAGS FROM %s WHERE 1 = 0", table))) {
+                    if (logger.isDebugEnabled()) {
+                        logger.debug(String.format("The %s table has the %s column", table,
+                                resultSet.getMetaData().getColumnName(1)));
+                    }
+                } catch (SQLException e) {
+                    logger.error(String.format("The TAGS column cannot be read from the %s table. Add the column or "
+                            + "disable the tags column of the JDBC reporter.", table), e);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error when checking the TAGS column", e);
+        }
+    }
+
+    private String[] getPercentileColumns() {
+        String[] columns = new String[percentiles.length];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter.getPercentileColumn(percentiles[i]);
+        }
+        return columns;
+    }
+
+    private void registerCleanupMetrics(ScheduledJdbcMetricsCleanupTask task, boolean partitioned) {
+        String prefix = getMetricPrefix("cleanup");
+        if (partitioned) {
+            metricRegistry.register(MetricRegistry.name(prefix, "partitions", "dropped"), task.getDroppedPartitions());
+        } else {
+            metricRegistry.register(MetricRegistry.name(prefix, "deleted"), task.getDeletedRows());
+        }
+        metricRegistry.register(MetricRegistry.name(prefix, "duration"), task.getDuration());
+    }
+
+    private void registerRollupMetrics(ScheduledJdbcMetricsRollupTask task) {
+        String prefix = getMetricPrefix("rollup");
+        metricRegistry.register(MetricRegistry.name(prefix, "rows"), task.getRollupRows());
+        metricRegistry.register(MetricRegistry.name(prefix, "deleted"), task.getDeletedRows());
+        metricRegistry.register(MetricRegistry.name(prefix, "duration"), task.getDuration());
     }
 
     @Override
     public void stopReporter() {
         if (jdbcReporter != null) {
+            // Wait for a report in progress to complete
+            schedule.cancel(1, TimeUnit.SECONDS);
+            schedule = null;
             jdbcReporter.stop();
+            metricView.stop();
             jdbcReporter = null;
+            if (writeBehindQueueSize > 0) {
+                removeMetrics(getMetricPrefix("queue"));
+            }
         }
         if (scheduledJdbcMetricsCleanupTask != null) {
             scheduledJdbcMetricsCleanupTask.stop();
+            scheduledJdbcMetricsCleanupTask = null;
+            removeMetrics(getMetricPrefix("cleanup"));
         }
+        if (scheduledJdbcMetricsRollupTask != null) {
+            scheduledJdbcMetricsRollupTask.stop();
+            scheduledJdbcMetricsRollupTask = null;
+            removeMetrics(getMetricPrefix("rollup"));
+        }
+    }
+
+    /**
+     * Expose the state of the write-behind queue as gauges, so that the queue can be monitored from other reporters.
+     */
+    private void registerQueueMetrics(org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter reporter) {
+        String prefix = getMetricPrefix("queue");
+        metricRegistry.register(MetricRegistry.name(prefix, "size"), (Gauge<Integer>) reporter::getQueueSize);
+        metricRegistry.register(MetricRegistry.name(prefix, "dropped"), (Gauge<Long>) reporter::getDroppedRows);
+        metricRegistry.register(MetricRegistry.name(prefix, "failed"), (Gauge<Long>) reporter::getFailedRows);
+    }
+
+    private String getMetricPrefix(String group) {
+        return MetricRegistry.name("org.wso2.carbon.metrics.jdbc.reporter", getName(), group);
+    }
+
+    private void removeMetrics(String prefix) {
+        metricRegistry.removeMatching((metricName, metric) -> metricName.startsWith(prefix + "."));
     }
 }
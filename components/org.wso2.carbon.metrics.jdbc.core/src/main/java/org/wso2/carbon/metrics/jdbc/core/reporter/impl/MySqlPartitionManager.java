@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manages the native range partitions of the Metrics tables in MySQL. The partitions are added in ascending order
+ * and each partition holds the values less than the end of its interval.
+ */
+class MySqlPartitionManager extends PartitionManager {
+
+    MySqlPartitionManager(PartitionInterval interval, int futurePartitions) {
+        super(interval, futurePartitions);
+    }
+
+    @Override
+    protected String getPartitionName(String tableName, long start) {
+        return "P" + interval.format(start);
+    }
+
+    @Override
+    protected List<Partition> getPartitions(Connection connection, String tableName) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        String query = "SELECT PARTITION_NAME, PARTITION_DESCRIPTION FROM INFORMATION_SCHEMA.PARTITIONS "
+                + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String description = rs.getString(2);
+                    try {
+                        partitions.add(new Partition(rs.getString(1), Long.parseLong(description)));
+                    } catch (NumberFormatException e) {
+                        // A partition with MAXVALUE is never dropped and no partition can be added after it
+                        partitions.add(new Partition(rs.getString(1), Long.MAX_VALUE));
+                    }
+                }
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    protected boolean exists(List<Partition> partitions, String partitionName, long end) {
+        // A partition can only be added after the last partition
+        for (Partition partition : partitions) {
+            if (partition.getEnd() >= end) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    protected void createPartition(Connection connection, String tableName, String partitionName, long start,
+                                   long end) throws SQLException {
+        execute(connection, "ALTER TABLE " + tableName + " ADD PARTITION (PARTITION " + partitionName
+                + " VALUES LESS THAN (" + end + "))");
+    }
+
+    @Override
+    protected void dropPartition(Connection connection, String tableName, String partitionName)
+            throws SQLException {
+        execute(connection, "ALTER TABLE " + tableName + " DROP PARTITION " + partitionName);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Manages the interval partitions of the Metrics tables in Oracle. The database creates a partition when the first
+ * value of an interval is inserted. Therefore this only drops the expired partitions.
+ */
+class OraclePartitionManager extends PartitionManager {
+
+    OraclePartitionManager(PartitionInterval interval, int futurePartitions) {
+        super(interval, futurePartitions);
+    }
+
+    @Override
+    public int createPartitions(Connection connection, String tableName, long timestamp) {
+        return 0;
+    }
+
+    @Override
+    protected List<Partition> getPartitions(Connection connection, String tableName) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        String query = "SELECT PARTITION_NAME, HIGH_VALUE FROM USER_TAB_PARTITIONS WHERE TABLE_NAME = ?";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, tableName);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    // The HIGH_VALUE is the text of the partition bound
+                    String highValue = rs.getString(2);
+                    long end = Long.MAX_VALUE;
+                    if (highValue != null) {
+                        try {
+                            end = Long.parseLong(highValue.trim());
+                        } catch (NumberFormatException e) {
+                            // MAXVALUE
+                        }
+                    }
+                    partitions.add(new Partition(name, end));
+                }
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    protected void createPartition(Connection connection, String tableName, String partitionName, long start,
+                                   long end) {
+        // Interval partitions are created by the database
+    }
+
+    @Override
+    protected void dropPartition(Connection connection, String tableName, String partitionName)
+            throws SQLException {
+        execute(connection, "ALTER TABLE " + tableName + " DROP PARTITION " + partitionName + " UPDATE INDEXES");
+    }
+}
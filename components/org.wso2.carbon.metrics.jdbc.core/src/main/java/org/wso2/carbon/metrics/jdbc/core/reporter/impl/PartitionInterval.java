@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time interval covered by a partition of the Metrics tables. The partitions are aligned to UTC days or hours.
+ */
+public enum PartitionInterval {
+
+    DAILY(TimeUnit.DAYS.toMillis(1), "yyyyMMdd"),
+
+    HOURLY(TimeUnit.HOURS.toMillis(1), "yyyyMMddHH");
+
+    private final long millis;
+
+    private final DateTimeFormatter formatter;
+
+    PartitionInterval(long millis, String pattern) {
+        this.millis = millis;
+        this.formatter = new DateTimeFormatterBuilder().appendPattern(pattern)
+                .parseDefaulting(ChronoField.HOUR_OF_DAY, 0).toFormatter().withZone(ZoneOffset.UTC);
+    }
+
+    /**
+     * @return The length of the interval in milliseconds
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @param timestamp A timestamp in milliseconds
+     * @return The start of the interval containing the given timestamp
+     */
+    public long getStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, millis);
+    }
+
+    /**
+     * @param start The start of an interval in milliseconds
+     * @return The suffix for the partition of the interval. For example: 20161231 or 2016123123
+     */
+    public String format(long start) {
+        return formatter.format(Instant.ofEpochMilli(start));
+    }
+
+    /**
+     * @param suffix The suffix of a partition
+     * @return The start of the interval in milliseconds, or -1 if the suffix is not valid for this interval
+     */
+    public long parse(String suffix) {
+        try {
+            return LocalDateTime.parse(suffix, formatter).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
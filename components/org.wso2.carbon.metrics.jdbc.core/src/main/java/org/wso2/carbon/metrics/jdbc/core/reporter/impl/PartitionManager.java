@@ -0,0 +1,249 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Manages the time partitions of the Metrics tables in a database. Expired data is removed by dropping whole
+ * partitions instead of deleting rows.
+ * <p>
+ * A partition is named with the table name and the start of its interval. For example: METRIC_COUNTER_P20161231.
+ */
+public abstract class PartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionManager.class);
+
+    /**
+     * The name of the partition created with the partitioned tables. This partition is never dropped.
+     */
+    static final String INITIAL_PARTITION = "P0";
+
+    protected final PartitionInterval interval;
+
+    private final int futurePartitions;
+
+    protected PartitionManager(PartitionInterval interval, int futurePartitions) {
+        this.interval = interval;
+        this.futurePartitions = futurePartitions;
+    }
+
+    /**
+     * Returns the partition manager for a database.
+     *
+     * @param databaseProductName The database product name from the JDBC driver
+     * @param interval            The time interval covered by a partition
+     * @param futurePartitions    The number of partitions to create in advance
+     * @return an {@link Optional} with the {@link PartitionManager}, or an empty {@code Optional} if partitioning is
+     * not supported for the database
+     */
+    public static Optional<PartitionManager> forDatabase(String databaseProductName, PartitionInterval interval,
+                                                         int futurePartitions) {
+        return forDatabase(databaseProductName, interval, futurePartitions,
+                ScheduledJdbcMetricsRollupTask.PERCENTILE_COLUMNS);
+    }
+
+    /**
+     * Returns the partition manager for a database with the given percentile columns in the histogram and timer
+     * tables. The percentile columns are used only when the partitions are created as tables.
+     *
+     * @param percentileColumns The percentile columns written by the reporter
+     * @see #forDatabase(String, PartitionInterval, int)
+     */
+    public static Optional<PartitionManager> forDatabase(String databaseProductName, PartitionInterval interval,
+                                                         int futurePartitions, String[] percentileColumns) {
+        String name = databaseProductName.toLowerCase(Locale.ENGLISH);
+        if (name.contains("h2")) {
+            return Optional.of(new H2PartitionManager(interval, futurePartitions, percentileColumns));
+        } else if (name.contains("mysql") || name.contains("mariadb")) {
+            return Optional.of(new MySqlPartitionManager(interval, futurePartitions));
+        } else if (name.contains("postgresql")) {
+            return Optional.of(new PostgreSqlPartitionManager(interval, futurePartitions));
+        } else if (name.contains("oracle")) {
+            return Optional.of(new OraclePartitionManager(interval, futurePartitions));
+        }
+        return Optional.empty();
+    }
+
+    public PartitionInterval getInterval() {
+        return interval;
+    }
+
+    /**
+     * Checks whether the reporter should insert the values to the table of the current partition. This is required
+     * when the database does not support partitioning and the partitions are separate tables.
+     *
+     * @return {@code true} if each partition is a separate table
+     */
+    public boolean isRotatingTables() {
+        return false;
+    }
+
+    /**
+     * Returns the table to insert the values reported at the given time.
+     *
+     * @param tableName The name of the partitioned table
+     * @param timestamp The reporting timestamp in milliseconds
+     * @return The name of the table to insert the values
+     */
+    public String getTableName(String tableName, long timestamp) {
+        return tableName;
+    }
+
+    /**
+     * Creates the partition for the current interval and the partitions for the configured number of future
+     * intervals, if they do not exist.
+     *
+     * @param connection The database connection
+     * @param tableName  The name of the partitioned table
+     * @param timestamp  The current time in milliseconds
+     * @return The number of partitions created
+     * @throws SQLException if there was an error when creating a partition
+     */
+    public int createPartitions(Connection connection, String tableName, long timestamp) throws SQLException {
+        List<Partition> partitions = getPartitions(connection, tableName);
+        long start = interval.getStart(timestamp);
+        int created = 0;
+        for (int i = 0; i <= futurePartitions; i++) {
+            long end = start + interval.getMillis();
+            String partitionName = getPartitionName(tableName, start);
+            if (!exists(partitions, partitionName, end)) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug(String.format("Creating partition %s of %s", partitionName, tableName));
+                }
+                createPartition(connection, tableName, partitionName, start, end);
+                created++;
+            }
+            start = end;
+        }
+        return created;
+    }
+
+    /**
+     * Drops the partitions, which only contain data older than the given time.
+     *
+     * @param connection The database connection
+     * @param tableName  The name of the partitioned table
+     * @param timestamp  The time in milliseconds to keep the data from
+     * @return The number of partitions dropped
+     * @throws SQLException if there was an error when dropping a partition
+     */
+    public int dropPartitions(Connection connection, String tableName, long timestamp) throws SQLException {
+        int dropped = 0;
+        for (Partition partition : getPartitions(connection, tableName)) {
+            if (partition.getEnd() <= timestamp && !INITIAL_PARTITION.equalsIgnoreCase(partition.getName())) {
+                if (logger.isDebugEnabled()) {
+                    logger.debug(String.format("Dropping partition %s of %s", partition.getName(), tableName));
+                }
+                dropPartition(connection, tableName, partition.getName());
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    /**
+     * @return The existing partitions of the table
+     */
+    protected abstract List<Partition> getPartitions(Connection connection, String tableName) throws SQLException;
+
+    /**
+     * Creates a partition for the values with timestamps from {@code start} (inclusive) to {@code end} (exclusive).
+     */
+    protected abstract void createPartition(Connection connection, String tableName, String partitionName,
+                                            long start, long end) throws SQLException;
+
+    protected abstract void dropPartition(Connection connection, String tableName, String partitionName)
+            throws SQLException;
+
+    protected String getPartitionName(String tableName, long start) {
+        return tableName + "_P" + interval.format(start);
+    }
+
+    /**
+     * Checks whether a partition already holds the values up to the given end of an interval.
+     */
+    protected boolean exists(List<Partition> partitions, String partitionName, long end) {
+        for (Partition partition : partitions) {
+            if (partition.getName().equalsIgnoreCase(partitionName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Creates a {@link Partition} from a partition named by {@link #getPartitionName(String, long)}.
+     *
+     * @return The partition, or {@code null} if the name does not belong to a partition of the table
+     */
+    protected Partition toPartition(String tableName, String partitionName) {
+        String prefix = getPartitionName(tableName, 0);
+        prefix = prefix.substring(0, prefix.length() - interval.format(0).length());
+        if (partitionName.length() <= prefix.length()
+                || !partitionName.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            return null;
+        }
+        long start = interval.parse(partitionName.substring(prefix.length()));
+        return start >= 0 ? new Partition(partitionName, start + interval.getMillis()) : null;
+    }
+
+    protected static void execute(Connection connection, String sql) throws SQLException {
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Executing SQL Query [%s]", sql));
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+        if (!connection.getAutoCommit()) {
+            connection.commit();
+        }
+    }
+
+    /**
+     * An existing partition.
+     */
+    protected static final class Partition {
+
+        private final String name;
+
+        private final long end;
+
+        Partition(String name, long end) {
+            this.name = name;
+            this.end = end;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return The end of the interval (exclusive) in milliseconds
+         */
+        public long getEnd() {
+            return end;
+        }
+    }
+}
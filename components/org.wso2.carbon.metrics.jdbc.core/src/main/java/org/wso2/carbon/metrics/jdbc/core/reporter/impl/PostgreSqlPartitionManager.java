@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Manages the declarative range partitions of the Metrics tables in PostgreSQL. Each partition is a table attached
+ * to the partitioned table.
+ */
+class PostgreSqlPartitionManager extends PartitionManager {
+
+    PostgreSqlPartitionManager(PartitionInterval interval, int futurePartitions) {
+        super(interval, futurePartitions);
+    }
+
+    @Override
+    protected List<Partition> getPartitions(Connection connection, String tableName) throws SQLException {
+        List<Partition> partitions = new ArrayList<>();
+        // The unquoted names are stored in lower case
+        String query = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                + "JOIN pg_class p ON p.oid = i.inhparent WHERE p.relname = ?";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, tableName.toLowerCase(Locale.ENGLISH));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Partition partition = toPartition(tableName, rs.getString(1));
+                    if (partition != null) {
+                        partitions.add(partition);
+                    }
+                }
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    protected void createPartition(Connection connection, String tableName, String partitionName, long start,
+                                   long end) throws SQLException {
+        execute(connection, "CREATE TABLE IF NOT EXISTS " + partitionName + " PARTITION OF " + tableName
+                + " FOR VALUES FROM (" + start + ") TO (" + end + ")");
+    }
+
+    @Override
+    protected void dropPartition(Connection connection, String tableName, String partitionName)
+            throws SQLException {
+        execute(connection, "DROP TABLE IF EXISTS " + partitionName);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The resolutions of the rollup tables. Each resolution is rolled up from the next finer resolution. The finest
+ * resolution is rolled up from the raw Metrics tables.
+ */
+enum RollupResolution {
+
+    MINUTE("METRIC_ROLLUP_1M", TimeUnit.MINUTES.toMillis(1), TimeUnit.HOURS.toMillis(1)),
+
+    HOUR("METRIC_ROLLUP_1H", TimeUnit.HOURS.toMillis(1), TimeUnit.DAYS.toMillis(1)),
+
+    DAY("METRIC_ROLLUP_1D", TimeUnit.DAYS.toMillis(1), TimeUnit.DAYS.toMillis(30));
+
+    private final String tableName;
+
+    private final long millis;
+
+    private final long chunkMillis;
+
+    /**
+     * @param chunkMillis The time range to roll up at once. The chunks of the finest resolution are aligned to hours,
+     *                    so that a chunk never spans two rotating tables of the raw data.
+     */
+    RollupResolution(String tableName, long millis, long chunkMillis) {
+        this.tableName = tableName;
+        this.millis = millis;
+        this.chunkMillis = chunkMillis;
+    }
+
+    String getTableName() {
+        return tableName;
+    }
+
+    /**
+     * @return The length of a bucket in milliseconds
+     */
+    long getMillis() {
+        return millis;
+    }
+
+    /**
+     * @param timestamp A timestamp in milliseconds
+     * @return The start of the bucket containing the given timestamp
+     */
+    long getStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, millis);
+    }
+
+    /**
+     * @param start The start of a bucket in milliseconds
+     * @return The end of the chunk starting with the given bucket
+     */
+    long getChunkEnd(long start) {
+        return start - Math.floorMod(start, chunkMillis) + chunkMillis;
+    }
+}
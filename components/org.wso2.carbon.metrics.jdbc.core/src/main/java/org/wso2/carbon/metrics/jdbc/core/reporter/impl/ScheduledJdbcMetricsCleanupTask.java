@@ -15,80 +15,283 @@
  */
 package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
 
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.wso2.carbon.metrics.core.task.ScheduledTask;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
 import javax.sql.DataSource;
 
 /**
  * This task will cleanup all metrics older than the specified number of days.
+ * <p>
+ * The rows are deleted in chunks of consecutive IDs, so that each delete statement uses the primary key and affects a
+ * limited number of rows. The task pauses between the chunks and stops when the time budget for a run is exceeded.
+ * The next run continues from the table where the previous run stopped.
+ * <p>
+ * When the tables are partitioned by time, the task creates the partitions for the upcoming intervals and drops the
+ * partitions, which only contain old data.
  */
 public class ScheduledJdbcMetricsCleanupTask extends ScheduledTask {
 
     private static final Logger logger = LoggerFactory.getLogger(ScheduledJdbcMetricsCleanupTask.class);
 
+    private static final String[] TABLE_NAMES =
+            {"METRIC_GAUGE", "METRIC_COUNTER", "METRIC_METER", "METRIC_HISTOGRAM", "METRIC_TIMER"};
+
+    private static final int DEFAULT_CHUNK_SIZE = 10000;
+
+    private static final long DEFAULT_CHUNK_PAUSE = 100;
+
+    private static final long DEFAULT_TIME_BUDGET = 600;
+
     private final DataSource dataSource;
 
     private final int daysToKeep;
 
+    private final int chunkSize;
+
+    private final long chunkPauseMillis;
+
+    private final long timeBudgetNanos;
+
+    // This is null unless the tables are partitioned
+    private final PartitionManager partitionManager;
+
+    private final Counter deletedRows = new Counter();
+
+    private final Counter droppedPartitions = new Counter();
+
+    private final Timer duration = new Timer();
+
+    // The table to start the next run. This is accessed only by the task
+    private int nextTable;
+
     public ScheduledJdbcMetricsCleanupTask(DataSource dataSource, int daysToKeep) {
+        this(dataSource, daysToKeep, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_PAUSE, DEFAULT_TIME_BUDGET);
+    }
+
+    /**
+     * Creates a cleanup task.
+     *
+     * @param dataSource The data source with the Metrics tables
+     * @param daysToKeep The number of days to keep the data
+     * @param chunkSize  The number of consecutive IDs to delete in a single statement. All old rows in a table are
+     *                   deleted in a single statement if this is not positive.
+     * @param chunkPause The time to pause between chunks in milliseconds
+     * @param timeBudget The maximum time for a run in seconds. There is no limit if this is not positive.
+     */
+    public ScheduledJdbcMetricsCleanupTask(DataSource dataSource, int daysToKeep, int chunkSize, long chunkPause,
+                                           long timeBudget) {
         super("metrics-jdbc-cleanup");
         this.dataSource = dataSource;
         this.daysToKeep = daysToKeep;
+        this.chunkSize = chunkSize;
+        this.chunkPauseMillis = chunkPause;
+        this.timeBudgetNanos = timeBudget > 0 ? TimeUnit.SECONDS.toNanos(timeBudget) : Long.MAX_VALUE;
+        this.partitionManager = null;
+    }
+
+    /**
+     * Creates a task to maintain the partitions of the tables partitioned by time.
+     *
+     * @param dataSource       The data source with the Metrics tables
+     * @param daysToKeep       The number of days to keep the data. The partitions are never dropped if this is not
+     *                         positive.
+     * @param partitionManager The {@link PartitionManager} for the database
+     */
+    public ScheduledJdbcMetricsCleanupTask(DataSource dataSource, int daysToKeep, PartitionManager partitionManager) {
+        super("metrics-jdbc-cleanup");
+        this.dataSource = dataSource;
+        this.daysToKeep = daysToKeep;
+        this.chunkSize = 0;
+        this.chunkPauseMillis = 0;
+        this.timeBudgetNanos = Long.MAX_VALUE;
+        this.partitionManager = partitionManager;
+    }
+
+    /**
+     * @return The total number of rows deleted by this task
+     */
+    public Counter getDeletedRows() {
+        return deletedRows;
+    }
+
+    /**
+     * @return The total number of partitions dropped by this task
+     */
+    public Counter getDroppedPartitions() {
+        return droppedPartitions;
+    }
+
+    /**
+     * @return The time taken for each run of this task
+     */
+    public Timer getDuration() {
+        return duration;
     }
 
     @Override
     public void run() {
-        cleanMetricsTables("METRIC_GAUGE", "METRIC_COUNTER", "METRIC_METER", "METRIC_HISTOGRAM", "METRIC_TIMER");
+        // Timestamp is in milliseconds. There are 86,400,000 milliseconds for a day (24 hours)
+        long currentTimestamp = System.currentTimeMillis();
+        long timestamp = currentTimestamp - (daysToKeep * 86_400_000L);
+        if (logger.isDebugEnabled()) {
+            logger.debug(String.format("Current Timestamp: %s", currentTimestamp));
+        }
+
+        long startTime = System.nanoTime();
+        if (partitionManager != null) {
+            maintainPartitions(currentTimestamp, timestamp);
+            duration.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            return;
+        }
+        try {
+            for (int i = 0; i < TABLE_NAMES.length; i++) {
+                int table = nextTable;
+                if (!cleanMetricsTable(TABLE_NAMES[table], timestamp, startTime)) {
+                    if (logger.isInfoEnabled()) {
+                        logger.info(String.format("Metrics cleanup stopped at %s. The next run will continue from "
+                                + "this table.", TABLE_NAMES[table]));
+                    }
+                    return;
+                }
+                nextTable = (table + 1) % TABLE_NAMES.length;
+            }
+        } finally {
+            duration.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
     }
 
-    private void cleanMetricsTables(String... tableNames) {
-        for (String tableName : tableNames) {
-            cleanMetricsTable(tableName);
+    /**
+     * Creates the partitions for the current and upcoming intervals and drops the expired partitions.
+     */
+    private void maintainPartitions(long currentTimestamp, long timestamp) {
+        try (Connection connection = dataSource.getConnection()) {
+            for (String tableName : TABLE_NAMES) {
+                try {
+                    partitionManager.createPartitions(connection, tableName, currentTimestamp);
+                    if (daysToKeep > 0) {
+                        droppedPartitions.inc(partitionManager.dropPartitions(connection, tableName, timestamp));
+                    }
+                } catch (SQLException e) {
+                    logger.error("Error when maintaining the partitions of " + tableName, e);
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error when maintaining the partitions of Metrics tables", e);
         }
     }
 
-    private void cleanMetricsTable(String tableName) {
+    /**
+     * Deletes the old rows in the given table.
+     *
+     * @return {@code true} if all old rows were deleted, {@code false} if the task should stop
+     */
+    private boolean cleanMetricsTable(String tableName, long timestamp, long startTime) {
+        if (chunkSize <= 0) {
+            deleteRows(tableName, "DELETE FROM " + tableName + " WHERE TIMESTAMP < ?", timestamp);
+            return true;
+        }
+
+        long[] idRange = getIdRange(tableName, timestamp);
+        if (idRange == null) {
+            return true;
+        }
+        String query = "DELETE FROM " + tableName + " WHERE ID >= ? AND ID < ? AND TIMESTAMP < ?";
+        for (long id = idRange[0]; id <= idRange[1]; id += chunkSize) {
+            if (deleteRows(tableName, query, id, id + chunkSize, timestamp) < 0) {
+                return false;
+            }
+            if (id + chunkSize > idRange[1]) {
+                break;
+            }
+            if (System.nanoTime() - startTime > timeBudgetNanos) {
+                return false;
+            }
+            if (chunkPauseMillis > 0) {
+                try {
+                    Thread.sleep(chunkPauseMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the range of IDs with old rows. This uses the index on the TIMESTAMP column.
+     *
+     * @return An array with the minimum and the maximum ID, or {@code null} if there are no old rows
+     */
+    private long[] getIdRange(String tableName, long timestamp) {
+        String query = "SELECT MIN(ID), MAX(ID) FROM " + tableName + " WHERE TIMESTAMP < ?";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setLong(1, timestamp);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    long minId = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        return new long[]{minId, rs.getLong(2)};
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.error("Error when finding the metrics to delete in " + tableName, e);
+        }
+        return null;
+    }
+
+    /**
+     * Executes a delete statement.
+     *
+     * @return The number of rows deleted, or -1 if there was an error
+     */
+    private int deleteRows(String tableName, String query, long... parameters) {
         Connection connection = null;
         PreparedStatement ps = null;
 
-        StringBuilder queryBuilder = new StringBuilder();
-        queryBuilder.append("DELETE FROM ");
-        queryBuilder.append(tableName);
-        queryBuilder.append(" WHERE TIMESTAMP < ?");
-        String query = queryBuilder.toString();
-
         try {
             connection = dataSource.getConnection();
             ps = connection.prepareStatement(query);
 
-            // Timestamp is in milliseconds. There are 86,400,000 milliseconds for a day (24 hours)
-            long currentTimestamp = System.currentTimeMillis();
-            long timestamp = currentTimestamp - (daysToKeep * 86_400_000L);
-
             if (logger.isDebugEnabled()) {
-                logger.debug(String.format("Current Timestamp: %s", currentTimestamp));
-                logger.debug(String.format("Executing SQL Query [%s]. Parameter: %s", query, timestamp));
+                logger.debug(String.format("Executing SQL Query [%s]. Parameters: %s", query,
+                        Arrays.toString(parameters)));
             }
 
-            ps.setLong(1, timestamp);
+            for (int i = 0; i < parameters.length; i++) {
+                ps.setLong(i + 1, parameters[i]);
+            }
 
-            ps.execute();
+            int updateCount = ps.executeUpdate();
+            if (!connection.getAutoCommit()) {
+                connection.commit();
+            }
+            deletedRows.inc(updateCount);
 
             if (logger.isDebugEnabled()) {
-                logger.debug(String.format("Executed SQL Query [%s]. Update Count: %s", query, ps.getUpdateCount()));
+                logger.debug(String.format("Executed SQL Query [%s]. Update Count: %s", query, updateCount));
             }
 
             ps.close();
             connection.close();
             ps = null;
             connection = null;
+            return updateCount;
         } catch (SQLException e) {
             logger.error("Error when deleting metrics in " + tableName, e);
+            return -1;
         } finally {
             closeQuietly(connection, ps);
         }
@@ -0,0 +1,578 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core.reporter.impl;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.wso2.carbon.metrics.core.task.ScheduledTask;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * This task aggregates the Metrics data of a source into rollup tables with 1-minute, 1-hour and 1-day resolutions.
+ * Dashboards can query the rollup tables for long time ranges and the raw data can be kept only for a few days.
+ * <p>
+ * The 1-minute rollups are aggregated from the raw counters, meters, histograms and timers. The 1-hour rollups are
+ * aggregated from the 1-minute rollups and the 1-day rollups are aggregated from the 1-hour rollups. A bucket is
+ * aggregated once all values in it are expected to be written. Gauges are not aggregated as their values are not
+ * always numeric.
+ * <p>
+ * Each rollup row has the number of aggregated rows, the increase of the count in the bucket, the last count, and the
+ * maximum, the mean and the minimum. For counters and meters, these are the statistics of the count. For histograms
+ * and timers, these are the statistics of the snapshots and the percentiles are approximated by the mean of the
+ * snapshot percentiles weighted by the increase of the count. Only the percentiles written by the reporter are
+ * rolled up and the other percentile columns of the rollups are left empty.
+ * <p>
+ * The task keeps the rollups for the configured number of days for each resolution.
+ * <p>
+ * If the reporter writes the tags of tagged metrics to the TAGS column, the rollups are named with the name and the
+ * tags, as the metrics are registered, so that the metrics with different tags are not aggregated together.
+ */
+public class ScheduledJdbcMetricsRollupTask extends ScheduledTask {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledJdbcMetricsRollupTask.class);
+
+    private static final String[] TABLE_NAMES = {"METRIC_COUNTER", "METRIC_METER", "METRIC_HISTOGRAM", "METRIC_TIMER"};
+
+    private static final String[] TYPES = {"COUNTER", "METER", "HISTOGRAM", "TIMER"};
+
+    private static final String SNAPSHOT_COLUMNS = "MAX, MEAN, MIN, P50, P75, P95, P98, P99, P999";
+
+    // The percentile columns of the rollup tables
+    static final String[] PERCENTILE_COLUMNS = {"P50", "P75", "P95", "P98", "P99", "P999"};
+
+    // The mean and the percentiles are averaged
+    private static final int AVERAGED_VALUES = 7;
+
+    private static final RollupResolution[] RESOLUTIONS = RollupResolution.values();
+
+    private final DataSource dataSource;
+
+    private final String source;
+
+    private final long delayMillis;
+
+    private final int[] daysToKeep;
+
+    private final long timeBudgetNanos;
+
+    // This is null unless the raw data is in rotating tables
+    private final PartitionManager partitionManager;
+
+    // The snapshot columns selected from the raw tables. NULL is selected for the percentiles not written.
+    private final String rawSnapshotColumns;
+
+    private final boolean[] rolledUpPercentiles = new boolean[PERCENTILE_COLUMNS.length];
+
+    private final boolean tagsColumn;
+
+    private final Counter rollupRows = new Counter();
+
+    private final Counter deletedRows = new Counter();
+
+    private final Timer duration = new Timer();
+
+    // The following fields are accessed only by the task
+
+    // The start of the next bucket to roll up for each resolution. This is -1 until it is known.
+    private final long[] nextBuckets = new long[RESOLUTIONS.length];
+
+    // The last raw count of each metric for each raw table. This is null until loaded from the 1-minute rollups.
+    private List<Map<String, Long>> lastCounts;
+
+    // The count of a metric seen for the first time is treated as the increase, unless the rollups are just started
+    private boolean baselineKnown;
+
+    /**
+     * Creates a rollup task.
+     *
+     * @param dataSource       The data source with the Metrics tables
+     * @param source           The source of the Metrics data to roll up
+     * @param delay            The time in seconds to wait after the end of a bucket until all values in the bucket
+     *                         are written
+     * @param daysToKeep       The number of days to keep the 1-minute, 1-hour and 1-day rollups. The rollups are kept
+     *                         forever if the number of days is not positive.
+     * @param timeBudget       The maximum time for a run in seconds. The next run continues to roll up the remaining
+     *                         data.
+     * @param partitionManager The {@link PartitionManager} if the raw data is in rotating tables, otherwise
+     *                         {@code null}
+     */
+    public ScheduledJdbcMetricsRollupTask(DataSource dataSource, String source, long delay, int[] daysToKeep,
+                                          long timeBudget, PartitionManager partitionManager) {
+        this(dataSource, source, delay, daysToKeep, timeBudget, partitionManager, PERCENTILE_COLUMNS);
+    }
+
+    /**
+     * Creates a rollup task for the raw tables with the given percentile columns.
+     *
+     * @param percentileColumns The percentile columns in the raw histogram and timer tables
+     * @see #ScheduledJdbcMetricsRollupTask(DataSource, String, long, int[], long, PartitionManager)
+     */
+    public ScheduledJdbcMetricsRollupTask(DataSource dataSource, String source, long delay, int[] daysToKeep,
+                                          long timeBudget, PartitionManager partitionManager,
+                                          String[] percentileColumns) {
+        this(dataSource, source, delay, daysToKeep, timeBudget, partitionManager, percentileColumns, false);
+    }
+
+    /**
+     * Creates a rollup task for the raw tables with the given percentile columns and the TAGS column.
+     *
+     * @param percentileColumns The percentile columns in the raw histogram and timer tables
+     * @param tagsColumn        Whether the tags of tagged metrics are written to the TAGS column of the raw tables
+     * @see #ScheduledJdbcMetricsRollupTask(DataSource, String, long, int[], long, PartitionManager)
+     */
+    public ScheduledJdbcMetricsRollupTask(DataSource dataSource, String source, long delay, int[] daysToKeep,
+                                          long timeBudget, PartitionManager partitionManager,
+                                          String[] percentileColumns, boolean tagsColumn) {
+        super("metrics-jdbc-rollup");
+        if (daysToKeep.length != RESOLUTIONS.length) {
+            throw new IllegalArgumentException("Days to keep should be specified for each resolution");
+        }
+        this.dataSource = dataSource;
+        this.source = source;
+        this.delayMillis = TimeUnit.SECONDS.toMillis(delay);
+        this.daysToKeep = daysToKeep.clone();
+        this.timeBudgetNanos = TimeUnit.SECONDS.toNanos(timeBudget);
+        this.partitionManager = partitionManager != null && partitionManager.isRotatingTables() ? partitionManager
+                : null;
+        for (int i = 0; i < nextBuckets.length; i++) {
+            nextBuckets[i] = -1;
+        }
+        StringBuilder columns = new StringBuilder("MAX, MEAN, MIN");
+        for (int i = 0; i < PERCENTILE_COLUMNS.length; i++) {
+            rolledUpPercentiles[i] = Arrays.asList(percentileColumns).contains(PERCENTILE_COLUMNS[i]);
+            columns.append(", ").append(rolledUpPercentiles[i] ? PERCENTILE_COLUMNS[i] : "NULL");
+        }
+        this.rawSnapshotColumns = columns.toString();
+        this.tagsColumn = tagsColumn;
+    }
+
+    /**
+     * @return The total number of rollup rows inserted by this task
+     */
+    public Counter getRollupRows() {
+        return rollupRows;
+    }
+
+    /**
+     * @return The total number of expired rollup rows deleted by this task
+     */
+    public Counter getDeletedRows() {
+        return deletedRows;
+    }
+
+    /**
+     * @return The time taken for each run of this task
+     */
+    public Timer getDuration() {
+        return duration;
+    }
+
+    @Override
+    public void run() {
+        long currentTimestamp = System.currentTimeMillis();
+        long startTime = System.nanoTime();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (lastCounts == null) {
+                    lastCounts = loadLastCounts(connection);
+                }
+                // Each resolution is rolled up only up to the buckets completed in the finer resolution
+                long limit = currentTimestamp - delayMillis;
+                for (RollupResolution resolution : RESOLUTIONS) {
+                    if (!rollUp(connection, resolution, limit, startTime)) {
+                        if (logger.isInfoEnabled()) {
+                            logger.info(String.format("Metrics rollup stopped at %s. The next run will continue "
+                                    + "from this table.", resolution.getTableName()));
+                        }
+                        break;
+                    }
+                    limit = nextBuckets[resolution.ordinal()];
+                }
+                deleteExpiredRollups(connection, currentTimestamp);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            logger.error("Error when rolling up Metrics data", e);
+        } finally {
+            duration.update(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Rolls up the buckets ending before the given limit.
+     *
+     * @return {@code true} if all buckets were rolled up, {@code false} if the time budget was exceeded
+     */
+    private boolean rollUp(Connection connection, RollupResolution resolution, long limit, long startTime)
+            throws SQLException {
+        long start = getNextBucket(connection, resolution);
+        if (start < 0) {
+            return true;
+        }
+        long end = resolution.getStart(limit);
+        while (start < end) {
+            long chunkEnd = Math.min(resolution.getChunkEnd(start), end);
+            Map<Long, Map<String, Rollup>> buckets = new TreeMap<>();
+            // The last counts are updated only when the chunk is committed
+            List<Map<String, Long>> counts = null;
+            if (resolution.ordinal() == 0) {
+                counts = newCountMaps();
+                for (int i = 0; i < TABLE_NAMES.length; i++) {
+                    readRawRows(connection, i, start, chunkEnd, counts.get(i), buckets);
+                }
+            } else {
+                readRollupRows(connection, RESOLUTIONS[resolution.ordinal() - 1], resolution, start, chunkEnd,
+                        buckets);
+            }
+            rollupRows.inc(insertRollups(connection, resolution, buckets));
+            connection.commit();
+            start = chunkEnd;
+            nextBuckets[resolution.ordinal()] = start;
+            if (counts != null) {
+                for (int i = 0; i < counts.size(); i++) {
+                    lastCounts.get(i).putAll(counts.get(i));
+                }
+                baselineKnown |= !buckets.isEmpty();
+            }
+            if (start < end && System.nanoTime() - startTime > timeBudgetNanos) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the start of the next bucket to roll up. The rollups continue from the last existing rollup. Otherwise,
+     * the 1-minute rollups start from the current time and the other rollups start from the first rollup of the finer
+     * resolution.
+     *
+     * @return The start of the next bucket, or -1 if there is nothing to roll up
+     */
+    private long getNextBucket(Connection connection, RollupResolution resolution) throws SQLException {
+        int index = resolution.ordinal();
+        if (nextBuckets[index] >= 0) {
+            return nextBuckets[index];
+        }
+        long next;
+        long last = queryTimestamp(connection, "SELECT MAX(TIMESTAMP) FROM " + resolution.getTableName()
+                + " WHERE SOURCE = ?");
+        if (last >= 0) {
+            next = last + resolution.getMillis();
+        } else if (index == 0) {
+            next = resolution.getStart(System.currentTimeMillis());
+        } else {
+            long first = queryTimestamp(connection, "SELECT MIN(TIMESTAMP) FROM "
+                    + RESOLUTIONS[index - 1].getTableName() + " WHERE SOURCE = ?");
+            if (first < 0) {
+                return -1;
+            }
+            next = resolution.getStart(first);
+        }
+        nextBuckets[index] = next;
+        return next;
+    }
+
+    private long queryTimestamp(Connection connection, String query) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, source);
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    long timestamp = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        return timestamp;
+                    }
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Loads the last count of each metric from the latest 1-minute rollups, so that the increase of the count can be
+     * calculated for the first raw rows after restarting.
+     */
+    private List<Map<String, Long>> loadLastCounts(Connection connection) throws SQLException {
+        List<Map<String, Long>> counts = newCountMaps();
+        String tableName = RollupResolution.MINUTE.getTableName();
+        String query = "SELECT R.NAME, R.TYPE, R.LAST_COUNT FROM " + tableName + " R WHERE R.SOURCE = ? AND "
+                + "R.TIMESTAMP = (SELECT MAX(L.TIMESTAMP) FROM " + tableName + " L WHERE L.SOURCE = R.SOURCE AND "
+                + "L.NAME = R.NAME AND L.TYPE = R.TYPE)";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, source);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int type = indexOfType(rs.getString(2));
+                    if (type >= 0) {
+                        counts.get(type).put(rs.getString(1), rs.getLong(3));
+                    }
+                }
+            }
+        }
+        // The counts are known for all metrics if there are rollups
+        baselineKnown = queryTimestamp(connection, "SELECT MAX(TIMESTAMP) FROM " + tableName
+                + " WHERE SOURCE = ?") >= 0;
+        return counts;
+    }
+
+    /**
+     * Creates a map of the counts by the metric name for each raw table.
+     */
+    private static List<Map<String, Long>> newCountMaps() {
+        List<Map<String, Long>> counts = new ArrayList<>(TABLE_NAMES.length);
+        for (int i = 0; i < TABLE_NAMES.length; i++) {
+            counts.add(new HashMap<>());
+        }
+        return counts;
+    }
+
+    private static int indexOfType(String type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i].equals(type)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Reads the raw rows of a table. The increase of the count is calculated from the last count of the metric.
+     *
+     * @param counts The map to put the last counts read in this chunk
+     */
+    private void readRawRows(Connection connection, int table, long start, long end, Map<String, Long> counts,
+                             Map<Long, Map<String, Rollup>> buckets) throws SQLException {
+        String tableName = TABLE_NAMES[table];
+        if (partitionManager != null) {
+            tableName = partitionManager.getTableName(tableName, start);
+            if (!tableExists(connection, tableName)) {
+                return;
+            }
+        }
+        boolean snapshot = table >= 2;
+        // The TAGS column is selected last
+        int tagsIndex = snapshot ? 13 : 4;
+        String query = "SELECT NAME, TIMESTAMP, COUNT" + (snapshot ? ", " + rawSnapshotColumns : "")
+                + (tagsColumn ? ", TAGS" : "") + " FROM " + tableName
+                + " WHERE SOURCE = ? AND TIMESTAMP >= ? AND TIMESTAMP < ? ORDER BY TIMESTAMP, ID";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, source);
+            ps.setLong(2, start);
+            ps.setLong(3, end);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(1);
+                    if (tagsColumn) {
+                        String tags = rs.getString(tagsIndex);
+                        if (tags != null) {
+                            name = name + '{' + tags + '}';
+                        }
+                    }
+                    long timestamp = rs.getLong(2);
+                    long count = rs.getLong(3);
+                    Long lastCount = counts.put(name, count);
+                    if (lastCount == null) {
+                        lastCount = lastCounts.get(table).get(name);
+                    }
+                    long increase;
+                    if (lastCount == null) {
+                        increase = baselineKnown ? count : 0;
+                    } else if (count < lastCount && table > 0) {
+                        // The metric was reset. Only counters can be decremented.
+                        increase = count;
+                    } else {
+                        increase = count - lastCount;
+                    }
+                    Rollup rollup = getRollup(buckets, RollupResolution.MINUTE.getStart(timestamp), table, name);
+                    if (snapshot) {
+                        rollup.add(1, increase, count, rs.getDouble(4), rs.getDouble(6), new double[]{
+                                rs.getDouble(5), rs.getDouble(7), rs.getDouble(8), rs.getDouble(9),
+                                rs.getDouble(10), rs.getDouble(11), rs.getDouble(12)});
+                    } else {
+                        rollup.add(1, increase, count, count, count, new double[]{count});
+                    }
+                }
+            }
+        }
+    }
+
+    private void readRollupRows(Connection connection, RollupResolution from, RollupResolution to, long start,
+                                long end, Map<Long, Map<String, Rollup>> buckets) throws SQLException {
+        String query = "SELECT NAME, TYPE, TIMESTAMP, SAMPLES, COUNT, LAST_COUNT, " + SNAPSHOT_COLUMNS + " FROM "
+                + from.getTableName() + " WHERE SOURCE = ? AND TIMESTAMP >= ? AND TIMESTAMP < ? ORDER BY TIMESTAMP";
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            ps.setString(1, source);
+            ps.setLong(2, start);
+            ps.setLong(3, end);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    int type = indexOfType(rs.getString(2));
+                    if (type < 0) {
+                        continue;
+                    }
+                    double[] values = new double[type >= 2 ? AVERAGED_VALUES : 1];
+                    values[0] = rs.getDouble(8);
+                    for (int i = 1; i < values.length; i++) {
+                        values[i] = rs.getDouble(9 + i);
+                    }
+                    Rollup rollup = getRollup(buckets, to.getStart(rs.getLong(3)), type, rs.getString(1));
+                    rollup.add(rs.getLong(4), rs.getLong(5), rs.getLong(6), rs.getDouble(7), rs.getDouble(9), values);
+                }
+            }
+        }
+    }
+
+    private static Rollup getRollup(Map<Long, Map<String, Rollup>> buckets, long bucket, int type, String name) {
+        return buckets.computeIfAbsent(bucket, k -> new LinkedHashMap<>())
+                .computeIfAbsent(TYPES[type] + ':' + name, k -> new Rollup(type, name));
+    }
+
+    private boolean tableExists(Connection connection, String tableName) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getTables(null, null, tableName, new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * @return The number of rollup rows inserted
+     */
+    private int insertRollups(Connection connection, RollupResolution resolution,
+                              Map<Long, Map<String, Rollup>> buckets) throws SQLException {
+        if (buckets.isEmpty()) {
+            return 0;
+        }
+        String query = "INSERT INTO " + resolution.getTableName() + " (SOURCE, TIMESTAMP, NAME, TYPE, SAMPLES, "
+                + "COUNT, LAST_COUNT, " + SNAPSHOT_COLUMNS + ") VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+        int rows = 0;
+        try (PreparedStatement ps = connection.prepareStatement(query)) {
+            for (Map.Entry<Long, Map<String, Rollup>> bucket : buckets.entrySet()) {
+                for (Rollup rollup : bucket.getValue().values()) {
+                    ps.setString(1, source);
+                    ps.setLong(2, bucket.getKey());
+                    ps.setString(3, rollup.name);
+                    ps.setString(4, TYPES[rollup.type]);
+                    ps.setLong(5, rollup.samples);
+                    ps.setLong(6, rollup.count);
+                    ps.setLong(7, rollup.lastCount);
+                    ps.setDouble(8, rollup.max);
+                    ps.setDouble(9, rollup.getAverage(0));
+                    ps.setDouble(10, rollup.min);
+                    for (int i = 1; i < AVERAGED_VALUES; i++) {
+                        if (i < rollup.weightedSums.length && rolledUpPercentiles[i - 1]) {
+                            ps.setDouble(10 + i, rollup.getAverage(i));
+                        } else {
+                            ps.setNull(10 + i, Types.DOUBLE);
+                        }
+                    }
+                    ps.addBatch();
+                    rows++;
+                }
+            }
+            ps.executeBatch();
+        }
+        return rows;
+    }
+
+    private void deleteExpiredRollups(Connection connection, long currentTimestamp) throws SQLException {
+        for (RollupResolution resolution : RESOLUTIONS) {
+            int days = daysToKeep[resolution.ordinal()];
+            if (days <= 0) {
+                continue;
+            }
+            // Only the rollups of this source are deleted, as other sources may keep the rollups for a different period
+            try (PreparedStatement ps = connection.prepareStatement("DELETE FROM " + resolution.getTableName()
+                    + " WHERE SOURCE = ? AND TIMESTAMP < ?")) {
+                ps.setString(1, source);
+                ps.setLong(2, currentTimestamp - TimeUnit.DAYS.toMillis(days));
+                deletedRows.inc(ps.executeUpdate());
+            }
+            connection.commit();
+        }
+    }
+
+    /**
+     * The aggregated values of a metric in a bucket.
+     */
+    private static final class Rollup {
+
+        private final int type;
+
+        private final String name;
+
+        private long samples;
+
+        private long count;
+
+        private long lastCount;
+
+        private double max = Double.NEGATIVE_INFINITY;
+
+        private double min = Double.POSITIVE_INFINITY;
+
+        // The averages are weighted by the increase of the count for histograms and timers, and by the number of
+        // samples for counters and meters. The averages by the number of samples are used if the count did not
+        // increase.
+        private final double[] weightedSums;
+
+        private final double[] sampleSums;
+
+        private double weight;
+
+        private Rollup(int type, String name) {
+            this.type = type;
+            this.name = name;
+            int size = type >= 2 ? AVERAGED_VALUES : 1;
+            this.weightedSums = new double[size];
+            this.sampleSums = new double[size];
+        }
+
+        private void add(long samples, long count, long lastCount, double max, double min, double[] values) {
+            double weight = type >= 2 ? Math.max(count, 0) : samples;
+            for (int i = 0; i < weightedSums.length; i++) {
+                weightedSums[i] += values[i] * weight;
+                sampleSums[i] += values[i] * samples;
+            }
+            this.weight += weight;
+            this.samples += samples;
+            this.count += count;
+            this.lastCount = lastCount;
+            this.max = Math.max(this.max, max);
+            this.min = Math.min(this.min, min);
+        }
+
+        private double getAverage(int index) {
+            return weight > 0 ? weightedSums[index] / weight : sampleSums[index] / samples;
+        }
+    }
+}
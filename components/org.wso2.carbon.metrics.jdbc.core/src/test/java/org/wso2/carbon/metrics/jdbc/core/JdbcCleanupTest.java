@@ -27,9 +27,14 @@ import com.codahale.metrics.Timer;
 import org.testng.Assert;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.jdbc.core.reporter.impl.PartitionInterval;
+import org.wso2.carbon.metrics.jdbc.core.reporter.impl.PartitionManager;
 import org.wso2.carbon.metrics.jdbc.core.reporter.impl.ScheduledJdbcMetricsCleanupTask;
 import org.wso2.carbon.metrics.jdbc.reporter.JdbcReporter;
 
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
@@ -198,6 +203,117 @@ public class JdbcCleanupTest extends BaseReporterTest {
         cleanValues("METRIC_TIMER");
     }
 
+    @Test
+    public void cleansInChunks() {
+        insertCounters(25, System.currentTimeMillis() - SUBTRACT_MILLIS);
+        insertCounters(1, System.currentTimeMillis());
+
+        try (ScheduledJdbcMetricsCleanupTask cleanupTask =
+                     new ScheduledJdbcMetricsCleanupTask(dataSource, DAYS, 10, 0, 0)) {
+            cleanupTask.run();
+            Assert.assertEquals(cleanupTask.getDeletedRows().getCount(), 25L);
+            Assert.assertEquals(cleanupTask.getDuration().getCount(), 1L);
+        }
+        Assert.assertEquals(countRows("METRIC_COUNTER"), 1);
+    }
+
+    @Test
+    public void cleanupStopsWhenTimeBudgetExceeded() {
+        insertCounters(25, System.currentTimeMillis() - SUBTRACT_MILLIS);
+
+        // Pausing between the chunks exceeds the time budget of one second before deleting all chunks
+        try (ScheduledJdbcMetricsCleanupTask cleanupTask =
+                     new ScheduledJdbcMetricsCleanupTask(dataSource, DAYS, 5, 600, 1)) {
+            cleanupTask.run();
+            long deleted = cleanupTask.getDeletedRows().getCount();
+            Assert.assertTrue(deleted > 0 && deleted < 25, "Some rows should be deleted. Deleted: " + deleted);
+            Assert.assertEquals(countRows("METRIC_COUNTER"), 25 - deleted);
+
+            // The next run continues with the same table
+            cleanupTask.run();
+            Assert.assertEquals(cleanupTask.getDeletedRows().getCount(), 25L);
+        }
+        Assert.assertEquals(countRows("METRIC_COUNTER"), 0);
+    }
+
+    @Test
+    public void dropsExpiredPartitions() throws Exception {
+        PartitionManager partitionManager = PartitionManager.forDatabase("H2", PartitionInterval.DAILY, 1).get();
+        Assert.assertTrue(partitionManager.isRotatingTables());
+
+        long now = System.currentTimeMillis();
+        // The old timestamp is old enough to expire the partition of the next day too
+        long oldTimestamp = now - SUBTRACT_MILLIS - 2 * 86_400_000L;
+        String currentTable = partitionManager.getTableName("METRIC_COUNTER", now);
+        String oldTable = partitionManager.getTableName("METRIC_COUNTER", oldTimestamp);
+        Assert.assertEquals(currentTable, "METRIC_COUNTER_P" + PartitionInterval.DAILY.format(
+                PartitionInterval.DAILY.getStart(now)));
+        try (Connection connection = dataSource.getConnection()) {
+            // Create the old partitions as if they were created by a previous run
+            for (String table : new String[]{"METRIC_GAUGE", "METRIC_COUNTER", "METRIC_METER", "METRIC_HISTOGRAM",
+                    "METRIC_TIMER"}) {
+                Assert.assertEquals(partitionManager.createPartitions(connection, table, oldTimestamp), 2);
+            }
+        }
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).convertTimestampTo(TimeUnit.MILLISECONDS)
+                .withClock(clock).filter(MetricFilter.ALL).tableNameResolver(partitionManager::getTableName)
+                .build(SOURCE, dataSource);
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        when(clock.getTime()).thenReturn(oldTimestamp);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(countRows(oldTable), 1);
+
+        try (ScheduledJdbcMetricsCleanupTask cleanupTask =
+                     new ScheduledJdbcMetricsCleanupTask(dataSource, DAYS, partitionManager)) {
+            cleanupTask.run();
+            // The two old partitions of each table are dropped
+            Assert.assertEquals(cleanupTask.getDroppedPartitions().getCount(), 10L);
+            Assert.assertEquals(cleanupTask.getDeletedRows().getCount(), 0L);
+
+            cleanupTask.run();
+            Assert.assertEquals(cleanupTask.getDroppedPartitions().getCount(), 10L);
+        }
+        Assert.assertFalse(tableExists(oldTable));
+
+        when(clock.getTime()).thenReturn(now);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(countRows(currentTable), 1);
+        Assert.assertTrue(tableExists(partitionManager.getTableName("METRIC_COUNTER", now + 86_400_000L)));
+        Assert.assertEquals(countRows("METRIC_COUNTER"), 0);
+    }
+
+    @Test
+    public void formatsPartitionIntervals() {
+        long timestamp = 1483228799999L;
+        Assert.assertEquals(PartitionInterval.DAILY.format(PartitionInterval.DAILY.getStart(timestamp)), "20161231");
+        Assert.assertEquals(PartitionInterval.HOURLY.format(PartitionInterval.HOURLY.getStart(timestamp)),
+                "2016123123");
+        Assert.assertEquals(PartitionInterval.DAILY.parse("20161231"), 1483142400000L);
+        Assert.assertEquals(PartitionInterval.HOURLY.parse("2016123123"), 1483225200000L);
+        Assert.assertEquals(PartitionInterval.HOURLY.parse("20161231"), -1L);
+        Assert.assertEquals(PartitionInterval.DAILY.parse("INITIAL"), -1L);
+    }
+
+    private boolean tableExists(String tableName) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             ResultSet rs = connection.getMetaData().getTables(null, null, tableName, new String[]{"TABLE"})) {
+            return rs.next();
+        }
+    }
+
+    private void insertCounters(int count, long timestamp) {
+        for (int i = 0; i < count; i++) {
+            template.update("INSERT INTO METRIC_COUNTER (SOURCE, TIMESTAMP, NAME, COUNT) VALUES (?,?,?,?)", SOURCE,
+                    timestamp, "test.counter", i);
+        }
+    }
+
+    private long countRows(String tableName) {
+        return template.queryForObject("SELECT COUNT(*) FROM " + tableName, Long.class);
+    }
+
     private <T> SortedMap<String, T> map() {
         return new TreeMap<>();
     }
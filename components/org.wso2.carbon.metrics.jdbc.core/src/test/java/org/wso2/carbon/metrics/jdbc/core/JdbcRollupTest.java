@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.core;
+
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.wso2.carbon.metrics.jdbc.core.reporter.impl.ScheduledJdbcMetricsRollupTask;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for {@link ScheduledJdbcMetricsRollupTask}.
+ */
+public class JdbcRollupTest extends BaseReporterTest {
+
+    private static final String SOURCE = JdbcRollupTest.class.getSimpleName();
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private static final long HOUR = TimeUnit.HOURS.toMillis(1);
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    // An hour in a day, which has ended
+    private long start;
+
+    @BeforeMethod
+    private void setUp() {
+        long now = System.currentTimeMillis();
+        start = (now - 2 * DAY) / DAY * DAY + HOUR;
+
+        template.execute("DELETE FROM METRIC_COUNTER;");
+        template.execute("DELETE FROM METRIC_TIMER;");
+        template.execute("DELETE FROM METRIC_ROLLUP_1M;");
+        template.execute("DELETE FROM METRIC_ROLLUP_1H;");
+        template.execute("DELETE FROM METRIC_ROLLUP_1D;");
+
+        // The rollups continue after the last 1-minute rollup
+        insertRollup(start, "test.counter", "COUNTER", 10);
+        insertRollup(start, "test.timer", "TIMER", 100);
+
+        insertCounter(start + MINUTE + 5000, 15);
+        insertCounter(start + MINUTE + 35000, 20);
+        // Counters can be decremented
+        insertCounter(start + 2 * MINUTE + 5000, 18);
+
+        insertTimer(start + MINUTE + 5000, 110, 10, 30);
+        insertTimer(start + MINUTE + 35000, 130, 20, 40);
+        // The timer was reset
+        insertTimer(start + 2 * MINUTE + 5000, 5, 5, 5);
+    }
+
+    @Test
+    public void rollsUpValues() {
+        try (ScheduledJdbcMetricsRollupTask rollupTask = new ScheduledJdbcMetricsRollupTask(dataSource, SOURCE, 0,
+                new int[]{0, 0, 0}, 60, null)) {
+            rollupTask.run();
+            // Two 1-minute, one 1-hour and one 1-day rollups for each metric
+            Assert.assertEquals(rollupTask.getRollupRows().getCount(), 8L);
+
+            rollupTask.run();
+            Assert.assertEquals(rollupTask.getRollupRows().getCount(), 8L);
+            Assert.assertEquals(rollupTask.getDuration().getCount(), 2L);
+        }
+
+        Map<String, Object> counter = getRollup("METRIC_ROLLUP_1M", start + MINUTE, "test.counter");
+        Assert.assertEquals(counter.get("TYPE"), "COUNTER");
+        Assert.assertEquals(counter.get("SAMPLES"), 2L);
+        Assert.assertEquals(counter.get("COUNT"), 10L);
+        Assert.assertEquals(counter.get("LAST_COUNT"), 20L);
+        Assert.assertEquals(counter.get("MAX"), 20.0);
+        Assert.assertEquals(counter.get("MEAN"), 17.5);
+        Assert.assertEquals(counter.get("MIN"), 15.0);
+        Assert.assertNull(counter.get("P99"));
+        counter = getRollup("METRIC_ROLLUP_1M", start + 2 * MINUTE, "test.counter");
+        Assert.assertEquals(counter.get("COUNT"), -2L);
+
+        Map<String, Object> timer = getRollup("METRIC_ROLLUP_1M", start + MINUTE, "test.timer");
+        Assert.assertEquals(timer.get("COUNT"), 30L);
+        Assert.assertEquals(timer.get("MAX"), 40.0 * 2);
+        Assert.assertEquals(timer.get("MIN"), 1.0);
+        // The percentiles are weighted by the increase of the count
+        Assert.assertEquals((Double) timer.get("MEAN"), (10.0 * 10 + 20.0 * 20) / 30, 0.0001);
+        Assert.assertEquals((Double) timer.get("P99"), (30.0 * 10 + 40.0 * 20) / 30, 0.0001);
+        timer = getRollup("METRIC_ROLLUP_1M", start + 2 * MINUTE, "test.timer");
+        Assert.assertEquals(timer.get("COUNT"), 5L);
+
+        counter = getRollup("METRIC_ROLLUP_1H", start, "test.counter");
+        Assert.assertEquals(counter.get("SAMPLES"), 4L);
+        Assert.assertEquals(counter.get("COUNT"), 8L);
+        Assert.assertEquals(counter.get("LAST_COUNT"), 18L);
+        Assert.assertEquals(counter.get("MAX"), 20.0);
+        Assert.assertEquals(counter.get("MIN"), 10.0);
+        timer = getRollup("METRIC_ROLLUP_1H", start, "test.timer");
+        Assert.assertEquals(timer.get("COUNT"), 35L);
+        Assert.assertEquals((Double) timer.get("P99"), (30.0 * 10 + 40.0 * 20 + 5.0 * 5) / 35, 0.0001);
+
+        counter = getRollup("METRIC_ROLLUP_1D", start - HOUR, "test.counter");
+        Assert.assertEquals(counter.get("SAMPLES"), 4L);
+        Assert.assertEquals(counter.get("COUNT"), 8L);
+    }
+
+    @Test
+    public void rollsUpWrittenPercentiles() {
+        try (ScheduledJdbcMetricsRollupTask rollupTask = new ScheduledJdbcMetricsRollupTask(dataSource, SOURCE, 0,
+                new int[]{0, 0, 0}, 60, null, new String[]{"P50", "P99", "P9999"})) {
+            rollupTask.run();
+            Assert.assertEquals(rollupTask.getRollupRows().getCount(), 8L);
+        }
+
+        Map<String, Object> timer = getRollup("METRIC_ROLLUP_1M", start + MINUTE, "test.timer");
+        Assert.assertEquals((Double) timer.get("P99"), (30.0 * 10 + 40.0 * 20) / 30, 0.0001);
+        Assert.assertNotNull(timer.get("P50"));
+        Assert.assertNull(timer.get("P75"));
+        Assert.assertNull(timer.get("P999"));
+        timer = getRollup("METRIC_ROLLUP_1H", start, "test.timer");
+        Assert.assertEquals((Double) timer.get("P99"), (30.0 * 10 + 40.0 * 20 + 5.0 * 5) / 35, 0.0001);
+        Assert.assertNull(timer.get("P75"));
+    }
+
+    @Test
+    public void rollsUpTaggedValues() {
+        insertTaggedCounter(start + MINUTE + 5000, "endpoint=/orders", 5);
+        insertTaggedCounter(start + MINUTE + 5000, "endpoint=/users", 7);
+        try (ScheduledJdbcMetricsRollupTask rollupTask = new ScheduledJdbcMetricsRollupTask(dataSource, SOURCE, 0,
+                new int[]{0, 0, 0}, 60, null, new String[]{"P50", "P99"}, true)) {
+            rollupTask.run();
+            // One 1-minute, one 1-hour and one 1-day rollups for each tagged counter
+            Assert.assertEquals(rollupTask.getRollupRows().getCount(), 14L);
+        }
+
+        // The metrics with different tags are not aggregated together
+        Assert.assertEquals(getRollup("METRIC_ROLLUP_1M", start + MINUTE, "requests{endpoint=/orders}").get("COUNT"),
+                5L);
+        Assert.assertEquals(getRollup("METRIC_ROLLUP_1H", start, "requests{endpoint=/users}").get("COUNT"), 7L);
+        Assert.assertEquals(getRollup("METRIC_ROLLUP_1M", start + MINUTE, "test.counter").get("COUNT"), 10L);
+    }
+
+    @Test
+    public void deletesExpiredRollups() {
+        // The rollups of other sources are not deleted
+        template.update("INSERT INTO METRIC_ROLLUP_1M (SOURCE, TIMESTAMP, NAME, TYPE, SAMPLES, COUNT, LAST_COUNT, MAX, "
+                + "MEAN, MIN) VALUES (?,?,?,?,?,?,?,?,?,?)", "other", start, "test.counter", "COUNTER", 1, 0, 1, 1, 1,
+                1);
+        try (ScheduledJdbcMetricsRollupTask rollupTask = new ScheduledJdbcMetricsRollupTask(dataSource, SOURCE, 0,
+                new int[]{1, 0, 0}, 60, null)) {
+            rollupTask.run();
+            // The 1-minute rollups are older than a day
+            Assert.assertEquals(rollupTask.getDeletedRows().getCount(), 6L);
+        }
+        Assert.assertEquals(countRows("METRIC_ROLLUP_1M"), 0L);
+        Assert.assertEquals(countRows("METRIC_ROLLUP_1H"), 2L);
+        Assert.assertEquals(countRows("METRIC_ROLLUP_1D"), 2L);
+        Assert.assertEquals(template.queryForObject("SELECT COUNT(*) FROM METRIC_ROLLUP_1M WHERE SOURCE = ?",
+                Long.class, "other"), Long.valueOf(1L));
+    }
+
+    private Map<String, Object> getRollup(String tableName, long timestamp, String name) {
+        List<Map<String, Object>> result = template.queryForList("SELECT * FROM " + tableName
+                + " WHERE SOURCE = ? AND TIMESTAMP = ? AND NAME = ?", SOURCE, timestamp, name);
+        Assert.assertEquals(result.size(), 1);
+        return result.get(0);
+    }
+
+    private void insertRollup(long timestamp, String name, String type, long count) {
+        template.update("INSERT INTO METRIC_ROLLUP_1M (SOURCE, TIMESTAMP, NAME, TYPE, SAMPLES, COUNT, LAST_COUNT, MAX, "
+                + "MEAN, MIN) VALUES (?,?,?,?,?,?,?,?,?,?)", SOURCE, timestamp, name, type, 1, 0, count, count, count,
+                count);
+    }
+
+    private void insertCounter(long timestamp, long count) {
+        template.update("INSERT INTO METRIC_COUNTER (SOURCE, TIMESTAMP, NAME, COUNT) VALUES (?,?,?,?)", SOURCE,
+                timestamp, "test.counter", count);
+    }
+
+    private void insertTaggedCounter(long timestamp, String tags, long count) {
+        template.update("INSERT INTO METRIC_COUNTER (SOURCE, TIMESTAMP, NAME, TAGS, COUNT) VALUES (?,?,?,?,?)",
+                SOURCE, timestamp, "requests", tags, count);
+    }
+
+    private void insertTimer(long timestamp, long count, double mean, double p99) {
+        template.update("INSERT INTO METRIC_TIMER (SOURCE,TIMESTAMP,NAME,COUNT,MAX,MEAN,MIN,STDDEV,P50,P75,P95,P98,"
+                        + "P99,P999,MEAN_RATE,M1_RATE,M5_RATE,M15_RATE,RATE_UNIT,DURATION_UNIT) "
+                        + "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)", SOURCE, timestamp, "test.timer", count,
+                p99 * 2, mean, 1.0, 1.0, mean, mean, p99, p99, p99, p99, 1.0, 1.0, 1.0, 1.0, "calls/second",
+                "milliseconds");
+    }
+
+    private long countRows(String tableName) {
+        return template.queryForObject("SELECT COUNT(*) FROM " + tableName + " WHERE SOURCE = ?", Long.class,
+                SOURCE);
+    }
+}
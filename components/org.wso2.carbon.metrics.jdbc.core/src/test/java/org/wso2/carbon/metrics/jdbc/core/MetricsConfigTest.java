@@ -22,6 +22,10 @@ import org.wso2.carbon.config.ConfigurationException;
 import org.wso2.carbon.metrics.jdbc.core.config.model.DataSourceConfig;
 import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcReporterConfig;
 import org.wso2.carbon.metrics.jdbc.core.config.model.MetricsConfig;
+import org.wso2.carbon.metrics.jdbc.core.reporter.impl.PartitionInterval;
+import org.wso2.carbon.metrics.jdbc.reporter.OverflowPolicy;
+
+import java.util.Arrays;
 
 /**
  * Test Cases for {@link MetricsConfig}.
@@ -42,6 +46,14 @@ public class MetricsConfigTest {
         Assert.assertEquals(config.isEnabled(), true);
         Assert.assertEquals(config.getPollingPeriod(), 600L);
         Assert.assertEquals(config.getSource(), "Carbon-jdbc");
+        Assert.assertEquals(config.isSingleTransaction(), true);
+        Assert.assertEquals(config.getMaxBatchSize(), 500);
+        Assert.assertEquals(config.getPercentiles(), Arrays.asList(0.5, 0.75, 0.95, 0.98, 0.99, 0.999));
+        Assert.assertEquals(config.getWriteBehind().isEnabled(), false);
+        Assert.assertEquals(config.getWriteBehind().getQueueSize(), 5000);
+        Assert.assertEquals(config.getWriteBehind().getOverflowPolicy(), OverflowPolicy.BLOCK);
+        Assert.assertEquals(config.getSkipUnchanged().isEnabled(), false);
+        Assert.assertEquals(config.getSkipUnchanged().getHeartbeatInterval(), 900L);
     }
 
     @Test
@@ -52,6 +64,17 @@ public class MetricsConfigTest {
         Assert.assertEquals(config.getScheduledCleanup().isEnabled(), true);
         Assert.assertEquals(config.getScheduledCleanup().getDaysToKeep(), 2);
         Assert.assertEquals(config.getScheduledCleanup().getScheduledCleanupPeriod(), 10000L);
+        Assert.assertEquals(config.getScheduledCleanup().getChunkSize(), 500);
+        Assert.assertEquals(config.getScheduledCleanup().getChunkPause(), 10L);
+        Assert.assertEquals(config.getScheduledCleanup().getTimeBudget(), 60L);
+        Assert.assertFalse(config.getPartitioning().isEnabled());
+        Assert.assertEquals(config.getPartitioning().getInterval(), PartitionInterval.HOURLY);
+        Assert.assertEquals(config.getPartitioning().getFuturePartitions(), 3);
+        Assert.assertFalse(config.getRollup().isEnabled());
+        Assert.assertEquals(config.getRollup().getPeriod(), 120L);
+        Assert.assertEquals(config.getRollup().getMinuteDaysToKeep(), 3);
+        Assert.assertEquals(config.getRollup().getHourDaysToKeep(), 30);
+        Assert.assertEquals(config.getRollup().getDayDaysToKeep(), 0);
 
         JdbcReporterConfig jdbcReporterConfig = metricsConfig.getReporting().getJdbc().iterator().next();
         Assert.assertEquals(jdbcReporterConfig.getDataSource(), config);
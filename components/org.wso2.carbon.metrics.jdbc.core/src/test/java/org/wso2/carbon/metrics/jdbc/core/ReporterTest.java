@@ -31,6 +31,7 @@ import org.wso2.carbon.metrics.core.reporter.ReporterBuildException;
 import org.wso2.carbon.metrics.core.reporter.ReporterBuilder;
 import org.wso2.carbon.metrics.jdbc.core.config.model.DataSourceConfig;
 import org.wso2.carbon.metrics.jdbc.core.config.model.JdbcReporterConfig;
+import org.wso2.carbon.metrics.jdbc.reporter.OverflowPolicy;
 
 import java.util.List;
 import java.util.Map;
@@ -176,6 +177,45 @@ public class ReporterTest extends BaseReporterTest {
         Assert.assertEquals(meterResult.size(), 2);
     }
 
+    @Test
+    public void testJDBCWriteBehindReporter() throws ReporterBuildException {
+        String name = "JDBC-WRITE-BEHIND";
+        JdbcReporterConfig jdbcReporterConfig = new JdbcReporterConfig();
+        DataSourceConfig dataSourceConfig = new DataSourceConfig();
+        dataSourceConfig.setDataSourceName("jdbc/WSO2MetricsDB");
+        dataSourceConfig.getScheduledCleanup().setEnabled(false);
+        jdbcReporterConfig.setName(name);
+        jdbcReporterConfig.setSource("Carbon-jdbc-write-behind");
+        jdbcReporterConfig.setDataSource(dataSourceConfig);
+        jdbcReporterConfig.setEnabled(true);
+        jdbcReporterConfig.getWriteBehind().setEnabled(true);
+        jdbcReporterConfig.getWriteBehind().setQueueSize(1000);
+        jdbcReporterConfig.getWriteBehind().setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        metricManagementService.addReporter(jdbcReporterConfig);
+        Assert.assertTrue(metricManagementService.isReporterRunning(name));
+
+        String meterName = MetricService.name(this.getClass(), "test-jdbc-write-behind-meter");
+        Meter meter = metricService.meter(meterName, Level.INFO);
+        meter.mark();
+
+        metricManagementService.report(name);
+        // Stopping the reporter writes all queued values
+        metricManagementService.stopReporter(name);
+        metricManagementService.removeReporter(name);
+
+        List<Map<String, Object>> meterResult =
+                template.queryForList("SELECT * FROM METRIC_METER WHERE NAME = ?", meterName);
+        Assert.assertEquals(meterResult.size(), 1);
+        Assert.assertEquals(meterResult.get(0).get("COUNT"), 1L);
+        Assert.assertEquals(meterResult.get(0).get("SOURCE"), "Carbon-jdbc-write-behind");
+
+        // The queue metrics are reported while the reporter is running
+        List<Map<String, Object>> gaugeResult = template.queryForList("SELECT * FROM METRIC_GAUGE WHERE NAME = ?",
+                "org.wso2.carbon.metrics.jdbc.reporter." + name + ".queue.dropped");
+        Assert.assertEquals(gaugeResult.size(), 1);
+        Assert.assertEquals(gaugeResult.get(0).get("METRIC_GAUGE"), "0");
+    }
+
     @Test
     public void testJDBCReporterCustomDatasource() throws ConfigurationException {
         // reload with custom jdbc config
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.reporter;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the last values written by the {@link JdbcReporter} for each metric, so that the rows of unchanged metrics
+ * can be skipped. The captured rows are compared with the last written rows. The count is compared for counters, the
+ * value is compared for gauges, and the count and all values of the row are compared for histograms, meters and
+ * timers. Therefore the snapshot values and the rates are not left stale when only the count is unchanged. As the
+ * rates decay over time, the idle meters and timers are written until their rates stop changing. An unchanged metric
+ * is written again when the heartbeat interval has elapsed since it was last written.
+ * <p>
+ * The values selected for writing are recorded only after the rows are written successfully with
+ * {@link #written(List)}. Therefore the values, which could not be written or were dropped from the write-behind
+ * queue, are selected again in the next report.
+ */
+final class ChangeDetector {
+
+    private final long heartbeatInterval;
+
+    private final TimeUnit timestampUnit;
+
+    // The last written values for each metric type, keyed by the metric name
+    private final Map<MetricRow.Type, Map<String, LastWritten>> lastWritten = new EnumMap<>(MetricRow.Type.class);
+
+    // Incremented on every report to find the metrics, which are no longer reported
+    private long reportCount;
+
+    private long skippedRows;
+
+    /**
+     * @param heartbeatInterval the interval in milliseconds to write unchanged values. Unchanged values are never
+     *                          written again if the interval is zero.
+     * @param timestampUnit     the unit of the timestamps of the rows
+     */
+    ChangeDetector(long heartbeatInterval, TimeUnit timestampUnit) {
+        this.heartbeatInterval = heartbeatInterval;
+        this.timestampUnit = timestampUnit;
+        for (MetricRow.Type type : MetricRow.Type.values()) {
+            lastWritten.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * Starts a new report. The metrics, which were not seen in the previous report are forgotten, so that the state
+     * does not grow with removed metrics.
+     */
+    synchronized void startReport() {
+        for (Map<String, LastWritten> values : lastWritten.values()) {
+            Iterator<LastWritten> iterator = values.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().reportCount != reportCount) {
+                    iterator.remove();
+                }
+            }
+        }
+        reportCount++;
+    }
+
+    /**
+     * Checks whether a captured row should be written.
+     *
+     * @param row the captured row
+     * @return {@code true} if the metric has changed since it was last written, or the heartbeat interval has elapsed
+     */
+    synchronized boolean isChanged(MetricRow row) {
+        LastWritten last = lastWritten.get(row.getType()).get(row.getName());
+        if (last == null) {
+            // Not written yet
+            return true;
+        }
+        last.reportCount = reportCount;
+        boolean unchanged = last.count == row.getCount() && Objects.equals(last.value, row.getGaugeValue())
+                && Arrays.equals(last.values, row.getValues());
+        if (unchanged && (heartbeatInterval <= 0
+                || timestampUnit.toMillis(row.getTimestamp() - last.timestamp) < heartbeatInterval)) {
+            skippedRows++;
+            return false;
+        }
+        return true;
+    }
+
+    synchronized long getSkippedRows() {
+        return skippedRows;
+    }
+
+    /**
+     * Records the values of the rows, which were written successfully.
+     *
+     * @param rows the written rows
+     */
+    synchronized void written(List<MetricRow> rows) {
+        for (MetricRow row : rows) {
+            Map<String, LastWritten> values = lastWritten.get(row.getType());
+            LastWritten last = values.get(row.getName());
+            if (last == null) {
+                values.put(row.getName(), new LastWritten(row.getCount(), row.getGaugeValue(), row.getValues(),
+                        row.getTimestamp(), reportCount));
+            } else if (row.getTimestamp() >= last.timestamp) {
+                // The rows of an older report may be written later when writing behind
+                last.count = row.getCount();
+                last.value = row.getGaugeValue();
+                last.values = row.getValues();
+                last.timestamp = row.getTimestamp();
+            }
+        }
+    }
+
+    private static final class LastWritten {
+
+        private long count;
+
+        private String value;
+
+        private double[] values;
+
+        private long timestamp;
+
+        private long reportCount;
+
+        private LastWritten(long count, String value, double[] values, long timestamp, long reportCount) {
+            this.count = count;
+            this.value = value;
+            this.values = values;
+            this.timestamp = timestamp;
+            this.reportCount = reportCount;
+        }
+    }
+}
@@ -28,12 +28,23 @@ import com.codahale.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.SortedMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import javax.sql.DataSource;
 
 /**
@@ -62,6 +73,14 @@ public class JdbcReporter extends ScheduledReporter {
         private Clock clock;
         private MetricFilter filter;
         private TimeUnit timestampUnit;
+        private int queueCapacity;
+        private OverflowPolicy overflowPolicy;
+        private boolean singleTransaction;
+        private int maxBatchSize;
+        private TableNameResolver tableNameResolver;
+        private long heartbeatInterval = -1;
+        private double[] percentiles = DEFAULT_PERCENTILES;
+        private boolean tagsColumn;
 
         private Builder(MetricRegistry registry) {
             this.registry = registry;
@@ -70,6 +89,7 @@ public class JdbcReporter extends ScheduledReporter {
             this.clock = Clock.defaultClock();
             this.filter = MetricFilter.ALL;
             this.timestampUnit = TimeUnit.SECONDS;
+            this.maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
         }
 
         /**
@@ -127,6 +147,105 @@ public class JdbcReporter extends ScheduledReporter {
             return this;
         }
 
+        /**
+         * Write the measurements to the database asynchronously. When reporting, the values are captured to a bounded
+         * queue and a dedicated thread writes the queued rows to the database in batches. The thread is started when
+         * the reporter is started, or by {@link JdbcReporter#startWriter()}.
+         *
+         * @param queueCapacity  the maximum number of rows in the queue
+         * @param overflowPolicy the action to take when the queue is full
+         * @return {@code this}
+         */
+        public Builder writeBehind(int queueCapacity, OverflowPolicy overflowPolicy) {
+            this.queueCapacity = queueCapacity;
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Write the measurements of all metric types using a single connection and a single transaction. By default,
+         * each metric type is written in a separate transaction. The rows are always written in a single transaction
+         * when writing behind.
+         *
+         * @param singleTransaction whether to write all metric types in a single transaction
+         * @return {@code this}
+         */
+        public Builder singleTransaction(boolean singleTransaction) {
+            this.singleTransaction = singleTransaction;
+            return this;
+        }
+
+        /**
+         * Limit the number of rows sent to the database in a single batch, when writing in a single transaction.
+         * Larger batches are split, but written in the same transaction. When writing behind, each transaction
+         * writes at most this number of rows from the queue.
+         *
+         * @param maxBatchSize the maximum number of rows in a batch
+         * @return {@code this}
+         */
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Insert the values to the tables resolved by the given {@link TableNameResolver}. By default, the values of
+         * each metric type are inserted to a single table.
+         *
+         * @param tableNameResolver a {@link TableNameResolver}
+         * @return {@code this}
+         */
+        public Builder tableNameResolver(TableNameResolver tableNameResolver) {
+            this.tableNameResolver = tableNameResolver;
+            return this;
+        }
+
+        /**
+         * Skip the rows of metrics, which have not changed since they were last written. The count is compared for
+         * counters, the value is compared for gauges, and the count, the snapshot values and the rates are compared
+         * for histograms, meters and timers. By default, all metrics are written in every report.
+         *
+         * @param heartbeatInterval the interval to write the unchanged metrics again. The unchanged metrics are never
+         *                          written again if the interval is zero.
+         * @param unit              the unit of the heartbeat interval
+         * @return {@code this}
+         */
+        public Builder skipUnchanged(long heartbeatInterval, TimeUnit unit) {
+            if (heartbeatInterval < 0) {
+                throw new IllegalArgumentException("Heartbeat interval cannot be negative");
+            }
+            this.heartbeatInterval = unit.toMillis(heartbeatInterval);
+            return this;
+        }
+
+        /**
+         * Write the given percentiles of histograms and timers. Each percentile is written to a column named with the
+         * percentile without the decimal point. For example, the 99.9th percentile is written to the P999 column. By
+         * default, the P50, P75, P95, P98, P99 and P999 columns are written.
+         *
+         * @param quantiles the quantiles of the percentiles, which should be greater than 0 and less than 1
+         * @return {@code this}
+         */
+        public Builder percentiles(double... quantiles) {
+            this.percentiles = quantiles.clone();
+            return this;
+        }
+
+        /**
+         * Write the tags of tagged metrics to the TAGS column of each table. A tagged metric is registered with its
+         * name followed by the tags in braces, for example {@code requests{endpoint=/orders,tenant=carbon.super}}.
+         * The name without the tags is written to the NAME column and the tags without the braces are written to the
+         * TAGS column, which is null for the metrics without tags. By default, the registered name is written to the
+         * NAME column and the tables do not need the TAGS column.
+         *
+         * @param tagsColumn whether to write the tags to the TAGS column
+         * @return {@code this}
+         */
+        public Builder tagsColumn(boolean tagsColumn) {
+            this.tagsColumn = tagsColumn;
+            return this;
+        }
+
         /**
          * Builds a {@link JdbcReporter} with the given properties to report metrics to a database
          *
@@ -135,7 +254,10 @@ public class JdbcReporter extends ScheduledReporter {
          * @return a {@link JdbcReporter}
          */
         public JdbcReporter build(String source, DataSource dataSource) {
-            return new JdbcReporter(registry, source, dataSource, rateUnit, durationUnit, timestampUnit, clock, filter);
+            return new JdbcReporter(registry, source, dataSource, rateUnit, durationUnit, timestampUnit, clock, filter,
+                    queueCapacity, overflowPolicy, singleTransaction, maxBatchSize, tableNameResolver,
+                    heartbeatInterval >= 0 ? new ChangeDetector(heartbeatInterval, timestampUnit) : null, percentiles,
+                    tagsColumn);
         }
     }
 
@@ -145,7 +267,35 @@ public class JdbcReporter extends ScheduledReporter {
     private final String source;
     private final DataSource dataSource;
     private final TimeUnit timestampUnit;
+    private final boolean singleTransaction;
+    private final int maxBatchSize;
+    private final TableNameResolver tableNameResolver;
+    // This is null unless skipping unchanged metrics
+    private final ChangeDetector changeDetector;
+    private final double[] percentiles;
+    private final boolean tagsColumn;
+    private final String insertGaugeQuery;
+    private final String insertCounterQuery;
+    private final String insertMeterQuery;
+    private final String insertHistogramQuery;
+    private final String insertTimerQuery;
+    // The names of the gauges, which were logged as they could not be written as they are
+    private final Set<String> loggedGauges = ConcurrentHashMap.newKeySet();
+
+    private static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+    private static final double[] DEFAULT_PERCENTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
 
+    // The following fields are used only when writing behind
+    private static final long WRITER_POLL_INTERVAL = 500;
+    private static final long WRITER_STOP_TIMEOUT = 10000;
+    private final BlockingQueue<MetricRow> queue;
+    private final OverflowPolicy overflowPolicy;
+    private Thread writer;
+    private final AtomicLong droppedRows = new AtomicLong();
+    private final AtomicLong failedRows = new AtomicLong();
+    private volatile boolean stopped;
+
+    private static final String INSERT_INTO = "INSERT INTO ";
     private static final String INSERT_GAUGE_QUERY =
             "INSERT INTO METRIC_GAUGE (SOURCE, TIMESTAMP, NAME, METRIC_GAUGE) VALUES (?,?,?,?)";
     private static final String INSERT_COUNTER_QUERY =
@@ -154,26 +304,63 @@ public class JdbcReporter extends ScheduledReporter {
             "INSERT INTO METRIC_METER (SOURCE,TIMESTAMP,NAME,COUNT,MEAN_RATE,M1_RATE,M5_RATE,M15_RATE,RATE_UNIT) "
                     + "VALUES (?,?,?,?,?,?,?,?,?)";
     private static final String INSERT_HISTOGRAM_QUERY =
-            "INSERT INTO METRIC_HISTOGRAM (SOURCE,TIMESTAMP,NAME,COUNT,MAX,MEAN,MIN,STDDEV,P50,P75,P95,P98,P99,P999) "
-                    + "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+            "INSERT INTO METRIC_HISTOGRAM (SOURCE,TIMESTAMP,NAME,COUNT,MAX,MEAN,MIN,STDDEV%s) "
+                    + "VALUES (?,?,?,?,?,?,?,?%s)";
     private static final String INSERT_TIMER_QUERY =
-            "INSERT INTO METRIC_TIMER (SOURCE,TIMESTAMP,NAME,COUNT,MAX,MEAN,MIN,STDDEV,P50,P75,P95,P98,P99,P999,"
+            "INSERT INTO METRIC_TIMER (SOURCE,TIMESTAMP,NAME,COUNT,MAX,MEAN,MIN,STDDEV%s,"
                     + "MEAN_RATE,M1_RATE,M5_RATE,M15_RATE,RATE_UNIT,DURATION_UNIT) "
-                    + "VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+                    + "VALUES (?,?,?,?,?,?,?,?%s,?,?,?,?,?,?)";
 
     private JdbcReporter(MetricRegistry registry, String source, DataSource dataSource, TimeUnit rateUnit,
-                         TimeUnit durationUnit, TimeUnit timestampUnit, Clock clock, MetricFilter filter) {
+                         TimeUnit durationUnit, TimeUnit timestampUnit, Clock clock, MetricFilter filter,
+                         int queueCapacity, OverflowPolicy overflowPolicy, boolean singleTransaction,
+                         int maxBatchSize, TableNameResolver tableNameResolver, ChangeDetector changeDetector,
+                         double[] percentiles, boolean tagsColumn) {
         super(registry, "jdbc-reporter", filter, rateUnit, durationUnit);
         this.source = source;
         this.dataSource = dataSource;
         this.timestampUnit = timestampUnit;
         this.clock = clock;
+        this.singleTransaction = singleTransaction;
+        this.maxBatchSize = maxBatchSize;
+        this.tableNameResolver = tableNameResolver;
+        this.changeDetector = changeDetector;
         if (source == null || source.trim().isEmpty()) {
             throw new IllegalArgumentException("Source cannot be null or empty");
         }
         if (dataSource == null) {
             throw new IllegalArgumentException("Data source cannot be null");
         }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("Maximum batch size should be positive");
+        }
+        StringBuilder columns = new StringBuilder();
+        StringBuilder parameters = new StringBuilder();
+        for (double quantile : percentiles) {
+            if (!(quantile > 0.0 && quantile < 1.0)) {
+                throw new IllegalArgumentException("Percentile quantiles should be greater than 0 and less than 1");
+            }
+            columns.append(',').append(getPercentileColumn(quantile));
+            parameters.append(",?");
+        }
+        this.percentiles = percentiles;
+        this.tagsColumn = tagsColumn;
+        this.insertGaugeQuery = withTagsColumn(INSERT_GAUGE_QUERY, tagsColumn);
+        this.insertCounterQuery = withTagsColumn(INSERT_COUNTER_QUERY, tagsColumn);
+        this.insertMeterQuery = withTagsColumn(INSERT_METER_QUERY, tagsColumn);
+        this.insertHistogramQuery = withTagsColumn(String.format(INSERT_HISTOGRAM_QUERY, columns, parameters),
+                tagsColumn);
+        this.insertTimerQuery = withTagsColumn(String.format(INSERT_TIMER_QUERY, columns, parameters), tagsColumn);
+        if (overflowPolicy != null) {
+            if (queueCapacity <= 0) {
+                throw new IllegalArgumentException("Queue capacity should be positive");
+            }
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.overflowPolicy = overflowPolicy;
+        } else {
+            this.queue = null;
+            this.overflowPolicy = null;
+        }
     }
 
     @SuppressWarnings("rawtypes")
@@ -183,6 +370,34 @@ public class JdbcReporter extends ScheduledReporter {
                        SortedMap<String, Timer> timers) {
         final long timestamp = timestampUnit.convert(clock.getTime(), TimeUnit.MILLISECONDS);
 
+        if (changeDetector != null) {
+            // The unchanged rows are skipped when capturing the rows
+            changeDetector.startReport();
+        }
+
+        if (queue != null) {
+            captureRows(timestamp, gauges, counters, histograms, meters, timers, this::queueRow);
+            return;
+        }
+        if (singleTransaction) {
+            List<MetricRow> rows = new ArrayList<>(gauges.size() + counters.size() + histograms.size()
+                    + meters.size() + timers.size());
+            captureRows(timestamp, gauges, counters, histograms, meters, timers, rows::add);
+            if (!rows.isEmpty()) {
+                writeRows(rows);
+            }
+            return;
+        }
+        if (changeDetector != null || tagsColumn) {
+            // The rows are captured, so that the written values can be recorded in the change detector and the tags
+            // can be written. The rows of each type are written in a separate transaction.
+            Map<MetricRow.Type, List<MetricRow>> rowsByType = new EnumMap<>(MetricRow.Type.class);
+            captureRows(timestamp, gauges, counters, histograms, meters, timers,
+                    row -> rowsByType.computeIfAbsent(row.getType(), type -> new ArrayList<>()).add(row));
+            rowsByType.values().forEach(this::writeRows);
+            return;
+        }
+
         if (!gauges.isEmpty()) {
             reportGauges(timestamp, gauges);
         }
@@ -200,11 +415,385 @@ public class JdbcReporter extends ScheduledReporter {
         }
     }
 
+    /**
+     * Returns the column name for a percentile. The column name is "P" followed by the percentile without the decimal
+     * point. For example, the column name for the quantile 0.999 is P999.
+     *
+     * @param quantile The quantile of the percentile
+     * @return The column name
+     */
+    public static String getPercentileColumn(double quantile) {
+        return "P" + BigDecimal.valueOf(quantile).movePointRight(2).stripTrailingZeros().toPlainString()
+                .replace(".", "");
+    }
+
+    /**
+     * Returns a percentile from the snapshot. The well-known percentiles are read through their own accessors, which
+     * snapshot implementations may override.
+     */
+    private static double getPercentile(Snapshot snapshot, double quantile) {
+        if (quantile == 0.5) {
+            return snapshot.getMedian();
+        } else if (quantile == 0.75) {
+            return snapshot.get75thPercentile();
+        } else if (quantile == 0.95) {
+            return snapshot.get95thPercentile();
+        } else if (quantile == 0.98) {
+            return snapshot.get98thPercentile();
+        } else if (quantile == 0.99) {
+            return snapshot.get99thPercentile();
+        } else if (quantile == 0.999) {
+            return snapshot.get999thPercentile();
+        }
+        return snapshot.getValue(quantile);
+    }
+
     @Override
     protected String getRateUnit() {
         return super.getRateUnit();
     }
 
+    /**
+     * Starts the reporter. When writing behind, the writer thread is started as well.
+     */
+    @Override
+    public synchronized void start(long initialDelay, long period, TimeUnit unit) {
+        super.start(initialDelay, period, unit);
+        startWriter();
+    }
+
+    /**
+     * Starts the thread writing the queued rows without scheduling the reports. This is used when the reports are
+     * scheduled by the caller. This does nothing if the reporter does not write behind or the thread is already
+     * started.
+     */
+    public synchronized void startWriter() {
+        if (queue != null && writer == null && !stopped) {
+            writer = new NamedThreadFactory("jdbc-reporter-writer-" + source).newThread(this::writeQueuedRows);
+            writer.start();
+        }
+    }
+
+    /**
+     * Stops the reporter. When writing behind, the rows in the queue are written before returning. The rows are
+     * written by the calling thread if the reporter was not started.
+     */
+    @Override
+    public void stop() {
+        super.stop();
+        Thread writerThread;
+        synchronized (this) {
+            if (queue == null || stopped) {
+                return;
+            }
+            stopped = true;
+            writerThread = writer;
+        }
+        if (writerThread == null) {
+            writeQueuedRows();
+        } else {
+            try {
+                writerThread.join(WRITER_STOP_TIMEOUT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (writerThread.isAlive()) {
+                writerThread.interrupt();
+            }
+        }
+        int remaining = queue.size();
+        if (remaining > 0) {
+            queue.clear();
+            droppedRows.addAndGet(remaining);
+            if (logger.isWarnEnabled()) {
+                logger.warn("Discarded {} queued rows when stopping the reporter", remaining);
+            }
+        }
+    }
+
+    /**
+     * @return The number of rows waiting to be written to the database
+     */
+    public int getQueueSize() {
+        return queue != null ? queue.size() : 0;
+    }
+
+    /**
+     * @return The number of rows discarded as the queue was full
+     */
+    public long getDroppedRows() {
+        return droppedRows.get();
+    }
+
+    /**
+     * @return The number of rows skipped as the metrics were unchanged
+     */
+    public long getSkippedRows() {
+        return changeDetector != null ? changeDetector.getSkippedRows() : 0;
+    }
+
+    /**
+     * @return The number of queued rows, which could not be written to the database
+     */
+    public long getFailedRows() {
+        return failedRows.get();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void captureRows(final long timestamp, final SortedMap<String, Gauge> gauges,
+                             final SortedMap<String, Counter> counters, final SortedMap<String, Histogram> histograms,
+                             final SortedMap<String, Meter> meters, final SortedMap<String, Timer> timers,
+                             final Consumer<MetricRow> rowConsumer) {
+        // All values of a captured row are compared with the last written row
+        final Consumer<MetricRow> consumer = changeDetector == null ? rowConsumer : row -> {
+            if (changeDetector.isChanged(row)) {
+                rowConsumer.accept(row);
+            }
+        };
+        for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
+            Object value = getGaugeValue(entry.getKey(), entry.getValue());
+            if (value != null) {
+                consumer.accept(MetricRow.gauge(timestamp, entry.getKey(), value));
+            }
+        }
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            consumer.accept(MetricRow.counter(timestamp, entry.getKey(), entry.getValue().getCount()));
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            Snapshot snapshot = histogram.getSnapshot();
+            double[] values = new double[4 + percentiles.length];
+            values[0] = snapshot.getMax();
+            values[1] = snapshot.getMean();
+            values[2] = snapshot.getMin();
+            values[3] = snapshot.getStdDev();
+            for (int i = 0; i < percentiles.length; i++) {
+                values[4 + i] = getPercentile(snapshot, percentiles[i]);
+            }
+            consumer.accept(MetricRow.histogram(timestamp, entry.getKey(), histogram.getCount(), values));
+        }
+        for (Map.Entry<String, Meter> entry : meters.entrySet()) {
+            Meter meter = entry.getValue();
+            consumer.accept(MetricRow.meter(timestamp, entry.getKey(), meter.getCount(), new double[]{
+                    convertRate(meter.getMeanRate()), convertRate(meter.getOneMinuteRate()),
+                    convertRate(meter.getFiveMinuteRate()), convertRate(meter.getFifteenMinuteRate())}));
+        }
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            Timer timer = entry.getValue();
+            Snapshot snapshot = timer.getSnapshot();
+            double mean = snapshot.getMean();
+            double[] values = new double[8 + percentiles.length];
+            values[0] = convertDuration(snapshot.getMax());
+            values[1] = convertDuration(Double.isNaN(mean) ? 0.0 : mean);
+            values[2] = convertDuration(snapshot.getMin());
+            values[3] = convertDuration(snapshot.getStdDev());
+            int index = 4;
+            for (double quantile : percentiles) {
+                values[index++] = convertDuration(getPercentile(snapshot, quantile));
+            }
+            values[index++] = convertRate(timer.getMeanRate());
+            values[index++] = convertRate(timer.getOneMinuteRate());
+            values[index++] = convertRate(timer.getFiveMinuteRate());
+            values[index] = convertRate(timer.getFifteenMinuteRate());
+            consumer.accept(MetricRow.timer(timestamp, entry.getKey(), timer.getCount(), values));
+        }
+    }
+
+    private void queueRow(MetricRow row) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(row);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedRows.incrementAndGet();
+                }
+                break;
+            case DROP_OLDEST:
+                while (!queue.offer(row)) {
+                    if (queue.poll() != null) {
+                        droppedRows.incrementAndGet();
+                    }
+                }
+                break;
+            default:
+                if (!queue.offer(row)) {
+                    droppedRows.incrementAndGet();
+                }
+                break;
+        }
+    }
+
+    /**
+     * Writes the queued rows until the reporter is stopped. This is run by the writer thread, or by the thread
+     * stopping the reporter if the reporter was not started. Each transaction writes at most {@code maxBatchSize}
+     * rows, so that a large backlog is not written in a single long transaction and a failure discards only the
+     * rows of one transaction. The gauge values are sanitised when the rows are captured.
+     */
+    private void writeQueuedRows() {
+        List<MetricRow> rows = new ArrayList<>(maxBatchSize);
+        while (!stopped || !queue.isEmpty()) {
+            MetricRow row;
+            try {
+                row = queue.poll(WRITER_POLL_INTERVAL, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (row == null) {
+                continue;
+            }
+            rows.add(row);
+            queue.drainTo(rows, maxBatchSize - 1);
+            if (!writeRows(rows)) {
+                failedRows.addAndGet(rows.size());
+            }
+            rows.clear();
+        }
+    }
+
+    /**
+     * Writes rows of all metric types in a single transaction. The rows are sent to the database in batches of at most
+     * {@code maxBatchSize} rows. The statements are prepared once for each table and reused for all batches. The
+     * written values are recorded in the change detector only after the transaction is committed.
+     *
+     * @return {@code true} if the rows were written successfully
+     */
+    private boolean writeRows(final List<MetricRow> rows) {
+        Connection connection = null;
+        // The statements are mapped by the query, as the rows of a type may go to different tables
+        Map<String, PreparedStatement> statements = new HashMap<>();
+        int batchSize = 0;
+
+        try {
+            connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+
+            for (MetricRow row : rows) {
+                String query = getInsertQuery(row.getType(), row.getTimestamp());
+                PreparedStatement ps = statements.get(query);
+                if (ps == null) {
+                    ps = connection.prepareStatement(query);
+                    statements.put(query, ps);
+                }
+                writeRow(ps, row);
+                ps.addBatch();
+                if (++batchSize == maxBatchSize) {
+                    executeBatches(statements);
+                    batchSize = 0;
+                }
+            }
+
+            if (batchSize > 0) {
+                executeBatches(statements);
+            }
+            connection.commit();
+            if (changeDetector != null) {
+                changeDetector.written(rows);
+            }
+            return true;
+        } catch (SQLException e) {
+            rollbackTransaction(connection);
+            logger.error("Error when writing metrics", e);
+            return false;
+        } finally {
+            for (PreparedStatement ps : statements.values()) {
+                closeQuietly(null, ps);
+            }
+            closeQuietly(connection, null);
+        }
+    }
+
+    private void executeBatches(Map<String, PreparedStatement> statements) throws SQLException {
+        for (PreparedStatement ps : statements.values()) {
+            ps.executeBatch();
+        }
+    }
+
+    private void writeRow(PreparedStatement ps, MetricRow row) throws SQLException {
+        String name = row.getName();
+        String tags = tagsColumn ? getTags(name) : null;
+        ps.setString(1, source);
+        ps.setLong(2, row.getTimestamp());
+        // The tags are followed by the closing brace
+        ps.setString(3, tags != null ? name.substring(0, name.length() - tags.length() - 2) : name);
+        int index = 4;
+        if (row.getType() == MetricRow.Type.GAUGE) {
+            ps.setString(index++, row.getGaugeValue());
+        } else {
+            ps.setLong(index++, row.getCount());
+            for (double value : row.getValues()) {
+                ps.setDouble(index++, value);
+            }
+            if (row.getType() == MetricRow.Type.METER) {
+                ps.setString(index++, String.format("events/%s", getRateUnit()));
+            } else if (row.getType() == MetricRow.Type.TIMER) {
+                ps.setString(index++, String.format("calls/%s", getRateUnit()));
+                ps.setString(index++, getDurationUnit());
+            }
+        }
+        if (tagsColumn) {
+            ps.setString(index, tags);
+        }
+    }
+
+    /**
+     * Returns the tags of a tagged metric name. For example, the tags of {@code requests{endpoint=/orders}} are
+     * {@code endpoint=/orders}.
+     *
+     * @param name The name used to register a metric
+     * @return The tags without the braces, or {@code null} if the metric is not tagged
+     */
+    static String getTags(String name) {
+        if (name.isEmpty() || name.charAt(name.length() - 1) != '}') {
+            return null;
+        }
+        int start = name.indexOf('{');
+        return start > 0 ? name.substring(start + 1, name.length() - 1) : null;
+    }
+
+    /**
+     * Returns the insert query, which writes the TAGS column as the last column if needed.
+     */
+    private static String withTagsColumn(String query, boolean tagsColumn) {
+        if (!tagsColumn) {
+            return query;
+        }
+        int values = query.indexOf(") VALUES (");
+        return query.substring(0, values) + ",TAGS" + query.substring(values, query.length() - 1) + ",?)";
+    }
+
+    /**
+     * Returns the insert query for the table resolved for the given type and timestamp.
+     */
+    private String getInsertQuery(MetricRow.Type type, long timestamp) {
+        String query = getInsertQuery(type);
+        if (tableNameResolver == null) {
+            return query;
+        }
+        String tableName = type.getTableName();
+        String resolvedTableName = tableNameResolver.resolve(tableName, timestamp);
+        if (tableName.equals(resolvedTableName)) {
+            return query;
+        }
+        // All insert queries start with "INSERT INTO <table name>"
+        return INSERT_INTO + resolvedTableName + query.substring(INSERT_INTO.length() + tableName.length());
+    }
+
+    private String getInsertQuery(MetricRow.Type type) {
+        switch (type) {
+            case GAUGE:
+                return insertGaugeQuery;
+            case COUNTER:
+                return insertCounterQuery;
+            case HISTOGRAM:
+                return insertHistogramQuery;
+            case METER:
+                return insertMeterQuery;
+            default:
+                return insertTimerQuery;
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private void reportGauges(final long timestamp, final SortedMap<String, Gauge> gauges) {
         Connection connection = null;
@@ -213,13 +802,15 @@ public class JdbcReporter extends ScheduledReporter {
         try {
             connection = dataSource.getConnection();
             connection.setAutoCommit(false);
-            ps = connection.prepareStatement(INSERT_GAUGE_QUERY);
+            ps = connection.prepareStatement(getInsertQuery(MetricRow.Type.GAUGE, timestamp));
 
             for (Map.Entry<String, Gauge> entry : gauges.entrySet()) {
                 String name = entry.getKey();
-                Gauge gauge = entry.getValue();
-                reportGauge(timestamp, ps, name, gauge);
-                ps.addBatch();
+                Object value = getGaugeValue(name, entry.getValue());
+                if (value != null) {
+                    reportGauge(timestamp, ps, name, value);
+                    ps.addBatch();
+                }
             }
 
             ps.executeBatch();
@@ -236,12 +827,35 @@ public class JdbcReporter extends ScheduledReporter {
         }
     }
 
-    @SuppressWarnings("rawtypes")
-    private void reportGauge(final long timestamp, PreparedStatement ps, String name, Gauge gauge) throws SQLException {
+    private void reportGauge(final long timestamp, PreparedStatement ps, String name, Object value)
+            throws SQLException {
         ps.setString(1, source);
         ps.setLong(2, timestamp);
         ps.setString(3, name);
-        ps.setObject(4, gauge.getValue());
+        ps.setString(4, MetricRow.toGaugeValue(value));
+    }
+
+    /**
+     * Returns the value of a gauge to be written. A gauge without a value is not written, as the METRIC_GAUGE column
+     * does not allow nulls and the whole transaction would be rolled back. A value longer than the column is
+     * truncated. Each such gauge is logged only once.
+     *
+     * @return The value of the gauge, or {@code null} if the gauge should not be written
+     */
+    @SuppressWarnings("rawtypes")
+    private Object getGaugeValue(String name, Gauge gauge) {
+        Object value = gauge.getValue();
+        if (value == null) {
+            if (loggedGauges.add(name) && logger.isWarnEnabled()) {
+                logger.warn("The gauge {} has no value and it will not be reported", name);
+            }
+        } else if (String.valueOf(value).length() > MetricRow.MAX_GAUGE_VALUE_LENGTH) {
+            if (loggedGauges.add(name) && logger.isWarnEnabled()) {
+                logger.warn("The value of the gauge {} is longer than {} characters and it will be truncated", name,
+                        MetricRow.MAX_GAUGE_VALUE_LENGTH);
+            }
+        }
+        return value;
     }
 
     private void reportCounters(final long timestamp, final SortedMap<String, Counter> counters) {
@@ -251,7 +865,7 @@ public class JdbcReporter extends ScheduledReporter {
         try {
             connection = dataSource.getConnection();
             connection.setAutoCommit(false);
-            ps = connection.prepareStatement(INSERT_COUNTER_QUERY);
+            ps = connection.prepareStatement(getInsertQuery(MetricRow.Type.COUNTER, timestamp));
 
             for (Map.Entry<String, Counter> entry : counters.entrySet()) {
                 String name = entry.getKey();
@@ -289,7 +903,7 @@ public class JdbcReporter extends ScheduledReporter {
         try {
             connection = dataSource.getConnection();
             connection.setAutoCommit(false);
-            ps = connection.prepareStatement(INSERT_HISTOGRAM_QUERY);
+            ps = connection.prepareStatement(getInsertQuery(MetricRow.Type.HISTOGRAM, timestamp));
 
             for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
                 String name = entry.getKey();
@@ -324,12 +938,10 @@ public class JdbcReporter extends ScheduledReporter {
         ps.setDouble(6, snapshot.getMean());
         ps.setDouble(7, snapshot.getMin());
         ps.setDouble(8, snapshot.getStdDev());
-        ps.setDouble(9, snapshot.getMedian());
-        ps.setDouble(10, snapshot.get75thPercentile());
-        ps.setDouble(11, snapshot.get95thPercentile());
-        ps.setDouble(12, snapshot.get98thPercentile());
-        ps.setDouble(13, snapshot.get99thPercentile());
-        ps.setDouble(14, snapshot.get999thPercentile());
+        int index = 9;
+        for (double quantile : percentiles) {
+            ps.setDouble(index++, getPercentile(snapshot, quantile));
+        }
     }
 
     private void reportMeters(final long timestamp, final SortedMap<String, Meter> meters) {
@@ -339,7 +951,7 @@ public class JdbcReporter extends ScheduledReporter {
         try {
             connection = dataSource.getConnection();
             connection.setAutoCommit(false);
-            ps = connection.prepareStatement(INSERT_METER_QUERY);
+            ps = connection.prepareStatement(getInsertQuery(MetricRow.Type.METER, timestamp));
 
             for (Map.Entry<String, Meter> entry : meters.entrySet()) {
                 String name = entry.getKey();
@@ -381,7 +993,7 @@ public class JdbcReporter extends ScheduledReporter {
         try {
             connection = dataSource.getConnection();
             connection.setAutoCommit(false);
-            ps = connection.prepareStatement(INSERT_TIMER_QUERY);
+            ps = connection.prepareStatement(getInsertQuery(MetricRow.Type.TIMER, timestamp));
 
             for (Map.Entry<String, Timer> entry : timers.entrySet()) {
                 String name = entry.getKey();
@@ -420,18 +1032,16 @@ public class JdbcReporter extends ScheduledReporter {
         }
         ps.setDouble(7, convertDuration(snapshot.getMin()));
         ps.setDouble(8, convertDuration(snapshot.getStdDev()));
-        ps.setDouble(9, convertDuration(snapshot.getMedian()));
-        ps.setDouble(10, convertDuration(snapshot.get75thPercentile()));
-        ps.setDouble(11, convertDuration(snapshot.get95thPercentile()));
-        ps.setDouble(12, convertDuration(snapshot.get98thPercentile()));
-        ps.setDouble(13, convertDuration(snapshot.get99thPercentile()));
-        ps.setDouble(14, convertDuration(snapshot.get999thPercentile()));
-        ps.setDouble(15, convertRate(timer.getMeanRate()));
-        ps.setDouble(16, convertRate(timer.getOneMinuteRate()));
-        ps.setDouble(17, convertRate(timer.getFiveMinuteRate()));
-        ps.setDouble(18, convertRate(timer.getFifteenMinuteRate()));
-        ps.setString(19, String.format("calls/%s", getRateUnit()));
-        ps.setString(20, getDurationUnit());
+        int index = 9;
+        for (double quantile : percentiles) {
+            ps.setDouble(index++, convertDuration(getPercentile(snapshot, quantile)));
+        }
+        ps.setDouble(index++, convertRate(timer.getMeanRate()));
+        ps.setDouble(index++, convertRate(timer.getOneMinuteRate()));
+        ps.setDouble(index++, convertRate(timer.getFiveMinuteRate()));
+        ps.setDouble(index++, convertRate(timer.getFifteenMinuteRate()));
+        ps.setString(index++, String.format("calls/%s", getRateUnit()));
+        ps.setString(index, getDurationUnit());
     }
 
     private void rollbackTransaction(Connection connection) {
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.reporter;
+
+/**
+ * A row of values captured from a metric by the {@link JdbcReporter}. The values are converted to the reporting
+ * units when the row is created, so that the row can be written later without referring to the metric.
+ */
+final class MetricRow {
+
+    /**
+     * The table to write the row.
+     */
+    enum Type {
+        GAUGE("METRIC_GAUGE"), COUNTER("METRIC_COUNTER"), HISTOGRAM("METRIC_HISTOGRAM"), METER("METRIC_METER"),
+        TIMER("METRIC_TIMER");
+
+        private final String tableName;
+
+        Type(String tableName) {
+            this.tableName = tableName;
+        }
+
+        String getTableName() {
+            return tableName;
+        }
+    }
+
+    /**
+     * The length of the METRIC_GAUGE column
+     */
+    static final int MAX_GAUGE_VALUE_LENGTH = 100;
+
+    private static final double[] NO_VALUES = new double[0];
+
+    private final Type type;
+
+    private final long timestamp;
+
+    private final String name;
+
+    private final String gaugeValue;
+
+    private final long count;
+
+    private final double[] values;
+
+    private MetricRow(Type type, long timestamp, String name, String gaugeValue, long count, double[] values) {
+        this.type = type;
+        this.timestamp = timestamp;
+        this.name = name;
+        this.gaugeValue = gaugeValue;
+        this.count = count;
+        this.values = values;
+    }
+
+    static MetricRow gauge(long timestamp, String name, Object value) {
+        return new MetricRow(Type.GAUGE, timestamp, name, toGaugeValue(value), 0, NO_VALUES);
+    }
+
+    /**
+     * @param value The value of a gauge
+     * @return The value written to the METRIC_GAUGE column, which is truncated to the length of the column
+     */
+    static String toGaugeValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String gaugeValue = String.valueOf(value);
+        return gaugeValue.length() > MAX_GAUGE_VALUE_LENGTH ? gaugeValue.substring(0, MAX_GAUGE_VALUE_LENGTH)
+                : gaugeValue;
+    }
+
+    static MetricRow counter(long timestamp, String name, long count) {
+        return new MetricRow(Type.COUNTER, timestamp, name, null, count, NO_VALUES);
+    }
+
+    /**
+     * @param values The snapshot values in the column order: MAX, MEAN, MIN, STDDEV and the configured percentiles
+     */
+    static MetricRow histogram(long timestamp, String name, long count, double[] values) {
+        return new MetricRow(Type.HISTOGRAM, timestamp, name, null, count, values);
+    }
+
+    /**
+     * @param values The rates in the column order: MEAN_RATE, M1_RATE, M5_RATE, M15_RATE
+     */
+    static MetricRow meter(long timestamp, String name, long count, double[] values) {
+        return new MetricRow(Type.METER, timestamp, name, null, count, values);
+    }
+
+    /**
+     * @param values The snapshot values followed by the rates in the column order
+     */
+    static MetricRow timer(long timestamp, String name, long count, double[] values) {
+        return new MetricRow(Type.TIMER, timestamp, name, null, count, values);
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    long getTimestamp() {
+        return timestamp;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getGaugeValue() {
+        return gaugeValue;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    double[] getValues() {
+        return values;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.reporter;
+
+/**
+ * The action to take when the write-behind queue of the {@link JdbcReporter} is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Remove the oldest row in the queue to make room for the new row.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discard the new row.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Wait until there is room in the queue.
+     */
+    BLOCK
+}
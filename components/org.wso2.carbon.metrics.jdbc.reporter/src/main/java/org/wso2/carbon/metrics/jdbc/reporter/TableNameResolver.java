@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 WSO2 Inc. (http://wso2.org)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.wso2.carbon.metrics.jdbc.reporter;
+
+/**
+ * Resolves the table to insert the values reported at a given time. This allows the {@link JdbcReporter} to write to
+ * tables rotated by time, instead of a single table for each metric type.
+ */
+@FunctionalInterface
+public interface TableNameResolver {
+
+    /**
+     * Returns the table to insert the values of a metric type reported at the given time.
+     *
+     * @param tableName the name of the table for the metric type. For example: {@code METRIC_COUNTER}
+     * @param timestamp the reporting timestamp in the timestamp unit of the reporter
+     * @return the name of the table to insert the values
+     */
+    String resolve(String tableName, long timestamp);
+}
@@ -35,11 +35,17 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Test;
 
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.sql.DataSource;
 
 import static org.mockito.Mockito.mock;
@@ -292,11 +298,430 @@ public class JdbcReporterTest {
         return map;
     }
 
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void writeBehindReportsValues() {
+        long timestamp = TimeUnit.MILLISECONDS.toSeconds(clock.getTime());
+
+        final Gauge gauge = mock(Gauge.class);
+        when(gauge.getValue()).thenReturn(1);
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        final Meter meter = mock(Meter.class);
+        when(meter.getCount()).thenReturn(1L);
+        when(meter.getMeanRate()).thenReturn(2.0);
+        when(meter.getOneMinuteRate()).thenReturn(3.0);
+        when(meter.getFiveMinuteRate()).thenReturn(4.0);
+        when(meter.getFifteenMinuteRate()).thenReturn(5.0);
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).convertRatesTo(TimeUnit.SECONDS)
+                .convertDurationsTo(TimeUnit.NANOSECONDS).withClock(clock).filter(MetricFilter.ALL)
+                .writeBehind(10, OverflowPolicy.DROP_NEWEST).build(SOURCE, dataSource);
+        reporter.report(map("gauge", gauge), map("test.counter", counter), map(), map("test.meter", meter), map());
+        // Stopping the reporter should write the queued rows
+        reporter.stop();
+
+        Assert.assertEquals(reporter.getQueueSize(), 0);
+        Assert.assertEquals(reporter.getDroppedRows(), 0L);
+        Assert.assertEquals(reporter.getFailedRows(), 0L);
+
+        List<Map<String, Object>> result = template.queryForList("SELECT * FROM METRIC_GAUGE");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("METRIC_GAUGE"), "1");
+        Assert.assertEquals(result.get(0).get("TIMESTAMP"), timestamp);
+
+        result = template.queryForList("SELECT * FROM METRIC_COUNTER");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("NAME"), "test.counter");
+        Assert.assertEquals(result.get(0).get("COUNT"), 100L);
+        Assert.assertEquals(result.get(0).get("SOURCE"), SOURCE);
+
+        result = template.queryForList("SELECT * FROM METRIC_METER");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("COUNT"), 1L);
+        Assert.assertEquals(result.get(0).get("MEAN_RATE"), 2.0);
+        Assert.assertEquals(result.get(0).get("M15_RATE"), 5.0);
+        Assert.assertEquals(result.get(0).get("RATE_UNIT"), "events/second");
+    }
+
+    @Test
+    public void writeBehindLimitsTransactionSize() throws Exception {
+        AtomicInteger connections = new AtomicInteger();
+        DataSource countingDataSource = mock(DataSource.class);
+        when(countingDataSource.getConnection()).thenAnswer(invocation -> {
+            connections.incrementAndGet();
+            return dataSource.getConnection();
+        });
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        SortedMap<String, Counter> counters = map();
+        for (int i = 0; i < 5; i++) {
+            counters.put("test.counter" + i, counter);
+        }
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .writeBehind(10, OverflowPolicy.DROP_NEWEST).maxBatchSize(2).build(SOURCE, countingDataSource);
+        reporter.report(map(), counters, map(), map(), map());
+        Assert.assertEquals(reporter.getQueueSize(), 5);
+
+        // The queued rows are written by the stopping thread in transactions of at most two rows
+        reporter.stop();
+        Assert.assertEquals(connections.get(), 3);
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_COUNTER").size(), 5);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void singleTransactionReportsValues() throws Exception {
+        long timestamp = TimeUnit.MILLISECONDS.toSeconds(clock.getTime());
+
+        AtomicInteger connections = new AtomicInteger();
+        DataSource countingDataSource = mock(DataSource.class);
+        when(countingDataSource.getConnection()).thenAnswer(invocation -> {
+            connections.incrementAndGet();
+            return dataSource.getConnection();
+        });
+
+        final Gauge gauge = mock(Gauge.class);
+        when(gauge.getValue()).thenReturn(1);
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        final Histogram histogram = mock(Histogram.class);
+        when(histogram.getCount()).thenReturn(1L);
+        final Snapshot snapshot = mock(Snapshot.class);
+        when(snapshot.getMax()).thenReturn(2L);
+        when(snapshot.getMean()).thenReturn(Double.NaN);
+        when(snapshot.get999thPercentile()).thenReturn(11.0);
+        when(histogram.getSnapshot()).thenReturn(snapshot);
+        final Timer timer = mock(Timer.class);
+        when(timer.getCount()).thenReturn(1L);
+        when(timer.getFifteenMinuteRate()).thenReturn(5.0);
+        when(timer.getSnapshot()).thenReturn(snapshot);
+
+        SortedMap<String, Counter> counters = map();
+        for (int i = 0; i < 5; i++) {
+            counters.put("test.counter" + i, counter);
+        }
+
+        // Use a small batch size to split the rows into multiple batches
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).convertRatesTo(TimeUnit.SECONDS)
+                .convertDurationsTo(TimeUnit.NANOSECONDS).withClock(clock).filter(MetricFilter.ALL)
+                .singleTransaction(true).maxBatchSize(2).build(SOURCE, countingDataSource);
+        reporter.report(map("gauge", gauge), counters, map("test.histogram", histogram), map(),
+                map("test.timer", timer));
+
+        Assert.assertEquals(connections.get(), 1);
+
+        List<Map<String, Object>> result = template.queryForList("SELECT * FROM METRIC_GAUGE");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("METRIC_GAUGE"), "1");
+
+        result = template.queryForList("SELECT * FROM METRIC_COUNTER ORDER BY NAME");
+        Assert.assertEquals(result.size(), 5);
+        Assert.assertEquals(result.get(4).get("NAME"), "test.counter4");
+        Assert.assertEquals(result.get(4).get("COUNT"), 100L);
+        Assert.assertEquals(result.get(4).get("TIMESTAMP"), timestamp);
+
+        result = template.queryForList("SELECT * FROM METRIC_HISTOGRAM");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("MAX"), 2.0);
+        Assert.assertEquals(result.get(0).get("P999"), 11.0);
+
+        result = template.queryForList("SELECT * FROM METRIC_TIMER");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("MAX"), 2.0);
+        Assert.assertEquals(result.get(0).get("MEAN"), 0.0);
+        Assert.assertEquals(result.get(0).get("M15_RATE"), 5.0);
+        Assert.assertEquals(result.get(0).get("RATE_UNIT"), "calls/second");
+        Assert.assertEquals(result.get(0).get("DURATION_UNIT"), "nanoseconds");
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void singleTransactionSkipsNullGauges() {
+        final Gauge nullGauge = mock(Gauge.class);
+        when(nullGauge.getValue()).thenReturn(null);
+        final Gauge longGauge = mock(Gauge.class);
+        String longValue = String.join("", Collections.nCopies(MetricRow.MAX_GAUGE_VALUE_LENGTH + 10, "x"));
+        when(longGauge.getValue()).thenReturn(longValue);
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        SortedMap<String, Gauge> gauges = map("gauge.null", nullGauge);
+        gauges.put("gauge.long", longGauge);
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .singleTransaction(true).skipUnchanged(60, TimeUnit.SECONDS).build(SOURCE, dataSource);
+        reporter.report(gauges, map("test.counter", counter), map(), map(), map());
+
+        // The null gauge does not roll back the other rows
+        Assert.assertEquals(template.queryForList("SELECT COUNT FROM METRIC_COUNTER", Long.class),
+                Collections.singletonList(100L));
+        Assert.assertEquals(template.queryForList("SELECT METRIC_GAUGE FROM METRIC_GAUGE", String.class),
+                Collections.singletonList(longValue.substring(0, MetricRow.MAX_GAUGE_VALUE_LENGTH)));
+
+        // The written rows are not written again
+        when(clock.getTime()).thenReturn(19910191000L + 30000L);
+        reporter.report(gauges, map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_COUNTER").size(), 1);
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_GAUGE").size(), 1);
+        Assert.assertEquals(reporter.getSkippedRows(), 2L);
+    }
+
+    @Test
+    public void reportsTagsColumn() throws Exception {
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        final Timer timer = mock(Timer.class);
+        when(timer.getCount()).thenReturn(1L);
+        when(timer.getSnapshot()).thenReturn(mock(Snapshot.class));
+        SortedMap<String, Counter> counters = map("requests{endpoint=/orders,tenant=carbon.super}", counter);
+        counters.put("test.counter", counter);
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .tagsColumn(true).build(SOURCE, dataSource);
+        reporter.report(map(), counters, map(), map(), map("latency{endpoint=/orders}", timer));
+
+        List<Map<String, Object>> rows = template.queryForList("SELECT NAME, TAGS FROM METRIC_COUNTER ORDER BY NAME");
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(0).get("NAME"), "requests");
+        Assert.assertEquals(rows.get(0).get("TAGS"), "endpoint=/orders,tenant=carbon.super");
+        Assert.assertEquals(rows.get(1).get("NAME"), "test.counter");
+        Assert.assertNull(rows.get(1).get("TAGS"));
+        Map<String, Object> timerRow = template.queryForMap("SELECT NAME, TAGS, DURATION_UNIT FROM METRIC_TIMER");
+        Assert.assertEquals(timerRow.get("NAME"), "latency");
+        Assert.assertEquals(timerRow.get("TAGS"), "endpoint=/orders");
+        Assert.assertEquals(timerRow.get("DURATION_UNIT"), "milliseconds");
+    }
+
+    @Test
+    public void testGetTags() {
+        Assert.assertEquals(JdbcReporter.getTags("requests{endpoint=/orders}"), "endpoint=/orders");
+        Assert.assertNull(JdbcReporter.getTags("requests"));
+        Assert.assertNull(JdbcReporter.getTags("{endpoint=/orders}"));
+        Assert.assertNull(JdbcReporter.getTags(""));
+    }
+
+    @Test
+    public void reportsToResolvedTables() {
+        long timestamp = TimeUnit.MILLISECONDS.toSeconds(clock.getTime());
+        template.execute("CREATE TABLE IF NOT EXISTS METRIC_COUNTER_ROTATED (ID BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "SOURCE VARCHAR(255) NOT NULL, TIMESTAMP BIGINT NOT NULL, NAME VARCHAR(255) NOT NULL, "
+                + "COUNT BIGINT NOT NULL)");
+        template.execute("DELETE FROM METRIC_COUNTER_ROTATED");
+
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+
+        List<Long> timestamps = new ArrayList<>();
+        TableNameResolver resolver = (tableName, time) -> {
+            timestamps.add(time);
+            return "METRIC_COUNTER".equals(tableName) ? "METRIC_COUNTER_ROTATED" : tableName;
+        };
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .tableNameResolver(resolver).build(SOURCE, dataSource);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+
+        reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .tableNameResolver(resolver).singleTransaction(true).build(SOURCE, dataSource);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+
+        Assert.assertEquals(timestamps, Arrays.asList(timestamp, timestamp));
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_COUNTER").size(), 0);
+        List<Map<String, Object>> result = template.queryForList("SELECT * FROM METRIC_COUNTER_ROTATED");
+        Assert.assertEquals(result.size(), 2);
+        Assert.assertEquals(result.get(0).get("NAME"), "test.counter");
+        Assert.assertEquals(result.get(0).get("COUNT"), 100L);
+        Assert.assertEquals(result.get(0).get("TIMESTAMP"), timestamp);
+    }
+
+    @SuppressWarnings("rawtypes")
+    @Test
+    public void skipsUnchangedValues() {
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        final Gauge gauge = mock(Gauge.class);
+        when(gauge.getValue()).thenReturn(1);
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .skipUnchanged(60, TimeUnit.SECONDS).build(SOURCE, dataSource);
+        reporter.report(map("gauge", gauge), map("test.counter", counter), map(), map(), map());
+        // Nothing has changed
+        when(clock.getTime()).thenReturn(19910191000L + 30000L);
+        reporter.report(map("gauge", gauge), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(reporter.getSkippedRows(), 2L);
+
+        // The changed counter is written, but not the gauge
+        when(counter.getCount()).thenReturn(101L);
+        reporter.report(map("gauge", gauge), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(template.queryForList("SELECT COUNT FROM METRIC_COUNTER ORDER BY ID", Long.class),
+                Arrays.asList(100L, 101L));
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_GAUGE").size(), 1);
+
+        // The unchanged gauge is written again after the heartbeat interval
+        when(clock.getTime()).thenReturn(19910191000L + 60000L);
+        reporter.report(map("gauge", gauge), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_GAUGE").size(), 2);
+        Assert.assertEquals(template.queryForList("SELECT * FROM METRIC_COUNTER").size(), 2);
+        Assert.assertEquals(reporter.getSkippedRows(), 4L);
+    }
+
+    @Test
+    public void skipsOnlyUnchangedSnapshotsAndRates() {
+        final Histogram histogram = mock(Histogram.class);
+        when(histogram.getCount()).thenReturn(10L);
+        final Snapshot snapshot = mock(Snapshot.class);
+        when(snapshot.getMax()).thenReturn(5L);
+        when(histogram.getSnapshot()).thenReturn(snapshot);
+        final Meter meter = mock(Meter.class);
+        when(meter.getCount()).thenReturn(10L);
+        when(meter.getOneMinuteRate()).thenReturn(2.0);
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .skipUnchanged(60, TimeUnit.SECONDS).build(SOURCE, dataSource);
+        reporter.report(map(), map(), map("test.histogram", histogram), map("test.meter", meter), map());
+        when(clock.getTime()).thenReturn(19910191000L + 10000L);
+        reporter.report(map(), map(), map("test.histogram", histogram), map("test.meter", meter), map());
+        Assert.assertEquals(reporter.getSkippedRows(), 2L);
+
+        // The counts are unchanged, but the snapshot and the rate have changed
+        when(snapshot.getMax()).thenReturn(3L);
+        when(meter.getOneMinuteRate()).thenReturn(1.5);
+        when(clock.getTime()).thenReturn(19910191000L + 20000L);
+        reporter.report(map(), map(), map("test.histogram", histogram), map("test.meter", meter), map());
+        Assert.assertEquals(reporter.getSkippedRows(), 2L);
+        Assert.assertEquals(template.queryForList("SELECT MAX FROM METRIC_HISTOGRAM ORDER BY ID", Double.class),
+                Arrays.asList(5.0, 3.0));
+        Assert.assertEquals(template.queryForList("SELECT M1_RATE FROM METRIC_METER ORDER BY ID", Double.class),
+                Arrays.asList(2.0, 1.5));
+    }
+
+    @Test
+    public void writesUnchangedValuesAfterFailure() throws Exception {
+        final Counter counter = mock(Counter.class);
+        when(counter.getCount()).thenReturn(100L);
+        DataSource failingDataSource = mock(DataSource.class);
+        when(failingDataSource.getConnection()).thenThrow(new SQLException("Unavailable"))
+                .thenAnswer(invocation -> dataSource.getConnection());
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .skipUnchanged(60, TimeUnit.SECONDS).build(SOURCE, failingDataSource);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+        Assert.assertTrue(template.queryForList("SELECT * FROM METRIC_COUNTER").isEmpty());
+
+        // The unchanged counter is written again as the previous write failed
+        when(clock.getTime()).thenReturn(19910191000L + 30000L);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(template.queryForList("SELECT COUNT FROM METRIC_COUNTER", Long.class),
+                Collections.singletonList(100L));
+        Assert.assertEquals(reporter.getSkippedRows(), 0L);
+
+        when(clock.getTime()).thenReturn(19910191000L + 40000L);
+        reporter.report(map(), map("test.counter", counter), map(), map(), map());
+        Assert.assertEquals(reporter.getSkippedRows(), 1L);
+    }
+
+    @Test
+    public void reportsConfiguredPercentiles() throws Exception {
+        final Histogram histogram = mock(Histogram.class);
+        when(histogram.getCount()).thenReturn(1L);
+
+        final Snapshot snapshot = mock(Snapshot.class);
+        when(snapshot.getMedian()).thenReturn(6.0);
+        when(snapshot.getValue(0.9999)).thenReturn(12.0);
+        when(histogram.getSnapshot()).thenReturn(snapshot);
+
+        // The shipped schema has the P9999 column and the percentile columns not written are empty
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .percentiles(0.5, 0.9999).build(SOURCE, dataSource);
+        reporter.report(map(), map(), map("test.percentiles.histogram", histogram), map(), map());
+
+        List<Map<String, Object>> result = template.queryForList("SELECT * FROM METRIC_HISTOGRAM WHERE NAME = ?",
+                "test.percentiles.histogram");
+        Assert.assertEquals(result.size(), 1);
+        Assert.assertEquals(result.get(0).get("P50"), 6.0);
+        Assert.assertEquals(result.get(0).get("P9999"), 12.0);
+        Assert.assertNull(result.get(0).get("P75"));
+    }
+
+    @Test
+    public void testPercentileColumns() {
+        Assert.assertEquals(JdbcReporter.getPercentileColumn(0.5), "P50");
+        Assert.assertEquals(JdbcReporter.getPercentileColumn(0.999), "P999");
+        Assert.assertEquals(JdbcReporter.getPercentileColumn(0.9999), "P9999");
+        Assert.assertEquals(JdbcReporter.getPercentileColumn(0.125), "P125");
+    }
+
+    @Test
+    public void writeBehindDropsNewest() throws Exception {
+        Assert.assertEquals(reportToSlowDatabase(OverflowPolicy.DROP_NEWEST), new String[]{"first", "a", "b"});
+    }
+
+    @Test
+    public void writeBehindDropsOldest() throws Exception {
+        Assert.assertEquals(reportToSlowDatabase(OverflowPolicy.DROP_OLDEST), new String[]{"first", "b", "c"});
+    }
+
+    /**
+     * Report counters while the writer is waiting for a connection and return the names of the counters written.
+     */
+    private String[] reportToSlowDatabase(OverflowPolicy overflowPolicy) throws Exception {
+        CountDownLatch connecting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        DataSource slowDataSource = mock(DataSource.class);
+        when(slowDataSource.getConnection()).thenAnswer(invocation -> {
+            connecting.countDown();
+            release.await();
+            return dataSource.getConnection();
+        });
+
+        JdbcReporter reporter = JdbcReporter.forRegistry(registry).withClock(clock).filter(MetricFilter.ALL)
+                .writeBehind(2, overflowPolicy).build(SOURCE, slowDataSource);
+        reporter.startWriter();
+
+        final Counter counter = mock(Counter.class);
+        reporter.report(map(), map("first", counter), map(), map(), map());
+        Assert.assertTrue(connecting.await(10, TimeUnit.SECONDS));
+
+        SortedMap<String, Counter> counters = map();
+        counters.put("a", counter);
+        counters.put("b", counter);
+        counters.put("c", counter);
+        reporter.report(map(), counters, map(), map(), map());
+        Assert.assertEquals(reporter.getQueueSize(), 2);
+        Assert.assertEquals(reporter.getDroppedRows(), 1L);
+
+        release.countDown();
+        reporter.stop();
+
+        return template.queryForList("SELECT NAME FROM METRIC_COUNTER ORDER BY ID", String.class)
+                .toArray(new String[0]);
+    }
+
     @Test
     public void testJdbcReporterBuilderValidations() {
         build(null, null);
         build("", null);
         build(SOURCE, null);
+        try {
+            JdbcReporter.forRegistry(registry).writeBehind(0, OverflowPolicy.BLOCK).build(SOURCE, dataSource);
+            Assert.fail("The JdbcReporter Builder should fail");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            JdbcReporter.forRegistry(registry).maxBatchSize(0).build(SOURCE, dataSource);
+            Assert.fail("The JdbcReporter Builder should fail");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            JdbcReporter.forRegistry(registry).skipUnchanged(-1, TimeUnit.SECONDS).build(SOURCE, dataSource);
+            Assert.fail("The JdbcReporter Builder should fail");
+        } catch (IllegalArgumentException e) {
+        }
+        try {
+            JdbcReporter.forRegistry(registry).percentiles(0.5, 1.0).build(SOURCE, dataSource);
+            Assert.fail("The JdbcReporter Builder should fail");
+        } catch (IllegalArgumentException e) {
+        }
     }
 
     private void build(String source, DataSource dataSource) {
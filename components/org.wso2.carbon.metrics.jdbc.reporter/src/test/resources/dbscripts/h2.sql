@@ -19,6 +19,7 @@ CREATE TABLE IF NOT EXISTS METRIC_GAUGE (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     METRIC_GAUGE VARCHAR(100) NOT NULL
 );
 
@@ -27,6 +28,7 @@ CREATE TABLE IF NOT EXISTS METRIC_COUNTER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL
 );
 
@@ -35,6 +37,7 @@ CREATE TABLE IF NOT EXISTS METRIC_METER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL,
     MEAN_RATE DOUBLE NOT NULL,
     M1_RATE DOUBLE NOT NULL,
@@ -43,22 +46,40 @@ CREATE TABLE IF NOT EXISTS METRIC_METER (
     RATE_UNIT VARCHAR(50) NOT NULL
 );
 
+-- The TAGS column is written with the tags of tagged metrics when the tags column is enabled for the JDBC reporter.
+-- The NAME column is then written with the name without the tags. The column is empty for the metrics without tags.
+-- To write the tags to an existing table, add the column. For example:
+--     ALTER TABLE METRIC_COUNTER ADD TAGS VARCHAR(255)
+--
+
+-- The percentile columns of the histogram and timer tables are written for the percentiles configured for the
+-- JDBC reporter and are empty otherwise. A percentile is written to the column named with its digits. For
+-- example: 0.9999 is written to P9999. To write another percentile to an existing table, add the columns. For
+-- example:
+--     ALTER TABLE METRIC_HISTOGRAM ADD P90 DOUBLE
+--     ALTER TABLE METRIC_TIMER ADD P90 DOUBLE
+-- The percentile columns of the tables created with an earlier schema are NOT NULL. Make a column nullable before
+-- removing its percentile from the configuration.
+--
+
 CREATE TABLE IF NOT EXISTS METRIC_HISTOGRAM (
     ID BIGINT AUTO_INCREMENT PRIMARY KEY,
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL,
     MAX DOUBLE NOT NULL,
     MEAN DOUBLE NOT NULL,
     MIN DOUBLE NOT NULL,
     STDDEV DOUBLE NOT NULL,
-    P50 DOUBLE NOT NULL,
-    P75 DOUBLE NOT NULL,
-    P95 DOUBLE NOT NULL,
-    P98 DOUBLE NOT NULL,
-    P99 DOUBLE NOT NULL,
-    P999 DOUBLE NOT NULL
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE,
+    P9999 DOUBLE
 );
 
 CREATE TABLE IF NOT EXISTS METRIC_TIMER (
@@ -66,17 +87,19 @@ CREATE TABLE IF NOT EXISTS METRIC_TIMER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL,
     MAX DOUBLE NOT NULL,
     MEAN DOUBLE NOT NULL,
     MIN DOUBLE NOT NULL,
     STDDEV DOUBLE NOT NULL,
-    P50 DOUBLE NOT NULL,
-    P75 DOUBLE NOT NULL,
-    P95 DOUBLE NOT NULL,
-    P98 DOUBLE NOT NULL,
-    P99 DOUBLE NOT NULL,
-    P999 DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE,
+    P9999 DOUBLE,
     MEAN_RATE DOUBLE NOT NULL,
     M1_RATE DOUBLE NOT NULL,
     M5_RATE DOUBLE NOT NULL,
@@ -90,3 +113,79 @@ CREATE INDEX IDX_TIMESTAMP_COUNTER ON METRIC_COUNTER (TIMESTAMP);
 CREATE INDEX IDX_TIMESTAMP_METER ON METRIC_METER (TIMESTAMP);
 CREATE INDEX IDX_TIMESTAMP_HISTOGRAM ON METRIC_HISTOGRAM (TIMESTAMP);
 CREATE INDEX IDX_TIMESTAMP_TIMER ON METRIC_TIMER (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_GAUGE ON METRIC_GAUGE (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_COUNTER ON METRIC_COUNTER (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_METER ON METRIC_METER (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_HISTOGRAM ON METRIC_HISTOGRAM (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_TIMER ON METRIC_TIMER (SOURCE, NAME, TIMESTAMP);
+
+-- The rollup tables with 1-minute, 1-hour and 1-day resolutions. These tables are used when rollups are enabled for
+-- the data source. The percentile columns are empty for counters and meters.
+--
+
+CREATE TABLE IF NOT EXISTS METRIC_ROLLUP_1M (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE NOT NULL,
+    MEAN DOUBLE NOT NULL,
+    MIN DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE
+);
+
+CREATE TABLE IF NOT EXISTS METRIC_ROLLUP_1H (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE NOT NULL,
+    MEAN DOUBLE NOT NULL,
+    MIN DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE
+);
+
+CREATE TABLE IF NOT EXISTS METRIC_ROLLUP_1D (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE NOT NULL,
+    MEAN DOUBLE NOT NULL,
+    MIN DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE
+);
+
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1M ON METRIC_ROLLUP_1M (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1M ON METRIC_ROLLUP_1M (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1H ON METRIC_ROLLUP_1H (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1H ON METRIC_ROLLUP_1H (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1D ON METRIC_ROLLUP_1D (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1D ON METRIC_ROLLUP_1D (SOURCE, NAME, TIMESTAMP);
@@ -19,6 +19,7 @@ CREATE TABLE METRIC_GAUGE (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP NUMBER(20) NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     METRIC_GAUGE VARCHAR(100) NOT NULL
 )
 /
@@ -39,6 +40,7 @@ CREATE TABLE METRIC_COUNTER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP NUMBER(20) NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT NUMBER(20) NOT NULL
 )
 /
@@ -59,6 +61,7 @@ CREATE TABLE METRIC_METER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP NUMBER(20) NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT NUMBER(20) NOT NULL,
     MEAN_RATE BINARY_DOUBLE NOT NULL,
     M1_RATE BINARY_DOUBLE NOT NULL,
@@ -79,22 +82,40 @@ CREATE OR REPLACE TRIGGER METRIC_METER_TRIGGER
             END;
 /
 
+-- The TAGS column is written with the tags of tagged metrics when the tags column is enabled for the JDBC reporter.
+-- The NAME column is then written with the name without the tags. The column is empty for the metrics without tags.
+-- To write the tags to an existing table, add the column. For example:
+--     ALTER TABLE METRIC_COUNTER ADD TAGS VARCHAR(255)
+--
+
+-- The percentile columns of the histogram and timer tables are written for the percentiles configured for the
+-- JDBC reporter and are empty otherwise. A percentile is written to the column named with its digits. For
+-- example: 0.9999 is written to P9999. To write another percentile to an existing table, add the columns. For
+-- example:
+--     ALTER TABLE METRIC_HISTOGRAM ADD P90 BINARY_DOUBLE
+--     ALTER TABLE METRIC_TIMER ADD P90 BINARY_DOUBLE
+-- The percentile columns of the tables created with an earlier schema are NOT NULL. Make a column nullable before
+-- removing its percentile from the configuration.
+--
+
 CREATE TABLE METRIC_HISTOGRAM (
     ID NUMBER(20) PRIMARY KEY,
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP NUMBER(20) NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT NUMBER(20) NOT NULL,
     MAX BINARY_DOUBLE NOT NULL,
     MEAN BINARY_DOUBLE NOT NULL,
     MIN BINARY_DOUBLE NOT NULL,
     STDDEV BINARY_DOUBLE NOT NULL,
-    P50 BINARY_DOUBLE NOT NULL,
-    P75 BINARY_DOUBLE NOT NULL,
-    P95 BINARY_DOUBLE NOT NULL,
-    P98 BINARY_DOUBLE NOT NULL,
-    P99 BINARY_DOUBLE NOT NULL,
-    P999 BINARY_DOUBLE NOT NULL
+    P50 BINARY_DOUBLE,
+    P75 BINARY_DOUBLE,
+    P95 BINARY_DOUBLE,
+    P98 BINARY_DOUBLE,
+    P99 BINARY_DOUBLE,
+    P999 BINARY_DOUBLE,
+    P9999 BINARY_DOUBLE
 )
 /
 CREATE SEQUENCE METRIC_HISTOGRAM_SEQUENCE START WITH 1 INCREMENT BY 1 NOCACHE
@@ -114,17 +135,19 @@ CREATE TABLE METRIC_TIMER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP NUMBER(20) NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT NUMBER(20) NOT NULL,
     MAX BINARY_DOUBLE NOT NULL,
     MEAN BINARY_DOUBLE NOT NULL,
     MIN BINARY_DOUBLE NOT NULL,
     STDDEV BINARY_DOUBLE NOT NULL,
-    P50 BINARY_DOUBLE NOT NULL,
-    P75 BINARY_DOUBLE NOT NULL,
-    P95 BINARY_DOUBLE NOT NULL,
-    P98 BINARY_DOUBLE NOT NULL,
-    P99 BINARY_DOUBLE NOT NULL,
-    P999 BINARY_DOUBLE NOT NULL,
+    P50 BINARY_DOUBLE,
+    P75 BINARY_DOUBLE,
+    P95 BINARY_DOUBLE,
+    P98 BINARY_DOUBLE,
+    P99 BINARY_DOUBLE,
+    P999 BINARY_DOUBLE,
+    P9999 BINARY_DOUBLE,
     MEAN_RATE BINARY_DOUBLE NOT NULL,
     M1_RATE BINARY_DOUBLE NOT NULL,
     M5_RATE BINARY_DOUBLE NOT NULL,
@@ -155,3 +178,126 @@ CREATE INDEX IDX_TIMESTAMP_HISTOGRAM ON METRIC_HISTOGRAM (TIMESTAMP)
 /
 CREATE INDEX IDX_TIMESTAMP_TIMER ON METRIC_TIMER (TIMESTAMP)
 /
+CREATE INDEX IDX_SOURCE_NAME_TS_GAUGE ON METRIC_GAUGE (SOURCE, NAME, TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_COUNTER ON METRIC_COUNTER (SOURCE, NAME, TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_METER ON METRIC_METER (SOURCE, NAME, TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_HISTOGRAM ON METRIC_HISTOGRAM (SOURCE, NAME, TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_TIMER ON METRIC_TIMER (SOURCE, NAME, TIMESTAMP)
+/
+
+-- The rollup tables with 1-minute, 1-hour and 1-day resolutions. These tables are used when rollups are enabled for
+-- the data source. The percentile columns are empty for counters and meters.
+--
+
+CREATE TABLE METRIC_ROLLUP_1M (
+    ID NUMBER(20) PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP NUMBER(20) NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES NUMBER(20) NOT NULL,
+    COUNT NUMBER(20) NOT NULL,
+    LAST_COUNT NUMBER(20) NOT NULL,
+    MAX BINARY_DOUBLE NOT NULL,
+    MEAN BINARY_DOUBLE NOT NULL,
+    MIN BINARY_DOUBLE NOT NULL,
+    P50 BINARY_DOUBLE,
+    P75 BINARY_DOUBLE,
+    P95 BINARY_DOUBLE,
+    P98 BINARY_DOUBLE,
+    P99 BINARY_DOUBLE,
+    P999 BINARY_DOUBLE
+)
+/
+CREATE SEQUENCE METRIC_ROLLUP_1M_SEQUENCE START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER METRIC_ROLLUP_1M_TRIGGER
+            BEFORE INSERT
+            ON METRIC_ROLLUP_1M
+            REFERENCING NEW AS NEW
+            FOR EACH ROW
+            BEGIN
+                SELECT METRIC_ROLLUP_1M_SEQUENCE.nextval INTO :NEW.ID FROM dual;
+            END;
+/
+
+CREATE TABLE METRIC_ROLLUP_1H (
+    ID NUMBER(20) PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP NUMBER(20) NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES NUMBER(20) NOT NULL,
+    COUNT NUMBER(20) NOT NULL,
+    LAST_COUNT NUMBER(20) NOT NULL,
+    MAX BINARY_DOUBLE NOT NULL,
+    MEAN BINARY_DOUBLE NOT NULL,
+    MIN BINARY_DOUBLE NOT NULL,
+    P50 BINARY_DOUBLE,
+    P75 BINARY_DOUBLE,
+    P95 BINARY_DOUBLE,
+    P98 BINARY_DOUBLE,
+    P99 BINARY_DOUBLE,
+    P999 BINARY_DOUBLE
+)
+/
+CREATE SEQUENCE METRIC_ROLLUP_1H_SEQUENCE START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER METRIC_ROLLUP_1H_TRIGGER
+            BEFORE INSERT
+            ON METRIC_ROLLUP_1H
+            REFERENCING NEW AS NEW
+            FOR EACH ROW
+            BEGIN
+                SELECT METRIC_ROLLUP_1H_SEQUENCE.nextval INTO :NEW.ID FROM dual;
+            END;
+/
+
+CREATE TABLE METRIC_ROLLUP_1D (
+    ID NUMBER(20) PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP NUMBER(20) NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES NUMBER(20) NOT NULL,
+    COUNT NUMBER(20) NOT NULL,
+    LAST_COUNT NUMBER(20) NOT NULL,
+    MAX BINARY_DOUBLE NOT NULL,
+    MEAN BINARY_DOUBLE NOT NULL,
+    MIN BINARY_DOUBLE NOT NULL,
+    P50 BINARY_DOUBLE,
+    P75 BINARY_DOUBLE,
+    P95 BINARY_DOUBLE,
+    P98 BINARY_DOUBLE,
+    P99 BINARY_DOUBLE,
+    P999 BINARY_DOUBLE
+)
+/
+CREATE SEQUENCE METRIC_ROLLUP_1D_SEQUENCE START WITH 1 INCREMENT BY 1 NOCACHE
+/
+CREATE OR REPLACE TRIGGER METRIC_ROLLUP_1D_TRIGGER
+            BEFORE INSERT
+            ON METRIC_ROLLUP_1D
+            REFERENCING NEW AS NEW
+            FOR EACH ROW
+            BEGIN
+                SELECT METRIC_ROLLUP_1D_SEQUENCE.nextval INTO :NEW.ID FROM dual;
+            END;
+/
+
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1M ON METRIC_ROLLUP_1M (TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1M ON METRIC_ROLLUP_1M (SOURCE, NAME, TIMESTAMP)
+/
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1H ON METRIC_ROLLUP_1H (TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1H ON METRIC_ROLLUP_1H (SOURCE, NAME, TIMESTAMP)
+/
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1D ON METRIC_ROLLUP_1D (TIMESTAMP)
+/
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1D ON METRIC_ROLLUP_1D (SOURCE, NAME, TIMESTAMP)
+/
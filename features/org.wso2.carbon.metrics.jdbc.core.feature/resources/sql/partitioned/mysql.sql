@@ -0,0 +1,195 @@
+-- 
+-- Copyright 2026 WSO2 Inc. (http://wso2.org)
+-- 
+-- Licensed under the Apache License, Version 2.0 (the "License");
+-- you may not use this file except in compliance with the License.
+-- You may obtain a copy of the License at
+-- 
+--     http://www.apache.org/licenses/LICENSE-2.0
+-- 
+-- Unless required by applicable law or agreed to in writing, software
+-- distributed under the License is distributed on an "AS IS" BASIS,
+-- WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+-- See the License for the specific language governing permissions and
+-- limitations under the License.
+-- 
+
+-- The Metrics tables partitioned by the TIMESTAMP column. Use this schema when partitioning is enabled for the
+-- data source. The JDBC reporter adds the partitions for the upcoming intervals and drops the expired partitions.
+--
+
+CREATE TABLE IF NOT EXISTS METRIC_GAUGE (
+    ID BIGINT AUTO_INCREMENT NOT NULL,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
+    METRIC_GAUGE VARCHAR(100) NOT NULL,
+    PRIMARY KEY (ID, TIMESTAMP)
+) PARTITION BY RANGE (TIMESTAMP) (PARTITION P0 VALUES LESS THAN (0));
+
+CREATE TABLE IF NOT EXISTS METRIC_COUNTER (
+    ID BIGINT AUTO_INCREMENT NOT NULL,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
+    COUNT BIGINT NOT NULL,
+    PRIMARY KEY (ID, TIMESTAMP)
+) PARTITION BY RANGE (TIMESTAMP) (PARTITION P0 VALUES LESS THAN (0));
+
+CREATE TABLE IF NOT EXISTS METRIC_METER (
+    ID BIGINT AUTO_INCREMENT NOT NULL,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
+    COUNT BIGINT NOT NULL,
+    MEAN_RATE DECIMAL NOT NULL,
+    M1_RATE DECIMAL NOT NULL,
+    M5_RATE DECIMAL NOT NULL,
+    M15_RATE DECIMAL NOT NULL,
+    RATE_UNIT VARCHAR(50) NOT NULL,
+    PRIMARY KEY (ID, TIMESTAMP)
+) PARTITION BY RANGE (TIMESTAMP) (PARTITION P0 VALUES LESS THAN (0));
+
+-- The TAGS column is written with the tags of tagged metrics when the tags column is enabled for the JDBC reporter.
+-- The NAME column is then written with the name without the tags. The column is empty for the metrics without tags.
+-- To write the tags to an existing table, add the column. For example:
+--     ALTER TABLE METRIC_COUNTER ADD TAGS VARCHAR(255)
+--
+
+-- The percentile columns of the histogram and timer tables are written for the percentiles configured for the
+-- JDBC reporter and are empty otherwise. A percentile is written to the column named with its digits. For
+-- example: 0.9999 is written to P9999. To write another percentile to an existing table, add the columns. For
+-- example:
+--     ALTER TABLE METRIC_HISTOGRAM ADD P90 DECIMAL
+--     ALTER TABLE METRIC_TIMER ADD P90 DECIMAL
+-- The percentile columns of the tables created with an earlier schema are NOT NULL. Make a column nullable before
+-- removing its percentile from the configuration.
+--
+
+CREATE TABLE IF NOT EXISTS METRIC_HISTOGRAM (
+    ID BIGINT AUTO_INCREMENT NOT NULL,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
+    COUNT BIGINT NOT NULL,
+    MAX DECIMAL NOT NULL,
+    MEAN DECIMAL NOT NULL,
+    MIN DECIMAL NOT NULL,
+    STDDEV DECIMAL NOT NULL,
+    P50 DECIMAL,
+    P75 DECIMAL,
+    P95 DECIMAL,
+    P98 DECIMAL,
+    P99 DECIMAL,
+    P999 DECIMAL,
+    P9999 DECIMAL,
+    PRIMARY KEY (ID, TIMESTAMP)
+) PARTITION BY RANGE (TIMESTAMP) (PARTITION P0 VALUES LESS THAN (0));
+
+CREATE TABLE IF NOT EXISTS METRIC_TIMER (
+    ID BIGINT AUTO_INCREMENT NOT NULL,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
+    COUNT BIGINT NOT NULL,
+    MAX DECIMAL NOT NULL,
+    MEAN DECIMAL NOT NULL,
+    MIN DECIMAL NOT NULL,
+    STDDEV DECIMAL NOT NULL,
+    P50 DECIMAL,
+    P75 DECIMAL,
+    P95 DECIMAL,
+    P98 DECIMAL,
+    P99 DECIMAL,
+    P999 DECIMAL,
+    P9999 DECIMAL,
+    MEAN_RATE DECIMAL NOT NULL,
+    M1_RATE DECIMAL NOT NULL,
+    M5_RATE DECIMAL NOT NULL,
+    M15_RATE DECIMAL NOT NULL,
+    RATE_UNIT VARCHAR(50) NOT NULL,
+    DURATION_UNIT VARCHAR(50) NOT NULL,
+    PRIMARY KEY (ID, TIMESTAMP)
+) PARTITION BY RANGE (TIMESTAMP) (PARTITION P0 VALUES LESS THAN (0));
+
+CREATE INDEX IDX_SOURCE_NAME_TS_GAUGE ON METRIC_GAUGE (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_COUNTER ON METRIC_COUNTER (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_METER ON METRIC_METER (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_HISTOGRAM ON METRIC_HISTOGRAM (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_TIMER ON METRIC_TIMER (SOURCE, NAME, TIMESTAMP);
+
+-- The rollup tables with 1-minute, 1-hour and 1-day resolutions. These tables are not partitioned and used when rollups
+-- are enabled for the data source. The percentile columns are empty for counters and meters.
+--
+
+CREATE TABLE IF NOT EXISTS METRIC_ROLLUP_1M (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE NOT NULL,
+    MEAN DOUBLE NOT NULL,
+    MIN DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE
+);
+
+CREATE TABLE IF NOT EXISTS METRIC_ROLLUP_1H (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE NOT NULL,
+    MEAN DOUBLE NOT NULL,
+    MIN DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE
+);
+
+CREATE TABLE IF NOT EXISTS METRIC_ROLLUP_1D (
+    ID BIGINT AUTO_INCREMENT PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE NOT NULL,
+    MEAN DOUBLE NOT NULL,
+    MIN DOUBLE NOT NULL,
+    P50 DOUBLE,
+    P75 DOUBLE,
+    P95 DOUBLE,
+    P98 DOUBLE,
+    P99 DOUBLE,
+    P999 DOUBLE
+);
+
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1M ON METRIC_ROLLUP_1M (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1M ON METRIC_ROLLUP_1M (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1H ON METRIC_ROLLUP_1H (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1H ON METRIC_ROLLUP_1H (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1D ON METRIC_ROLLUP_1D (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1D ON METRIC_ROLLUP_1D (SOURCE, NAME, TIMESTAMP);
@@ -21,6 +21,7 @@ CREATE TABLE METRIC_GAUGE (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     METRIC_GAUGE VARCHAR(100) NOT NULL
 );
 
@@ -31,6 +32,7 @@ CREATE TABLE METRIC_COUNTER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL
 );
 
@@ -41,6 +43,7 @@ CREATE TABLE METRIC_METER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL,
     MEAN_RATE NUMERIC(25,20) NOT NULL,
     M1_RATE NUMERIC(25,20) NOT NULL,
@@ -49,6 +52,22 @@ CREATE TABLE METRIC_METER (
     RATE_UNIT VARCHAR(50) NOT NULL
 );
 
+-- The TAGS column is written with the tags of tagged metrics when the tags column is enabled for the JDBC reporter.
+-- The NAME column is then written with the name without the tags. The column is empty for the metrics without tags.
+-- To write the tags to an existing table, add the column. For example:
+--     ALTER TABLE METRIC_COUNTER ADD TAGS VARCHAR(255)
+--
+
+-- The percentile columns of the histogram and timer tables are written for the percentiles configured for the
+-- JDBC reporter and are empty otherwise. A percentile is written to the column named with its digits. For
+-- example: 0.9999 is written to P9999. To write another percentile to an existing table, add the columns. For
+-- example:
+--     ALTER TABLE METRIC_HISTOGRAM ADD P90 NUMERIC(25,20)
+--     ALTER TABLE METRIC_TIMER ADD P90 NUMERIC(25,20)
+-- The percentile columns of the tables created with an earlier schema are NOT NULL. Make a column nullable before
+-- removing its percentile from the configuration.
+--
+
 CREATE SEQUENCE METRIC_HISTOGRAM_SEQUENCE START WITH 1 INCREMENT BY 1;
 
 CREATE TABLE METRIC_HISTOGRAM (
@@ -56,17 +75,19 @@ CREATE TABLE METRIC_HISTOGRAM (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL,
     MAX NUMERIC(25,20) NOT NULL,
     MEAN NUMERIC(25,20) NOT NULL,
     MIN NUMERIC(25,20) NOT NULL,
     STDDEV NUMERIC(25,20) NOT NULL,
-    P50 NUMERIC(25,20) NOT NULL,
-    P75 NUMERIC(25,20) NOT NULL,
-    P95 NUMERIC(25,20) NOT NULL,
-    P98 NUMERIC(25,20) NOT NULL,
-    P99 NUMERIC(25,20) NOT NULL,
-    P999 NUMERIC(25,20) NOT NULL
+    P50 NUMERIC(25,20),
+    P75 NUMERIC(25,20),
+    P95 NUMERIC(25,20),
+    P98 NUMERIC(25,20),
+    P99 NUMERIC(25,20),
+    P999 NUMERIC(25,20),
+    P9999 NUMERIC(25,20)
 );
 
 CREATE SEQUENCE METRIC_TIMER_SEQUENCE START WITH 1 INCREMENT BY 1;
@@ -76,17 +97,19 @@ CREATE TABLE METRIC_TIMER (
     SOURCE VARCHAR(255) NOT NULL,
     TIMESTAMP BIGINT NOT NULL,
     NAME VARCHAR(255) NOT NULL,
+    TAGS VARCHAR(255),
     COUNT BIGINT NOT NULL,
     MAX NUMERIC(25,20) NOT NULL,
     MEAN NUMERIC(25,20) NOT NULL,
     MIN NUMERIC(25,20) NOT NULL,
     STDDEV NUMERIC(25,20) NOT NULL,
-    P50 NUMERIC(25,20) NOT NULL,
-    P75 NUMERIC(25,20) NOT NULL,
-    P95 NUMERIC(25,20) NOT NULL,
-    P98 NUMERIC(25,20) NOT NULL,
-    P99 NUMERIC(25,20) NOT NULL,
-    P999 NUMERIC(25,20) NOT NULL,
+    P50 NUMERIC(25,20),
+    P75 NUMERIC(25,20),
+    P95 NUMERIC(25,20),
+    P98 NUMERIC(25,20),
+    P99 NUMERIC(25,20),
+    P999 NUMERIC(25,20),
+    P9999 NUMERIC(25,20),
     MEAN_RATE NUMERIC(25,20) NOT NULL,
     M1_RATE NUMERIC(25,20) NOT NULL,
     M5_RATE NUMERIC(25,20) NOT NULL,
@@ -100,3 +123,85 @@ CREATE INDEX IDX_TIMESTAMP_COUNTER ON METRIC_COUNTER (TIMESTAMP);
 CREATE INDEX IDX_TIMESTAMP_METER ON METRIC_METER (TIMESTAMP);
 CREATE INDEX IDX_TIMESTAMP_HISTOGRAM ON METRIC_HISTOGRAM (TIMESTAMP);
 CREATE INDEX IDX_TIMESTAMP_TIMER ON METRIC_TIMER (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_GAUGE ON METRIC_GAUGE (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_COUNTER ON METRIC_COUNTER (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_METER ON METRIC_METER (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_HISTOGRAM ON METRIC_HISTOGRAM (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_TIMER ON METRIC_TIMER (SOURCE, NAME, TIMESTAMP);
+
+-- The rollup tables with 1-minute, 1-hour and 1-day resolutions. These tables are used when rollups are enabled for
+-- the data source. The percentile columns are empty for counters and meters.
+--
+
+CREATE SEQUENCE METRIC_ROLLUP_1M_SEQUENCE START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE METRIC_ROLLUP_1M (
+    ID BIGINT DEFAULT nextval('METRIC_ROLLUP_1M_SEQUENCE') PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE PRECISION NOT NULL,
+    MEAN DOUBLE PRECISION NOT NULL,
+    MIN DOUBLE PRECISION NOT NULL,
+    P50 DOUBLE PRECISION,
+    P75 DOUBLE PRECISION,
+    P95 DOUBLE PRECISION,
+    P98 DOUBLE PRECISION,
+    P99 DOUBLE PRECISION,
+    P999 DOUBLE PRECISION
+);
+
+CREATE SEQUENCE METRIC_ROLLUP_1H_SEQUENCE START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE METRIC_ROLLUP_1H (
+    ID BIGINT DEFAULT nextval('METRIC_ROLLUP_1H_SEQUENCE') PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE PRECISION NOT NULL,
+    MEAN DOUBLE PRECISION NOT NULL,
+    MIN DOUBLE PRECISION NOT NULL,
+    P50 DOUBLE PRECISION,
+    P75 DOUBLE PRECISION,
+    P95 DOUBLE PRECISION,
+    P98 DOUBLE PRECISION,
+    P99 DOUBLE PRECISION,
+    P999 DOUBLE PRECISION
+);
+
+CREATE SEQUENCE METRIC_ROLLUP_1D_SEQUENCE START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE METRIC_ROLLUP_1D (
+    ID BIGINT DEFAULT nextval('METRIC_ROLLUP_1D_SEQUENCE') PRIMARY KEY,
+    SOURCE VARCHAR(255) NOT NULL,
+    TIMESTAMP BIGINT NOT NULL,
+    NAME VARCHAR(255) NOT NULL,
+    TYPE VARCHAR(20) NOT NULL,
+    SAMPLES BIGINT NOT NULL,
+    COUNT BIGINT NOT NULL,
+    LAST_COUNT BIGINT NOT NULL,
+    MAX DOUBLE PRECISION NOT NULL,
+    MEAN DOUBLE PRECISION NOT NULL,
+    MIN DOUBLE PRECISION NOT NULL,
+    P50 DOUBLE PRECISION,
+    P75 DOUBLE PRECISION,
+    P95 DOUBLE PRECISION,
+    P98 DOUBLE PRECISION,
+    P99 DOUBLE PRECISION,
+    P999 DOUBLE PRECISION
+);
+
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1M ON METRIC_ROLLUP_1M (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1M ON METRIC_ROLLUP_1M (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1H ON METRIC_ROLLUP_1H (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1H ON METRIC_ROLLUP_1H (SOURCE, NAME, TIMESTAMP);
+CREATE INDEX IDX_TIMESTAMP_ROLLUP_1D ON METRIC_ROLLUP_1D (TIMESTAMP);
+CREATE INDEX IDX_SOURCE_NAME_TS_ROLLUP_1D ON METRIC_ROLLUP_1D (SOURCE, NAME, TIMESTAMP);